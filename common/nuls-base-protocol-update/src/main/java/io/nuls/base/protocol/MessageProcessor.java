@@ -1,5 +1,7 @@
 package io.nuls.base.protocol;
 
+import io.nuls.base.RPCUtil;
+
 public interface MessageProcessor {
 
     /**
@@ -17,4 +19,17 @@ public interface MessageProcessor {
      */
     void process(int chainId, String nodeId, String message);
 
+    /**
+     * 消息处理方法，消息体为原始字节；默认转为hex交给字符串版本处理，高频消息的处理器可以覆盖此方法避免转换
+     * Process a raw message body. By default it is hex encoded and handed to the string version,
+     * processors of frequent messages can override this to skip the conversion
+     *
+     * @param chainId
+     * @param nodeId
+     * @param message
+     */
+    default void process(int chainId, String nodeId, byte[] message) {
+        process(chainId, nodeId, RPCUtil.encode(message));
+    }
+
 }
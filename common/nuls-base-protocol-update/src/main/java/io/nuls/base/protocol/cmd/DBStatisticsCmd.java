@@ -0,0 +1,53 @@
+/*
+ *
+ *  * MIT License
+ *  * Copyright (c) 2017-2019 nuls.io
+ *  * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ *  * in the Software without restriction, including without limitation the rights
+ *  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  * copies of the Software, and to permit persons to whom the Software is
+ *  * furnished to do so, subject to the following conditions:
+ *  * The above copyright notice and this permission notice shall be included in all
+ *  * copies or substantial portions of the Software.
+ *  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  * SOFTWARE.
+ */
+
+package io.nuls.base.protocol.cmd;
+
+import io.nuls.core.core.annotation.Component;
+import io.nuls.core.rockdb.service.RocksDBService;
+import io.nuls.core.rpc.cmd.BaseCmd;
+import io.nuls.core.rpc.info.Constants;
+import io.nuls.core.rpc.model.*;
+import io.nuls.core.rpc.model.message.Response;
+
+import java.util.Map;
+
+/**
+ * 查询本模块RocksDB共享块缓存的命中统计
+ * Query hit/miss statistics of the RocksDB shared block cache of this module
+ */
+@Component
+public class DBStatisticsCmd extends BaseCmd {
+
+    @CmdAnnotation(cmd = "dbCacheStatistics", version = 1.0, scope = Constants.PUBLIC, description = "查询RocksDB共享块缓存命中统计/Query RocksDB shared block cache statistics")
+    @ResponseData(name = "返回值", description = "返回一个Map对象",
+            responseType = @TypeDescriptor(value = Map.class, mapKeys = {
+                    @Key(name = "blockCacheSize", valueType = Long.class, description = "共享块缓存大小(byte)"),
+                    @Key(name = "tableCount", valueType = Integer.class, description = "已打开的数据表数量"),
+                    @Key(name = "BLOCK_CACHE_HIT", valueType = Long.class, description = "块缓存命中次数"),
+                    @Key(name = "BLOCK_CACHE_MISS", valueType = Long.class, description = "块缓存未命中次数"),
+                    @Key(name = "hitRate", valueType = Double.class, description = "块缓存命中率")
+            })
+    )
+    public Response dbCacheStatistics(Map params) {
+        return success(RocksDBService.getCacheStatistics());
+    }
+}
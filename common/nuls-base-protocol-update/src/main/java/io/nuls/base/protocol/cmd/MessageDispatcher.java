@@ -1,5 +1,6 @@
 package io.nuls.base.protocol.cmd;
 
+import io.nuls.base.RPCUtil;
 import io.nuls.base.protocol.MessageProcessor;
 import io.nuls.core.constant.BaseConstant;
 import io.nuls.core.constant.CommonCodeConstanst;
@@ -64,4 +65,35 @@ public final class MessageDispatcher extends BaseCmd {
         }
         return success();
     }
+
+    /**
+     * 批量处理网络模块推送的消息，每条消息包含chainId、nodeId、cmd与原始消息体
+     * Process a batch of messages pushed by the network module, each frame carries chainId, nodeId, cmd and the raw body
+     *
+     * @param params
+     * @return
+     */
+    @CmdAnnotation(cmd = BaseConstant.MSG_BATCH_PROCESS, version = 1.0, description = "")
+    @Parameter(parameterName = "messages", parameterType = "List")
+    public Response msgBatchProcess(Map params) {
+        ObjectUtils.canNotEmpty(params.get("messages"), CommonCodeConstanst.PARAMETER_ERROR.getMsg());
+        List<Map> messages = (List<Map>) params.get("messages");
+        for (Map message : messages) {
+            String cmd = (String) message.get("cmd");
+            try {
+                int chainId = Integer.parseInt(message.get(Constants.CHAIN_ID).toString());
+                String nodeId = (String) message.get("nodeId");
+                byte[] body = RPCUtil.decodeParam(message.get("messageBody"));
+                for (MessageProcessor processor : processors) {
+                    if (cmd.equals(processor.getCmd())) {
+                        processor.process(chainId, nodeId, body);
+                    }
+                }
+            } catch (Exception e) {
+                //单条消息处理失败不影响同批次其它消息 / one bad frame must not fail the rest of the batch
+                Log.error("msgBatchProcess cmd=" + cmd, e);
+            }
+        }
+        return success();
+    }
 }
\ No newline at end of file
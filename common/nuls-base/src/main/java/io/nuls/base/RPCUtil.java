@@ -31,6 +31,8 @@ import io.nuls.core.crypto.HexUtil;
 import io.nuls.core.log.Log;
 import io.nuls.core.model.StringUtils;
 
+import java.util.Base64;
+
 public class RPCUtil {
     public static String encode(byte[] src) {
         return (src == null) ? null :HexUtil.encode(src);
@@ -40,6 +42,33 @@ public class RPCUtil {
         return (src == null) ? null : HexUtil.decode(src);
     }
 
+    /**
+     * 解析模块间调用的字节参数：二进制传输时为byte[]；JSON传输时byte[]参数按JSON默认方式写为base64字符串，
+     * 仍以hex字符串传参的调用方得到hex字符串，偶数长度且只含hex字符的按hex解析，其余按base64解析
+     * Decode a byte parameter of an inter-module call: byte[] over the binary transport; over JSON a byte[]
+     * parameter arrives as a base64 string (the JSON default), while callers that still pass hex strings send hex.
+     * An even-length string of hex digits is decoded as hex, anything else as base64.
+     */
+    public static byte[] decodeParam(Object src) {
+        if (src == null || src instanceof byte[]) {
+            return (byte[]) src;
+        }
+        String str = src.toString();
+        return isHex(str) ? HexUtil.decode(str) : Base64.getDecoder().decode(str);
+    }
+
+    private static boolean isHex(String str) {
+        if ((str.length() & 1) != 0) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (Character.digit(str.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static <T> T getInstance(byte[] bytes, Class<? extends BaseNulsData> clazz) {
         if (null == bytes || bytes.length == 0) {
             Log.error("error code-" + CommonCodeConstanst.DESERIALIZE_ERROR);
@@ -240,6 +240,19 @@ public class NulsByteBuffer {
         return payload;
     }
 
+    /**
+     * 复制指定范围内的原始数据，用于保留解析对象的原始编码；总是复制，调用方复用输入数组时不会改动缓存
+     * Copy the raw bytes of a range, used to keep the original encoding of a parsed object.
+     * Always a copy, so a caller reusing its input array cannot change the cached form
+     *
+     * @param start 起始位置（包含） / start position, inclusive
+     * @param end   结束位置（不包含） / end position, exclusive
+     * @return byte[]
+     */
+    public byte[] getBytes(int start, int end) {
+        return Arrays.copyOfRange(payload, start, end);
+    }
+
     public <T extends BaseNulsData> T readNulsData(T nulsData) throws NulsException {
         if (payload == null) {
             return null;
@@ -248,18 +261,28 @@ public class NulsByteBuffer {
         if (length <= 0) {
             return null;
         }
-        if (length >= 4) {
-            byte[] byte4 = new byte[4];
-            System.arraycopy(payload, cursor, byte4, 0, 4);
-            if (Arrays.equals(ToolsConstant.PLACE_HOLDER, byte4)) {
-                cursor += 4;
-                return null;
-            }
+        if (length >= 4 && isPlaceHolder()) {
+            cursor += 4;
+            return null;
         }
         nulsData.parse(this);
         return nulsData;
     }
 
+    /**
+     * 在原数组上比较当前位置是否为占位符，不复制数据
+     * Check in place whether the current position holds the place holder, without copying
+     */
+    private boolean isPlaceHolder() {
+        byte[] placeHolder = ToolsConstant.PLACE_HOLDER;
+        for (int i = 0; i < placeHolder.length; i++) {
+            if (payload[cursor + i] != placeHolder[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public Transaction readTransaction() throws NulsException {
         try {
             Transaction transaction = new Transaction();
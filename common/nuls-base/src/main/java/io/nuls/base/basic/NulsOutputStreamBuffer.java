@@ -67,19 +67,42 @@ public class NulsOutputStreamBuffer {
     }
 
     public void writeVarInt(int val) throws IOException {
-        out.write(new VarInt(val).encode());
+        writeVarInt((long) val);
     }
 
+    /**
+     * 直接写入VarInt编码，与VarInt.encode()结果一致，不创建临时数组
+     * Write the VarInt encoding directly, same bytes as VarInt.encode() without a temporary array
+     *
+     * @param val
+     * @throws IOException
+     */
     public void writeVarInt(long val) throws IOException {
-        out.write(new VarInt(val).encode());
+        switch (VarInt.sizeOf(val)) {
+            case 1:
+                out.write((int) val);
+                break;
+            case 3:
+                out.write(253);
+                SerializeUtils.uint16ToByteStreamLE((int) val, out);
+                break;
+            case 5:
+                out.write(254);
+                SerializeUtils.uint32ToByteStreamLE(val, out);
+                break;
+            default:
+                out.write(255);
+                SerializeUtils.int64ToByteStreamLE(val, out);
+                break;
+        }
     }
 
 
     public void writeBytesWithLength(byte[] bytes) throws IOException {
         if (null == bytes || bytes.length == 0) {
-            out.write(new VarInt(0).encode());
+            writeVarInt(0L);
         } else {
-            out.write(new VarInt(bytes.length).encode());
+            writeVarInt((long) bytes.length);
             out.write(bytes);
         }
     }
@@ -135,7 +158,7 @@ public class NulsOutputStreamBuffer {
     public void writeString(String val) {
         if (StringUtils.isBlank(val)) {
             try {
-                out.write(new VarInt(0).encode());
+                writeVarInt(0L);
             } catch (IOException e) {
                 Log.error(e);
                 throw new NulsRuntimeException(e);
@@ -154,7 +177,7 @@ public class NulsOutputStreamBuffer {
         if (null == data) {
             write(ToolsConstant.PLACE_HOLDER);
         } else {
-            this.write(data.serialize());
+            data.serializeTo(this);
         }
     }
 }
@@ -28,12 +28,13 @@ import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.base.basic.NulsOutputStreamBuffer;
 import io.nuls.core.basic.NulsData;
 import io.nuls.core.constant.ToolsConstant;
-import io.nuls.core.crypto.UnsafeByteArrayOutputStream;
+import io.nuls.base.basic.ByteBufferOutputStream;
 import io.nuls.core.exception.NulsException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
@@ -41,21 +42,87 @@ import java.util.Arrays;
  */
 public abstract class BaseNulsData implements NulsData, Serializable, Cloneable {
 
+    /**
+     * 序列化结果，子类缓存了序列化结果时直接返回缓存，返回的数组不能被修改
+     * Serialized form, returns the cached bytes when the subclass keeps them, the returned array must not be modified
+     */
     @Override
     public final byte[] serialize() throws IOException {
+        byte[] cache = getSerializeCache();
+        if (cache != null) {
+            return cache;
+        }
         int size = size();
-        try (ByteArrayOutputStream bos = new UnsafeByteArrayOutputStream(size)){
-            NulsOutputStreamBuffer buffer = new NulsOutputStreamBuffer(bos);
-            if (size == 0) {
-                bos.write(ToolsConstant.PLACE_HOLDER);
-            } else {
-                serializeToStream(buffer);
-            }
-            byte[] bytes = bos.toByteArray();
-            if (bytes.length != size) {
-                throw new RuntimeException();
-            }
-            return bytes;
+        if (size == 0) {
+            throw new RuntimeException();
+        }
+        byte[] bytes = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        serializeToStream(new NulsOutputStreamBuffer(new ByteBufferOutputStream(buffer)));
+        if (buffer.position() != size) {
+            throw new RuntimeException();
+        }
+        setSerializeCache(bytes);
+        return bytes;
+    }
+
+    /**
+     * 缓存的序列化结果，默认不缓存；签名后不再变化的数据（交易、区块头）可以覆盖此方法，并在setter中清除缓存
+     * Cached serialized form, nothing is cached by default. Data that does not change after signing
+     * (transactions, block headers) can override this and clear the cache in its setters
+     *
+     * @return 缓存的序列化结果，没有缓存时返回null
+     */
+    protected byte[] getSerializeCache() {
+        return null;
+    }
+
+    /**
+     * 保存序列化结果，默认不缓存
+     * Keep the serialized form, nothing is cached by default
+     *
+     * @param bytes 序列化结果
+     */
+    protected void setSerializeCache(byte[] bytes) {
+    }
+
+    /**
+     * 直接序列化到调用方提供的缓冲区（可以是池化的或直接内存），从当前position开始写入size()个字节
+     * Serialize straight into a caller-provided (pooled or direct) buffer, writing size() bytes from its current position
+     *
+     * @param buffer 目标缓冲区，剩余空间不足时抛出BufferOverflowException
+     * @throws IOException
+     */
+    public final void serializeTo(ByteBuffer buffer) throws IOException {
+        serializeTo(new NulsOutputStreamBuffer(new ByteBufferOutputStream(buffer)));
+    }
+
+    /**
+     * 直接序列化到输出流，例如netty的ByteBufOutputStream，不产生中间字节数组
+     * Serialize straight into an output stream, e.g. netty's ByteBufOutputStream, without an intermediate byte array
+     *
+     * @param out 输出流
+     * @throws IOException
+     */
+    public final void serializeTo(OutputStream out) throws IOException {
+        serializeTo(new NulsOutputStreamBuffer(out));
+    }
+
+    /**
+     * 作为嵌套数据写入已有的输出缓冲区，与write(serialize())结果一致
+     * Write into an existing stream buffer as nested data, same bytes as write(serialize())
+     *
+     * @param buffer 输出缓冲区
+     * @throws IOException
+     */
+    public final void serializeTo(NulsOutputStreamBuffer buffer) throws IOException {
+        byte[] cache = getSerializeCache();
+        if (cache != null) {
+            buffer.write(cache);
+        } else if (size() == 0) {
+            buffer.write(ToolsConstant.PLACE_HOLDER);
+        } else {
+            serializeToStream(buffer);
         }
     }
 
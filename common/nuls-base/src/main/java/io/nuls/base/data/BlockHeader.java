@@ -28,6 +28,7 @@ import io.nuls.base.basic.AddressTool;
 import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.base.basic.NulsOutputStreamBuffer;
 import io.nuls.base.signture.BlockSignature;
+import io.nuls.core.crypto.Sha256Hash;
 import io.nuls.core.crypto.UnsafeByteArrayOutputStream;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.exception.NulsRuntimeException;
@@ -64,10 +65,21 @@ public class BlockHeader extends BaseNulsData {
 
     private transient byte[] packingAddress;
 
+    /**
+     * 序列化结果缓存，解析时保留原始编码，setter修改字段时清除
+     * Cached serialized form, keeps the original encoding when parsed and is cleared by the setters
+     */
+    private transient volatile byte[] serializedBytes;
+
     private synchronized void calcHash() {
         if (null != this.hash) {
             return;
         }
+        byte[] cache = serializedBytes;
+        if (cache != null) {
+            hash = new NulsHash(Sha256Hash.hashTwice(cache, 0, sizeWithoutSign(cache)));
+            return;
+        }
         try {
             hash = NulsHash.calcHash(serializeWithoutSign());
         } catch (Exception e) {
@@ -77,6 +89,10 @@ public class BlockHeader extends BaseNulsData {
 
     @Override
     public int size() {
+        byte[] bytes = serializedBytes;
+        if (bytes != null) {
+            return bytes.length;
+        }
         int size = 0;
         size += NulsHash.HASH_LENGTH;               //preHash
         size += NulsHash.HASH_LENGTH;               //merkleHash
@@ -99,8 +115,27 @@ public class BlockHeader extends BaseNulsData {
         stream.writeNulsData(blockSignature);
     }
 
+    @Override
+    protected byte[] getSerializeCache() {
+        return serializedBytes;
+    }
+
+    @Override
+    protected void setSerializeCache(byte[] bytes) {
+        this.serializedBytes = bytes;
+    }
+
+    /**
+     * 签名是最后一个字段，不含签名的数据即序列化结果去掉签名部分的前缀
+     * The signature is the last field, so the unsigned data is the serialized form without its signature suffix
+     */
+    private int sizeWithoutSign(byte[] bytes) {
+        return bytes.length - SerializeUtils.sizeOfNulsData(blockSignature);
+    }
+
     @Override
     public void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        int start = byteBuffer.getCursor();
         this.preHash = byteBuffer.readHash();
         this.merkleHash = byteBuffer.readHash();
         this.time = byteBuffer.readUint32();
@@ -108,9 +143,14 @@ public class BlockHeader extends BaseNulsData {
         this.txCount = byteBuffer.readInt32();
         this.extend = byteBuffer.readByLengthByte();
         this.blockSignature = byteBuffer.readNulsData(new BlockSignature());
+        this.serializedBytes = byteBuffer.getBytes(start, byteBuffer.getCursor());
     }
 
     public byte[] serializeWithoutSign() {
+        byte[] cache = serializedBytes;
+        if (cache != null) {
+            return Arrays.copyOf(cache, sizeWithoutSign(cache));
+        }
         int size = size() - SerializeUtils.sizeOfNulsData(blockSignature);
         try (ByteArrayOutputStream bos = new UnsafeByteArrayOutputStream(size)) {
             NulsOutputStreamBuffer buffer = new NulsOutputStreamBuffer(bos);
@@ -154,6 +194,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setPreHash(NulsHash preHash) {
         this.preHash = preHash;
+        this.serializedBytes = null;
     }
 
     public NulsHash getMerkleHash() {
@@ -162,6 +203,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setMerkleHash(NulsHash merkleHash) {
         this.merkleHash = merkleHash;
+        this.serializedBytes = null;
     }
 
     public long getTime() {
@@ -170,6 +212,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setTime(long time) {
         this.time = time;
+        this.serializedBytes = null;
     }
 
     public long getHeight() {
@@ -178,6 +221,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setHeight(long height) {
         this.height = height;
+        this.serializedBytes = null;
     }
 
     public int getTxCount() {
@@ -186,6 +230,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setTxCount(int txCount) {
         this.txCount = txCount;
+        this.serializedBytes = null;
     }
 
     public BlockSignature getBlockSignature() {
@@ -194,6 +239,7 @@ public class BlockHeader extends BaseNulsData {
 
     public void setBlockSignature(BlockSignature scriptSign) {
         this.blockSignature = scriptSign;
+        this.serializedBytes = null;
     }
 
     public byte[] getPackingAddress(int chainId) {
@@ -210,6 +256,8 @@ public class BlockHeader extends BaseNulsData {
 
     public void setExtend(byte[] extend) {
         this.extend = extend;
+        this.extendsData = null;
+        this.serializedBytes = null;
     }
 
     public void setPackingAddress(byte[] packingAddress) {
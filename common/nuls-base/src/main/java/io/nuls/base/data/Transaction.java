@@ -31,6 +31,7 @@ import io.nuls.core.constant.CommonCodeConstanst;
 import io.nuls.core.constant.ToolsConstant;
 import io.nuls.core.constant.TxStatusEnum;
 import io.nuls.core.crypto.HexUtil;
+import io.nuls.core.crypto.Sha256Hash;
 import io.nuls.core.crypto.UnsafeByteArrayOutputStream;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
@@ -71,6 +72,12 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     private transient CoinData coinDataInstance;
 
+    /**
+     * 序列化结果缓存，解析时保留原始编码，setter修改字段时清除
+     * Cached serialized form, keeps the original encoding when parsed and is cleared by the setters
+     */
+    private transient volatile byte[] serializedBytes;
+
     /**
      * 在区块中的顺序，存储在rocksDB中是无序的，保存区块时赋值，取出后根据此值排序
      */
@@ -86,6 +93,10 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     @Override
     public int size() {
+        byte[] bytes = serializedBytes;
+        if (bytes != null) {
+            return bytes.length;
+        }
         int size = 0;
         //type
         size += SerializeUtils.sizeOfUint16();
@@ -108,7 +119,38 @@ public class Transaction extends BaseNulsData implements Cloneable {
         stream.writeBytesWithLength(transactionSignature);
     }
 
+    @Override
+    protected byte[] getSerializeCache() {
+        return serializedBytes;
+    }
+
+    @Override
+    protected void setSerializeCache(byte[] bytes) {
+        this.serializedBytes = bytes;
+    }
+
+    /**
+     * 字段被修改后清除序列化结果及大小的缓存
+     * Clear the cached serialized form and size after a field changed
+     */
+    private void clearSerializeCache() {
+        this.serializedBytes = null;
+        this.size = 0;
+    }
+
+    /**
+     * 签名是最后一个字段，用于计算hash的数据即序列化结果去掉签名部分的前缀
+     * The signature is the last field, so the data for the hash is the serialized form without its signature suffix
+     */
+    private int sizeForHash(byte[] bytes) {
+        return bytes.length - SerializeUtils.sizeOfBytes(transactionSignature);
+    }
+
     public byte[] serializeForHash() throws IOException {
+        byte[] cache = serializedBytes;
+        if (cache != null) {
+            return Arrays.copyOf(cache, sizeForHash(cache));
+        }
         ByteArrayOutputStream bos = null;
         try {
             int size = size() - SerializeUtils.sizeOfBytes(transactionSignature);
@@ -133,12 +175,15 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     @Override
     public void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        int start = byteBuffer.getCursor();
         type = byteBuffer.readUint16();
         time = byteBuffer.readUint32();
         remark = byteBuffer.readByLengthByte();
         txData = byteBuffer.readByLengthByte();
         this.coinData = byteBuffer.readByLengthByte();
         transactionSignature = byteBuffer.readByLengthByte();
+        this.size = 0;
+        this.serializedBytes = byteBuffer.getBytes(start, byteBuffer.getCursor());
     }
 
     public byte[] getTxData() {
@@ -151,10 +196,12 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     public void setTime(long time) {
         this.time = time;
+        clearSerializeCache();
     }
 
     public void setType(int type) {
         this.type = type;
+        clearSerializeCache();
     }
 
     public int getType() {
@@ -167,10 +214,16 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     public void setRemark(byte[] remark) {
         this.remark = remark;
+        clearSerializeCache();
     }
 
     public NulsHash getHash() {
         if (hash == null) {
+            byte[] cache = serializedBytes;
+            if (cache != null) {
+                hash = new NulsHash(Sha256Hash.hashTwice(cache, 0, sizeForHash(cache)));
+                return hash;
+            }
             try {
                 hash = NulsHash.calcHash(serializeForHash());
             } catch (IOException e) {
@@ -190,10 +243,12 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     public void setTransactionSignature(byte[] transactionSignature) {
         this.transactionSignature = transactionSignature;
+        clearSerializeCache();
     }
 
     public void setTxData(byte[] txData) {
         this.txData = txData;
+        clearSerializeCache();
     }
 
     public long getBlockHeight() {
@@ -234,6 +289,8 @@ public class Transaction extends BaseNulsData implements Cloneable {
 
     public void setCoinData(byte[] coinData) {
         this.coinData = coinData;
+        this.coinDataInstance = null;
+        clearSerializeCache();
     }
 
     public int getSize() {
@@ -0,0 +1,110 @@
+package io.nuls.base.data;
+
+import io.nuls.base.basic.NulsByteBuffer;
+import io.nuls.core.crypto.HexUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 交易与区块序列化/反序列化基准测试，对比serialize()与写入复用缓冲区的serializeTo()
+ * Transaction and block round-trip benchmarks, comparing serialize() with serializeTo() into a reused buffer.
+ * 运行 / run: main方法，或 mvn test-compile 后以 -prof gc 查看每次操作的内存分配
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializeBenchmark {
+
+    private static final String TX_HEX = "0b000823c25d00b204746573740131035858587027000001030000000300055ba2bb3832055ba2bb3832055ba2bb38324200c80064000100035858580358585800205fa01200000000000000000000000000000000000000000000000000000000c817a80400000000000000000000000000000000000000000000000000000000a0724e180900000000000000000000000000000000000000000000000000000800170200019a7c5f842094a73eb489d5678e446e3be57d689afd150101170200019a7c5f842094a73eb489d5678e446e3be57d689a02000100a03e66d94500000000000000000000000000000000000000000000000000000008b03a827828b74ace00031702000199092280b81a34b28901654601bbaa764ea0b385020001000040be40250000000000000000000000000000000000000000000000000000000000000000000000170200019a7c5f842094a73eb489d5678e446e3be57d689a0200010000205fa012000000000000000000000000000000000000000000000000000000ffffffffffffffffff1702000129cfc6376255a78451eeb4b129ed8eacffa2feef02000100005847f80d00000000000000000000000000000000000000000000000000000000000000000000006a2102ff3511b8aabd6f598bda6b344a231a2bda8ffd236c13ef746342b0554a9839b747304502202fe4aa5cb760a873bc3ea6e80d778de97db35cfff4fe607454d057f45fd8c5f1022100f922dc3bf369a4f0820e122a79b15047289fa4100fefa8fe76522392810e28d1";
+
+    @Param({"1000"})
+    private int txCount;
+
+    private Transaction tx;
+    private byte[] txBytes;
+    private Block block;
+    private byte[] blockBytes;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() throws Exception {
+        txBytes = HexUtil.decode(TX_HEX);
+        tx = new Transaction();
+        tx.parse(txBytes, 0);
+
+        BlockHeader header = new BlockHeader();
+        header.setPreHash(new NulsHash(new byte[NulsHash.HASH_LENGTH]));
+        header.setMerkleHash(new NulsHash(new byte[NulsHash.HASH_LENGTH]));
+        header.setTime(System.currentTimeMillis() / 1000);
+        header.setHeight(100);
+        header.setTxCount(txCount);
+        header.setExtend(new byte[64]);
+        List<Transaction> txs = new ArrayList<>(txCount);
+        for (int i = 0; i < txCount; i++) {
+            Transaction item = new Transaction();
+            item.parse(txBytes, 0);
+            txs.add(item);
+        }
+        block = new Block();
+        block.setHeader(header);
+        block.setTxs(txs);
+        blockBytes = block.serialize();
+        buffer = ByteBuffer.allocateDirect(blockBytes.length);
+    }
+
+    @Benchmark
+    public byte[] txSerialize() throws IOException {
+        return tx.serialize();
+    }
+
+    @Benchmark
+    public ByteBuffer txSerializeToBuffer() throws IOException {
+        buffer.clear();
+        tx.serializeTo(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public void txParse(Blackhole blackhole) throws Exception {
+        Transaction parsed = new Transaction();
+        parsed.parse(new NulsByteBuffer(txBytes));
+        blackhole.consume(parsed);
+    }
+
+    @Benchmark
+    public byte[] blockSerialize() throws IOException {
+        return block.serialize();
+    }
+
+    @Benchmark
+    public ByteBuffer blockSerializeToBuffer() throws IOException {
+        buffer.clear();
+        block.serializeTo(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public void blockParse(Blackhole blackhole) throws Exception {
+        Block parsed = new Block();
+        parsed.parse(new NulsByteBuffer(blockBytes));
+        blackhole.consume(parsed);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(SerializeBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
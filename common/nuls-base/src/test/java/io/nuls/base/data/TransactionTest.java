@@ -10,6 +10,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
@@ -73,6 +74,72 @@ public class TransactionTest {
         return coinData;
     }
 
+    @Test
+    public void serializeToBuffer() throws Exception {
+        Transaction tx = new Transaction();
+        tx.setType(10);
+        tx.setTime(System.currentTimeMillis() / 1000);
+        tx.setRemark(StringUtils.bytes("试一试"));
+        tx.setTxData(new byte[300]);
+        tx.setCoinData(getCoinData().serialize());
+        byte[] bytes = tx.serialize();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 8);
+        buffer.position(8);
+        tx.serializeTo(buffer);
+        Assert.assertEquals(bytes.length + 8, buffer.position());
+        byte[] written = new byte[bytes.length];
+        buffer.position(8);
+        buffer.get(written);
+        Assert.assertArrayEquals(bytes, written);
+
+        Transaction parsed = new Transaction();
+        parsed.parse(written, 0);
+        Assert.assertArrayEquals(tx.getCoinData(), parsed.getCoinData());
+        Assert.assertArrayEquals(tx.getTxData(), parsed.getTxData());
+    }
+
+    @Test
+    public void serializeCache() throws Exception {
+        Transaction tx = new Transaction();
+        tx.setType(10);
+        tx.setTime(System.currentTimeMillis() / 1000);
+        tx.setCoinData(new CoinData().serialize());
+        tx.setTransactionSignature(new byte[70]);
+        byte[] bytes = tx.serialize();
+        Assert.assertSame(bytes, tx.serialize());
+
+        Transaction parsed = new Transaction();
+        parsed.parse(bytes, 0);
+        Assert.assertArrayEquals(bytes, parsed.serialize());
+        Assert.assertSame(parsed.serialize(), parsed.serialize());
+        Assert.assertEquals(tx.getHash(), parsed.getHash());
+        Assert.assertArrayEquals(tx.serializeForHash(), parsed.serializeForHash());
+
+        parsed.setRemark(StringUtils.bytes("remark"));
+        Assert.assertEquals(bytes.length + 6, parsed.size());
+        Assert.assertNotSame(bytes, parsed.serialize());
+        Assert.assertEquals(parsed.size(), parsed.serialize().length);
+    }
+
+    @Test
+    public void parseCopiesInput() throws Exception {
+        Transaction tx = new Transaction();
+        tx.setType(10);
+        tx.setTime(System.currentTimeMillis() / 1000);
+        tx.setTxData(new byte[]{1, 2, 3});
+        tx.setRemark(StringUtils.bytes("remark"));
+        tx.setTransactionSignature(new byte[70]);
+        byte[] input = tx.serialize().clone();
+
+        //调用方复用输入数组不影响已解析交易的缓存 / reusing the input array does not touch the parsed tx's cache
+        Transaction parsed = new Transaction();
+        parsed.parse(input, 0);
+        Arrays.fill(input, (byte) 0);
+        Assert.assertArrayEquals(tx.serialize(), parsed.serialize());
+        Assert.assertEquals(tx.getHash(), parsed.getHash());
+    }
+
     @Test
     public void serialization() throws Exception{
         Transaction tx = new Transaction();
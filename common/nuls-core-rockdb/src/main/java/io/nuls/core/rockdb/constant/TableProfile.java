@@ -0,0 +1,56 @@
+/**
+ * MIT License
+ * Copyright (c) 2017-2019 nuls.io
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.rockdb.constant;
+
+/**
+ * 数据表调优方案，创建表时指定，保存在表目录中，重新打开表时沿用
+ * Table tuning profile, chosen when the table is created and kept in the table folder so that it is reused on reopen
+ */
+public enum TableProfile {
+    /**
+     * 默认方案，与原有配置一致
+     * Default profile, same as the original settings
+     */
+    DEFAULT,
+
+    /**
+     * 随机点查为主的表，如账户状态、按hash查询交易，使用分区索引/过滤器并缓存在共享块缓存中
+     * Point-lookup-heavy tables such as account states and txs by hash,
+     * uses partitioned index/filter blocks kept in the shared block cache
+     */
+    POINT_LOOKUP,
+
+    /**
+     * 顺序追加为主的表，如按高度保存的区块头，使用更大的数据块并压缩冷数据
+     * Append-heavy tables such as block headers by height, uses larger data blocks and compresses cold data
+     */
+    APPEND;
+
+    public static TableProfile parse(String name) {
+        if (name != null) {
+            for (TableProfile profile : values()) {
+                if (profile.name().equalsIgnoreCase(name.trim())) {
+                    return profile;
+                }
+            }
+        }
+        return DEFAULT;
+    }
+}
@@ -19,15 +19,21 @@
  */
 package io.nuls.core.rockdb.manager;
 
+import io.nuls.core.core.config.ConfigurationLoader;
+import io.nuls.core.core.ioc.SpringLiteContext;
 import io.nuls.core.log.Log;
 import io.nuls.core.model.StringUtils;
 import io.nuls.core.rockdb.constant.DBErrorCode;
+import io.nuls.core.rockdb.constant.TableProfile;
 import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.util.DBUtils;
 import org.rocksdb.*;
 import org.rocksdb.util.SizeUnit;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
@@ -62,6 +68,127 @@ public class RocksDBManager {
      */
     private static String dataPath;
 
+    /**
+     * 共享块缓存大小的全局配置项，单位MB.
+     * Global config item of the shared block cache size, in MB
+     */
+    public static final String BLOCK_CACHE_SIZE_KEY = "dbBlockCacheSize";
+
+    /**
+     * 共享块缓存默认大小，单位MB.
+     */
+    private static final long DEFAULT_BLOCK_CACHE_SIZE = 256;
+
+    /**
+     * 数据表调优方案记录文件名，保存在表目录中.
+     */
+    private static final String PROFILE_FILE_NAME = "PROFILE";
+
+    /**
+     * 各数据表使用的调优方案.
+     */
+    private static final ConcurrentHashMap<String, TableProfile> TABLE_PROFILES = new ConcurrentHashMap<>();
+
+    /**
+     * 所有数据表共享的块缓存，在第一次打开数据表时创建.
+     * Block cache shared by all tables, created when the first table is opened
+     */
+    private static Cache blockCache;
+
+    /**
+     * 所有数据表共享的统计信息，用于查询块缓存命中情况.
+     * Statistics shared by all tables, used to query block cache hits and misses
+     */
+    private static Statistics statistics;
+
+    /**
+     * 共享块缓存大小，单位MB，小于等于0时从全局配置中读取.
+     */
+    private static long blockCacheSize;
+
+    /**
+     * 列族模式的全局配置项，开启后新建的数据表作为同一个数据库的列族，共享WAL与写缓存，可以跨表原子写入.
+     * Global config item of the column family mode, new tables become column families of one shared database
+     * with a single WAL and shared write buffers, so writes can atomically span several tables
+     */
+    public static final String COLUMN_FAMILY_KEY = "dbColumnFamily";
+
+    /**
+     * 所有数据表共享的写缓存总大小的全局配置项，单位MB，占用计入共享块缓存，需小于块缓存大小.
+     * Global config item of the total write buffer size shared by all tables, in MB.
+     * It is charged to the shared block cache, so keep it below the block cache size
+     */
+    public static final String WRITE_BUFFER_SIZE_KEY = "dbWriteBufferSize";
+
+    /**
+     * 共享写缓存默认总大小，单位MB.
+     */
+    private static final long DEFAULT_WRITE_BUFFER_SIZE = 64;
+
+    /**
+     * 列族模式下共享数据库的文件夹名.
+     */
+    private static final String SHARED_DB_NAME = "rocksdb_cf";
+
+    /**
+     * 各数据表对应的列族，独立数据库的表为该库的默认列族.
+     */
+    private static final ConcurrentHashMap<String, ColumnFamilyHandle> HANDLES = new ConcurrentHashMap<>();
+
+    /**
+     * 共享数据库中已打开的列族，关闭数据表后保留，重新初始化时再次使用.
+     */
+    private static final ConcurrentHashMap<String, ColumnFamilyHandle> SHARED_HANDLES = new ConcurrentHashMap<>();
+
+    /**
+     * 列族模式下的共享数据库及其默认列族.
+     */
+    private static RocksDB sharedDB;
+    private static ColumnFamilyHandle sharedDefaultHandle;
+
+    /**
+     * 所有数据表共享的写缓存管理器，占用计入共享块缓存.
+     */
+    private static WriteBufferManager writeBufferManager;
+
+    /**
+     * 是否使用列族模式，为null时从全局配置中读取.
+     */
+    private static Boolean columnFamilyMode;
+
+    /**
+     * 设置共享块缓存大小，需要在打开数据表之前调用.
+     * Set the shared block cache size, must be called before any table is opened
+     *
+     * @param sizeMB 缓存大小，单位MB
+     */
+    public static void setBlockCacheSize(long sizeMB) {
+        blockCacheSize = sizeMB;
+    }
+
+    /**
+     * 设置是否使用列族模式，需要在init之前调用；已存在的独立数据表仍按原方式打开.
+     * Set whether new tables are column families of one shared database, must be called before init;
+     * existing standalone tables are still opened as before
+     *
+     * @param enable 是否开启
+     */
+    public static void setColumnFamilyMode(boolean enable) {
+        columnFamilyMode = enable;
+    }
+
+    /**
+     * 是否使用列族模式.
+     *
+     * @return boolean
+     */
+    public static boolean isColumnFamilyMode() {
+        if (columnFamilyMode == null) {
+            columnFamilyMode = Boolean.parseBoolean(loadConfig(COLUMN_FAMILY_KEY));
+        }
+        return columnFamilyMode;
+    }
+
     /**
      * 根据传入的数据库路径将已存在的数据库连接打开，并缓存DB连接.
      * 如果有数据表连接被关闭需要重新打开连接也可以，执行初始化连接
@@ -74,19 +201,25 @@ public class RocksDBManager {
             File dir = DBUtils.loadDataPath(path);
             dataPath = dir.getPath();
             Log.info("RocksDBManager dataPath is " + dataPath);
+            if (isColumnFamilyMode()) {
+                openSharedDB();
+            }
             File[] tableFiles = dir.listFiles();
             RocksDB db;
             String dbPath = null;
             for (File tableFile : tableFiles) {
                 //缓存中已存在的数据库连接不再重复打开
-                if (!tableFile.isDirectory() || TABLES.get(tableFile.getName()) != null) {
+                if (!tableFile.isDirectory() || SHARED_DB_NAME.equals(tableFile.getName()) || TABLES.get(tableFile.getName()) != null) {
                     continue;
                 }
                 try {
                     dbPath = tableFile.getPath() + File.separator + BASE_DB_NAME;
-                    db = initOpenDB(dbPath);
+                    TableProfile profile = readProfile(tableFile);
+                    db = initOpenDB(dbPath, profile);
                     if (db != null) {
                         TABLES.put(tableFile.getName(), db);
+                        HANDLES.put(tableFile.getName(), db.getDefaultColumnFamily());
+                        TABLE_PROFILES.put(tableFile.getName(), profile);
                     }
                 } catch (Exception e) {
                     Log.warn("load table failed, tableName: " + tableFile.getName() + ", dbPath: " + dbPath, e);
@@ -98,17 +231,58 @@ public class RocksDBManager {
     }
 
     /**
-     * @param dbPath 数据库地址
+     * 打开列族模式的共享数据库，已存在的列族注册为数据表.
+     * Open the shared database of the column family mode, existing column families are registered as tables
+     *
+     * @throws RocksDBException 数据库连接异常
+     */
+    private static void openSharedDB() throws RocksDBException {
+        if (sharedDB == null) {
+            String dbPath = dataPath + File.separator + SHARED_DB_NAME;
+            List<String> names = new ArrayList<>();
+            List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+            descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, getColumnFamilyOptions(TableProfile.DEFAULT)));
+            if (new File(dbPath + File.separator + "CURRENT").exists()) {
+                try (Options options = new Options()) {
+                    for (byte[] name : RocksDB.listColumnFamilies(options, dbPath)) {
+                        if (Arrays.equals(name, RocksDB.DEFAULT_COLUMN_FAMILY)) {
+                            continue;
+                        }
+                        String tableName = new String(name, StandardCharsets.UTF_8);
+                        TableProfile profile = readProfile(new File(dataPath + File.separator + tableName));
+                        names.add(tableName);
+                        descriptors.add(new ColumnFamilyDescriptor(name, getColumnFamilyOptions(profile)));
+                    }
+                }
+            }
+            List<ColumnFamilyHandle> handles = new ArrayList<>();
+            sharedDB = RocksDB.open(getDBOptions(true, false), dbPath, descriptors, handles);
+            sharedDefaultHandle = handles.get(0);
+            for (int i = 0; i < names.size(); i++) {
+                SHARED_HANDLES.put(names.get(i), handles.get(i + 1));
+            }
+        }
+        for (Map.Entry<String, ColumnFamilyHandle> entry : SHARED_HANDLES.entrySet()) {
+            if (TABLES.putIfAbsent(entry.getKey(), sharedDB) == null) {
+                HANDLES.put(entry.getKey(), entry.getValue());
+                TABLE_PROFILES.put(entry.getKey(), readProfile(new File(dataPath + File.separator + entry.getKey())));
+            }
+        }
+    }
+
+    /**
+     * @param dbPath  数据库地址
+     * @param profile 数据表调优方案
      * @return RocksDB 数据库连接对象
      * @throws RocksDBException 数据库连接异常
      */
-    private static RocksDB initOpenDB(final String dbPath) throws RocksDBException {
+    private static RocksDB initOpenDB(final String dbPath, final TableProfile profile) throws RocksDBException {
         File checkFile = new File(dbPath + File.separator + "CURRENT");
         if (!checkFile.exists()) {
             return null;
         }
 
-        Options options = getCommonOptions(false);
+        Options options = getCommonOptions(false, profile);
         return RocksDB.open(options, dbPath);
     }
 
@@ -118,11 +292,12 @@ public class RocksDBManager {
      *
      * @param dbPath          数据库地址
      * @param createIfMissing 数据库不存在时是否默认创建
+     * @param profile         数据表调优方案
      * @return RocksDB
      * @throws RocksDBException 数据库连接异常
      */
-    private static RocksDB openDB(final String dbPath, final boolean createIfMissing) throws RocksDBException {
-        Options options = getCommonOptions(createIfMissing);
+    private static RocksDB openDB(final String dbPath, final boolean createIfMissing, final TableProfile profile) throws RocksDBException {
+        Options options = getCommonOptions(createIfMissing, profile);
         return RocksDB.open(options, dbPath);
     }
 
@@ -134,6 +309,18 @@ public class RocksDBManager {
      * @return Result 创建结果
      */
     public static boolean createTable(final String tableName) throws Exception {
+        return createTable(tableName, TableProfile.DEFAULT);
+    }
+
+    /**
+     * 根据名称及调优方案创建对应的数据库.
+     * Create database based by name with the given tuning profile
+     *
+     * @param tableName 数据库表名称
+     * @param profile   数据表调优方案
+     * @return Result 创建结果
+     */
+    public static boolean createTable(final String tableName, final TableProfile profile) throws Exception {
         lock.lock();
         try {
             if (StringUtils.isBlank(tableName)) {
@@ -150,9 +337,23 @@ public class RocksDBManager {
                 if (!dir.exists()) {
                     dir.mkdir();
                 }
-                String filePath = dataPath + File.separator + tableName + File.separator + BASE_DB_NAME;
-                RocksDB db = openDB(filePath, true);
-                TABLES.put(tableName, db);
+                if (isColumnFamilyMode()) {
+                    //列族模式下表目录只用于记录调优方案
+                    openSharedDB();
+                    ColumnFamilyHandle handle = sharedDB.createColumnFamily(
+                            new ColumnFamilyDescriptor(tableName.getBytes(StandardCharsets.UTF_8), getColumnFamilyOptions(profile)));
+                    writeProfile(dir, profile);
+                    SHARED_HANDLES.put(tableName, handle);
+                    HANDLES.put(tableName, handle);
+                    TABLES.put(tableName, sharedDB);
+                } else {
+                    String filePath = dataPath + File.separator + tableName + File.separator + BASE_DB_NAME;
+                    RocksDB db = openDB(filePath, true, profile);
+                    writeProfile(dir, profile);
+                    HANDLES.put(tableName, db.getDefaultColumnFamily());
+                    TABLES.put(tableName, db);
+                }
+                TABLE_PROFILES.put(tableName, profile);
             } catch (Exception e) {
                 Log.error("error create table: " + tableName, e);
                 throw new Exception(DBErrorCode.DB_TABLE_CREATE_ERROR);
@@ -163,6 +364,36 @@ public class RocksDBManager {
         }
     }
 
+    /**
+     * 修改已存在数据表的调优方案，下次打开数据表时生效.
+     * Change the tuning profile of an existing table, takes effect the next time the table is opened
+     *
+     * @param tableName 数据库表名称
+     * @param profile   数据表调优方案
+     */
+    public static void updateTableProfile(final String tableName, final TableProfile profile) throws Exception {
+        if (!baseCheckTable(tableName)) {
+            throw new Exception(DBErrorCode.DB_TABLE_NOT_EXIST);
+        }
+        File dir = new File(dataPath + File.separator + tableName);
+        if (profile == readProfile(dir)) {
+            return;
+        }
+        writeProfile(dir, profile);
+        Log.info("rocksdb table {} profile will change to {} on next open", tableName, profile);
+    }
+
+    /**
+     * 获取数据表当前使用的调优方案.
+     * Get the tuning profile the table is opened with
+     *
+     * @param tableName 数据库表名称
+     * @return TableProfile
+     */
+    public static TableProfile getTableProfile(final String tableName) {
+        return TABLE_PROFILES.getOrDefault(tableName, TableProfile.DEFAULT);
+    }
+
     /**
      * 根据名称获得对应的数据库对象.
      * Get database objects by name
@@ -174,6 +405,17 @@ public class RocksDBManager {
         return TABLES.get(tableName);
     }
 
+    /**
+     * 根据名称获得数据表对应的列族，独立数据库的表为默认列族.
+     * Get the column family of a table, standalone tables use the default column family
+     *
+     * @param tableName 数据库表名称
+     * @return ColumnFamilyHandle
+     */
+    public static ColumnFamilyHandle getColumnFamily(final String tableName) {
+        return HANDLES.get(tableName);
+    }
+
     /**
      * 根据名称删除对应的数据库.
      * Delete database by name
@@ -190,8 +432,18 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.remove(tableName);
-            db.close();
+            ColumnFamilyHandle handle = HANDLES.remove(tableName);
+            TABLE_PROFILES.remove(tableName);
             File dir = new File(dataPath + File.separator + tableName);
+            if (db == sharedDB) {
+                SHARED_HANDLES.remove(tableName);
+                db.dropColumnFamily(handle);
+                handle.close();
+                writeProfile(dir, TableProfile.DEFAULT);
+                dir.delete();
+                return true;
+            }
+            db.close();
             if (!dir.exists()) {
                 throw new Exception(DBErrorCode.DB_TABLE_NOT_EXIST);
             }
@@ -224,11 +476,38 @@ public class RocksDBManager {
         for (Map.Entry<String, RocksDB> entry : entries) {
             try {
                 TABLES.remove(entry.getKey());
-                entry.getValue().close();
+                HANDLES.remove(entry.getKey());
+                TABLE_PROFILES.remove(entry.getKey());
+                if (entry.getValue() != sharedDB) {
+                    entry.getValue().close();
+                }
             } catch (Exception e) {
                 Log.warn("close rocksdb error", e);
             }
         }
+        closeSharedDB();
+    }
+
+    /**
+     * 关闭列族模式的共享数据库.
+     */
+    private static synchronized void closeSharedDB() {
+        if (sharedDB == null) {
+            return;
+        }
+        try {
+            for (ColumnFamilyHandle handle : SHARED_HANDLES.values()) {
+                handle.close();
+            }
+            SHARED_HANDLES.clear();
+            sharedDefaultHandle.close();
+            sharedDB.close();
+        } catch (Exception e) {
+            Log.warn("close shared rocksdb error", e);
+        } finally {
+            sharedDB = null;
+            sharedDefaultHandle = null;
+        }
     }
 
     /**
@@ -240,7 +519,12 @@ public class RocksDBManager {
     public static void closeTable(final String tableName) {
         try {
             RocksDB db = TABLES.remove(tableName);
-            db.close();
+            HANDLES.remove(tableName);
+            TABLE_PROFILES.remove(tableName);
+            //共享数据库中的列族保持打开，重新初始化时再次注册
+            if (db != sharedDB) {
+                db.close();
+            }
         } catch (Exception e) {
             Log.warn("close rocksdb tableName error:" + tableName, e);
         }
@@ -299,7 +583,8 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            db.put(key, value);
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            db.put(handle, key, value);
             return true;
         } catch (Exception e) {
             Log.error(e);
@@ -324,7 +609,8 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            db.delete(key);
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            db.delete(handle, key);
             return true;
         } catch (Exception e) {
             Log.error(e);
@@ -349,8 +635,9 @@ public class RocksDBManager {
         }
         try (WriteBatch writeBatch = new WriteBatch()) {
             RocksDB db = TABLES.get(table);
+            ColumnFamilyHandle handle = HANDLES.get(table);
             for (Map.Entry<byte[], byte[]> entry : kvs.entrySet()) {
-                writeBatch.put(entry.getKey(), entry.getValue());
+                writeBatch.put(handle, entry.getKey(), entry.getValue());
             }
             db.write(new WriteOptions(), writeBatch);
             return true;
@@ -360,6 +647,45 @@ public class RocksDBManager {
         }
     }
 
+    /**
+     * 跨表批量保存数据，所有表位于同一个数据库（列族模式）时原子写入，否则按数据库分别写入.
+     * batch save entity into several tables, written atomically when all tables share one database (column family mode)
+     *
+     * @param tableKvs 数据库表名称及各表保存数据的键值对
+     * @return 批量保存是否成功
+     */
+    public static boolean batchPut(final Map<String, Map<byte[], byte[]>> tableKvs) throws Exception {
+        if (tableKvs == null || tableKvs.size() == 0) {
+            throw new Exception(DBErrorCode.NULL_PARAMETER);
+        }
+        for (String table : tableKvs.keySet()) {
+            if (!baseCheckTable(table)) {
+                throw new Exception(DBErrorCode.DB_TABLE_NOT_EXIST);
+            }
+        }
+        Map<RocksDB, WriteBatch> batches = new IdentityHashMap<>();
+        try {
+            for (Map.Entry<String, Map<byte[], byte[]>> tableEntry : tableKvs.entrySet()) {
+                WriteBatch writeBatch = batches.computeIfAbsent(TABLES.get(tableEntry.getKey()), db -> new WriteBatch());
+                ColumnFamilyHandle handle = HANDLES.get(tableEntry.getKey());
+                for (Map.Entry<byte[], byte[]> entry : tableEntry.getValue().entrySet()) {
+                    writeBatch.put(handle, entry.getKey(), entry.getValue());
+                }
+            }
+            try (WriteOptions writeOptions = new WriteOptions()) {
+                for (Map.Entry<RocksDB, WriteBatch> entry : batches.entrySet()) {
+                    entry.getKey().write(writeOptions, entry.getValue());
+                }
+            }
+            return true;
+        } catch (Exception ex) {
+            Log.error(ex);
+            throw new Exception(DBErrorCode.DB_UNKOWN_EXCEPTION);
+        } finally {
+            batches.values().forEach(WriteBatch::close);
+        }
+    }
+
     /**
      * 批量删除数据.
      * batch delete entity
@@ -377,8 +703,9 @@ public class RocksDBManager {
         }
         try (WriteBatch writeBatch = new WriteBatch()) {
             RocksDB db = TABLES.get(table);
+            ColumnFamilyHandle handle = HANDLES.get(table);
             for (byte[] key : keys) {
-                writeBatch.delete(key);
+                writeBatch.delete(handle, key);
             }
             db.write(new WriteOptions(), writeBatch);
             return true;
@@ -406,7 +733,8 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            return db.get(key);
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            return db.get(handle, key);
         } catch (Exception e) {
             Log.error("get table={}: error",table);
             Log.error(e);
@@ -431,8 +759,9 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            boolean rs = db.keyMayExist(key, new StringBuilder());
-            return rs && (db.get(key) != null);
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            boolean rs = db.keyMayExist(handle, key, new StringBuilder());
+            return rs && (db.get(handle, key) != null);
         } catch (Exception e) {
             Log.error("keyMayExist table={}: error",table);
             Log.error(e);
@@ -458,7 +787,8 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            return db.multiGet(keys);
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            return db.multiGet(Collections.nCopies(keys.size(), handle), keys);
         } catch (Exception ex) {
             Log.error("multiGet table={}: error",table);
             Log.error(ex);
@@ -481,8 +811,9 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
+            ColumnFamilyHandle handle = HANDLES.get(table);
             //该方法获取的结果包含查不到的key, 将以null 值放入返回的list中,因此需要把空值去除.
-            List<byte[]> list = db.multiGetAsList(keys);
+            List<byte[]> list = db.multiGetAsList(Collections.nCopies(keys.size(), handle), keys);
             List<byte[]> rs = new ArrayList<>();
             for(byte[] tx : list){
                 if(null != tx){
@@ -514,7 +845,8 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            Map<byte[], byte[]> map = db.multiGet(keys);
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            Map<byte[], byte[]> map = db.multiGet(Collections.nCopies(keys.size(), handle), keys);
             if (map != null && map.size() > 0) {
                 list.addAll(map.values());
             }
@@ -545,7 +877,8 @@ public class RocksDBManager {
         }
         try {
             RocksDB db = TABLES.get(table);
-            Map<byte[], byte[]> map = db.multiGet(keys);
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            Map<byte[], byte[]> map = db.multiGet(Collections.nCopies(keys.size(), handle), keys);
             if (map != null && map.size() > 0) {
                 list.addAll(map.keySet());
             }
@@ -572,7 +905,8 @@ public class RocksDBManager {
         List<byte[]> list = new ArrayList<>();
         try {
             RocksDB db = TABLES.get(table);
-            try (RocksIterator iterator = db.newIterator()) {
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            try (RocksIterator iterator = db.newIterator(handle)) {
                 for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
                     list.add(iterator.key());
                 }
@@ -585,6 +919,46 @@ public class RocksDBManager {
         }
     }
 
+    /**
+     * 从指定key之后(不含)按顺序分页查询key, fromKey为null时从表头开始.
+     * query at most limit keys of the specified table in order, starting after fromKey (exclusive),
+     * or from the first key when fromKey is null
+     *
+     * @param table   数据库表名称
+     * @param fromKey 上一页的最后一个key
+     * @param limit   最多返回的数量
+     * @return 该页的键
+     */
+    public static List<byte[]> keyList(final String table, final byte[] fromKey, final int limit) {
+        if (!baseCheckTable(table)) {
+            Log.error("keyList table={}: error",table);
+            return null;
+        }
+        List<byte[]> list = new ArrayList<>(limit);
+        try {
+            RocksDB db = TABLES.get(table);
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            try (RocksIterator iterator = db.newIterator(handle)) {
+                if (fromKey == null) {
+                    iterator.seekToFirst();
+                } else {
+                    iterator.seek(fromKey);
+                    if (iterator.isValid() && Arrays.equals(fromKey, iterator.key())) {
+                        iterator.next();
+                    }
+                }
+                for (; iterator.isValid() && list.size() < limit; iterator.next()) {
+                    list.add(iterator.key());
+                }
+            }
+            return list;
+        } catch (Exception ex) {
+            Log.error("keyList table={}: error",table);
+            Log.error(ex);
+            return null;
+        }
+    }
+
     /**
      * 查询指定表的value-List集合.
      * query the value-List collection of the specified table
@@ -600,7 +974,8 @@ public class RocksDBManager {
         List<byte[]> list = new ArrayList<>();
         try {
             RocksDB db = TABLES.get(table);
-            try (RocksIterator iterator = db.newIterator()) {
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            try (RocksIterator iterator = db.newIterator(handle)) {
                 for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
                     list.add(iterator.value());
                 }
@@ -628,7 +1003,8 @@ public class RocksDBManager {
         List<Entry<byte[], byte[]>> entryList = new ArrayList<>();
         try {
             RocksDB db = TABLES.get(table);
-            try (RocksIterator iterator = db.newIterator()) {
+            ColumnFamilyHandle handle = HANDLES.get(table);
+            try (RocksIterator iterator = db.newIterator(handle)) {
                 for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
                     entryList.add(new Entry(iterator.key(), iterator.value()));
                 }
@@ -645,32 +1021,233 @@ public class RocksDBManager {
      * 获得公共的数据库连接属性.
      *
      * @param createIfMissing 是否默认表
+     * @param profile         数据表调优方案
      * @return 数据库连接属性
      */
-    private static synchronized Options getCommonOptions(final boolean createIfMissing) {
-        Options options = new Options();
+    private static synchronized Options getCommonOptions(final boolean createIfMissing, final TableProfile profile) {
+        return new Options(getDBOptions(createIfMissing, profile == TableProfile.DEFAULT), getColumnFamilyOptions(profile));
+    }
+
+    /**
+     * 获得数据库级别的连接属性，块缓存、写缓存及统计信息由所有数据库共享.
+     *
+     * @param createIfMissing 是否默认表
+     * @param allowMmapReads  是否使用mmap读取
+     * @return 数据库连接属性
+     */
+    private static synchronized DBOptions getDBOptions(final boolean createIfMissing, final boolean allowMmapReads) {
+        DBOptions options = new DBOptions();
 
         options.setCreateIfMissing(createIfMissing);
+        options.setStatistics(getStatistics());
+        options.setWriteBufferManager(getWriteBufferManager());
+        options.setMaxOpenFiles(-1);
         /**
          * 优化读取性能方案
          */
-        options.setAllowMmapReads(true);
-        options.setCompressionType(CompressionType.NO_COMPRESSION);
-        options.setMaxOpenFiles(-1);
-        BlockBasedTableConfig tableOption = new BlockBasedTableConfig();
-        tableOption.setNoBlockCache(true);
-        tableOption.setBlockRestartInterval(4);
-        tableOption.setFilterPolicy(new BloomFilter(10, true));
-        options.setTableFormatConfig(tableOption);
+        options.setAllowMmapReads(allowMmapReads);
 
         options.setMaxBackgroundCompactions(16);
         options.setNewTableReaderForCompactionInputs(true);
         //为压缩的输入，打开RocksDB层的预读取
         options.setCompactionReadaheadSize(128 * SizeUnit.KB);
-        options.setNewTableReaderForCompactionInputs(true);
 
         return options;
     }
 
+    /**
+     * 获得数据表（列族）级别的属性.
+     *
+     * @param profile 数据表调优方案
+     * @return 列族属性
+     */
+    private static synchronized ColumnFamilyOptions getColumnFamilyOptions(final TableProfile profile) {
+        ColumnFamilyOptions options = new ColumnFamilyOptions();
+        BlockBasedTableConfig tableOption = new BlockBasedTableConfig();
+        tableOption.setBlockCache(getBlockCache());
+        tableOption.setBlockRestartInterval(4);
+        switch (profile) {
+            case POINT_LOOKUP:
+                /*
+                 * 点查方案：完整布隆过滤器与两级索引分区，索引/过滤器块进入共享缓存并常驻顶层分区，内存占用受缓存大小限制
+                 * Point lookups: full bloom filter with partitioned index/filter blocks, cached in the shared
+                 * block cache with the top level pinned, so memory stays bounded by the cache size
+                 */
+                options.setCompressionType(CompressionType.NO_COMPRESSION);
+                tableOption.setFilterPolicy(new BloomFilter(10, false));
+                tableOption.setIndexType(IndexType.kTwoLevelIndexSearch);
+                tableOption.setPartitionFilters(true);
+                tableOption.setMetadataBlockSize(4 * SizeUnit.KB);
+                tableOption.setCacheIndexAndFilterBlocks(true);
+                tableOption.setCacheIndexAndFilterBlocksWithHighPriority(true);
+                tableOption.setPinTopLevelIndexAndFilter(true);
+                tableOption.setPinL0FilterAndIndexBlocksInCache(true);
+                break;
+            case APPEND:
+                /*
+                 * 追加方案：键基本有序，使用更大的数据块与LZ4压缩，减少索引大小及磁盘读取量
+                 * Appends: keys are mostly ordered, larger blocks with LZ4 keep the index small and reduce disk reads
+                 */
+                options.setCompressionType(CompressionType.LZ4_COMPRESSION);
+                options.setLevelCompactionDynamicLevelBytes(true);
+                tableOption.setBlockSize(16 * SizeUnit.KB);
+                tableOption.setFilterPolicy(new BloomFilter(10, false));
+                tableOption.setCacheIndexAndFilterBlocks(true);
+                tableOption.setPinL0FilterAndIndexBlocksInCache(true);
+                break;
+            default:
+                options.setCompressionType(CompressionType.NO_COMPRESSION);
+                tableOption.setFilterPolicy(new BloomFilter(10, true));
+                break;
+        }
+        options.setTableFormatConfig(tableOption);
+        return options;
+    }
+
+    /**
+     * 获取共享写缓存管理器，第一次调用时按配置大小创建.
+     *
+     * @return 共享写缓存管理器
+     */
+    static synchronized WriteBufferManager getWriteBufferManager() {
+        if (writeBufferManager == null) {
+            long size = DEFAULT_WRITE_BUFFER_SIZE;
+            String value = loadConfig(WRITE_BUFFER_SIZE_KEY);
+            if (StringUtils.isNotBlank(value)) {
+                try {
+                    size = Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    Log.warn("invalid config {}={}", WRITE_BUFFER_SIZE_KEY, value);
+                }
+            }
+            writeBufferManager = new WriteBufferManager(size * SizeUnit.MB, getBlockCache());
+            Log.info("RocksDBManager shared write buffer size is {}MB", size);
+        }
+        return writeBufferManager;
+    }
+
+    /**
+     * 获取共享块缓存，第一次调用时按配置大小创建.
+     *
+     * @return 共享块缓存
+     */
+    static synchronized Cache getBlockCache() {
+        if (blockCache == null) {
+            long size = blockCacheSize > 0 ? blockCacheSize : loadBlockCacheSize();
+            blockCache = new LRUCache(size * SizeUnit.MB);
+            blockCacheSize = size;
+            Log.info("RocksDBManager shared block cache size is {}MB", size);
+        }
+        return blockCache;
+    }
+
+    /**
+     * 从全局配置中读取共享块缓存大小，未配置时使用默认值.
+     *
+     * @return 缓存大小，单位MB
+     */
+    private static long loadBlockCacheSize() {
+        String value = loadConfig(BLOCK_CACHE_SIZE_KEY);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                long size = Long.parseLong(value.trim());
+                if (size > 0) {
+                    return size;
+                }
+            } catch (NumberFormatException e) {
+                Log.warn("invalid config {}={}", BLOCK_CACHE_SIZE_KEY, value);
+            }
+        }
+        return DEFAULT_BLOCK_CACHE_SIZE;
+    }
+
+    /**
+     * 读取全局配置项，未加载配置时返回null.
+     *
+     * @param key 配置项
+     * @return 配置值
+     */
+    private static String loadConfig(final String key) {
+        for (ConfigurationLoader configLoader : SpringLiteContext.getBeanList(ConfigurationLoader.class)) {
+            String value = configLoader.getValue(key);
+            if (StringUtils.isNotBlank(value)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取共享统计信息，第一次调用时创建.
+     *
+     * @return 共享统计信息
+     */
+    static synchronized Statistics getStatistics() {
+        if (statistics == null) {
+            statistics = new Statistics();
+            statistics.setStatsLevel(StatsLevel.EXCEPT_DETAILED_TIMERS);
+        }
+        return statistics;
+    }
+
+    /**
+     * 查询共享块缓存的命中统计.
+     * Query hit/miss statistics of the shared block cache
+     *
+     * @return 统计项名称与计数
+     */
+    public static synchronized Map<String, Object> getCacheStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("blockCacheSize", blockCacheSize * SizeUnit.MB);
+        result.put("tableCount", TABLES.size());
+        TickerType[] tickers = {TickerType.BLOCK_CACHE_HIT, TickerType.BLOCK_CACHE_MISS,
+                TickerType.BLOCK_CACHE_INDEX_HIT, TickerType.BLOCK_CACHE_INDEX_MISS,
+                TickerType.BLOCK_CACHE_FILTER_HIT, TickerType.BLOCK_CACHE_FILTER_MISS,
+                TickerType.BLOCK_CACHE_DATA_HIT, TickerType.BLOCK_CACHE_DATA_MISS,
+                TickerType.BLOCK_CACHE_ADD, TickerType.BLOCK_CACHE_ADD_FAILURES,
+                TickerType.BLOOM_FILTER_USEFUL};
+        for (TickerType ticker : tickers) {
+            result.put(ticker.name(), statistics == null ? 0L : statistics.getTickerCount(ticker));
+        }
+        long hit = (Long) result.get(TickerType.BLOCK_CACHE_HIT.name());
+        long miss = (Long) result.get(TickerType.BLOCK_CACHE_MISS.name());
+        result.put("hitRate", hit + miss == 0 ? 0D : (double) hit / (hit + miss));
+        return result;
+    }
+
+    /**
+     * 读取表目录中记录的调优方案，未记录时为默认方案.
+     *
+     * @param tableDir 数据表目录
+     * @return TableProfile
+     */
+    private static TableProfile readProfile(final File tableDir) {
+        File file = new File(tableDir, PROFILE_FILE_NAME);
+        if (!file.exists()) {
+            return TableProfile.DEFAULT;
+        }
+        try {
+            return TableProfile.parse(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Log.warn("read table profile failed: " + file.getPath(), e);
+            return TableProfile.DEFAULT;
+        }
+    }
+
+    /**
+     * 在表目录中记录调优方案.
+     *
+     * @param tableDir 数据表目录
+     * @param profile  数据表调优方案
+     */
+    private static void writeProfile(final File tableDir, final TableProfile profile) throws IOException {
+        File file = new File(tableDir, PROFILE_FILE_NAME);
+        if (profile == TableProfile.DEFAULT) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+        Files.write(file.toPath(), profile.name().getBytes(StandardCharsets.UTF_8));
+    }
+
 
 }
@@ -564,9 +564,11 @@ public class TransactionDBManager {
         options.setAllowMmapReads(true);
         options.setCompressionType(CompressionType.NO_COMPRESSION);
         options.setMaxOpenFiles(-1);
+        options.setStatistics(RocksDBManager.getStatistics());
+        options.setWriteBufferManager(RocksDBManager.getWriteBufferManager());
 
         BlockBasedTableConfig tableOption = new BlockBasedTableConfig();
-        tableOption.setNoBlockCache(true);
+        tableOption.setBlockCache(RocksDBManager.getBlockCache());
         tableOption.setBlockRestartInterval(4);
         tableOption.setFilterPolicy(new BloomFilter(10, true));
         options.setTableFormatConfig(tableOption);
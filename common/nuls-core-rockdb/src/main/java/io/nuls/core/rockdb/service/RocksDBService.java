@@ -21,6 +21,7 @@ package io.nuls.core.rockdb.service;
 
 import io.nuls.core.log.Log;
 import io.nuls.core.model.StringUtils;
+import io.nuls.core.rockdb.constant.TableProfile;
 import io.nuls.core.rockdb.manager.RocksDBManager;
 import io.nuls.core.rockdb.model.Entry;
 
@@ -45,6 +46,23 @@ public class RocksDBService {
         return false;
     }
 
+    /**
+     * 按指定调优方案创建表，表已存在时记录新的调优方案，下次打开时生效
+     * Create a table with the given tuning profile, for an existing table the profile takes effect on next open
+     *
+     * @param tableName 表名
+     * @param profile   调优方案
+     * @return 是否新建了表
+     * @throws Exception
+     */
+    public static boolean createTable(String tableName, TableProfile profile) throws Exception {
+        if (!RocksDBService.existTable(tableName)) {
+            return RocksDBManager.createTable(tableName, profile);
+        }
+        RocksDBManager.updateTableProfile(tableName, profile);
+        return false;
+    }
+
     public static boolean destroyTable(String table) throws Exception {
         return RocksDBManager.destroyTable(table);
     }
@@ -68,6 +86,20 @@ public class RocksDBService {
         return exist;
     }
 
+    /**
+     * 如果表不存在就按指定调优方案创建表
+     * if table not exist then create this with the given tuning profile;
+     * @param table
+     * @param profile
+     * @return
+     * @throws Exception
+     */
+    public static boolean createTableIfNotExist(String table, TableProfile profile) throws Exception {
+        boolean exist = existTable(table);
+        createTable(table, profile);
+        return exist;
+    }
+
     /**
      * 判断表是否存在
      *
@@ -92,6 +124,17 @@ public class RocksDBService {
         return RocksDBManager.batchPut(table, kvs);
     }
 
+    /**
+     * 跨表批量保存，列族模式下所有表在同一个数据库中，原子写入
+     * Batch save into several tables, atomic in column family mode where all tables share one database
+     * @param tableKvs 表名及各表保存的键值对
+     * @return
+     * @throws Exception
+     */
+    public static boolean batchPut(Map<String, Map<byte[], byte[]>> tableKvs) throws Exception {
+        return RocksDBManager.batchPut(tableKvs);
+    }
+
     public static boolean deleteKeys(String table, List<byte[]> keys) throws Exception {
         return RocksDBManager.deleteKeys(table, keys);
     }
@@ -123,6 +166,10 @@ public class RocksDBService {
         return RocksDBManager.keyList(table);
     }
 
+    public static List<byte[]> keyList(String table, byte[] fromKey, int limit) {
+        return RocksDBManager.keyList(table, fromKey, limit);
+    }
+
     public static List<byte[]> valueList(String table) {
         return RocksDBManager.valueList(table);
     }
@@ -131,6 +178,15 @@ public class RocksDBService {
         return RocksDBManager.entryList(table);
     }
 
+    /**
+     * 查询共享块缓存的命中统计
+     * Query hit/miss statistics of the shared block cache
+     * @return
+     */
+    public static Map<String, Object> getCacheStatistics() {
+        return RocksDBManager.getCacheStatistics();
+    }
+
     public static BatchOperation createWriteBatch(String table) {
         if (StringUtils.isBlank(table)) {
             return null;
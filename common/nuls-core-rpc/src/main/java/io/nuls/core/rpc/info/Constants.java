@@ -217,6 +217,20 @@ public class Constants {
 
     public static final int TRY_COUNT = 3;
 
+    /**
+     * 模块间通信协议版本，0.2开始支持二进制传输
+     * Inter-module protocol version, binary transport is supported since 0.2
+     */
+    public static final String PROTOCOL_VERSION = "0.2";
+    public static final double BINARY_PROTOCOL_VERSION = 0.2;
+
+    /**
+     * 握手协商的消息序列化方式
+     * Message serialization negotiated during the handshake
+     */
+    public static final String SERIALIZE_TYPE_JSON = "json";
+    public static final String SERIALIZE_TYPE_BINARY = "binary";
+
     public static final int THREAD_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
 
     public static final int QUEUE_SIZE = 100000;
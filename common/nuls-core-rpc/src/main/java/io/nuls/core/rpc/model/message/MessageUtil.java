@@ -29,6 +29,7 @@ import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.util.NulsDateUtils;
 import io.nuls.core.constant.ErrorCode;
 import io.nuls.core.model.DateUtils;
+import io.nuls.core.parse.JSONUtils;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -69,12 +70,44 @@ public class MessageUtil {
     public static NegotiateConnection defaultNegotiateConnection() {
         NegotiateConnection negotiateConnection = new NegotiateConnection();
         negotiateConnection.setAbbreviation(ConnectManager.LOCAL.getAbbreviation());
-        negotiateConnection.setProtocolVersion("0.1");
+        negotiateConnection.setProtocolVersion(Constants.PROTOCOL_VERSION);
         negotiateConnection.setCompressionAlgorithm("zlib");
         negotiateConnection.setCompressionRate("0");
         return negotiateConnection;
     }
 
+    /**
+     * 握手方是否支持二进制传输
+     * Whether the module that sent the handshake supports the binary transport
+     *
+     * @param negotiateConnection 握手请求 / Handshake request
+     * @return boolean
+     */
+    public static boolean supportBinary(NegotiateConnection negotiateConnection) {
+        try {
+            return Double.parseDouble(negotiateConnection.getProtocolVersion()) >= Constants.BINARY_PROTOCOL_VERSION;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取消息体，JSON方式接收的消息体为Map，二进制方式接收的Request/Response直接为对象
+     * Get the message body, JSON messages carry a Map while binary messages already carry Request/Response objects
+     *
+     * @param message Message
+     * @param clazz   消息体类型 / Message body type
+     * @return T
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getMessageData(Message message, Class<T> clazz) {
+        Object messageData = message.getMessageData();
+        if (clazz.isInstance(messageData)) {
+            return (T) messageData;
+        }
+        return JSONUtils.map2pojo((Map) messageData, clazz);
+    }
+
     /**
      * 构造默认Request对象
      * Constructing a default Request object
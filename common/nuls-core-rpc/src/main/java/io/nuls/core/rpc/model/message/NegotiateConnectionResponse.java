@@ -51,6 +51,13 @@ public class NegotiateConnectionResponse {
     @JsonProperty
     private String NegotiationComment;
 
+    /**
+     * 协商后使用的序列化方式，json或binary，旧版本模块不返回该字段
+     * Serialization negotiated for this connection, json or binary, absent when answered by older modules
+     */
+    @JsonProperty
+    private String SerializeType;
+
     @JsonIgnore
     public String getRequestID() {
         return RequestID;
@@ -80,4 +87,14 @@ public class NegotiateConnectionResponse {
     public void setNegotiationComment(String NegotiationComment) {
         this.NegotiationComment = NegotiationComment;
     }
+
+    @JsonIgnore
+    public String getSerializeType() {
+        return SerializeType;
+    }
+
+    @JsonIgnore
+    public void setSerializeType(String SerializeType) {
+        this.SerializeType = SerializeType;
+    }
 }
@@ -7,6 +7,7 @@ import io.nuls.core.core.config.ConfigurationLoader;
 import io.nuls.core.core.ioc.SpringLiteContext;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
+import io.nuls.core.model.StringUtils;
 import io.nuls.core.parse.I18nUtils;
 import io.nuls.core.parse.MapUtils;
 import io.nuls.core.rpc.model.ModuleE;
@@ -45,6 +46,8 @@ public abstract class RpcModule implements InitializingBean {
 
     private static final String LANGUAGE = "en";
     private static final String LANGUAGE_PATH =  "languages";
+    private static final String RPC_IN_PROCESS = "rpcInProcess";
+    private static final String RPC_IN_PROCESS_ROLES = "rpcInProcessRoles";
     protected static final String ROLE = "1.0";
 
     private Set<Module> dependencies;
@@ -230,6 +233,7 @@ public abstract class RpcModule implements InitializingBean {
                     //注册管理模块状态的RPC接口ifc
                     .addCmdDetail(ModuleStatusCmd.class);
             dependentReadyState.keySet().forEach(d -> server.dependencies(d.getName(), d.getVersion()));
+            initInProcess();
             // Get information from kernel
             ConnectManager.getConnectByUrl(serviceManagerUrl);
             Log.info("RMB:开始连接service manager:{}",serviceManagerUrl);
@@ -248,6 +252,20 @@ public abstract class RpcModule implements InitializingBean {
         }
     }
 
+    /**
+     * 读取同进程直接调用的配置，rpcInProcessRoles中的角色由同一进程内加载的模块提供
+     * Load the in-process call settings, roles listed in rpcInProcessRoles are served by modules loaded in this process
+     */
+    private void initInProcess() {
+        ConfigurationLoader configLoader = SpringLiteContext.getBean(ConfigurationLoader.class);
+        ConnectManager.inProcessEnable = Boolean.parseBoolean(configLoader.getValue(RPC_IN_PROCESS));
+        String roles = configLoader.getValue(RPC_IN_PROCESS_ROLES);
+        if (ConnectManager.inProcessEnable && StringUtils.isNotBlank(roles)) {
+            Arrays.stream(roles.split(",")).map(String::trim).filter(StringUtils::isNotBlank).forEach(ConnectManager.IN_PROCESS_ROLES::add);
+        }
+        Log.info("RMB:rpc in process:{},roles:{}", ConnectManager.inProcessEnable, ConnectManager.IN_PROCESS_ROLES);
+    }
+
     /**
      * 尝试启动模块
      * 如果所有依赖准备就绪就触发onDependenciesReady
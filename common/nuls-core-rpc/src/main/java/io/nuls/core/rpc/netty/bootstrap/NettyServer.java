@@ -53,6 +53,7 @@ public class NettyServer {
         ConnectManager.LOCAL.setMethods(new ArrayList<>());
         ConnectManager.LOCAL.setDependencies(new HashMap<>(8));
         ConnectManager.LOCAL.setModuleRoles(new HashMap<>(1));
+        ConnectManager.IN_PROCESS_ROLES.add(abbr);
         return new NettyServer();
     }
 
@@ -109,6 +110,7 @@ public class NettyServer {
      */
     public NettyServer moduleRoles(String key, String[] value) {
         ConnectManager.LOCAL.getModuleRoles().put(key, value);
+        ConnectManager.addInProcessRole(key, ConnectManager.LOCAL.getAbbreviation());
         return this;
     }
 
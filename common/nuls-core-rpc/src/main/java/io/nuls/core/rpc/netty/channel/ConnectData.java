@@ -4,10 +4,10 @@ import io.netty.channel.socket.SocketChannel;
 import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.RequestOnly;
 import io.nuls.core.rpc.model.message.Message;
+import io.nuls.core.rpc.model.message.MessageUtil;
 import io.nuls.core.rpc.model.message.Request;
 import io.nuls.core.rpc.model.message.Response;
 import io.nuls.core.rpc.netty.channel.manager.ConnectManager;
-import io.nuls.core.parse.JSONUtils;
 import io.nuls.core.thread.ThreadUtils;
 import io.nuls.core.thread.commom.NulsThreadFactory;
 
@@ -178,7 +178,7 @@ public class ConnectData {
      * Initial number of subscription interfaces added
      */
     public void addSubscribeInitCount(Message message) {
-        Request request = JSONUtils.map2pojo((Map) message.getMessageData(), Request.class);
+        Request request = MessageUtil.getMessageData(message, Request.class);
         for (Object method : request.getRequestMethods().keySet()) {
             String cmd = (String) method;
             String key = ConnectManager.getSubscribeKey(message.getMessageID(), cmd);
@@ -193,7 +193,7 @@ public class ConnectData {
      * Initial number of subscription interfaces added
      */
     public void removeSubscribeInitCount(Message message) {
-        Request request = JSONUtils.map2pojo((Map) message.getMessageData(), Request.class);
+        Request request = MessageUtil.getMessageData(message, Request.class);
         for (Object method : request.getRequestMethods().keySet()) {
             String cmd = (String) method;
             String key = ConnectManager.getSubscribeKey(message.getMessageID(), cmd);
@@ -1,20 +1,24 @@
 package io.nuls.core.rpc.netty.channel.manager;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.util.AttributeKey;
 import io.nuls.core.core.ioc.ScanUtil;
 import io.nuls.core.core.ioc.SpringLiteContext;
 import io.nuls.core.log.Log;
 import io.nuls.core.model.StringUtils;
-import io.nuls.core.parse.JSONUtils;
 import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.invoke.BaseInvoke;
 import io.nuls.core.rpc.model.*;
 import io.nuls.core.rpc.model.message.Message;
+import io.nuls.core.rpc.model.message.MessageUtil;
 import io.nuls.core.rpc.model.message.Request;
 import io.nuls.core.rpc.model.message.Response;
 import io.nuls.core.rpc.netty.bootstrap.NettyClient;
@@ -24,6 +28,7 @@ import io.nuls.core.rpc.netty.thread.RequestByCountProcessor;
 import io.nuls.core.rpc.netty.thread.RequestByPeriodProcessor;
 import io.nuls.core.rpc.netty.thread.RequestOnlyProcessor;
 import io.nuls.core.rpc.netty.thread.ResponseAutoProcessor;
+import io.nuls.core.rpc.util.BinaryMessageCodec;
 import io.nuls.core.rpc.util.NulsDateUtils;
 import io.nuls.core.rpc.util.SerializeUtil;
 
@@ -46,6 +51,13 @@ import java.util.stream.Collectors;
  */
 public class ConnectManager {
     private static Lock SUB_LOCK = new ReentrantLock();
+
+    /**
+     * 连接是否已协商使用二进制传输
+     * Whether the connection negotiated the binary transport
+     */
+    private static final AttributeKey<Boolean> BINARY_SERIALIZE = AttributeKey.valueOf("rpcBinarySerialize");
+
     /**
      * 本模块是否可以启动服务（所依赖模块是否可以连接）
      * Can this module start the service? (Can the dependent modules be connected?)
@@ -58,6 +70,27 @@ public class ConnectManager {
      */
     public static final RegisterApi LOCAL = new RegisterApi();
 
+    /**
+     * 是否启用同进程内直接调用，由配置项rpcInProcess控制
+     * Whether in-process calls are enabled, controlled by the rpcInProcess config item
+     */
+    public static volatile boolean inProcessEnable = false;
+
+    /**
+     * 在本进程内提供服务的角色，调用这些角色的接口时直接调用本地注册的方法，不经过websocket
+     * Roles served by this process, their commands are invoked directly from LOCAL without going through the websocket
+     */
+    public static final Set<String> IN_PROCESS_ROLES = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 本进程内各角色注册的接口，同进程直接调用时按角色和cmd查找，不同模块的同名cmd不会互相调用
+     * Commands registered per role in this process, in-process calls resolve by role and cmd so that
+     * modules registering the same cmd name never run each other's handler
+     * Key: 角色 / Role
+     * Value: 该角色的接口 / Commands of the role
+     */
+    private static final Map<String, List<CmdDetail>> IN_PROCESS_CMDS = new ConcurrentHashMap<>();
+
     /**
      * 本模块各个CMD优先级
      * Each CMD priority of this module
@@ -156,9 +189,12 @@ public class ConnectManager {
      * @return CmdDetail
      */
     public static CmdDetail getLocalInvokeCmd(String cmd, double minVersion) {
+        return getInvokeCmd(LOCAL.getMethods(), cmd, minVersion);
+    }
 
+    private static CmdDetail getInvokeCmd(List<CmdDetail> methods, String cmd, double minVersion) {
         CmdDetail find = null;
-        for (CmdDetail cmdDetail : LOCAL.getMethods()) {
+        for (CmdDetail cmdDetail : methods) {
             /*
             cmd不一致，跳过
             CMD inconsistency, skip
@@ -204,8 +240,12 @@ public class ConnectManager {
      * @return CmdDetail
      */
     public static CmdDetail getLocalInvokeCmd(String cmd) {
+        return getInvokeCmd(LOCAL.getMethods(), cmd);
+    }
+
+    private static CmdDetail getInvokeCmd(List<CmdDetail> methods, String cmd) {
         CmdDetail find = null;
-        for (CmdDetail cmdDetail : LOCAL.getMethods()) {
+        for (CmdDetail cmdDetail : methods) {
             if (!cmdDetail.getMethodName().equals(cmd)) {
                 continue;
             }
@@ -256,6 +296,7 @@ public class ConnectManager {
                  */
                 if (!isRegister(cmdDetail)) {
                     LOCAL.getMethods().add(cmdDetail);
+                    inProcessCmds(LOCAL.getAbbreviation()).add(cmdDetail);
                     RequestMessageProcessor.handlerMap.put(cmdDetail.getInvokeClass(), SpringLiteContext.getBeanByClass(cmdDetail.getInvokeClass()));
                     Log.debug("valid cmdDetail-" + cmdDetail);
                 } else {
@@ -279,6 +320,7 @@ public class ConnectManager {
                  */
             if (!isRegister(cmdDetail)) {
                 LOCAL.getMethods().add(cmdDetail);
+                inProcessCmds(LOCAL.getAbbreviation()).add(cmdDetail);
                 RequestMessageProcessor.handlerMap.put(cmdDetail.getInvokeClass(), SpringLiteContext.getBeanByClass(cmdDetail.getInvokeClass()));
             }
             ;
@@ -426,7 +468,7 @@ public class ConnectManager {
      * @param message
      */
     public static void subscribeCountMinus(Message message) {
-        Request request = JSONUtils.map2pojo((Map) message.getMessageData(), Request.class);
+        Request request = MessageUtil.getMessageData(message, Request.class);
         for (Object method : request.getRequestMethods().keySet()) {
             String cmd = (String) method;
             subscribeCountMinus(cmd);
@@ -455,7 +497,7 @@ public class ConnectManager {
      * @param message
      */
     public static void subscribeCountAdd(Message message) {
-        Request request = JSONUtils.map2pojo((Map) message.getMessageData(), Request.class);
+        Request request = MessageUtil.getMessageData(message, Request.class);
         for (Object method : request.getRequestMethods().keySet()) {
             String cmd = (String) method;
             subscribeCountAdd(cmd);
@@ -491,7 +533,7 @@ public class ConnectManager {
      */
     public static void unsubscribeByEvent(Message message) {
         MESSAGE_TO_CHANNEL_MAP.remove(message);
-        Request request = JSONUtils.map2pojo((Map) message.getMessageData(), Request.class);
+        Request request = MessageUtil.getMessageData(message, Request.class);
         for (String method : request.getRequestMethods().keySet()) {
             if (CMD_SUBSCRIBE_MESSAGE_MAP.containsKey(method)) {
                 CMD_SUBSCRIBE_MESSAGE_MAP.get(method).remove(message);
@@ -521,7 +563,7 @@ public class ConnectManager {
                 String key = getSubscribeKey(message.getMessageID(), cmd);
                 if (connectData.getSubscribeInitCount().containsKey(key)) {
                     int initCount = connectData.getSubscribeInitCount().get(key);
-                    Request request = JSONUtils.map2pojo((Map) message.getMessageData(), Request.class);
+                    Request request = MessageUtil.getMessageData(message, Request.class);
                     long eventCount = Long.parseLong(request.getSubscriptionEventCounter());
                     if ((changeCount - initCount) % eventCount == 0) {
                         try {
@@ -733,10 +775,27 @@ public class ConnectManager {
     }
 
     public static void sendMessage(Channel channel, ByteBuf message) {
+        sendFrame(channel, new TextWebSocketFrame(message));
+    }
+
+    /**
+     * 按握手时协商的序列化方式发送消息，协商为二进制的连接发送BinaryWebSocketFrame，否则发送JSON
+     * Send the message with the serialization negotiated during the handshake,
+     * binary connections get a BinaryWebSocketFrame, all others keep receiving JSON
+     */
+    public static void sendMessage(Channel channel, Message message) throws JsonProcessingException {
+        if (isBinaryChannel(channel)) {
+            sendFrame(channel, new BinaryWebSocketFrame(BinaryMessageCodec.encode(message)));
+        } else {
+            sendFrame(channel, new TextWebSocketFrame(SerializeUtil.getBuffer(SerializeUtil.obj2ByteArray(message))));
+        }
+    }
+
+    private static void sendFrame(Channel channel, WebSocketFrame frame) {
 //        Log.debug("发送消息:{}",message);
         try {
             channel.eventLoop().execute(() -> {
-                ChannelFuture cf = channel.writeAndFlush(new TextWebSocketFrame(message));
+                ChannelFuture cf = channel.writeAndFlush(frame);
                 cf.addListener((ChannelFutureListener) future -> {
                     if (!future.isSuccess()) {
                         Log.error(future.cause());
@@ -768,7 +827,69 @@ public class ConnectManager {
 //    }
 
     public static void sendMessage(String moduleAbbr, Message message) throws Exception {
-        sendMessage(getConnectByRole(moduleAbbr), SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(message)));
+        sendMessage(getConnectByRole(moduleAbbr), message);
+    }
+
+    /**
+     * 目标角色是否可以在本进程内直接调用
+     * Whether the target role can be invoked directly inside this process
+     */
+    public static boolean isInProcessRole(String role) {
+        return inProcessEnable && IN_PROCESS_ROLES.contains(role);
+    }
+
+    /**
+     * 目标角色在本进程内且该角色注册了该命令时才直接调用，否则仍通过websocket发送
+     * Invoke directly only when the role is in-process and has registered the command, otherwise use the websocket
+     */
+    public static boolean isInProcessCmd(String role, String cmd) {
+        return isInProcessRole(role) && getInProcessCmd(role, cmd, null) != null;
+    }
+
+    /**
+     * 按角色和cmd查找本进程内注册的方法，未指定版本时取最高版本
+     * Find a command registered in this process by role and cmd, the highest version when no version is given
+     *
+     * @param role    角色 / Role
+     * @param cmd     命令 / Command
+     * @param version 请求的版本，可为null / Requested version, may be null
+     * @return CmdDetail
+     */
+    public static CmdDetail getInProcessCmd(String role, String cmd, Object version) {
+        List<CmdDetail> methods = IN_PROCESS_CMDS.get(role);
+        if (methods == null) {
+            return null;
+        }
+        return version == null ? getInvokeCmd(methods, cmd) : getInvokeCmd(methods, cmd, Double.parseDouble(version.toString()));
+    }
+
+    /**
+     * 模块的其他角色与模块共用同一份接口列表
+     * Another role of a module shares the command list of the module
+     */
+    public static void addInProcessRole(String role, String moduleAbbr) {
+        IN_PROCESS_ROLES.add(role);
+        IN_PROCESS_CMDS.put(role, inProcessCmds(moduleAbbr));
+    }
+
+    private static List<CmdDetail> inProcessCmds(String role) {
+        return IN_PROCESS_CMDS.computeIfAbsent(role, key -> new CopyOnWriteArrayList<>());
+    }
+
+    /**
+     * 标记该连接已协商使用二进制传输
+     * Mark the connection as having negotiated the binary transport
+     */
+    public static void setBinaryChannel(Channel channel) {
+        channel.attr(BINARY_SERIALIZE).set(Boolean.TRUE);
+    }
+
+    /**
+     * 该连接是否已协商使用二进制传输
+     * Whether the connection negotiated the binary transport
+     */
+    public static boolean isBinaryChannel(Channel channel) {
+        return Boolean.TRUE.equals(channel.attr(BINARY_SERIALIZE).get());
     }
 
     public static String getRoleByChannel(Channel channel){
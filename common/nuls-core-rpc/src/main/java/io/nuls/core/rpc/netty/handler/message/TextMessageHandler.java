@@ -30,6 +30,7 @@ import io.nuls.core.rpc.model.RequestOnly;
 import io.nuls.core.rpc.netty.processor.RequestMessageProcessor;
 import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.message.Message;
+import io.nuls.core.rpc.model.message.MessageUtil;
 import io.nuls.core.rpc.model.message.MessageType;
 import io.nuls.core.rpc.model.message.Request;
 import io.nuls.core.rpc.model.message.Response;
@@ -38,7 +39,6 @@ import io.nuls.core.rpc.netty.channel.manager.ConnectManager;
 import io.nuls.core.rpc.netty.processor.container.RequestContainer;
 import io.nuls.core.rpc.netty.processor.container.ResponseContainer;
 import io.nuls.core.log.Log;
-import io.nuls.core.parse.JSONUtils;
 import io.nuls.core.rpc.util.NulsDateUtils;
 
 import java.util.Comparator;
@@ -149,6 +149,13 @@ public class TextMessageHandler implements Runnable, Comparable<TextMessageHandl
                     }
                     break;
                 case NegotiateConnectionResponse:
+                    /*
+                    对方确认使用二进制传输，之后发往该连接的消息使用二进制
+                    The peer accepted the binary transport, later messages on this connection use binary
+                     */
+                    if (Constants.SERIALIZE_TYPE_BINARY.equals(((Map<String, String>) message.getMessageData()).get("SerializeType"))) {
+                        ConnectManager.setBinaryChannel(channel);
+                    }
                 case Ack:
                     ResponseContainer resContainer = RequestContainer.getResponseContainer(((Map<String, String>) message.getMessageData()).get("RequestID"));
                     if (resContainer != null && resContainer.getFuture() != null) {
@@ -156,7 +163,7 @@ public class TextMessageHandler implements Runnable, Comparable<TextMessageHandl
                     }
                     break;
                 case Response:
-                    Response response = JSONUtils.map2pojo((Map) message.getMessageData(), Response.class);
+                    Response response = MessageUtil.getMessageData(message, Response.class);
                     /*
                     Response：还要判断是否需要自动处理
                     Response: Determines whether automatic processing is required
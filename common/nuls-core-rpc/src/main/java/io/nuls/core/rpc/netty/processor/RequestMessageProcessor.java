@@ -7,6 +7,7 @@ import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
 import io.nuls.core.model.StringUtils;
 import io.nuls.core.parse.JSONUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
 import io.nuls.core.rpc.cmd.BaseCmd;
 import io.nuls.core.rpc.info.Constants;
 import io.nuls.core.rpc.model.CmdDetail;
@@ -14,8 +15,8 @@ import io.nuls.core.rpc.model.CmdParameter;
 import io.nuls.core.rpc.model.message.*;
 import io.nuls.core.rpc.netty.channel.ConnectData;
 import io.nuls.core.rpc.netty.channel.manager.ConnectManager;
+import io.nuls.core.rpc.util.BinaryMessageCodec;
 import io.nuls.core.rpc.util.NulsDateUtils;
-import io.nuls.core.rpc.util.SerializeUtil;
 
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
@@ -23,6 +24,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static io.nuls.core.rpc.info.Constants.CMD_NOT_FOUND;
 
@@ -37,6 +44,12 @@ public class RequestMessageProcessor {
     public static final Map<String, Object> handlerMap = new HashMap<>();
     public static final Map<String, Class<?>> classMap = new ConcurrentHashMap<>();
 
+    /**
+     * 执行同进程直接调用的线程池，调用方在超时时间内等待结果
+     * Pool running in-process calls, the caller waits for the result up to its timeout
+     */
+    private static final ExecutorService IN_PROCESS_EXECUTOR = Executors.newCachedThreadPool(new NulsThreadFactory("rpc-in-process"));
+
     /**
      * 确认握手成功
      * Confirm successful handshake
@@ -50,12 +63,22 @@ public class RequestMessageProcessor {
         negotiateConnectionResponse.setNegotiationStatus("1");
         negotiateConnectionResponse.setNegotiationComment("Connection true!");
 
+        /*
+        对方支持二进制传输时，握手确认仍以JSON发送，之后的消息使用二进制
+        If the peer supports the binary transport, the confirmation is still sent as JSON and later messages use binary
+         */
+        NegotiateConnection negotiateConnection = MessageUtil.getMessageData(message, NegotiateConnection.class);
+        boolean binary = MessageUtil.supportBinary(negotiateConnection);
+        negotiateConnectionResponse.setSerializeType(binary ? Constants.SERIALIZE_TYPE_BINARY : Constants.SERIALIZE_TYPE_JSON);
+
         Message rspMsg = MessageUtil.basicMessage(MessageType.NegotiateConnectionResponse);
         rspMsg.setMessageData(negotiateConnectionResponse);
-        ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMsg)));
+        ConnectManager.sendMessage(channel, rspMsg);
+        if (binary) {
+            ConnectManager.setBinaryChannel(channel);
+        }
 
         //握手成功之后保存channel与角色的对应信息
-        NegotiateConnection negotiateConnection = JSONUtils.map2pojo((Map) message.getMessageData(), NegotiateConnection.class);
         ConnectManager.cacheConnect(negotiateConnection.getAbbreviation(), channel, false);
     }
 
@@ -73,7 +96,7 @@ public class RequestMessageProcessor {
         ack.setRequestId(messageId);
         Message rspMsg = MessageUtil.basicMessage(MessageType.Ack);
         rspMsg.setMessageData(ack);
-        ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMsg)));
+        ConnectManager.sendMessage(channel, rspMsg);
     }
 
     /**
@@ -87,7 +110,7 @@ public class RequestMessageProcessor {
         Response response = MessageUtil.newFailResponse(messageId, "Service not started!");
         Message rspMsg = MessageUtil.basicMessage(MessageType.Response);
         rspMsg.setMessageData(response);
-        ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMsg)));
+        ConnectManager.sendMessage(channel, rspMsg);
     }
 
     /**
@@ -98,7 +121,7 @@ public class RequestMessageProcessor {
      * @serialData 取消订阅的客户端连接信息/Unsubscribed client connection information
      */
     public static synchronized void unsubscribe(ConnectData channelData, Message message) {
-        Unsubscribe unsubscribe = JSONUtils.map2pojo((Map) message.getMessageData(), Unsubscribe.class);
+        Unsubscribe unsubscribe = MessageUtil.getMessageData(message, Unsubscribe.class);
         for (String requestId : unsubscribe.getUnsubscribeMethods()) {
             channelData.unsubscribe(requestId);
         }
@@ -188,7 +211,7 @@ public class RequestMessageProcessor {
                     response.setResponseErrorCode(CommonCodeConstanst.CMD_NOTFOUND.getCode());
                     Message rspMessage = MessageUtil.basicMessage(MessageType.Response);
                     rspMessage.setMessageData(response);
-                    ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMessage)));
+                    ConnectManager.sendMessage(channel, rspMessage);
                     return;
                 }
 
@@ -202,12 +225,12 @@ public class RequestMessageProcessor {
                     response.setResponseErrorCode(CommonCodeConstanst.PARAMETER_ERROR.getCode());
                     Message rspMessage = MessageUtil.basicMessage(MessageType.Response);
                     rspMessage.setMessageData(response);
-                    ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMessage)));
+                    ConnectManager.sendMessage(channel, rspMessage);
                     return;
                 }
 
                 Message rspMessage = execute(cmdDetail, params, messageId);
-                ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMessage)));
+                ConnectManager.sendMessage(channel, rspMessage);
 
                 /*
                 执行成功之后判断该接口是否被订阅过，如果被订阅则改变该接口触发次数
@@ -222,14 +245,14 @@ public class RequestMessageProcessor {
                 response.setResponseErrorCode(e.getErrorCode().getCode());
                 Message rspMessage = MessageUtil.basicMessage(MessageType.Response);
                 rspMessage.setMessageData(response);
-                ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMessage)));
+                ConnectManager.sendMessage(channel, rspMessage);
             } catch (Exception e) {
                 Log.error(e);
                 response.setResponseComment("Server-side processing failed!");
                 response.setResponseErrorCode(CommonCodeConstanst.SYS_UNKOWN_EXCEPTION.getCode());
                 Message rspMessage = MessageUtil.basicMessage(MessageType.Response);
                 rspMessage.setMessageData(response);
-                ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMessage)));
+                ConnectManager.sendMessage(channel, rspMessage);
             }
         }
     }
@@ -292,6 +315,12 @@ public class RequestMessageProcessor {
      * @throws Exception 调用的方法返回的任何异常 / Any exception returned by the invoked method
      */
     private static Message execute(CmdDetail cmdDetail, Map params, String messageId) throws Exception {
+        Message rspMessage = MessageUtil.basicMessage(MessageType.Response);
+        rspMessage.setMessageData(executeCmd(cmdDetail, params, messageId));
+        return rspMessage;
+    }
+
+    private static Response executeCmd(CmdDetail cmdDetail, Map params, String messageId) throws Exception {
         long startTimemillis = NulsDateUtils.getCurrentTimeMillis();
         Response response = invoke(cmdDetail.getInvokeClass(), cmdDetail.getInvokeMethod(), params);
         response.setRequestID(messageId);
@@ -299,9 +328,67 @@ public class RequestMessageProcessor {
         responseData.put(cmdDetail.getMethodName(), response.getResponseData());
         response.setResponseData(responseData);
         response.setResponseProcessingTime((NulsDateUtils.getCurrentTimeMillis() - startTimemillis) + "");
-        Message rspMessage = MessageUtil.basicMessage(MessageType.Response);
-        rspMessage.setMessageData(response);
-        return rspMessage;
+        return response;
+    }
+
+    /**
+     * 同进程内直接调用目标角色注册的方法，不经过websocket、JSON和消息处理线程
+     * 参数与返回值按二进制传输的规则转换，保证与远程调用得到的结构一致；调用在本地线程池执行，等待时间与远程调用相同
+     * Invoke a command registered by the target role in this process, without websocket, JSON or dispatcher threads.
+     * Parameters and results are converted the same way as the binary transport so callers see the same structures.
+     * The call runs on a local pool and is waited for under the same timeout as a remote call.
+     *
+     * @param role      目标角色 / Target role
+     * @param method    命令 / Command
+     * @param params    参数 / Parameters
+     * @param messageId 消息ID / Message ID
+     * @param timeOut   超时时间，不大于0时不等待结果 / Timeout millis, the result is not waited for when not positive
+     * @return Response
+     */
+    @SuppressWarnings("unchecked")
+    public static Response callLocalCommand(String role, String method, Map params, String messageId, long timeOut) {
+        Response response = MessageUtil.newResponse(messageId, Response.FAIL, "");
+        try {
+            Map localParams = (Map) BinaryMessageCodec.normalize(params);
+            Object version = localParams == null ? null : localParams.get(Constants.VERSION_KEY_STR);
+            CmdDetail cmdDetail = ConnectManager.getInProcessCmd(role, method, version);
+            if (cmdDetail == null) {
+                response.setResponseComment(Constants.CMD_NOT_FOUND + ":" + method + "," + (version != null ? version : ""));
+                response.setResponseErrorCode(CommonCodeConstanst.CMD_NOTFOUND.getCode());
+                return response;
+            }
+            String validationString = paramsValidation(cmdDetail, localParams);
+            if (validationString != null) {
+                response.setResponseComment(validationString);
+                response.setResponseErrorCode(CommonCodeConstanst.PARAMETER_ERROR.getCode());
+                return response;
+            }
+            Future<Response> future = IN_PROCESS_EXECUTOR.submit(() -> executeCmd(cmdDetail, localParams, messageId));
+            if (timeOut <= 0) {
+                return MessageUtil.newSuccessResponse(messageId);
+            }
+            Response localResponse;
+            try {
+                localResponse = future.get(timeOut, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                Log.warn("in process call timeout,role={},cmd={},timeOut={}", role, method, timeOut);
+                return MessageUtil.newFailResponse(messageId, CommonCodeConstanst.REQUEST_TIME_OUT);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+            localResponse.setResponseData(BinaryMessageCodec.normalize(localResponse.getResponseData()));
+            return localResponse;
+        } catch (NulsException e) {
+            Log.error(e);
+            response.setResponseComment("Server-side processing failed!");
+            response.setResponseErrorCode(e.getErrorCode().getCode());
+        } catch (Exception e) {
+            Log.error(e);
+            response.setResponseComment("Server-side processing failed!");
+            response.setResponseErrorCode(CommonCodeConstanst.SYS_UNKOWN_EXCEPTION.getCode());
+        }
+        return response;
     }
 
 
@@ -317,7 +404,7 @@ public class RequestMessageProcessor {
         rspMessage.setMessageData(realResponse);
         try {
             Log.debug("responseWithEventCount: " + JSONUtils.obj2json(rspMessage));
-            ConnectManager.sendMessage(channel, SerializeUtil.getBuffer(JSONUtils.obj2ByteArray(rspMessage)));
+            ConnectManager.sendMessage(channel, rspMessage);
         } catch (JsonProcessingException e) {
             Log.error(e);
         }
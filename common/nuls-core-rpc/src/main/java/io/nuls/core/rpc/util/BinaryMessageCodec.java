@@ -0,0 +1,314 @@
+package io.nuls.core.rpc.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.nuls.core.rpc.model.message.Message;
+import io.nuls.core.rpc.model.message.Request;
+import io.nuls.core.rpc.model.message.Response;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 模块间通信的二进制编解码器，握手时双方协商成功后使用，byte[]参数原样传输，不再做hex与JSON转换
+ * Binary codec for inter-module messages, used once both sides negotiated it during the handshake.
+ * byte[] parameters are carried as raw bytes, without hex or JSON conversion.
+ * <p>
+ * 数值类型的解码结果与JSON方式保持一致（int范围内为Integer，long范围内为Long，小数为Double），
+ * BigDecimal按非标度值和标度传输，解码后仍为BigDecimal，不损失精度
+ * Decoded numbers follow the JSON behaviour (Integer within int range, Long within long range, Double for decimals),
+ * except BigDecimal, which travels as unscaled value plus scale and decodes to an exact BigDecimal
+ */
+public class BinaryMessageCodec {
+
+    /**
+     * 编码格式版本
+     * Codec format version
+     */
+    public static final byte VERSION = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_TRUE = 1;
+    private static final byte TYPE_FALSE = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_STRING = 6;
+    private static final byte TYPE_BYTES = 7;
+    private static final byte TYPE_LIST = 8;
+    private static final byte TYPE_MAP = 9;
+    private static final byte TYPE_BIG_INTEGER = 10;
+    private static final byte TYPE_REQUEST = 11;
+    private static final byte TYPE_RESPONSE = 12;
+    private static final byte TYPE_BIG_DECIMAL = 13;
+
+    private BinaryMessageCodec() {
+    }
+
+    public static ByteBuf encode(Message message) {
+        ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
+        try {
+            buf.writeByte(VERSION);
+            writeString(buf, message.getMessageID());
+            writeString(buf, message.getTimestamp());
+            writeString(buf, message.getTimeZone());
+            writeString(buf, message.getMessageType());
+            writeValue(buf, message.getMessageData());
+            return buf;
+        } catch (RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    public static Message decode(ByteBuf buf) {
+        byte version = buf.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary message version:" + version);
+        }
+        Message message = new Message();
+        message.setMessageID(readString(buf));
+        message.setTimestamp(readString(buf));
+        message.setTimeZone(readString(buf));
+        message.setMessageType(readString(buf));
+        message.setMessageData(readValue(buf));
+        return message;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeValue(ByteBuf buf, Object value) {
+        if (value == null) {
+            buf.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            buf.writeByte(TYPE_STRING);
+            writeString(buf, (String) value);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            buf.writeByte(TYPE_BYTES);
+            buf.writeInt(bytes.length);
+            buf.writeBytes(bytes);
+        } else if (value instanceof Boolean) {
+            buf.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            buf.writeByte(TYPE_INT);
+            buf.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            writeLong(buf, (Long) value);
+        } else if (value instanceof BigInteger) {
+            BigInteger bigInteger = (BigInteger) value;
+            if (bigInteger.bitLength() < Long.SIZE) {
+                writeLong(buf, bigInteger.longValue());
+            } else {
+                byte[] bytes = bigInteger.toByteArray();
+                buf.writeByte(TYPE_BIG_INTEGER);
+                buf.writeInt(bytes.length);
+                buf.writeBytes(bytes);
+            }
+        } else if (value instanceof BigDecimal) {
+            //金额不能按double传输，写入非标度值和标度 / amounts must not go through double, write unscaled value and scale
+            BigDecimal bigDecimal = (BigDecimal) value;
+            byte[] bytes = bigDecimal.unscaledValue().toByteArray();
+            buf.writeByte(TYPE_BIG_DECIMAL);
+            buf.writeInt(bigDecimal.scale());
+            buf.writeInt(bytes.length);
+            buf.writeBytes(bytes);
+        } else if (value instanceof Double || value instanceof Float) {
+            buf.writeByte(TYPE_DOUBLE);
+            buf.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Character || value instanceof Enum) {
+            buf.writeByte(TYPE_STRING);
+            writeString(buf, value instanceof Enum ? ((Enum) value).name() : value.toString());
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) value;
+            buf.writeByte(TYPE_MAP);
+            buf.writeInt(map.size());
+            for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                writeString(buf, String.valueOf(entry.getKey()));
+                writeValue(buf, entry.getValue());
+            }
+        } else if (value instanceof Collection) {
+            Collection<Object> collection = (Collection<Object>) value;
+            buf.writeByte(TYPE_LIST);
+            buf.writeInt(collection.size());
+            for (Object item : collection) {
+                writeValue(buf, item);
+            }
+        } else if (value instanceof Object[]) {
+            writeValue(buf, Arrays.asList((Object[]) value));
+        } else if (value instanceof Request) {
+            Request request = (Request) value;
+            buf.writeByte(TYPE_REQUEST);
+            writeString(buf, request.getRequestAck());
+            writeString(buf, request.getSubscriptionEventCounter());
+            writeString(buf, request.getSubscriptionPeriod());
+            writeString(buf, request.getSubscriptionRange());
+            writeString(buf, request.getResponseMaxSize());
+            writeString(buf, request.getTimeOut());
+            writeValue(buf, request.getRequestMethods());
+        } else if (value instanceof Response) {
+            Response response = (Response) value;
+            buf.writeByte(TYPE_RESPONSE);
+            writeString(buf, response.getRequestID());
+            writeString(buf, response.getResponseProcessingTime());
+            buf.writeInt(response.getResponseStatus());
+            writeString(buf, response.getResponseComment());
+            writeString(buf, response.getResponseMaxSize());
+            writeString(buf, response.getResponseErrorCode());
+            writeValue(buf, response.getResponseData());
+        } else {
+            /*
+            其他对象（DTO、基本类型数组等）按JSON方式转换为Map/List后再编码
+            Other objects (DTOs, primitive arrays...) are converted to Map/List the same way JSON would
+             */
+            writeValue(buf, SerializeUtil.convertValue(value));
+        }
+    }
+
+    /**
+     * 不经过编解码，直接将值转换为二进制方式传输后接收端得到的结构，用于同进程内的直接调用
+     * Convert a value to the structure the receiver would get from the binary transport without encoding it,
+     * used by in-process calls. byte[] values are passed by reference.
+     *
+     * @param value 参数或返回值 / Parameter or return value
+     * @return Object
+     */
+    @SuppressWarnings("unchecked")
+    public static Object normalize(Object value) {
+        if (value == null || value instanceof String || value instanceof byte[] || value instanceof Boolean
+                || value instanceof Integer || value instanceof Double || value instanceof BigDecimal) {
+            return value;
+        } else if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        } else if (value instanceof Long) {
+            long longValue = (Long) value;
+            return longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE ? (Object) (int) longValue : value;
+        } else if (value instanceof BigInteger) {
+            BigInteger bigInteger = (BigInteger) value;
+            return bigInteger.bitLength() < Long.SIZE ? normalize(bigInteger.longValue()) : value;
+        } else if (value instanceof Float) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Character || value instanceof Enum) {
+            return value instanceof Enum ? ((Enum) value).name() : value.toString();
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) value;
+            Map<String, Object> result = new LinkedHashMap<>(map.size() * 4 / 3 + 1);
+            for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                result.put(String.valueOf(entry.getKey()), normalize(entry.getValue()));
+            }
+            return result;
+        } else if (value instanceof Collection) {
+            Collection<Object> collection = (Collection<Object>) value;
+            List<Object> result = new ArrayList<>(collection.size());
+            for (Object item : collection) {
+                result.add(normalize(item));
+            }
+            return result;
+        } else if (value instanceof Object[]) {
+            return normalize(Arrays.asList((Object[]) value));
+        }
+        return normalize(SerializeUtil.convertValue(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object readValue(ByteBuf buf) {
+        byte type = buf.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_INT:
+                return buf.readInt();
+            case TYPE_LONG:
+                return buf.readLong();
+            case TYPE_DOUBLE:
+                return buf.readDouble();
+            case TYPE_STRING:
+                return readString(buf);
+            case TYPE_BYTES:
+                return readBytes(buf);
+            case TYPE_BIG_INTEGER:
+                return new BigInteger(readBytes(buf));
+            case TYPE_BIG_DECIMAL:
+                int scale = buf.readInt();
+                return new BigDecimal(new BigInteger(readBytes(buf)), scale);
+            case TYPE_LIST:
+                int listSize = buf.readInt();
+                List<Object> list = new ArrayList<>(listSize);
+                for (int i = 0; i < listSize; i++) {
+                    list.add(readValue(buf));
+                }
+                return list;
+            case TYPE_MAP:
+                int mapSize = buf.readInt();
+                Map<String, Object> map = new LinkedHashMap<>(mapSize * 4 / 3 + 1);
+                for (int i = 0; i < mapSize; i++) {
+                    String key = readString(buf);
+                    map.put(key, readValue(buf));
+                }
+                return map;
+            case TYPE_REQUEST:
+                Request request = new Request();
+                request.setRequestAck(readString(buf));
+                request.setSubscriptionEventCounter(readString(buf));
+                request.setSubscriptionPeriod(readString(buf));
+                request.setSubscriptionRange(readString(buf));
+                request.setResponseMaxSize(readString(buf));
+                request.setTimeOut(readString(buf));
+                request.setRequestMethods((Map<String, Object>) readValue(buf));
+                return request;
+            case TYPE_RESPONSE:
+                Response response = new Response();
+                response.setRequestID(readString(buf));
+                response.setResponseProcessingTime(readString(buf));
+                response.setResponseStatus(buf.readInt());
+                response.setResponseComment(readString(buf));
+                response.setResponseMaxSize(readString(buf));
+                response.setResponseErrorCode(readString(buf));
+                response.setResponseData(readValue(buf));
+                return response;
+            default:
+                throw new IllegalArgumentException("Unknown binary value type:" + type);
+        }
+    }
+
+    private static void writeLong(ByteBuf buf, long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            buf.writeByte(TYPE_INT);
+            buf.writeInt((int) value);
+        } else {
+            buf.writeByte(TYPE_LONG);
+            buf.writeLong(value);
+        }
+    }
+
+    private static void writeString(ByteBuf buf, String value) {
+        if (value == null) {
+            buf.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buf.writeInt(bytes.length);
+        buf.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuf buf) {
+        int length = buf.readInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
+        buf.skipBytes(length);
+        return value;
+    }
+
+    private static byte[] readBytes(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readInt()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+}
@@ -1,14 +1,55 @@
 package io.nuls.core.rpc.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.nuls.core.parse.JSONUtils;
+
+import java.io.IOException;
+import java.util.Base64;
 
 public class SerializeUtil {
 
+    /**
+     * 对象转换为Map/List时使用的ObjectMapper，byte[]字段写为base64字符串，与JSON方式传输后接收端得到的值一致
+     * ObjectMapper used to turn objects into Map/List, byte[] fields become base64 strings,
+     * the same value the receiver would get from JSON
+     */
+    private static final ObjectMapper CONVERT_MAPPER = JSONUtils.getInstance().copy()
+            .registerModule(new SimpleModule().addSerializer(byte[].class, new Base64BytesSerializer()));
+
     public static ByteBuf getBuffer(byte[] bytes) {
         ByteBuf byteBuf = Unpooled.buffer(bytes.length);
         byteBuf.writeBytes(bytes);
         return byteBuf;
     }
 
+    public static byte[] obj2ByteArray(Object obj) throws JsonProcessingException {
+        return JSONUtils.obj2ByteArray(obj);
+    }
+
+    /**
+     * 将非基础类型的对象转换为Map/List结构，与JSON方式传输后接收端得到的结构一致
+     * Convert a non-basic object into the Map/List structure the receiver would get from JSON
+     */
+    public static Object convertValue(Object obj) {
+        return CONVERT_MAPPER.convertValue(obj, Object.class);
+    }
+
+    private static class Base64BytesSerializer extends StdSerializer<byte[]> {
+
+        Base64BytesSerializer() {
+            super(byte[].class);
+        }
+
+        @Override
+        public void serialize(byte[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(Base64.getEncoder().encodeToString(value));
+        }
+    }
 }
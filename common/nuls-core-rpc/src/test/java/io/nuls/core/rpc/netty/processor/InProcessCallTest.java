@@ -0,0 +1,80 @@
+package io.nuls.core.rpc.netty.processor;
+
+import io.nuls.core.constant.CommonCodeConstanst;
+import io.nuls.core.rpc.cmd.BaseCmd;
+import io.nuls.core.rpc.model.CmdAnnotation;
+import io.nuls.core.rpc.model.message.Response;
+import io.nuls.core.rpc.netty.channel.manager.ConnectManager;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 同进程直接调用：按角色查找命令，并遵守调用方的超时时间
+ */
+public class InProcessCallTest {
+
+    public static class RoleACmd extends BaseCmd {
+        @CmdAnnotation(cmd = "test_whoAmI", version = 1.0, description = "")
+        public Response whoAmI(Map params) {
+            return success("A");
+        }
+
+        @CmdAnnotation(cmd = "test_slow", version = 1.0, description = "")
+        public Response slow(Map params) throws InterruptedException {
+            Thread.sleep(2000);
+            return success("slow");
+        }
+    }
+
+    public static class RoleBCmd extends BaseCmd {
+        @CmdAnnotation(cmd = "test_whoAmI", version = 1.0, description = "")
+        public Response whoAmI(Map params) {
+            return success("B");
+        }
+    }
+
+    @BeforeClass
+    public static void register() {
+        //模拟同一进程内加载的两个模块，各自注册同名命令
+        register("TA", RoleACmd.class, new RoleACmd());
+        register("TB", RoleBCmd.class, new RoleBCmd());
+        ConnectManager.inProcessEnable = true;
+    }
+
+    @Test
+    public void resolveByRole() throws Exception {
+        Assert.assertEquals("A", call("TA", "test_whoAmI", 1000).getResponseData());
+        Assert.assertEquals("B", call("TB", "test_whoAmI", 1000).getResponseData());
+        Assert.assertFalse(ConnectManager.isInProcessCmd("TB", "test_slow"));
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        long start = System.currentTimeMillis();
+        Response response = ResponseMessageProcessor.requestAndResponse("TA", "test_slow", new HashMap<>(), 100);
+        Assert.assertTrue(System.currentTimeMillis() - start < 1500);
+        Assert.assertFalse(response.isSuccess());
+        Assert.assertEquals(CommonCodeConstanst.REQUEST_TIME_OUT.getCode(), response.getResponseErrorCode());
+    }
+
+    private static Response call(String role, String cmd, long timeOut) throws Exception {
+        Response response = ResponseMessageProcessor.requestAndResponse(role, cmd, new HashMap<>(), timeOut);
+        Assert.assertTrue(response.isSuccess());
+        Map data = (Map) response.getResponseData();
+        response.setResponseData(data.get(cmd));
+        return response;
+    }
+
+    private static void register(String role, Class<? extends BaseCmd> cmdClass, BaseCmd handler) {
+        ConnectManager.LOCAL.setAbbreviation(role);
+        ConnectManager.LOCAL.setMethods(new ArrayList<>());
+        ConnectManager.IN_PROCESS_ROLES.add(role);
+        ConnectManager.addCmdDetail(cmdClass);
+        RequestMessageProcessor.handlerMap.put(cmdClass.getName(), handler);
+    }
+}
@@ -0,0 +1,96 @@
+package io.nuls.core.rpc.util;
+
+import io.netty.buffer.ByteBuf;
+import io.nuls.core.rpc.model.message.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BinaryMessageCodecTest {
+
+    @Test
+    public void requestRoundTrip() {
+        byte[] tx = new byte[]{1, 2, 3, 4, 5};
+        Map<String, Object> params = new HashMap<>();
+        params.put("chainId", 5);
+        params.put("height", 10L);
+        params.put("time", 5000000000L);
+        params.put("tx", tx);
+        params.put("txList", List.of(tx, "abc"));
+        params.put("amount", new BigInteger("123456789012345678901234567890"));
+        params.put("price", new BigDecimal("12345678901.123456789012345678"));
+        Request request = MessageUtil.newRequest("tx_newTx", params, "0", "0", "0");
+        Message message = MessageUtil.basicMessage(MessageType.Request);
+        message.setMessageData(request);
+
+        ByteBuf buf = BinaryMessageCodec.encode(message);
+        Message decoded = BinaryMessageCodec.decode(buf);
+        buf.release();
+
+        Assert.assertEquals(message.getMessageID(), decoded.getMessageID());
+        Assert.assertEquals(MessageType.Request.name(), decoded.getMessageType());
+        Request decodedRequest = MessageUtil.getMessageData(decoded, Request.class);
+        Map decodedParams = (Map) decodedRequest.getRequestMethods().get("tx_newTx");
+        Assert.assertEquals(5, decodedParams.get("chainId"));
+        Assert.assertEquals(10, decodedParams.get("height"));
+        Assert.assertEquals(5000000000L, decodedParams.get("time"));
+        Assert.assertArrayEquals(tx, (byte[]) decodedParams.get("tx"));
+        Assert.assertArrayEquals(tx, (byte[]) ((List) decodedParams.get("txList")).get(0));
+        Assert.assertEquals(new BigInteger("123456789012345678901234567890"), decodedParams.get("amount"));
+        Assert.assertEquals(new BigDecimal("12345678901.123456789012345678"), decodedParams.get("price"));
+    }
+
+    @Test
+    public void responseRoundTrip() {
+        Response response = MessageUtil.newSuccessResponse("123");
+        Map<String, Object> data = new HashMap<>();
+        data.put("value", true);
+        data.put("hash", new byte[32]);
+        data.put("nothing", null);
+        response.setResponseData(data);
+        Message message = MessageUtil.basicMessage(MessageType.Response);
+        message.setMessageData(response);
+
+        ByteBuf buf = BinaryMessageCodec.encode(message);
+        Message decoded = BinaryMessageCodec.decode(buf);
+        buf.release();
+
+        Response decodedResponse = MessageUtil.getMessageData(decoded, Response.class);
+        Assert.assertTrue(decodedResponse.isSuccess());
+        Assert.assertEquals("123", decodedResponse.getRequestID());
+        Map decodedData = (Map) decodedResponse.getResponseData();
+        Assert.assertEquals(Boolean.TRUE, decodedData.get("value"));
+        Assert.assertArrayEquals(new byte[32], (byte[]) decodedData.get("hash"));
+        Assert.assertTrue(decodedData.containsKey("nothing"));
+    }
+
+    @Test
+    public void pojoDataAsMap() {
+        Ack ack = new Ack();
+        ack.setRequestId("456");
+        Message message = MessageUtil.basicMessage(MessageType.Ack);
+        message.setMessageData(ack);
+
+        ByteBuf buf = BinaryMessageCodec.encode(message);
+        Message decoded = BinaryMessageCodec.decode(buf);
+        buf.release();
+
+        Assert.assertTrue(decoded.getMessageData() instanceof Map);
+        Assert.assertEquals("456", MessageUtil.getMessageData(decoded, Ack.class).getRequestId());
+    }
+
+    @Test
+    public void jsonKeepsBase64Bytes() throws Exception {
+        Map<String, Object> params = new HashMap<>();
+        params.put("tx", new byte[]{1, 2, 3, 4, 5});
+        String json = new String(SerializeUtil.obj2ByteArray(params), StandardCharsets.UTF_8);
+        Assert.assertEquals("{\"tx\":\"" + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3, 4, 5}) + "\"}", json);
+    }
+}
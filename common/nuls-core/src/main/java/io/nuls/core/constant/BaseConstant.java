@@ -57,6 +57,11 @@ public class BaseConstant {
      * 模块统一消息处理器RPC接口
      */
     public static final String MSG_PROCESS = "msgProcess";
+    /**
+     * 模块统一消息批量处理RPC接口，消息体为原始字节
+     * Batched message processing, message bodies are raw bytes
+     */
+    public static final String MSG_BATCH_PROCESS = "msgBatchProcess";
 
     /**
      * 模块统一交易验证器RPC接口
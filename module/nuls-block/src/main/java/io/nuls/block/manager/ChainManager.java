@@ -33,6 +33,7 @@ import io.nuls.core.constant.TxType;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.log.logback.NulsLogger;
+import io.nuls.core.rockdb.constant.TableProfile;
 import io.nuls.core.rockdb.service.RocksDBService;
 
 import java.util.List;
@@ -99,8 +100,8 @@ public class ChainManager {
     private void initTable(int chainId) {
         NulsLogger logger = ContextManager.getContext(chainId).getLogger();
         try {
-            RocksDBService.createTable(BLOCK_HEADER + chainId);
-            RocksDBService.createTable(BLOCK_HEADER_INDEX + chainId);
+            RocksDBService.createTable(BLOCK_HEADER + chainId, TableProfile.POINT_LOOKUP);
+            RocksDBService.createTable(BLOCK_HEADER_INDEX + chainId, TableProfile.APPEND);
             if (RocksDBService.existTable(CACHED_BLOCK + chainId)) {
                 RocksDBService.destroyTable(CACHED_BLOCK + chainId);
             }
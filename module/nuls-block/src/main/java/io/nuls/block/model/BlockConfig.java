@@ -79,6 +79,11 @@ public class BlockConfig extends ChainParameters implements ModuleConfig {
      */
     private int rollbackHeight;
 
+    /**
+     * 区块同步时, 保存当前区块的同时预验证后续多少个区块的交易签名, 0为不预验证
+     */
+    private int syncPreVerifyNumber;
+
     public int getNodesMonitorInterval() {
         return nodesMonitorInterval;
     }
@@ -180,6 +185,14 @@ public class BlockConfig extends ChainParameters implements ModuleConfig {
         this.rollbackHeight = rollbackHeight;
     }
 
+    public int getSyncPreVerifyNumber() {
+        return syncPreVerifyNumber;
+    }
+
+    public void setSyncPreVerifyNumber(int syncPreVerifyNumber) {
+        this.syncPreVerifyNumber = syncPreVerifyNumber;
+    }
+
     public int getBlockBZTClearMonitorInterval() {
         return blockBZTClearMonitorInterval;
     }
@@ -160,6 +160,15 @@ public class ChainContext {
         return threadPool;
     }
 
+    /**
+     * 区块同步时预验证后续区块交易签名的线程池
+     * */
+    private final ThreadPoolExecutor preVerifyThreadPool = ThreadUtils.createThreadPool(2, 100, new NulsThreadFactory("block-pre-verify-pool"));
+
+    public ThreadPoolExecutor getPreVerifyThreadPool() {
+        return preVerifyThreadPool;
+    }
+
     public Map<Long, Map<NulsHash, FutureBlockData>> getFutureBlockCache() {
         return futureBlockCache;
     }
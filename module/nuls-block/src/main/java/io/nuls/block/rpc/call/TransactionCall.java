@@ -180,6 +180,36 @@ public class TransactionCall {
         }
     }
 
+    /**
+     * 区块同步时预验证交易签名, 交易模块验证通过的签名会被缓存, 保存区块时不再重复验证
+     *
+     * @param chainId 链Id/chain id
+     * @param txs     待预验证的交易
+     * @return 签名验证失败的交易hash, 调用失败返回null
+     */
+    public static List<String> preVerifySignatures(int chainId, List<Transaction> txs) {
+        NulsLogger logger = ContextManager.getContext(chainId).getLogger();
+        try {
+            Map<String, Object> params = new HashMap<>(2);
+            params.put(Constants.CHAIN_ID, chainId);
+            List<byte[]> txList = new ArrayList<>(txs.size());
+            for (Transaction transaction : txs) {
+                txList.add(transaction.serialize());
+            }
+            params.put("txList", txList);
+            Response response = ResponseMessageProcessor.requestAndResponse(ModuleE.TX.abbr, "tx_preVerifySignatures", params, 60 * 1000);
+            if (response.isSuccess()) {
+                Map responseData = (Map) response.getResponseData();
+                Map data = (Map) responseData.get("tx_preVerifySignatures");
+                return (List<String>) data.get("fail");
+            }
+            return null;
+        } catch (Exception e) {
+            logger.error("", e);
+            return null;
+        }
+    }
+
     /**
      * 批量获取已确认交易
      *
@@ -33,7 +33,9 @@ import io.nuls.core.rockdb.service.RocksDBService;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static io.nuls.base.data.BlockHeader.BLOCK_HEADER_COMPARATOR;
 import static io.nuls.block.constant.Constant.*;
@@ -54,9 +56,11 @@ public class BlockStorageServiceImpl implements BlockStorageService {
         byte[] height = SerializeUtils.uint64ToByteArray(blockHeader.getHeight());
         try {
             byte[] hash = blockHeader.getHash().getBytes();
-            boolean b1 = RocksDBService.put(BLOCK_HEADER_INDEX + chainId, height, hash);
-            boolean b2 = RocksDBService.put(BLOCK_HEADER + chainId, hash, blockHeader.serialize());
-            return b1 && b2;
+            //区块头与高度索引一起写入，列族模式下为原子操作
+            Map<String, Map<byte[], byte[]>> tableKvs = new HashMap<>(2);
+            tableKvs.put(BLOCK_HEADER_INDEX + chainId, Map.of(height, hash));
+            tableKvs.put(BLOCK_HEADER + chainId, Map.of(hash, blockHeader.serialize()));
+            return RocksDBService.batchPut(tableKvs);
         } catch (Exception e) {
             COMMON_LOG.error("", e);
             return false;
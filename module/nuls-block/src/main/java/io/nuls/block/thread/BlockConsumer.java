@@ -24,9 +24,11 @@ import io.nuls.base.data.Block;
 import io.nuls.block.constant.BlockErrorCode;
 import io.nuls.block.constant.NodeEnum;
 import io.nuls.block.manager.ContextManager;
+import io.nuls.block.model.BlockConfig;
 import io.nuls.block.model.BlockDownloaderParams;
 import io.nuls.block.model.ChainContext;
 import io.nuls.block.model.Node;
+import io.nuls.block.rpc.call.TransactionCall;
 import io.nuls.block.service.BlockService;
 import io.nuls.block.utils.BlockUtil;
 import io.nuls.core.core.ioc.SpringLiteContext;
@@ -36,6 +38,7 @@ import io.nuls.core.log.logback.NulsLogger;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 消费共享队列中的区块
@@ -48,10 +51,19 @@ public class BlockConsumer implements Callable<Boolean> {
 
     private int chainId;
     private BlockService blockService;
+    /**
+     * 保存区块N时, 预验证N+1..N+syncPreVerifyNumber区块的交易签名
+     */
+    private int preVerifyNumber;
+    /**
+     * 已提交预验证的最大高度
+     */
+    private long preVerifiedHeight;
 
     BlockConsumer(int chainId) {
         this.chainId = chainId;
         this.blockService = SpringLiteContext.getBean(BlockService.class);
+        this.preVerifyNumber = SpringLiteContext.getBean(BlockConfig.class).getSyncPreVerifyNumber();
     }
 
     @Override
@@ -62,6 +74,7 @@ public class BlockConsumer implements Callable<Boolean> {
         long pendingHeight = params.getLocalLatestHeight() + 1;
         NulsLogger logger = context.getLogger();
         Block block;
+        preVerifiedHeight = pendingHeight;
         logger.info("BlockConsumer start work");
         try {
             long begin = System.nanoTime();
@@ -69,6 +82,7 @@ public class BlockConsumer implements Callable<Boolean> {
                 block = context.getBlockMap().remove(pendingHeight);
                 if (block != null) {
                     begin = System.nanoTime();
+                    preVerify(context, Math.min(pendingHeight + preVerifyNumber, netLatestHeight));
                     boolean saveBlock = blockService.saveBlock(chainId, block, true);
                     if (!saveBlock) {
                         logger.error("An exception occurred while saving the downloaded block, height-" + pendingHeight + ", hash-" + block.getHeader().getHash());
@@ -98,6 +112,37 @@ public class BlockConsumer implements Callable<Boolean> {
         }
     }
 
+    /**
+     * 把已下载的后续区块交给交易模块预验证签名, 与当前区块的保存并行进行
+     * 预验证只是预热交易模块的签名缓存, 结果不影响区块的正常验证
+     *
+     * @param endHeight 预验证到的高度
+     */
+    private void preVerify(ChainContext context, long endHeight) {
+        if (preVerifyNumber <= 0) {
+            return;
+        }
+        while (preVerifiedHeight < endHeight) {
+            long height = preVerifiedHeight + 1;
+            Block block = context.getBlockMap().get(height);
+            if (block == null) {
+                //还没下载到, 下次再提交
+                return;
+            }
+            try {
+                context.getPreVerifyThreadPool().execute(() -> {
+                    List<String> failList = TransactionCall.preVerifySignatures(chainId, block.getTxs());
+                    if (failList != null && !failList.isEmpty()) {
+                        context.getLogger().warn("pre verify signatures failed, height-" + height + ", txs-" + failList);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+            preVerifiedHeight = height;
+        }
+    }
+
     private void punishNode(long pendingHeight, List<Node> nodes, ChainContext context) {
         for (Node node : nodes) {
             if (node.getStartHeight() <= pendingHeight && pendingHeight <= node.getEndHeight()) {
@@ -42,6 +42,15 @@ public class NulsCrossChainConfig extends ConfigBean implements ModuleConfig {
     /**默认链接到的跨链节点*/
     private String crossSeedIps;
 
+    /**每种跨链消息的处理线程数，同一笔跨链交易的消息由同一个线程处理*/
+    private int messageHandlerThreads;
+
+    /**每种跨链消息队列的最大消息数*/
+    private int messageQueueCapacity;
+
+    /**跨链交易内存处理状态的超时清理时间(秒)*/
+    private int ctxCacheTimeout;
+
     public String getDataPath() {
         return dataPath;
     }
@@ -117,4 +126,28 @@ public class NulsCrossChainConfig extends ConfigBean implements ModuleConfig {
     public void setCrossSeedIps(String crossSeedIps) {
         this.crossSeedIps = crossSeedIps;
     }
+
+    public int getMessageHandlerThreads() {
+        return messageHandlerThreads;
+    }
+
+    public void setMessageHandlerThreads(int messageHandlerThreads) {
+        this.messageHandlerThreads = messageHandlerThreads;
+    }
+
+    public int getMessageQueueCapacity() {
+        return messageQueueCapacity;
+    }
+
+    public void setMessageQueueCapacity(int messageQueueCapacity) {
+        this.messageQueueCapacity = messageQueueCapacity;
+    }
+
+    public int getCtxCacheTimeout() {
+        return ctxCacheTimeout;
+    }
+
+    public void setCtxCacheTimeout(int ctxCacheTimeout) {
+        this.ctxCacheTimeout = ctxCacheTimeout;
+    }
 }
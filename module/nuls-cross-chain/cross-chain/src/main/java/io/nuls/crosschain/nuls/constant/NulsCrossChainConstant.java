@@ -94,6 +94,23 @@ public interface NulsCrossChainConstant {
     int CTX_STAGE_WAIT_RECEIVE = 1;
     Integer CTX_STATE_PROCESSING = 2;
 
+    /**
+     * 跨链消息处理默认配置：每种消息的处理线程数，队列最大消息数，跨链交易缓存超时时间(秒)
+     * */
+    int DEFAULT_MESSAGE_HANDLER_THREADS = 4;
+    int DEFAULT_MESSAGE_QUEUE_CAPACITY = 10000;
+    int DEFAULT_CTX_CACHE_TIMEOUT = 1800;
+
+    /**
+     * 消息队列已满时入队的最长等待时间(毫秒)
+     * */
+    long MESSAGE_QUEUE_OFFER_TIMEOUT = 200L;
+
+    /**
+     * 跨链交易缓存清理任务执行间隔(秒)
+     * */
+    long CTX_CACHE_CLEAN_INTERVAL = 60L;
+
 
     int NODE_TYPE_CURRENT_CHAIN = 1;
     int NODE_TYPE_OTHER_CHAIN = 2;
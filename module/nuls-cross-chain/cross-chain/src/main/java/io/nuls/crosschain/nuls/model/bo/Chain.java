@@ -8,6 +8,7 @@ import io.nuls.core.thread.ThreadUtils;
 import io.nuls.core.thread.commom.NulsThreadFactory;
 import io.nuls.crosschain.base.message.BroadCtxSignMessage;
 import io.nuls.crosschain.nuls.model.bo.config.ConfigBean;
+import io.nuls.crosschain.nuls.model.bo.message.ShardedMessageQueue;
 import io.nuls.crosschain.nuls.model.bo.message.UntreatedMessage;
 import io.nuls.crosschain.nuls.model.bo.message.WaitBroadSignMessage;
 import io.nuls.crosschain.nuls.rpc.call.NetWorkCall;
@@ -16,7 +17,6 @@ import java.security.Signature;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * 链信息类
@@ -90,38 +90,38 @@ public class Chain {
     /**
      * 未处理的其他链广播来的跨链交易Hash消息
      * */
-    private LinkedBlockingQueue<UntreatedMessage> hashMessageQueue;
+    private ShardedMessageQueue hashMessageQueue;
 
     /**
      * 未处理的其他链广播来的完整跨链交易消息
      * */
-    private LinkedBlockingQueue<UntreatedMessage> ctxMessageQueue;
+    private ShardedMessageQueue ctxMessageQueue;
 
     /**
      * 未处理的本链节点广播来的跨链交易签名消息
      * */
-    private LinkedBlockingQueue<UntreatedMessage> signMessageQueue;
+    private ShardedMessageQueue signMessageQueue;
 
     /**
      * 未处理的本链节点广播来的跨链交易签名消息
      * */
-    private LinkedBlockingQueue<UntreatedMessage> signMessageByzantineQueue;
+    private ShardedMessageQueue signMessageByzantineQueue;
 
     /**
      * 未处理的本链节点广播来的完整跨链交易消息
      * */
-    private LinkedBlockingQueue<UntreatedMessage> otherCtxMessageQueue;
+    private ShardedMessageQueue otherCtxMessageQueue;
 
     /**
      * 为处理的跨链验证交易状态请求消息
      * */
-    private LinkedBlockingQueue<UntreatedMessage> getCtxStateQueue;
+    private ShardedMessageQueue getCtxStateQueue;
 
 
     /**
-     * 线程池
+     * 消息处理线程池，每个队列分片对应一个处理线程
      * */
-    private final ExecutorService threadPool = ThreadUtils.createThreadPool(8, 100, new NulsThreadFactory("CrossChainProcessor"));
+    private ExecutorService threadPool;
 
     /**
      * 跨连模块日志
@@ -135,6 +135,13 @@ public class Chain {
      * */
     private Map<NulsHash,List<UntreatedMessage>> futureMessageMap;
 
+    /**
+     * 跨链交易缓存首次被清理任务发现的时间，用于超时清理
+     * key:交易Hash
+     * value:首次发现时间(毫秒)
+     * */
+    private Map<NulsHash, Long> ctxCacheTimeMap;
+
     /**
      * 其他链缓存的本链最新共识节点列表
      * */
@@ -158,18 +165,56 @@ public class Chain {
         ctxStateMap = new ConcurrentHashMap<>();
         otherCtxStageMap = new ConcurrentHashMap<>();
         waitBroadSignMap = new ConcurrentHashMap<>();
-        hashMessageQueue = new LinkedBlockingQueue<>();
-        ctxMessageQueue = new LinkedBlockingQueue<>();
-        signMessageQueue = new LinkedBlockingQueue<>();
-        signMessageByzantineQueue = new LinkedBlockingQueue<>();
-        otherCtxMessageQueue = new LinkedBlockingQueue<>();
-        getCtxStateQueue = new LinkedBlockingQueue<>();
         futureMessageMap = new ConcurrentHashMap<>();
+        ctxCacheTimeMap = new ConcurrentHashMap<>();
         broadcastVerifierList = new ArrayList<>();
         verifierList = new ArrayList<>();
         mainChain = false;
     }
 
+    /**
+     * 初始化消息队列和消息处理线程池
+     * Initialize message queues and the message processing thread pool
+     *
+     * @param shardCount    每个队列的分片数，即每种消息的处理线程数
+     * @param capacity      每个队列的最大消息数
+     * @param offerTimeout  队列已满时入队的最长等待时间(毫秒)
+     * */
+    public void initMessageQueue(int shardCount, int capacity, long offerTimeout){
+        hashMessageQueue = new ShardedMessageQueue("hashMessage", shardCount, capacity, offerTimeout, logger);
+        ctxMessageQueue = new ShardedMessageQueue("ctxMessage", shardCount, capacity, offerTimeout, logger);
+        //没有生产者，保留单个分片
+        signMessageQueue = new ShardedMessageQueue("signMessage", 1, capacity, offerTimeout, logger);
+        signMessageByzantineQueue = new ShardedMessageQueue("signMessageByzantine", shardCount, capacity, offerTimeout, logger);
+        otherCtxMessageQueue = new ShardedMessageQueue("otherCtxMessage", shardCount, capacity, offerTimeout, logger);
+        getCtxStateQueue = new ShardedMessageQueue("getCtxState", shardCount, capacity, offerTimeout, logger);
+        int threadCount = 0;
+        for (ShardedMessageQueue queue : getMessageQueueList()) {
+            threadCount += queue.getShardCount();
+        }
+        threadPool = ThreadUtils.createThreadPool(threadCount, 100, new NulsThreadFactory("CrossChainProcessor"));
+    }
+
+    public List<ShardedMessageQueue> getMessageQueueList(){
+        return Arrays.asList(hashMessageQueue, ctxMessageQueue, signMessageQueue, signMessageByzantineQueue, otherCtxMessageQueue, getCtxStateQueue);
+    }
+
+    /**
+     * 清除跨链交易在内存中的所有处理状态
+     * Remove all in-memory processing state of a cross-chain transaction
+     * */
+    public void removeCtxCache(NulsHash hash){
+        hashNodeIdMap.remove(hash);
+        otherHashNodeIdMap.remove(hash);
+        ctxStageMap.remove(hash);
+        otherCtxStageMap.remove(hash);
+        verifyCtxResultMap.remove(hash);
+        ctxStateMap.remove(hash);
+        waitBroadSignMap.remove(hash);
+        futureMessageMap.remove(hash);
+        ctxCacheTimeMap.remove(hash);
+    }
+
     public int getChainId(){
         return config.getChainId();
     }
@@ -238,46 +283,26 @@ public class Chain {
         this.hashNodeIdMap = hashNodeIdMap;
     }
 
-    public LinkedBlockingQueue<UntreatedMessage> getHashMessageQueue() {
+    public ShardedMessageQueue getHashMessageQueue() {
         return hashMessageQueue;
     }
 
-    public void setHashMessageQueue(LinkedBlockingQueue<UntreatedMessage> hashMessageQueue) {
-        this.hashMessageQueue = hashMessageQueue;
-    }
-
-    public LinkedBlockingQueue<UntreatedMessage> getCtxMessageQueue() {
+    public ShardedMessageQueue getCtxMessageQueue() {
         return ctxMessageQueue;
     }
 
-    public void setCtxMessageQueue(LinkedBlockingQueue<UntreatedMessage> ctxMessageQueue) {
-        this.ctxMessageQueue = ctxMessageQueue;
-    }
-
-    public LinkedBlockingQueue<UntreatedMessage> getSignMessageQueue() {
+    public ShardedMessageQueue getSignMessageQueue() {
         return signMessageQueue;
     }
 
-    public void setSignMessageQueue(LinkedBlockingQueue<UntreatedMessage> signMessageQueue) {
-        this.signMessageQueue = signMessageQueue;
-    }
-
-    public LinkedBlockingQueue<UntreatedMessage> getSignMessageByzantineQueue() {
+    public ShardedMessageQueue getSignMessageByzantineQueue() {
         return signMessageByzantineQueue;
     }
 
-    public void setSignMessageByzantineQueue(LinkedBlockingQueue<UntreatedMessage> signMessageByzantineQueue) {
-        this.signMessageByzantineQueue = signMessageByzantineQueue;
-    }
-
-    public LinkedBlockingQueue<UntreatedMessage> getOtherCtxMessageQueue() {
+    public ShardedMessageQueue getOtherCtxMessageQueue() {
         return otherCtxMessageQueue;
     }
 
-    public void setOtherCtxMessageQueue(LinkedBlockingQueue<UntreatedMessage> otherCtxMessageQueue) {
-        this.otherCtxMessageQueue = otherCtxMessageQueue;
-    }
-
     public Map<NulsHash, List<NodeType>> getOtherHashNodeIdMap() {
         return otherHashNodeIdMap;
     }
@@ -294,14 +319,10 @@ public class Chain {
         this.otherCtxStageMap = otherCtxStageMap;
     }
 
-    public LinkedBlockingQueue<UntreatedMessage> getGetCtxStateQueue() {
+    public ShardedMessageQueue getGetCtxStateQueue() {
         return getCtxStateQueue;
     }
 
-    public void setGetCtxStateQueue(LinkedBlockingQueue<UntreatedMessage> getCtxStateQueue) {
-        this.getCtxStateQueue = getCtxStateQueue;
-    }
-
     public Map<NulsHash, List<UntreatedMessage>> getFutureMessageMap() {
         return futureMessageMap;
     }
@@ -326,6 +347,10 @@ public class Chain {
         this.verifierList = verifierList;
     }
 
+    public Map<NulsHash, Long> getCtxCacheTimeMap() {
+        return ctxCacheTimeMap;
+    }
+
     public ExecutorService getThreadPool() {
         return threadPool;
     }
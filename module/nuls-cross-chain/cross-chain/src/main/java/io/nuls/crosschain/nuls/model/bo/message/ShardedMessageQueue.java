@@ -0,0 +1,128 @@
+package io.nuls.crosschain.nuls.model.bo.message;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.core.log.logback.NulsLogger;
+
+import java.util.Collection;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按跨链交易Hash分片的有界消息队列
+ * Bounded message queue sharded by cross-chain transaction hash
+ * <p>
+ * 同一笔跨链交易的消息总是进入同一个分片，由同一个处理线程按接收顺序处理；
+ * 不同交易的消息分散到各分片并行处理，某笔交易等待超时不会阻塞其他交易。
+ * 分片已满时入队最多等待offerTimeout毫秒，超时则丢弃消息并计数
+ */
+public class ShardedMessageQueue {
+    private final String name;
+
+    private final LinkedBlockingQueue<UntreatedMessage>[] shards;
+
+    private final int capacity;
+
+    private final long offerTimeout;
+
+    private final NulsLogger logger;
+
+    /**
+     * 队列满被丢弃的消息数
+     * */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public ShardedMessageQueue(String name, int shardCount, int capacity, long offerTimeout, NulsLogger logger) {
+        this.name = name;
+        this.shards = new LinkedBlockingQueue[Math.max(1, shardCount)];
+        //每个分片的容量，总容量按分片数平均分配
+        int shardCapacity = Math.max(1, capacity / shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new LinkedBlockingQueue<>(shardCapacity);
+        }
+        this.capacity = shardCapacity * shards.length;
+        this.offerTimeout = offerTimeout;
+        this.logger = logger;
+    }
+
+    /**
+     * 消息入队，分片已满时等待，超时后丢弃
+     *
+     * @return 消息是否入队成功
+     * */
+    public boolean offer(UntreatedMessage message) {
+        try {
+            if (shards[shardOf(message.getCacheHash())].offer(message, offerTimeout, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long dropped = droppedCount.incrementAndGet();
+        logger.warn("{}队列已满，丢弃节点{}的消息,Hash:{},累计丢弃:{}", name, message.getNodeId(), message.getCacheHash().toHex(), dropped);
+        return false;
+    }
+
+    /**
+     * 批量入队，返回入队成功的消息数
+     * */
+    public int offerAll(Collection<UntreatedMessage> messages) {
+        int count = 0;
+        for (UntreatedMessage message : messages) {
+            if (offer(message)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 从指定分片取出消息，分片为空时阻塞
+     * */
+    public UntreatedMessage take(int shard) throws InterruptedException {
+        return shards[shard].take();
+    }
+
+    public int shardOf(NulsHash hash) {
+        return (hash.hashCode() & Integer.MAX_VALUE) % shards.length;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 所有分片中待处理的消息总数
+     * */
+    public int size() {
+        int size = 0;
+        for (LinkedBlockingQueue<UntreatedMessage> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * 待处理消息最多的分片中的消息数
+     * */
+    public int maxShardSize() {
+        int max = 0;
+        for (LinkedBlockingQueue<UntreatedMessage> shard : shards) {
+            max = Math.max(max, shard.size());
+        }
+        return max;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
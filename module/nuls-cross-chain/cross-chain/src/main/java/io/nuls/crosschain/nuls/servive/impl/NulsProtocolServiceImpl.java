@@ -206,7 +206,11 @@ public class NulsProtocolServiceImpl implements ProtocolService {
                 return;
             }
             UntreatedMessage untreatedCtxMessage = new UntreatedMessage(chainId,nodeId,messageBody,localHash);
-            chain.getCtxMessageQueue().offer(untreatedCtxMessage);
+            if(!chain.getCtxMessageQueue().offer(untreatedCtxMessage)){
+                //消息被丢弃，清除处理中状态，以便重新接收该交易
+                chain.getCtxStageMap().remove(localHash);
+                return;
+            }
             chain.getLogger().debug("链内节点:{}发送过来的完整跨链接收完成,Hash:{}\n\n", nodeId, localHashHex);
         } catch (Exception e) {
             chain.getLogger().error(e);
@@ -317,7 +321,11 @@ public class NulsProtocolServiceImpl implements ProtocolService {
             return;
         }
         UntreatedMessage untreatedCtxMessage = new UntreatedMessage(chainId,nodeId,messageBody,ctxHash);
-        chain.getOtherCtxMessageQueue().offer(untreatedCtxMessage);
+        if(!chain.getOtherCtxMessageQueue().offer(untreatedCtxMessage)){
+            //消息被丢弃，清除处理中状态，以便重新接收该交易
+            chain.getOtherCtxStageMap().remove(ctxHash);
+            return;
+        }
         chain.getLogger().debug("其他链节点{}发送过来的完整跨链交易消息接收完成,Hash:{}", nodeId,ctxHashHex);
     }
 
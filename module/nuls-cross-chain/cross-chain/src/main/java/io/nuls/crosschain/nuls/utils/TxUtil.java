@@ -208,7 +208,7 @@ public class TxUtil {
                 //将收到的签名消息加入消息队列
                 if(chain.getFutureMessageMap().containsKey(hash)){
                     chain.getLogger().debug("将本跨链交易:{}已收到的签名放入消息队列中",hash.toHex());
-                    chain.getSignMessageByzantineQueue().addAll(chain.getFutureMessageMap().remove(hash));
+                    chain.getSignMessageByzantineQueue().offerAll(chain.getFutureMessageMap().remove(hash));
                 }
             }
             chain.getCtxStageMap().remove(hash);
@@ -282,7 +282,7 @@ public class TxUtil {
             chain.getFutureMessageMap().remove(hash);
         }else{
             if(chain.getFutureMessageMap().containsKey(hash)){
-                chain.getSignMessageByzantineQueue().addAll(chain.getFutureMessageMap().remove(hash));
+                chain.getSignMessageByzantineQueue().offerAll(chain.getFutureMessageMap().remove(hash));
             }
         }
 
@@ -23,6 +23,7 @@ import io.nuls.crosschain.nuls.srorage.ConfigService;
 import io.nuls.crosschain.nuls.srorage.RegisteredCrossChainService;
 import io.nuls.crosschain.nuls.utils.LoggerUtil;
 import io.nuls.crosschain.nuls.utils.thread.handler.*;
+import io.nuls.crosschain.nuls.utils.thread.task.CtxCacheCleanTask;
 import io.nuls.crosschain.nuls.utils.thread.task.GetRegisteredChainTask;
 
 import java.util.*;
@@ -95,6 +96,14 @@ public class ChainManager {
              * */
             LoggerUtil.initLogger(chain);
 
+            /*
+            初始化消息队列
+            Initialize message queues
+            */
+            int handlerThreads = config.getMessageHandlerThreads() > 0 ? config.getMessageHandlerThreads() : NulsCrossChainConstant.DEFAULT_MESSAGE_HANDLER_THREADS;
+            int queueCapacity = config.getMessageQueueCapacity() > 0 ? config.getMessageQueueCapacity() : NulsCrossChainConstant.DEFAULT_MESSAGE_QUEUE_CAPACITY;
+            chain.initMessageQueue(handlerThreads, queueCapacity, NulsCrossChainConstant.MESSAGE_QUEUE_OFFER_TIMEOUT);
+
             /*
             初始化链数据库表
             Initialize linked database tables
@@ -161,13 +170,27 @@ public class ChainManager {
             chain.getVerifierList().addAll(verifierList);
             chain.getLogger().info("链：{}，当前验证人列表为：{}",chain.getConfig().getChainId(), verifierList.toString());
 
-            chain.getThreadPool().execute(new HashMessageHandler(chain));
-            chain.getThreadPool().execute(new CtxMessageHandler(chain));
-            chain.getThreadPool().execute(new SignMessageHandler(chain));
-            chain.getThreadPool().execute(new OtherCtxMessageHandler(chain));
-            chain.getThreadPool().execute(new GetCtxStateHandler(chain));
-            chain.getThreadPool().execute(new SignMessageByzantineHandler(chain));
+            for (int shard = 0; shard < chain.getHashMessageQueue().getShardCount(); shard++) {
+                chain.getThreadPool().execute(new HashMessageHandler(chain, shard));
+            }
+            for (int shard = 0; shard < chain.getCtxMessageQueue().getShardCount(); shard++) {
+                chain.getThreadPool().execute(new CtxMessageHandler(chain, shard));
+            }
+            for (int shard = 0; shard < chain.getSignMessageQueue().getShardCount(); shard++) {
+                chain.getThreadPool().execute(new SignMessageHandler(chain, shard));
+            }
+            for (int shard = 0; shard < chain.getOtherCtxMessageQueue().getShardCount(); shard++) {
+                chain.getThreadPool().execute(new OtherCtxMessageHandler(chain, shard));
+            }
+            for (int shard = 0; shard < chain.getGetCtxStateQueue().getShardCount(); shard++) {
+                chain.getThreadPool().execute(new GetCtxStateHandler(chain, shard));
+            }
+            for (int shard = 0; shard < chain.getSignMessageByzantineQueue().getShardCount(); shard++) {
+                chain.getThreadPool().execute(new SignMessageByzantineHandler(chain, shard));
+            }
         }
+        long ctxCacheTimeout = config.getCtxCacheTimeout() > 0 ? config.getCtxCacheTimeout() : NulsCrossChainConstant.DEFAULT_CTX_CACHE_TIMEOUT;
+        scheduledThreadPoolExecutor.scheduleAtFixedRate(new CtxCacheCleanTask(this, TimeUnit.SECONDS.toMillis(ctxCacheTimeout)), NulsCrossChainConstant.CTX_CACHE_CLEAN_INTERVAL, NulsCrossChainConstant.CTX_CACHE_CLEAN_INTERVAL, TimeUnit.SECONDS);
         if(!config.isMainNet()){
             scheduledThreadPoolExecutor.scheduleAtFixedRate(new GetRegisteredChainTask(this),  20L, 10 * 60L, TimeUnit.SECONDS );
         }else{
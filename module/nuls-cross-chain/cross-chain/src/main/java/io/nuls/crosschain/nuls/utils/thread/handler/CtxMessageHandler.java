@@ -14,9 +14,14 @@ import io.nuls.crosschain.nuls.utils.MessageUtil;
  */
 public class CtxMessageHandler implements Runnable {
     private Chain chain;
+    /**
+     * 处理的队列分片
+     * */
+    private int shard;
 
-    public CtxMessageHandler(Chain chain) {
+    public CtxMessageHandler(Chain chain, int shard) {
         this.chain = chain;
+        this.shard = shard;
     }
 
     @Override
@@ -24,7 +29,7 @@ public class CtxMessageHandler implements Runnable {
         while (chain.getCtxMessageQueue() != null) {
             NulsHash localHash = null;
             try {
-                UntreatedMessage untreatedMessage = chain.getCtxMessageQueue().take();
+                UntreatedMessage untreatedMessage = chain.getCtxMessageQueue().take(shard);
                 NewCtxMessage messageBody = (NewCtxMessage) untreatedMessage.getMessage();
                 localHash = untreatedMessage.getCacheHash();
                 String nativeHex = localHash.toHex();
@@ -11,16 +11,21 @@ import io.nuls.crosschain.nuls.utils.TxUtil;
  */
 public class GetCtxStateHandler implements Runnable {
     private Chain chain;
+    /**
+     * 处理的队列分片
+     * */
+    private int shard;
 
-    public GetCtxStateHandler(Chain chain) {
+    public GetCtxStateHandler(Chain chain, int shard) {
         this.chain = chain;
+        this.shard = shard;
     }
 
     @Override
     public void run() {
         while (chain.getGetCtxStateQueue() != null) {
             try {
-                UntreatedMessage untreatedMessage = chain.getGetCtxStateQueue().take();
+                UntreatedMessage untreatedMessage = chain.getGetCtxStateQueue().take(shard);
                 TxUtil.getCtxState(chain, untreatedMessage.getCacheHash());
             } catch (Exception e) {
                 chain.getLogger().error(e);
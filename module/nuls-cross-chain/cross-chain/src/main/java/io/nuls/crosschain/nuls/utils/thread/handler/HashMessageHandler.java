@@ -11,16 +11,21 @@ import io.nuls.crosschain.nuls.utils.MessageUtil;
  */
 public class HashMessageHandler implements Runnable{
     private Chain chain;
+    /**
+     * 处理的队列分片
+     * */
+    private int shard;
 
-    public HashMessageHandler(Chain chain){
+    public HashMessageHandler(Chain chain, int shard){
         this.chain = chain;
+        this.shard = shard;
     }
 
     @Override
     public void run() {
         while(chain.getHashMessageQueue() != null){
             try {
-                UntreatedMessage untreatedMessage = chain.getHashMessageQueue().take();
+                UntreatedMessage untreatedMessage = chain.getHashMessageQueue().take(shard);
                 String nativeHex = untreatedMessage.getCacheHash().toHex();
                 chain.getLogger().debug("开始处理其他链节点{}广播过来的跨链交易Hash消息,Hash：{}", untreatedMessage.getNodeId(), nativeHex);
                 MessageUtil.handleNewHashMessage(chain, untreatedMessage.getCacheHash(), untreatedMessage.getChainId(), untreatedMessage.getNodeId(),nativeHex);
@@ -15,9 +15,14 @@ import io.nuls.crosschain.nuls.utils.MessageUtil;
  */
 public class OtherCtxMessageHandler implements Runnable {
     private Chain chain;
+    /**
+     * 处理的队列分片
+     * */
+    private int shard;
 
-    public OtherCtxMessageHandler(Chain chain) {
+    public OtherCtxMessageHandler(Chain chain, int shard) {
         this.chain = chain;
+        this.shard = shard;
     }
 
     @Override
@@ -25,7 +30,7 @@ public class OtherCtxMessageHandler implements Runnable {
         while (chain.getOtherCtxMessageQueue() != null) {
             NulsHash otherHash = null;
             try {
-                UntreatedMessage untreatedMessage = chain.getOtherCtxMessageQueue().take();
+                UntreatedMessage untreatedMessage = chain.getOtherCtxMessageQueue().take(shard);
                 NewOtherCtxMessage messageBody = (NewOtherCtxMessage) untreatedMessage.getMessage();
                 otherHash = untreatedMessage.getCacheHash();
                 String otherHex = otherHash.toHex();
@@ -14,16 +14,21 @@ import io.nuls.crosschain.nuls.utils.MessageUtil;
 
 public class SignMessageByzantineHandler implements Runnable{
     private Chain chain;
+    /**
+     * 处理的队列分片
+     * */
+    private int shard;
 
-    public SignMessageByzantineHandler(Chain chain) {
+    public SignMessageByzantineHandler(Chain chain, int shard) {
         this.chain = chain;
+        this.shard = shard;
     }
 
     @Override
     public void run() {
-        while (chain.getSignMessageQueue() != null) {
+        while (chain.getSignMessageByzantineQueue() != null) {
             try {
-                UntreatedMessage untreatedMessage = chain.getSignMessageByzantineQueue().take();
+                UntreatedMessage untreatedMessage = chain.getSignMessageByzantineQueue().take(shard);
                 String nativeHex = untreatedMessage.getCacheHash().toHex();
                 chain.getLogger().debug("开始对链内节点{}广播过来的跨链交易签名消息做签名拜占庭验证,Hash：{}", untreatedMessage.getNodeId(), nativeHex);
                 MessageUtil.handleSignMessageByzantine(chain, untreatedMessage.getCacheHash(), untreatedMessage.getChainId(), untreatedMessage.getNodeId(),(BroadCtxSignMessage)untreatedMessage.getMessage(), nativeHex);
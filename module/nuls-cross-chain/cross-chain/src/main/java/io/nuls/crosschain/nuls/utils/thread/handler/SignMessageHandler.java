@@ -12,16 +12,21 @@ import io.nuls.crosschain.nuls.utils.MessageUtil;
  */
 public class SignMessageHandler implements Runnable {
     private Chain chain;
+    /**
+     * 处理的队列分片
+     * */
+    private int shard;
 
-    public SignMessageHandler(Chain chain) {
+    public SignMessageHandler(Chain chain, int shard) {
         this.chain = chain;
+        this.shard = shard;
     }
 
     @Override
     public void run() {
         while (chain.getSignMessageQueue() != null) {
             try {
-                UntreatedMessage untreatedMessage = chain.getSignMessageQueue().take();
+                UntreatedMessage untreatedMessage = chain.getSignMessageQueue().take(shard);
                 String nativeHex = untreatedMessage.getCacheHash().toHex();
                 chain.getLogger().debug("开始处理链内节点{}广播过来的跨链交易签名消息,Hash：{}", untreatedMessage.getNodeId(), nativeHex);
                 MessageUtil.handleSignMessage(chain, untreatedMessage.getCacheHash(), untreatedMessage.getChainId(), untreatedMessage.getNodeId(), nativeHex);
@@ -0,0 +1,93 @@
+package io.nuls.crosschain.nuls.utils.thread.task;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.core.constant.TxStatusEnum;
+import io.nuls.core.core.ioc.SpringLiteContext;
+import io.nuls.crosschain.nuls.model.bo.Chain;
+import io.nuls.crosschain.nuls.model.bo.message.ShardedMessageQueue;
+import io.nuls.crosschain.nuls.model.po.CtxStatusPO;
+import io.nuls.crosschain.nuls.srorage.CtxStatusService;
+import io.nuls.crosschain.nuls.utils.manager.ChainManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 跨链交易内存缓存清理及消息队列监控线程
+ * 1.链内拜占庭已完成的交易，清除节点列表、未处理签名和验证结果缓存
+ * 2.超过超时时间的交易，清除该交易所有的处理状态
+ * 3.输出各消息队列积压的消息数和丢弃的消息数
+ */
+public class CtxCacheCleanTask implements Runnable {
+    private ChainManager chainManager;
+    private CtxStatusService ctxStatusService = SpringLiteContext.getBean(CtxStatusService.class);
+    /**
+     * 缓存超时时间(毫秒)
+     * */
+    private long timeout;
+
+    public CtxCacheCleanTask(ChainManager chainManager, long timeout) {
+        this.chainManager = chainManager;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run() {
+        for (Chain chain : chainManager.getChainMap().values()) {
+            try {
+                clean(chain);
+            } catch (Exception e) {
+                chain.getLogger().error(e);
+            }
+        }
+    }
+
+    private void clean(Chain chain) {
+        long now = System.currentTimeMillis();
+        Set<NulsHash> hashSet = new HashSet<>();
+        hashSet.addAll(chain.getHashNodeIdMap().keySet());
+        hashSet.addAll(chain.getOtherHashNodeIdMap().keySet());
+        hashSet.addAll(chain.getCtxStageMap().keySet());
+        hashSet.addAll(chain.getOtherCtxStageMap().keySet());
+        hashSet.addAll(chain.getVerifyCtxResultMap().keySet());
+        hashSet.addAll(chain.getCtxStateMap().keySet());
+        hashSet.addAll(chain.getWaitBroadSignMap().keySet());
+        hashSet.addAll(chain.getFutureMessageMap().keySet());
+        //缓存已全部被正常流程清除的交易不再记录时间
+        chain.getCtxCacheTimeMap().keySet().retainAll(hashSet);
+
+        int timeoutCount = 0;
+        int confirmedCount = 0;
+        for (NulsHash hash : hashSet) {
+            Long firstTime = chain.getCtxCacheTimeMap().putIfAbsent(hash, now);
+            if (firstTime != null && now - firstTime >= timeout) {
+                chain.removeCtxCache(hash);
+                timeoutCount++;
+                continue;
+            }
+            CtxStatusPO ctxStatusPO = ctxStatusService.get(hash, chain.getChainId());
+            if (ctxStatusPO != null && ctxStatusPO.getStatus() == TxStatusEnum.CONFIRMED.getStatus()) {
+                boolean removed = chain.getHashNodeIdMap().remove(hash) != null;
+                removed |= chain.getFutureMessageMap().remove(hash) != null;
+                removed |= chain.getVerifyCtxResultMap().remove(hash) != null;
+                if (removed) {
+                    confirmedCount++;
+                }
+            }
+        }
+
+        StringBuilder queueInfo = new StringBuilder();
+        boolean busy = timeoutCount > 0 || confirmedCount > 0;
+        for (ShardedMessageQueue queue : chain.getMessageQueueList()) {
+            int size = queue.size();
+            busy |= size > 0;
+            queueInfo.append(queue.getName()).append('=').append(size).append('/').append(queue.getCapacity())
+                    .append("(max shard ").append(queue.maxShardSize()).append(",dropped ").append(queue.getDroppedCount()).append(") ");
+        }
+        if (busy) {
+            chain.getLogger().info("跨链消息队列积压:{}，缓存交易数:{}，已确认清理:{}，超时清理:{}", queueInfo, hashSet.size() - timeoutCount, confirmedCount, timeoutCount);
+        } else {
+            chain.getLogger().debug("跨链消息队列积压:{}，缓存交易数:{}", queueInfo, hashSet.size());
+        }
+    }
+}
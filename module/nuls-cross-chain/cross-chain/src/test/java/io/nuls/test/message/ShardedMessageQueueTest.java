@@ -0,0 +1,54 @@
+package io.nuls.test.message;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.core.log.Log;
+import io.nuls.crosschain.nuls.model.bo.message.ShardedMessageQueue;
+import io.nuls.crosschain.nuls.model.bo.message.UntreatedMessage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShardedMessageQueueTest {
+
+    @Test
+    public void sameHashSameShard() throws Exception {
+        ShardedMessageQueue queue = new ShardedMessageQueue("test", 4, 100, 10L, Log.BASIC_LOGGER);
+        NulsHash hash = NulsHash.calcHash("ctx".getBytes());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.offer(new UntreatedMessage(2, "node" + i, null, hash)));
+        }
+        int shard = queue.shardOf(hash);
+        assertEquals(3, queue.size());
+        assertEquals(3, queue.maxShardSize());
+        //同一交易的消息按入队顺序取出
+        for (int i = 0; i < 3; i++) {
+            assertEquals("node" + i, queue.take(shard).getNodeId());
+        }
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void dropWhenFull() {
+        ShardedMessageQueue queue = new ShardedMessageQueue("test", 1, 2, 10L, Log.BASIC_LOGGER);
+        List<UntreatedMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            messages.add(new UntreatedMessage(2, "node" + i, null, NulsHash.calcHash(("ctx" + i).getBytes())));
+        }
+        assertEquals(2, queue.offerAll(messages));
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.getDroppedCount());
+    }
+
+    @Test
+    public void spreadAcrossShards() {
+        ShardedMessageQueue queue = new ShardedMessageQueue("test", 4, 1000, 10L, Log.BASIC_LOGGER);
+        for (int i = 0; i < 400; i++) {
+            assertTrue(queue.offer(new UntreatedMessage(2, "node", null, NulsHash.calcHash(("ctx" + i).getBytes()))));
+        }
+        assertEquals(400, queue.size());
+        assertTrue(queue.maxShardSize() < 400);
+    }
+}
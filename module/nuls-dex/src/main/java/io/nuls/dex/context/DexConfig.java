@@ -29,6 +29,10 @@ public class DexConfig implements ModuleConfig {
     private int feeProp;
 
     private String createTradingAmount;
+    /**
+     * 打包时按币对并行撮合的线程数，小于等于0时使用CPU核数
+     */
+    private int matchingThreads;
 
 
     public String getLanguage() {
@@ -90,4 +94,12 @@ public class DexConfig implements ModuleConfig {
     public void setCreateTradingAmount(String createTradingAmount) {
         this.createTradingAmount = createTradingAmount;
     }
+
+    public int getMatchingThreads() {
+        return matchingThreads;
+    }
+
+    public void setMatchingThreads(int matchingThreads) {
+        this.matchingThreads = matchingThreads;
+    }
 }
@@ -112,7 +112,7 @@ public class DexManager {
         if (container == null) {
             return;
         }
-        if (!container.getBuyOrderList().isEmpty() || !container.getSellOrderList().isEmpty()) {
+        if (!container.getBuyOrderBook().isEmpty() || !container.getSellOrderBook().isEmpty()) {
             throw new NulsException(DexErrorCode.TRADING_MORE_ORDER_EXIST);
         }
         tradingKeyMap.remove(DexUtil.getCoinTradingKey1(tradingPo));
@@ -0,0 +1,220 @@
+package io.nuls.dex.manager;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.dex.model.po.TradingOrderPo;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * 价格档位盘口（单边）
+ * 按价格排序的价格档位，每个档位内的挂单按时间先后排列（先进先出），另有orderHash索引
+ * 买盘价格从高到低，卖盘价格从低到高，第一个档位的第一条挂单即为最优挂单
+ * <p>
+ * 打包撮合时使用snapshot()创建快照，快照与原盘口共享价格档位和挂单对象，
+ * 任何一方修改某个档位前先复制该档位（写时复制），快照修改挂单前先复制挂单，互不影响
+ */
+public class OrderBook {
+
+    private final boolean buySide;
+
+    private final TreeMap<BigInteger, LinkedHashMap<NulsHash, TradingOrderPo>> priceLevels;
+    /**
+     * 本盘口可以直接修改的价格档位，其余档位与快照共享，修改前需要先复制
+     */
+    private final Set<BigInteger> ownedLevels = new HashSet<>();
+    /**
+     * orderHash索引，快照不维护索引
+     */
+    private final Map<NulsHash, TradingOrderPo> orderIndex;
+    /**
+     * 快照中已复制过的挂单
+     */
+    private final Set<NulsHash> ownedOrders;
+
+    private int size;
+
+    public OrderBook(boolean buySide) {
+        this.buySide = buySide;
+        Comparator<BigInteger> cmp = buySide ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        this.priceLevels = new TreeMap<>(cmp);
+        this.orderIndex = new HashMap<>();
+        this.ownedOrders = null;
+    }
+
+    private OrderBook(OrderBook source) {
+        this.buySide = source.buySide;
+        this.priceLevels = new TreeMap<>(source.priceLevels);
+        this.orderIndex = null;
+        this.ownedOrders = new HashSet<>();
+        this.size = source.size;
+    }
+
+    /**
+     * 创建盘口快照，时间复杂度与价格档位数量成正比，不复制挂单
+     */
+    public synchronized OrderBook snapshot() {
+        //创建快照后，现有档位都变为共享档位
+        ownedLevels.clear();
+        return new OrderBook(this);
+    }
+
+    private boolean isSnapshot() {
+        return orderIndex == null;
+    }
+
+    /**
+     * 添加挂单到对应价格档位的末尾
+     */
+    public synchronized void add(TradingOrderPo po) {
+        LinkedHashMap<NulsHash, TradingOrderPo> level = ownLevel(po.getPrice(), true);
+        if (level.put(po.getOrderHash(), po) == null) {
+            size++;
+        }
+        if (isSnapshot()) {
+            ownedOrders.add(po.getOrderHash());
+        } else {
+            orderIndex.put(po.getOrderHash(), po);
+        }
+    }
+
+    /**
+     * 更新挂单的成交数据，挂单在档位内的位置不变
+     * 原挂单对象可能被快照共享，因此替换为更新后的副本而不是直接修改
+     *
+     * @return 盘口内没有该挂单时返回false
+     */
+    public synchronized boolean update(TradingOrderPo po) {
+        TradingOrderPo old = find(po);
+        if (old == null) {
+            return false;
+        }
+        TradingOrderPo updated = old.copy();
+        updated.copyFrom(po);
+        ownLevel(old.getPrice(), false).put(updated.getOrderHash(), updated);
+        if (!isSnapshot()) {
+            orderIndex.put(updated.getOrderHash(), updated);
+        }
+        return true;
+    }
+
+    /**
+     * 移除挂单
+     *
+     * @return 盘口内没有该挂单时返回false
+     */
+    public synchronized boolean remove(TradingOrderPo po) {
+        TradingOrderPo old = find(po);
+        if (old == null) {
+            return false;
+        }
+        LinkedHashMap<NulsHash, TradingOrderPo> level = ownLevel(old.getPrice(), false);
+        level.remove(old.getOrderHash());
+        if (level.isEmpty()) {
+            priceLevels.remove(old.getPrice());
+            ownedLevels.remove(old.getPrice());
+        }
+        if (!isSnapshot()) {
+            orderIndex.remove(old.getOrderHash());
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * 按价格优先、时间优先的顺序，取出第一条不被跳过的挂单
+     * 快照中取出的挂单是快照自己的副本，撮合时可以直接修改
+     *
+     * @param skip 需要跳过的挂单，例如已完全成交或本次打包已撤销的挂单
+     */
+    public synchronized TradingOrderPo getFirst(Predicate<TradingOrderPo> skip) {
+        for (Map.Entry<BigInteger, LinkedHashMap<NulsHash, TradingOrderPo>> entry : priceLevels.entrySet()) {
+            for (TradingOrderPo po : entry.getValue().values()) {
+                if (skip.test(po)) {
+                    continue;
+                }
+                if (isSnapshot() && !ownedOrders.contains(po.getOrderHash())) {
+                    TradingOrderPo copy = po.copy();
+                    ownLevel(entry.getKey(), false).put(copy.getOrderHash(), copy);
+                    ownedOrders.add(copy.getOrderHash());
+                    return copy;
+                }
+                return po;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按价格优先、时间优先的顺序返回前count条挂单
+     */
+    public synchronized List<TradingOrderPo> getOrders(int count) {
+        List<TradingOrderPo> list = new ArrayList<>(Math.min(count, size));
+        for (LinkedHashMap<NulsHash, TradingOrderPo> level : priceLevels.values()) {
+            for (TradingOrderPo po : level.values()) {
+                if (list.size() >= count) {
+                    return list;
+                }
+                list.add(po);
+            }
+        }
+        return list;
+    }
+
+    public synchronized TradingOrderPo get(NulsHash orderHash) {
+        if (!isSnapshot()) {
+            return orderIndex.get(orderHash);
+        }
+        for (LinkedHashMap<NulsHash, TradingOrderPo> level : priceLevels.values()) {
+            TradingOrderPo po = level.get(orderHash);
+            if (po != null) {
+                return po;
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 价格档位数量
+     */
+    public synchronized int levelSize() {
+        return priceLevels.size();
+    }
+
+    private TradingOrderPo find(TradingOrderPo po) {
+        if (!isSnapshot()) {
+            return orderIndex.get(po.getOrderHash());
+        }
+        LinkedHashMap<NulsHash, TradingOrderPo> level = priceLevels.get(po.getPrice());
+        return level == null ? null : level.get(po.getOrderHash());
+    }
+
+    /**
+     * 取得可以直接修改的价格档位，共享档位先复制一份
+     */
+    private LinkedHashMap<NulsHash, TradingOrderPo> ownLevel(BigInteger price, boolean create) {
+        LinkedHashMap<NulsHash, TradingOrderPo> level = priceLevels.get(price);
+        if (level == null) {
+            if (!create) {
+                return null;
+            }
+            level = new LinkedHashMap<>();
+        } else if (ownedLevels.contains(price)) {
+            return level;
+        } else {
+            level = new LinkedHashMap<>(level);
+        }
+        priceLevels.put(price, level);
+        ownedLevels.add(price);
+        return level;
+    }
+}
@@ -0,0 +1,185 @@
+package io.nuls.dex.manager;
+
+import io.nuls.base.data.CoinData;
+import io.nuls.base.data.NulsHash;
+import io.nuls.base.data.Transaction;
+import io.nuls.core.constant.TxType;
+import io.nuls.dex.context.DexConstant;
+import io.nuls.dex.model.po.CoinTradingPo;
+import io.nuls.dex.model.po.TradingOrderPo;
+import io.nuls.dex.model.txData.TradingDeal;
+import io.nuls.dex.util.DexUtil;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * 单个币对的撮合任务
+ * 每个币对只读写自己的盘口快照，不同币对之间互不依赖，可以并行撮合
+ * 生成的成交交易只取决于盘口快照、本次打包的委托挂单顺序和打包时间，保证所有节点结果一致
+ */
+public class TradingMatcher implements Callable<List<Transaction>> {
+
+    private final TradingContainer container;
+    //本次打包中该币对新增的委托挂单，按交易在区块中的顺序排列
+    private final List<TradingOrderPo> orderPoList;
+    //本次打包中撤销委托的挂单orderHash，只读
+    private final Set<String> cancelOrderSet;
+    //本次打包统一的成交交易时间
+    private final long packingTime;
+
+    public TradingMatcher(TradingContainer container, List<TradingOrderPo> orderPoList, Set<String> cancelOrderSet, long packingTime) {
+        this.container = container;
+        this.orderPoList = orderPoList;
+        this.cancelOrderSet = cancelOrderSet;
+        this.packingTime = packingTime;
+    }
+
+    /**
+     * 循环本币对的委托挂单，与盘口快照内的买单和卖单进行撮合成交
+     *
+     * @return 按撮合顺序生成的成交交易
+     */
+    @Override
+    public List<Transaction> call() throws IOException {
+        List<Transaction> dealTxList = new ArrayList<>();
+        TradingOrderPo buyOrder;
+        TradingOrderPo sellOrder;
+        boolean b;
+        for (int i = 0; i < orderPoList.size(); i++) {
+            TradingOrderPo orderPo = orderPoList.get(i);
+            b = true;       //用于判断当前挂单(orderPo)是否需要继续匹配
+            while (b) {
+                if (orderPo.getType() == DexConstant.TRADING_ORDER_BUY_TYPE) {
+                    buyOrder = orderPo;
+                    sellOrder = getFirstSellOrder(container.getSellOrderBook());
+                } else {
+                    sellOrder = orderPo;
+                    buyOrder = getFirstBuyOrder(container.getBuyOrderBook());
+                }
+                if (buyOrder == null || sellOrder == null) {
+                    //说明买盘或卖盘已没有挂单可以匹配，直接将委托挂单添加到临时盘口中
+                    container.addTradingOrder(orderPo);
+                    b = false;
+                } else if (buyOrder.getPrice().compareTo(sellOrder.getPrice()) < 0) {
+                    //如果买单小于卖单价格，则不撮合，直接将委托挂单添加到临时盘口中
+                    container.addTradingOrder(orderPo);
+                    b = false;
+                } else {
+                    //匹配成功的订单，生成成交交易
+                    //如果是买单主动吃单，则用卖单价作为成交价，反之用买单价作为成交价
+                    if (orderPo.getType() == DexConstant.TRADING_ORDER_BUY_TYPE) {
+                        dealTxList.add(createDealTx(buyOrder, sellOrder, sellOrder.getPrice()));
+                    } else {
+                        dealTxList.add(createDealTx(buyOrder, sellOrder, buyOrder.getPrice()));
+                    }
+                    //挂单已完全成交，则不再继续匹配
+                    if (orderPo.isOver()) {
+                        b = false;
+                    }
+                }
+            }
+        }
+        return dealTxList;
+    }
+
+    /**
+     * 撮合成交，生成成交交易
+     * 已卖单价格为最终成交价
+     * <p>
+     * 根据买单和卖单以及双方各自的成交量，生成成交交易
+     * 成交交易实际上就是将买单和卖单先解锁，
+     * 再各自对应的币种，按照最终成交量，转到对方的账户上
+     * 剩余未成交的部分，则继续锁定
+     * 此外，各自还需支付手续费
+     * tx:{
+     * type: 31 //成交交易
+     * from:[
+     * {address: AAA, value: 2000NULS, lockTime: -2},
+     * {address: BBB, value: 1BTC, lockTime: -2}
+     * ],
+     * to:[
+     * {address: BBB, value: 999.9NULS, lockTime: 0},
+     * {address: AAA, value: 0.9999BTC, lockTime: 0 },
+     * {address: CCC, value: 0.01NULS},					//此为AAA本次撮合成交需要支付的手续费
+     * {address: CCC, value: 0.0001BTC},				//此为BBB本次撮合成交需要支付的手续费
+     * {address: AAA, value: 1000NULS, lockTime: -2},	//此为未成交部分的NULS，继续锁定
+     * ]
+     * }
+     *
+     * @return
+     */
+    private Transaction createDealTx(TradingOrderPo buyOrder, TradingOrderPo sellOrder, BigInteger price) throws IOException {
+        CoinTradingPo tradingPo = container.getCoinTrading();
+        Transaction tx = new Transaction();
+        tx.setType(TxType.TRADING_DEAL);
+        tx.setTime(packingTime);
+
+        //根据成交数据，生成交易的coinData
+        Map<String, Object> map = DexUtil.createDealTxCoinData(tradingPo, price, buyOrder, sellOrder);
+        CoinData coinData = (CoinData) map.get("coinData");
+        tx.setCoinData(coinData.serialize());
+
+        boolean isBuyOver = (boolean) map.get("isBuyOver");
+        boolean isSellOver = (boolean) map.get("isSellOver");
+
+        //生成成交记录,txData
+        TradingDeal deal = new TradingDeal();
+        deal.setTradingHash(tradingPo.getHash().getBytes());
+        deal.setBuyHash(buyOrder.getOrderHash().getBytes());
+        deal.setSellHash(sellOrder.getOrderHash().getBytes());
+        deal.setQuoteAmount((BigInteger) map.get("quoteAmount"));
+        deal.setBaseAmount((BigInteger) map.get("baseAmount"));
+        deal.setPrice(price);
+        if (isBuyOver && !isSellOver) {
+            deal.setType(DexConstant.ORDER_BUY_OVER);
+        } else if (!isBuyOver && isSellOver) {
+            deal.setType(DexConstant.ORDER_SELL_OVER);
+        } else if (isBuyOver && isSellOver) {
+            deal.setType(DexConstant.ORDER_ALL_OVER);
+        }
+        tx.setTxData(deal.serialize());
+        tx.setHash(NulsHash.calcHash(tx.serializeForHash()));
+
+        buyOrder.setNonce(DexUtil.getNonceByHash(tx.getHash()));
+        buyOrder.setLeftQuoteAmount(buyOrder.getLeftQuoteAmount().subtract(deal.getQuoteAmount()));
+        buyOrder.setDealAmount(buyOrder.getDealAmount().add(deal.getBaseAmount()));
+        buyOrder.setOver(isBuyOver);
+
+        sellOrder.setNonce(DexUtil.getNonceByHash(tx.getHash()));
+        sellOrder.setDealAmount(sellOrder.getDealAmount().add(deal.getBaseAmount()));
+        sellOrder.setOver(isSellOver);
+        return tx;
+    }
+
+    /**
+     * 买盘是按价格从高到低排序好的，每次从价格最高的第一条开始取出进行撮合
+     * 若买单已被撤销，继续取出下一条进行撮合验证
+     *
+     * @param buyOrderBook
+     * @return
+     */
+    private TradingOrderPo getFirstBuyOrder(OrderBook buyOrderBook) {
+        return buyOrderBook.getFirst(this::isOverOrCanceled);
+    }
+
+    /**
+     * 卖盘是按价格从低到高排序好的，每次从卖单价格最低的第一条开始取出进行撮合
+     * 若卖单已被撤销，继续取出下一条进行撮合验证
+     *
+     * @param sellOrderBook
+     * @return
+     */
+    private TradingOrderPo getFirstSellOrder(OrderBook sellOrderBook) {
+        return sellOrderBook.getFirst(this::isOverOrCanceled);
+    }
+
+    private boolean isOverOrCanceled(TradingOrderPo order) {
+        return order.isOver() || cancelOrderSet.contains(order.getOrderHash().toHex());
+    }
+}
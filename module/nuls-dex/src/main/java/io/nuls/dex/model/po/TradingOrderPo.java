@@ -50,10 +50,11 @@ public class TradingOrderPo extends BaseNulsData implements Comparable {
         po.tradingHash = new NulsHash(this.tradingHash.getBytes());
         po.address = this.address;
         po.type = this.type;
-        po.amount = new BigInteger(this.amount.toString());
-        po.dealAmount = new BigInteger(this.dealAmount.toString());
-        po.leftQuoteAmount = new BigInteger(this.leftQuoteAmount.toString());
-        po.price = new BigInteger(this.price.toString());
+        //BigInteger不可变，直接共享引用
+        po.amount = this.amount;
+        po.dealAmount = this.dealAmount;
+        po.leftQuoteAmount = this.leftQuoteAmount;
+        po.price = this.price;
         po.nonce = this.nonce;
         return po;
     }
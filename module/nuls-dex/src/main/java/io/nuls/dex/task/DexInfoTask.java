@@ -23,12 +23,12 @@ public class DexInfoTask implements Runnable {
                 CoinTradingPo tradingPo = container.getCoinTrading();
                 System.out.println(tradingPo);
                 System.out.println("----------sellOrderList---------");
-                System.out.println(container.getSellOrderList().size());
+                System.out.println(container.getSellOrderBook().size());
 //                for (int i = 0; i < container.getSellOrderList().size(); i++) {
 //                    System.out.println(container.getSellOrderList().get(i));
 //                }
                 System.out.println("----------buyOrderList---------");
-                System.out.println(container.getBuyOrderList().size());
+                System.out.println(container.getBuyOrderBook().size());
 //                for (int i = 0; i < container.getBuyOrderList().size(); i++) {
 //                    System.out.println(container.getBuyOrderList().get(i));
 //                }
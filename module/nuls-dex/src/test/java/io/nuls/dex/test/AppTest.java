@@ -5,9 +5,11 @@ import io.nuls.base.data.NulsHash;
 import io.nuls.core.crypto.HexUtil;
 import io.nuls.core.exception.NulsException;
 import io.nuls.dex.context.DexConstant;
+import io.nuls.dex.manager.OrderBook;
 import io.nuls.dex.manager.TradingContainer;
 import io.nuls.dex.model.po.TradingOrderPo;
 import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -17,7 +19,7 @@ import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
@@ -37,10 +39,8 @@ public class AppTest {
         NulsHash hasha = new NulsHash(Hex.decode(hashs));
 
         TradingContainer container = new TradingContainer();
-        LinkedList<TradingOrderPo> buyList = new LinkedList<>();
-        container.setBuyOrderList(buyList);
-        LinkedList<TradingOrderPo> sellList = new LinkedList<>();
-        container.setSellOrderList(sellList);
+        container.setBuyOrderBook(new OrderBook(true));
+        container.setSellOrderBook(new OrderBook(false));
 
         Random random = new Random();
         TradingOrderPo po1;
@@ -62,17 +62,18 @@ public class AppTest {
             }
             container.addTradingOrder(po1);
         }
-        int size = container.getBuyOrderList().size();
+        int size = container.getBuyOrderBook().size();
         System.out.println("--------------------------  size:" + size);
 
 
         for (int i = 0; i < size; i++) {
-            int index = random.nextInt(container.getBuyOrderList().size());
-            po1 = container.getBuyOrderList().get(index);
+            List<TradingOrderPo> orders = container.getBuyOrderBook().getOrders(size);
+            int index = random.nextInt(orders.size());
+            po1 = orders.get(index);
 
             container.removeTradingOrder(po1);
         }
-        System.out.println("--------------------------  size:" + container.getBuyOrderList().size());
+        System.out.println("--------------------------  size:" + container.getBuyOrderBook().size());
     }
 
 
@@ -84,10 +85,8 @@ public class AppTest {
         NulsHash hasha = new NulsHash(Hex.decode(hashs));
 
         TradingContainer container = new TradingContainer();
-        LinkedList<TradingOrderPo> buyList = new LinkedList<>();
-        container.setBuyOrderList(buyList);
-        LinkedList<TradingOrderPo> sellList = new LinkedList<>();
-        container.setSellOrderList(sellList);
+        container.setBuyOrderBook(new OrderBook(true));
+        container.setSellOrderBook(new OrderBook(false));
 
         Random random = new Random();
         TradingOrderPo po1;
@@ -108,12 +107,13 @@ public class AppTest {
             }
             container.addTradingOrder(po1);
         }
-        int size = container.getSellOrderList().size();
+        int size = container.getSellOrderBook().size();
         System.out.println("--------------------------  size:" + size);
 
 
+        List<TradingOrderPo> orders = container.getSellOrderBook().getOrders(size);
         for (int i = 0; i < size; i++) {
-            po1 = container.getSellOrderList().get(i).copy();
+            po1 = orders.get(i).copy();
             po1.setDealAmount(BigInteger.TEN);
             try {
                 container.updateTradingOrder(po1);
@@ -122,14 +122,89 @@ public class AppTest {
             }
         }
 
+        orders = container.getSellOrderBook().getOrders(size);
         for (int i = 0; i < size; i++) {
-            po1 = container.getSellOrderList().get(i);
+            po1 = orders.get(i);
             if (po1.getDealAmount().intValue() != 10) {
                 System.out.println(po1.getDealAmount());
             }
 
         }
-        System.out.println("--------------------------  size:" + container.getSellOrderList().size());
+        System.out.println("--------------------------  size:" + container.getSellOrderBook().size());
+    }
+
+    @Test
+    public void testOrderBookPriority() {
+        OrderBook buyBook = new OrderBook(true);
+        OrderBook sellBook = new OrderBook(false);
+        int[] prices = {5, 7, 5, 6, 7};
+        for (int i = 0; i < prices.length; i++) {
+            buyBook.add(newOrder(DexConstant.TRADING_ORDER_BUY_TYPE, prices[i], i));
+            sellBook.add(newOrder(DexConstant.TRADING_ORDER_SELL_TYPE, prices[i], i));
+        }
+        //买盘价格从高到低，卖盘价格从低到高，相同价格先挂先成交
+        assertOrders(buyBook.getOrders(5), new int[]{7, 7, 6, 5, 5}, new int[]{1, 4, 3, 0, 2});
+        assertOrders(sellBook.getOrders(5), new int[]{5, 5, 6, 7, 7}, new int[]{0, 2, 3, 1, 4});
+
+        TradingOrderPo first = buyBook.getFirst(po -> false);
+        Assert.assertTrue(buyBook.remove(first));
+        Assert.assertFalse(buyBook.remove(first));
+        Assert.assertEquals(4, buyBook.size());
+        Assert.assertEquals(4, buyBook.getFirst(po -> false).getAmount().intValue());
+    }
+
+    @Test
+    public void testOrderBookSnapshot() throws NulsException {
+        TradingContainer container = new TradingContainer();
+        container.setBuyOrderBook(new OrderBook(true));
+        container.setSellOrderBook(new OrderBook(false));
+        TradingOrderPo sell = newOrder(DexConstant.TRADING_ORDER_SELL_TYPE, 10, 0);
+        container.addTradingOrder(sell);
+
+        OrderBook snapshot = container.getSellOrderBook().snapshot();
+        TradingOrderPo tempSell = snapshot.getFirst(po -> false);
+        Assert.assertNotSame(sell, tempSell);
+        tempSell.setDealAmount(BigInteger.ONE);
+        tempSell.setOver(true);
+        snapshot.add(newOrder(DexConstant.TRADING_ORDER_SELL_TYPE, 10, 1));
+
+        //快照的修改不影响原盘口
+        Assert.assertEquals(0, sell.getDealAmount().intValue());
+        Assert.assertEquals(1, container.getSellOrderBook().size());
+        Assert.assertEquals(2, snapshot.size());
+        Assert.assertEquals(1, snapshot.getFirst(TradingOrderPo::isOver).getAmount().intValue());
+
+        //原盘口的修改不影响快照
+        TradingOrderPo update = sell.copy();
+        update.setDealAmount(BigInteger.TEN);
+        container.updateTradingOrder(update);
+        Assert.assertEquals(10, container.getSellOrderBook().get(sell.getOrderHash()).getDealAmount().intValue());
+        Assert.assertEquals(1, snapshot.get(sell.getOrderHash()).getDealAmount().intValue());
+    }
+
+    private TradingOrderPo newOrder(byte type, int price, int index) {
+        TradingOrderPo po = new TradingOrderPo();
+        po.setType(type);
+        po.setPrice(BigInteger.valueOf(price));
+        po.setAddress(new Address("tNULSeBaMvEtDfvZuukDf2mVyfGo3DdiN8KLRG").getAddressBytes());
+        po.setAmount(BigInteger.valueOf(index));
+        po.setDealAmount(BigInteger.ZERO);
+        po.setLeftQuoteAmount(BigInteger.ZERO);
+        po.setTradingHash(new NulsHash(Hex.decode("584ae3c9af9a42c4e68fcde0736fce670a913262346ed10f827dfaef75714ebd")));
+        try {
+            po.setOrderHash(NulsHash.calcHash(po.serialize()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return po;
+    }
+
+    private void assertOrders(List<TradingOrderPo> orders, int[] prices, int[] indexes) {
+        Assert.assertEquals(prices.length, orders.size());
+        for (int i = 0; i < prices.length; i++) {
+            Assert.assertEquals(prices[i], orders.get(i).getPrice().intValue());
+            Assert.assertEquals(indexes[i], orders.get(i).getAmount().intValue());
+        }
     }
 
     @Test
@@ -0,0 +1,157 @@
+package io.nuls.dex.test;
+
+import io.nuls.base.data.Address;
+import io.nuls.base.data.NulsHash;
+import io.nuls.base.data.Transaction;
+import io.nuls.dex.context.DexConstant;
+import io.nuls.dex.context.DexContext;
+import io.nuls.dex.manager.TradingContainer;
+import io.nuls.dex.manager.TradingMatcher;
+import io.nuls.dex.model.po.CoinTradingPo;
+import io.nuls.dex.model.po.TradingOrderPo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 打包撮合基准测试，对比按币对顺序撮合与按币对并行撮合
+ * Block-packing matching benchmarks, comparing sequential per-pair matching with parallel per-pair matching.
+ * 每个币对的卖盘有bookDepth条挂单，本次打包有ordersPerPair条吃单买单，每次调用前重新创建盘口快照
+ * 运行 / run: main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchingBenchmark {
+
+    private static final BigInteger UNIT = BigInteger.valueOf(100000000L);
+
+    @Param({"1", "8", "32"})
+    private int pairCount;
+
+    @Param({"200"})
+    private int bookDepth;
+
+    @Param({"50"})
+    private int ordersPerPair;
+
+    private byte[] address;
+    private List<TradingContainer> containers;
+    private List<List<TradingOrderPo>> incomingOrders;
+    private ExecutorService executor;
+
+    private List<TradingMatcher> matchers;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        address = new Address("tNULSeBaMvEtDfvZuukDf2mVyfGo3DdiN8KLRG").getAddressBytes();
+        DexContext.feeAddress = address;
+        DexContext.feePropDecimal = new BigDecimal(10000);
+
+        containers = new ArrayList<>(pairCount);
+        incomingOrders = new ArrayList<>(pairCount);
+        for (int p = 0; p < pairCount; p++) {
+            CoinTradingPo tradingPo = new CoinTradingPo();
+            tradingPo.setAddress(address);
+            tradingPo.setHash(NulsHash.calcHash(("pair-" + p).getBytes()));
+            tradingPo.setBaseAssetChainId(5);
+            tradingPo.setBaseAssetId(p + 2);
+            tradingPo.setBaseDecimal((byte) 8);
+            tradingPo.setScaleBaseDecimal((byte) 4);
+            tradingPo.setQuoteAssetChainId(5);
+            tradingPo.setQuoteAssetId(1);
+            tradingPo.setQuoteDecimal((byte) 8);
+            tradingPo.setScaleQuoteDecimal((byte) 4);
+            tradingPo.setMinTradingAmount(UNIT.divide(BigInteger.valueOf(100)));
+
+            TradingContainer container = new TradingContainer(tradingPo);
+            for (int i = 0; i < bookDepth; i++) {
+                //卖盘挂单价格100~(100+bookDepth)，每档一条
+                container.addTradingOrder(newOrder(tradingPo, DexConstant.TRADING_ORDER_SELL_TYPE, 100 + i, UNIT, "sell-" + p + "-" + i));
+            }
+            containers.add(container);
+
+            List<TradingOrderPo> orders = new ArrayList<>(ordersPerPair);
+            for (int i = 0; i < ordersPerPair; i++) {
+                //每条买单吃掉约3个价格档位
+                orders.add(newOrder(tradingPo, DexConstant.TRADING_ORDER_BUY_TYPE, 100 + bookDepth, UNIT.multiply(BigInteger.valueOf(3)), "buy-" + p + "-" + i));
+            }
+            incomingOrders.add(orders);
+        }
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareRound() {
+        //撮合会修改委托挂单和快照内的挂单，每次调用都使用新的副本
+        matchers = new ArrayList<>(pairCount);
+        for (int p = 0; p < pairCount; p++) {
+            List<TradingOrderPo> orders = new ArrayList<>(ordersPerPair);
+            for (TradingOrderPo po : incomingOrders.get(p)) {
+                orders.add(po.copy());
+            }
+            matchers.add(new TradingMatcher(containers.get(p).snapshot(), orders, Collections.emptySet(), 1588000000L));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Transaction> sequential() throws Exception {
+        List<Transaction> txList = new ArrayList<>();
+        for (TradingMatcher matcher : matchers) {
+            txList.addAll(matcher.call());
+        }
+        return txList;
+    }
+
+    @Benchmark
+    public List<Transaction> parallel() throws Exception {
+        List<Future<List<Transaction>>> futures = new ArrayList<>(matchers.size());
+        for (TradingMatcher matcher : matchers) {
+            futures.add(executor.submit(matcher));
+        }
+        List<Transaction> txList = new ArrayList<>();
+        for (Future<List<Transaction>> future : futures) {
+            txList.addAll(future.get());
+        }
+        return txList;
+    }
+
+    private TradingOrderPo newOrder(CoinTradingPo tradingPo, byte type, int price, BigInteger amount, String seed) {
+        TradingOrderPo po = new TradingOrderPo();
+        po.setOrderHash(NulsHash.calcHash(seed.getBytes()));
+        po.setTradingHash(tradingPo.getHash());
+        po.setAddress(address);
+        po.setType(type);
+        po.setPrice(UNIT.multiply(BigInteger.valueOf(price)));
+        po.setAmount(amount);
+        po.setDealAmount(BigInteger.ZERO);
+        //买单锁定的计价币 = 数量 * 单价
+        po.setLeftQuoteAmount(type == DexConstant.TRADING_ORDER_BUY_TYPE ? amount.multiply(BigInteger.valueOf(price)) : BigInteger.ZERO);
+        po.setNonce(Arrays.copyOf(po.getOrderHash().getBytes(), 8));
+        return po;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(MatchingBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
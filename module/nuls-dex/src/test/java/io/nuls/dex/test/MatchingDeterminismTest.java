@@ -0,0 +1,156 @@
+package io.nuls.dex.test;
+
+import io.nuls.base.data.Address;
+import io.nuls.base.data.NulsHash;
+import io.nuls.base.data.Transaction;
+import io.nuls.dex.context.DexConstant;
+import io.nuls.dex.context.DexContext;
+import io.nuls.dex.manager.TradingContainer;
+import io.nuls.dex.manager.TradingMatcher;
+import io.nuls.dex.model.po.CoinTradingPo;
+import io.nuls.dex.model.po.TradingOrderPo;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 多币对撮合结果确定性测试：顺序撮合与并行撮合生成的成交交易及其顺序一致
+ */
+public class MatchingDeterminismTest {
+
+    private static final BigInteger UNIT = BigInteger.valueOf(100000000L);
+    private static final int PAIR_COUNT = 8;
+    private static final int BOOK_DEPTH = 40;
+    private static final int ORDERS_PER_PAIR = 20;
+    private static final long PACKING_TIME = 1588000000L;
+
+    private byte[] address;
+    private List<TradingContainer> containers;
+    private List<List<TradingOrderPo>> incomingOrders;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        address = new Address("tNULSeBaMvEtDfvZuukDf2mVyfGo3DdiN8KLRG").getAddressBytes();
+        DexContext.feeAddress = address;
+        DexContext.feePropDecimal = new BigDecimal(10000);
+
+        containers = new ArrayList<>(PAIR_COUNT);
+        incomingOrders = new ArrayList<>(PAIR_COUNT);
+        for (int p = 0; p < PAIR_COUNT; p++) {
+            CoinTradingPo tradingPo = new CoinTradingPo();
+            tradingPo.setAddress(address);
+            tradingPo.setHash(NulsHash.calcHash(("pair-" + p).getBytes()));
+            tradingPo.setBaseAssetChainId(5);
+            tradingPo.setBaseAssetId(p + 2);
+            tradingPo.setBaseDecimal((byte) 8);
+            tradingPo.setScaleBaseDecimal((byte) 4);
+            tradingPo.setQuoteAssetChainId(5);
+            tradingPo.setQuoteAssetId(1);
+            tradingPo.setQuoteDecimal((byte) 8);
+            tradingPo.setScaleQuoteDecimal((byte) 4);
+            tradingPo.setMinTradingAmount(UNIT.divide(BigInteger.valueOf(100)));
+
+            TradingContainer container = new TradingContainer(tradingPo);
+            for (int i = 0; i < BOOK_DEPTH; i++) {
+                //卖盘100~139，买盘60~99，每档一条
+                container.addTradingOrder(newOrder(tradingPo, DexConstant.TRADING_ORDER_SELL_TYPE, 100 + i, UNIT, "sell-" + p + "-" + i));
+                container.addTradingOrder(newOrder(tradingPo, DexConstant.TRADING_ORDER_BUY_TYPE, 99 - i, UNIT, "buy-" + p + "-" + i));
+            }
+            containers.add(container);
+
+            List<TradingOrderPo> orders = new ArrayList<>(ORDERS_PER_PAIR);
+            for (int i = 0; i < ORDERS_PER_PAIR; i++) {
+                //买卖吃单交替，每条吃掉若干价格档位，各币对的数量不同
+                BigInteger amount = UNIT.multiply(BigInteger.valueOf(1 + (i + p) % 3));
+                if (i % 2 == 0) {
+                    orders.add(newOrder(tradingPo, DexConstant.TRADING_ORDER_BUY_TYPE, 100 + BOOK_DEPTH, amount, "in-buy-" + p + "-" + i));
+                } else {
+                    orders.add(newOrder(tradingPo, DexConstant.TRADING_ORDER_SELL_TYPE, 100 - BOOK_DEPTH, amount, "in-sell-" + p + "-" + i));
+                }
+            }
+            incomingOrders.add(orders);
+        }
+        executor = Executors.newFixedThreadPool(PAIR_COUNT);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void parallelMatchesSequential() throws Exception {
+        List<NulsHash> expect = txHashes(sequential(newMatchers()));
+        Assert.assertFalse(expect.isEmpty());
+        for (int round = 0; round < 5; round++) {
+            Assert.assertEquals(expect, txHashes(parallel(newMatchers())));
+        }
+        //快照撮合不能修改原盘口，再次顺序撮合结果不变
+        Assert.assertEquals(expect, txHashes(sequential(newMatchers())));
+    }
+
+    private List<TradingMatcher> newMatchers() {
+        //撮合会修改委托挂单和快照内的挂单，每次撮合都使用新的快照和副本
+        List<TradingMatcher> matchers = new ArrayList<>(PAIR_COUNT);
+        for (int p = 0; p < PAIR_COUNT; p++) {
+            List<TradingOrderPo> orders = new ArrayList<>(ORDERS_PER_PAIR);
+            for (TradingOrderPo po : incomingOrders.get(p)) {
+                orders.add(po.copy());
+            }
+            matchers.add(new TradingMatcher(containers.get(p).snapshot(), orders, Collections.emptySet(), PACKING_TIME));
+        }
+        return matchers;
+    }
+
+    private List<Transaction> sequential(List<TradingMatcher> matchers) throws Exception {
+        List<Transaction> txList = new ArrayList<>();
+        for (TradingMatcher matcher : matchers) {
+            txList.addAll(matcher.call());
+        }
+        return txList;
+    }
+
+    private List<Transaction> parallel(List<TradingMatcher> matchers) throws Exception {
+        List<Future<List<Transaction>>> futures = new ArrayList<>(matchers.size());
+        for (TradingMatcher matcher : matchers) {
+            futures.add(executor.submit(matcher));
+        }
+        List<Transaction> txList = new ArrayList<>();
+        for (Future<List<Transaction>> future : futures) {
+            txList.addAll(future.get());
+        }
+        return txList;
+    }
+
+    private List<NulsHash> txHashes(List<Transaction> txList) {
+        List<NulsHash> hashes = new ArrayList<>(txList.size());
+        for (Transaction tx : txList) {
+            hashes.add(tx.getHash());
+        }
+        return hashes;
+    }
+
+    private TradingOrderPo newOrder(CoinTradingPo tradingPo, byte type, int price, BigInteger amount, String seed) {
+        TradingOrderPo po = new TradingOrderPo();
+        po.setOrderHash(NulsHash.calcHash(seed.getBytes()));
+        po.setTradingHash(tradingPo.getHash());
+        po.setAddress(address);
+        po.setType(type);
+        po.setPrice(UNIT.multiply(BigInteger.valueOf(price)));
+        po.setAmount(amount);
+        po.setDealAmount(BigInteger.ZERO);
+        //买单锁定的计价币 = 数量 * 单价
+        po.setLeftQuoteAmount(type == DexConstant.TRADING_ORDER_BUY_TYPE ? amount.multiply(BigInteger.valueOf(price)) : BigInteger.ZERO);
+        po.setNonce(Arrays.copyOf(po.getOrderHash().getBytes(), 8));
+        return po;
+    }
+}
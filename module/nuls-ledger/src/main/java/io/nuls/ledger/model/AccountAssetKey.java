@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.ledger.model;
+
+import io.nuls.base.basic.AddressTool;
+import io.nuls.base.data.Address;
+import io.nuls.ledger.utils.LedgerUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 账户资产key: 原始地址(23字节) + 资产链ID + 资产ID, 用于账本数据库与内存缓存
+ * Account asset key: raw address (23 bytes) + asset chain id + asset id, used by the ledger db and the memory caches.
+ * <p>
+ * 数据库key为定长31字节: address + assetChainId(4字节大端) + assetId(4字节大端)
+ * The db key is a fixed 31 bytes: address + assetChainId (4 bytes, big endian) + assetId (4 bytes, big endian)
+ */
+public final class AccountAssetKey {
+
+    public static final int KEY_LENGTH = Address.ADDRESS_LENGTH + 8;
+
+    private final byte[] address;
+    private final int assetChainId;
+    private final int assetId;
+    private final int hash;
+
+    public AccountAssetKey(byte[] address, int assetChainId, int assetId) {
+        this.address = address;
+        this.assetChainId = assetChainId;
+        this.assetId = assetId;
+        this.hash = 31 * (31 * Arrays.hashCode(address) + assetChainId) + assetId;
+    }
+
+    /**
+     * @param realAddress 不带前缀的地址字符串 / address string without prefix
+     */
+    public static AccountAssetKey of(String realAddress, int assetChainId, int assetId) {
+        return new AccountAssetKey(AddressTool.getAddressByRealAddr(realAddress), assetChainId, assetId);
+    }
+
+    /**
+     * 从定长数据库key解析
+     * Parse a fixed-width db key
+     */
+    public static AccountAssetKey parse(byte[] key) {
+        if (null == key || key.length != KEY_LENGTH) {
+            return null;
+        }
+        byte[] address = Arrays.copyOf(key, Address.ADDRESS_LENGTH);
+        return new AccountAssetKey(address, readInt(key, Address.ADDRESS_LENGTH), readInt(key, Address.ADDRESS_LENGTH + 4));
+    }
+
+    /**
+     * 解析旧版"address-assetChainId-assetId"字符串key, 格式不符时返回null
+     * Parse a legacy "address-assetChainId-assetId" string key, returns null if it does not match
+     */
+    public static AccountAssetKey parseLegacy(byte[] key) {
+        if (null == key || key.length == KEY_LENGTH) {
+            return null;
+        }
+        String[] parts = new String(key, StandardCharsets.UTF_8).split("-");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            byte[] address = AddressTool.getAddressByRealAddr(parts[0]);
+            if (address.length != Address.ADDRESS_LENGTH) {
+                return null;
+            }
+            return new AccountAssetKey(address, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public byte[] getAddress() {
+        return address;
+    }
+
+    public int getAssetChainId() {
+        return assetChainId;
+    }
+
+    public int getAssetId() {
+        return assetId;
+    }
+
+    public String getRealAddress() {
+        return LedgerUtil.getRealAddressStr(address);
+    }
+
+    public byte[] toBytes() {
+        byte[] key = new byte[KEY_LENGTH];
+        System.arraycopy(address, 0, key, 0, Address.ADDRESS_LENGTH);
+        writeInt(key, Address.ADDRESS_LENGTH, assetChainId);
+        writeInt(key, Address.ADDRESS_LENGTH + 4, assetId);
+        return key;
+    }
+
+    /**
+     * 旧版字符串key, 仅用于迁移旧数据
+     * Legacy string key, only used to migrate existing data
+     */
+    public byte[] toLegacyBytes() {
+        return toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AccountAssetKey)) {
+            return false;
+        }
+        AccountAssetKey that = (AccountAssetKey) o;
+        return hash == that.hash && assetChainId == that.assetChainId && assetId == that.assetId
+                && Arrays.equals(address, that.address);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * 与旧版key格式一致, 便于日志与错误信息
+     * Same format as the legacy key, for logs and error messages
+     */
+    @Override
+    public String toString() {
+        return LedgerUtil.getKeyStr(getRealAddress(), assetChainId, assetId);
+    }
+}
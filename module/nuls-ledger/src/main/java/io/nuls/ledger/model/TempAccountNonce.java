@@ -31,24 +31,24 @@ package io.nuls.ledger.model;
  **/
 public class TempAccountNonce {
 
-    private String assetKey;
+    private AccountAssetKey assetKey;
 
     private byte[] nonce = new byte[8];
 
     private byte[] nextNonce = new byte[8];
 
 
-    public TempAccountNonce(String assetKey, byte[] pNonce, byte[] pNextNonce) {
+    public TempAccountNonce(AccountAssetKey assetKey, byte[] pNonce, byte[] pNextNonce) {
         this.assetKey = assetKey;
         System.arraycopy(pNonce,0, this.nonce, 0, 8);
         System.arraycopy(pNextNonce,0, this.nextNonce, 0, 8);
     }
 
-    public String getAssetKey() {
+    public AccountAssetKey getAssetKey() {
         return assetKey;
     }
 
-    public void setAssetKey(String assetKey) {
+    public void setAssetKey(AccountAssetKey assetKey) {
         this.assetKey = assetKey;
     }
 
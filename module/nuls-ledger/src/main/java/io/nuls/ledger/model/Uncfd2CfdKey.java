@@ -2,19 +2,19 @@ package io.nuls.ledger.model;
 
 public class Uncfd2CfdKey {
 
-    private String assetKey;
+    private AccountAssetKey assetKey;
     private String nonceKey;
 
-    public Uncfd2CfdKey(String assetKey, String nonceKey) {
+    public Uncfd2CfdKey(AccountAssetKey assetKey, String nonceKey) {
         this.assetKey = assetKey;
         this.nonceKey = nonceKey;
     }
 
-    public String getAssetKey() {
+    public AccountAssetKey getAssetKey() {
         return assetKey;
     }
 
-    public void setAssetKey(String assetKey) {
+    public void setAssetKey(AccountAssetKey assetKey) {
         this.assetKey = assetKey;
     }
 
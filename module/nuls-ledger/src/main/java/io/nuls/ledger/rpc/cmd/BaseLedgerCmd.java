@@ -58,9 +58,15 @@ public class BaseLedgerCmd extends BaseCmd {
         return true;
     }
 
-    Response parseTxs(List<String> txStrList, List<Transaction> txList, int chainId) {
-        for (String txStr : txStrList) {
-            Transaction tx = RPCUtil.getInstanceRpcStr(txStr, Transaction.class);
+    /**
+     * 解析交易列表，元素为交易的序列化数据(二进制传输或同进程调用)或hex/base64字符串(JSON传输)
+     * Parse a transaction list whose items are raw serialized transactions (binary transport or in-process call)
+     * or hex/base64 strings (JSON transport)
+     */
+    Response parseTxs(List<Object> txDataList, List<Transaction> txList, int chainId) {
+        for (Object txData : txDataList) {
+            Transaction tx = txData instanceof String && StringUtils.isBlank((String) txData) ? null :
+                    RPCUtil.getInstance(RPCUtil.decodeParam(txData), Transaction.class);
             if (null == tx) {
                 return failed(LedgerErrorCode.TX_IS_WRONG);
             } else {
@@ -70,11 +76,11 @@ public class BaseLedgerCmd extends BaseCmd {
         return success();
     }
 
-    Transaction parseTxs(String txStr, int chainId) {
-        if (StringUtils.isBlank(txStr)) {
+    Transaction parseTxs(Object txData, int chainId) {
+        if (null == txData || (txData instanceof String && StringUtils.isBlank((String) txData))) {
             return null;
         }
-        byte[] txStream = RPCUtil.decode(txStr);
+        byte[] txStream = RPCUtil.decodeParam(txData);
         Transaction tx = new Transaction();
         try {
             tx.parse(new NulsByteBuffer(txStream));
@@ -81,7 +81,7 @@ public class TransactionCmd extends BaseLedgerCmd {
         }
         Response response = null;
         try {
-            String txStr = params.get("tx").toString();
+            Object txStr = params.get("tx");
             Transaction tx = parseTxs(txStr, chainId);
             if (null == tx) {
                 LoggerUtil.logger(chainId).error("txStr is invalid chainId={},txHex={}", chainId, txStr);
@@ -127,7 +127,7 @@ public class TransactionCmd extends BaseLedgerCmd {
             return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
         }
         try {
-            List<String> txStrList = (List) params.get("txList");
+            List<Object> txStrList = (List) params.get("txList");
             List<Transaction> txList = new ArrayList<>();
             Response parseResponse = parseTxs(txStrList, txList, chainId);
             if (!parseResponse.isSuccess()) {
@@ -136,9 +136,11 @@ public class TransactionCmd extends BaseLedgerCmd {
             }
             List<String> orphanList = new ArrayList<>();
             List<String> failList = new ArrayList<>();
-            for (Transaction tx : txList) {
+            List<ValidateResult> validateResults = transactionService.unConfirmTxsProcess(chainId, txList);
+            for (int i = 0; i < txList.size(); i++) {
+                Transaction tx = txList.get(i);
                 String txHash = tx.getHash().toHex();
-                ValidateResult validateResult = transactionService.unConfirmTxProcess(chainId, tx);
+                ValidateResult validateResult = validateResults.get(i);
                 if (validateResult.isSuccess()) {
                     //success
                 } else if (validateResult.isOrphan()) {
@@ -184,7 +186,7 @@ public class TransactionCmd extends BaseLedgerCmd {
             return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
         }
         long blockHeight = Long.valueOf(params.get("blockHeight").toString());
-        List<String> txStrList = (List) params.get("txList");
+        List<Object> txStrList = (List) params.get("txList");
         LoggerUtil.logger(chainId).info("commitBlockTxs chainId={},blockHeight={},txs={}", chainId, blockHeight, txStrList.size());
         if (null == txStrList || 0 == txStrList.size()) {
             LoggerUtil.logger(chainId).error("txList is blank");
@@ -231,7 +233,7 @@ public class TransactionCmd extends BaseLedgerCmd {
             return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
         }
         try {
-            String txStr = params.get("tx").toString();
+            Object txStr = params.get("tx");
             Transaction tx = parseTxs(txStr, chainId);
             if (null == tx) {
                 LoggerUtil.logger(chainId).debug("tx is invalid chainId={},txHex={}", chainId, txStr);
@@ -309,7 +311,7 @@ public class TransactionCmd extends BaseLedgerCmd {
         }
         try {
             long blockHeight = Long.valueOf(params.get("blockHeight").toString());
-            List<String> txStrList = (List) params.get("txList");
+            List<Object> txStrList = (List) params.get("txList");
             if (null == txStrList || 0 == txStrList.size()) {
                 LoggerUtil.logger(chainId).error("txList is blank");
                 return failed("txList is blank");
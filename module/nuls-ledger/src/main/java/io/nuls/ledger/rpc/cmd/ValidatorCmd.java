@@ -87,7 +87,7 @@ public class ValidatorCmd extends BaseLedgerCmd {
             return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
         }
         try {
-            List<String> txStrList = (List) params.get("txList");
+            List<Object> txStrList = (List) params.get("txList");
             List<Transaction> txList = new ArrayList<>();
             Response parseResponse = parseTxs(txStrList, txList, chainId);
             if (!parseResponse.isSuccess()) {
@@ -153,12 +153,12 @@ public class ValidatorCmd extends BaseLedgerCmd {
         if (!chainHanlder(chainId)) {
             return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
         }
-        String txStr = (String) params.get("tx");
+        Object txStr = params.get("tx");
         Transaction tx = new Transaction();
         Response response = null;
         ValidateResult validateResult = null;
         try {
-            tx.parse(RPCUtil.decode(txStr), 0);
+            tx.parse(RPCUtil.decodeParam(txStr), 0);
             validateResult = coinDataValidator.verifyCoinData(chainId, tx);
             Map<String, Object> rtMap = new HashMap<>(1);
             if (validateResult.isSuccess() || validateResult.isOrphan()) {
@@ -205,7 +205,7 @@ public class ValidatorCmd extends BaseLedgerCmd {
             return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
         }
         try {
-            String txStr = params.get("tx").toString();
+            Object txStr = params.get("tx");
             LoggerUtil.logger(chainId).debug("rollbackrTxValidateStatus chainId={}", chainId);
             Transaction tx = parseTxs(txStr, chainId);
             if (null == tx) {
@@ -281,7 +281,7 @@ public class ValidatorCmd extends BaseLedgerCmd {
             return failed(LedgerErrorCode.CHAIN_INIT_FAIL);
         }
         long blockHeight = Long.valueOf(params.get("blockHeight").toString());
-        List<String> txStrList = (List) params.get("txList");
+        List<Object> txStrList = (List) params.get("txList");
         LoggerUtil.logger(chainId).debug("chainId={} blockHeight={} blockValidate", chainId, blockHeight);
         if (null == txStrList || 0 == txStrList.size()) {
             LoggerUtil.logger(chainId).error("txStrList is blank");
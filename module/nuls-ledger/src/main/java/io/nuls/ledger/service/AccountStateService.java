@@ -25,6 +25,7 @@
  */
 package io.nuls.ledger.service;
 
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.po.AccountState;
 import io.nuls.ledger.model.po.sub.AccountStateSnapshot;
 
@@ -49,6 +50,15 @@ public interface AccountStateService {
      */
     AccountState getAccountState(String address, int addressChainId, int assetChainId, int assetId);
 
+    /**
+     * 不用同步锁获取账户信息
+     *
+     * @param accountKey     address+assetChainId+assetId
+     * @param addressChainId addressChainId
+     * @return AccountState
+     */
+    AccountState getAccountState(AccountAssetKey accountKey, int addressChainId);
+
 
     /**
      * 获取账本信息，并重新计算冻结的金额的信息
@@ -61,6 +71,15 @@ public interface AccountStateService {
      */
     AccountState getAccountStateReCal(String address, int addressChainId, int assetChainId, int assetId);
 
+    /**
+     * 获取账本信息，并重新计算冻结的金额的信息
+     *
+     * @param accountKey
+     * @param addressChainId
+     * @return
+     */
+    AccountState getAccountStateReCal(AccountAssetKey accountKey, int addressChainId);
+
     /**
      * 回滚账户信息
      *
@@ -49,6 +49,18 @@ public interface TransactionService {
      */
     ValidateResult unConfirmTxProcess(int addressChainId, Transaction transaction) throws Exception;
 
+    /**
+     * 批量未确认交易数据处理,from账户互不相交的交易并行处理,返回结果与交易顺序一致
+     * Process a batch of unconfirmed transactions, transactions with disjoint from accounts run in parallel.
+     * The results are in the order of the transactions.
+     *
+     * @param addressChainId
+     * @param txList
+     * @return
+     * @throws Exception
+     */
+    List<ValidateResult> unConfirmTxsProcess(int addressChainId, List<Transaction> txList) throws Exception;
+
 
     /**
      * 已确认区块数据提交
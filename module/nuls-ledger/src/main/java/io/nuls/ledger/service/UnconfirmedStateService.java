@@ -25,6 +25,7 @@
  */
 package io.nuls.ledger.service;
 
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.Uncfd2CfdKey;
 import io.nuls.ledger.model.ValidateResult;
 import io.nuls.ledger.model.po.AccountState;
@@ -52,16 +53,23 @@ public interface UnconfirmedStateService {
      */
     AccountStateUnconfirmed getUnconfirmedInfo(String address, int addressChainId, int assetChainId, int assetId, AccountState accountState);
 
+    /**
+     * 未确认账本信息
+     * @param accountKey
+     * @param addressChainId
+     * @param accountState
+     * @return
+     */
+    AccountStateUnconfirmed getUnconfirmedInfo(AccountAssetKey accountKey, int addressChainId, AccountState accountState);
+
     /**
      *
-     * @param address
+     * @param accountKey
      * @param addressChainId
-     * @param assetChainId
-     * @param assetId
      * @param accountState
      * @return
      */
-    AccountStateUnconfirmed getUnconfirmedInfoAndClear(String address, int addressChainId, int assetChainId, int assetId,AccountState accountState);
+    AccountStateUnconfirmed getUnconfirmedInfoAndClear(AccountAssetKey accountKey, int addressChainId, AccountState accountState);
 
     /**
      * 获取账本nonce信息
@@ -69,7 +77,7 @@ public interface UnconfirmedStateService {
      * @param accountState
      * @return
      */
-    AccountStateUnconfirmed getUnconfirmedJustNonce(String address, int addressChainId, int assetChainId, int assetId,AccountState accountState);
+    AccountStateUnconfirmed getUnconfirmedJustNonce(AccountAssetKey accountKey, int addressChainId, AccountState accountState);
 
     /**
      * 回滚信息
@@ -79,7 +87,7 @@ public interface UnconfirmedStateService {
      * @param txsUnconfirmed
      * @param accountStateUnconfirmed
      */
-    void mergeUnconfirmedNonce(int addressChainId,AccountState accountState, String assetKey, Map<String, TxUnconfirmed> txsUnconfirmed, AccountStateUnconfirmed accountStateUnconfirmed);
+    void mergeUnconfirmedNonce(int addressChainId,AccountState accountState, AccountAssetKey assetKey, Map<String, TxUnconfirmed> txsUnconfirmed, AccountStateUnconfirmed accountStateUnconfirmed);
 
     /**
      * 回滚未确认账本交易
@@ -89,7 +97,7 @@ public interface UnconfirmedStateService {
      * @param txHash
      * @return
      */
-    boolean rollUnconfirmedTx(int addressChainId, String assetKey, String txHash);
+    boolean rollUnconfirmedTx(int addressChainId, AccountAssetKey assetKey, String txHash);
 
     /**
      * unconfirmed tx existunconfirmed tx exist
@@ -100,7 +108,7 @@ public interface UnconfirmedStateService {
      * @return
      * @throws Exception
      */
-    boolean existTxUnconfirmedTx(int addressChainId, String assetKey, String nonce) throws Exception;
+    boolean existTxUnconfirmedTx(int addressChainId, AccountAssetKey assetKey, String nonce) throws Exception;
 
     /**
      * delete unconfirmed state
@@ -109,7 +117,7 @@ public interface UnconfirmedStateService {
      * @param accountKey
      * @throws Exception
      */
-    void clearAccountUnconfirmed(int addressChainId, String accountKey) throws Exception;
+    void clearAccountUnconfirmed(int addressChainId, AccountAssetKey accountKey) throws Exception;
 
     void clearAllAccountUnconfirmed(int addressChainId) throws Exception;
 
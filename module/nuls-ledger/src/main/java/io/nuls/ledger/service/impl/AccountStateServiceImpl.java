@@ -30,6 +30,7 @@ import io.nuls.core.core.annotation.Component;
 import io.nuls.core.rpc.util.NulsDateUtils;
 import io.nuls.ledger.constant.LedgerConstant;
 import io.nuls.ledger.manager.LedgerChainManager;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.po.AccountState;
 import io.nuls.ledger.model.po.AccountStateUnconfirmed;
 import io.nuls.ledger.model.po.TxUnconfirmed;
@@ -69,11 +70,11 @@ public class AccountStateServiceImpl implements AccountStateService {
     public void rollAccountState(int chainId, List<AccountStateSnapshot> preAccountStates) throws Exception {
         //获取当前数据库值
         Map<byte[], byte[]> accountStates = new HashMap<>(preAccountStates.size());
-        Map<String, AccountState> accountStatesMem = new HashMap<>(preAccountStates.size());
+        Map<AccountAssetKey, AccountState> accountStatesMem = new HashMap<>(preAccountStates.size());
         for (AccountStateSnapshot accountStateSnapshot : preAccountStates) {
-            String assetKey = LedgerUtil.getKeyStr(accountStateSnapshot.getAddress(),
+            AccountAssetKey assetKey = AccountAssetKey.of(accountStateSnapshot.getAddress(),
                     accountStateSnapshot.getAssetChainId(), accountStateSnapshot.getAssetId());
-            accountStates.put(assetKey.getBytes(LedgerConstant.DEFAULT_ENCODING), accountStateSnapshot.getAccountState().serialize());
+            accountStates.put(assetKey.toBytes(), accountStateSnapshot.getAccountState().serialize());
             accountStatesMem.put(assetKey, accountStateSnapshot.getAccountState());
             //获取当前数据库值
             Map<String, TxUnconfirmed> unconfirmedNonces = new HashMap<>(64);
@@ -112,12 +113,16 @@ public class AccountStateServiceImpl implements AccountStateService {
      */
     @Override
     public AccountState getAccountState(String address, int addressChainId, int assetChainId, int assetId) {
+        return getAccountState(AccountAssetKey.of(address, assetChainId, assetId), addressChainId);
+    }
+
+    @Override
+    public AccountState getAccountState(AccountAssetKey key, int addressChainId) {
         //尝试缓存获取
-        AccountState accountState = repository.getAccountStateByMemory(addressChainId, LedgerUtil.getKeyStr(address, assetChainId, assetId));
+        AccountState accountState = repository.getAccountStateByMemory(addressChainId, key);
         if (null != accountState) {
             return accountState;
         }
-        byte[] key = LedgerUtil.getKey(address, assetChainId, assetId);
         accountState = repository.getAccountState(addressChainId, key);
         if (null == accountState) {
             accountState = new AccountState(LedgerConstant.getInitNonceByte());
@@ -134,11 +139,15 @@ public class AccountStateServiceImpl implements AccountStateService {
      */
     @Override
     public AccountState getAccountStateReCal(String address, int addressChainId, int assetChainId, int assetId) {
+        return getAccountStateReCal(AccountAssetKey.of(address, assetChainId, assetId), addressChainId);
+    }
+
+    @Override
+    public AccountState getAccountStateReCal(AccountAssetKey key, int addressChainId) {
         //尝试缓存获取
-        AccountState accountState = repository.getAccountStateByMemory(addressChainId, LedgerUtil.getKeyStr(address, assetChainId, assetId));
+        AccountState accountState = repository.getAccountStateByMemory(addressChainId, key);
         if (null == accountState) {
             //账户处理锁
-            byte[] key = LedgerUtil.getKey(address, assetChainId, assetId);
             accountState = repository.getAccountState(addressChainId, key);
             if (null == accountState) {
                 accountState = new AccountState(LedgerConstant.getInitNonceByte());
@@ -36,6 +36,7 @@ import io.nuls.core.model.FormatValidUtils;
 import io.nuls.ledger.config.LedgerConfig;
 import io.nuls.ledger.constant.LedgerConstant;
 import io.nuls.ledger.constant.LedgerErrorCode;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.po.AccountState;
 import io.nuls.ledger.model.po.LedgerAsset;
 import io.nuls.ledger.model.tx.txdata.TxLedgerAsset;
@@ -180,12 +181,12 @@ public class AssetRegMngServiceImpl implements AssetRegMngService {
             assets.put(ByteUtils.intToBytes(ledgerAsset.getAssetId()), ledgerAsset.serialize());
             hashMap.put(HexUtil.decode(ledgerAsset.getTxHash()), ByteUtils.intToBytes(ledgerAsset.getAssetId()));
             String address = LedgerUtil.getRealAddressStr(ledgerAsset.getAssetOwnerAddress());
-            String key = LedgerUtil.getKeyStr(address, chainId, assetId);
+            AccountAssetKey key = new AccountAssetKey(ledgerAsset.getAssetOwnerAddress(), chainId, assetId);
             AccountState accountState = new AccountState();
             long decimal = (long) Math.pow(10, Integer.valueOf(ledgerAsset.getDecimalPlace()));
             BigInteger amount = ledgerAsset.getInitNumber().multiply(BigInteger.valueOf(decimal));
             accountState.setTotalToAmount(amount);
-            accountStatesMap.put(key.getBytes(LedgerConstant.DEFAULT_ENCODING), accountState.serialize());
+            accountStatesMap.put(key.toBytes(), accountState.serialize());
             LedgerUtil.dealAssetAddressIndex(assetAddressIndex, chainId, ledgerAsset.getAssetId(), address);
         }
         assetRegMngRepository.batchSaveLedgerAssetReg(chainId, assets, hashMap);
@@ -203,15 +204,16 @@ public class AssetRegMngServiceImpl implements AssetRegMngService {
     public void rollBackTxAssets(int chainId, List<LedgerAsset> ledgerAssets) throws Exception {
         List<byte[]> list = new ArrayList<>();
         List<byte[]> delKeys = new ArrayList<>();
-        Map<String, AccountState> delMap = new ConcurrentHashMap<>();
+        Map<AccountAssetKey, AccountState> delMap = new ConcurrentHashMap<>();
         for (LedgerAsset ledgerAsset : ledgerAssets) {
             byte[] hash = HexUtil.decode(ledgerAsset.getTxHash());
             list.add(hash);
             int assetId = assetRegMngRepository.getLedgerAssetIdByHash(chainId, hash);
-            String address = LedgerUtil.getRealAddressStr(ledgerAsset.getAssetOwnerAddress());
-            String key = LedgerUtil.getKeyStr(address, chainId, assetId);
+            AccountAssetKey key = new AccountAssetKey(ledgerAsset.getAssetOwnerAddress(), chainId, assetId);
             delMap.put(key, new AccountState());
-            delKeys.add(key.getBytes(LedgerConstant.DEFAULT_ENCODING));
+            delKeys.add(key.toBytes());
+            //key迁移未完成时旧版key可能仍存在
+            delKeys.add(key.toLegacyBytes());
         }
         repository.clearAccountStateMem(chainId, delMap);
         assetRegMngRepository.batchRollBackLedgerAssetReg(chainId, list);
@@ -29,8 +29,11 @@ import io.nuls.base.data.*;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.rpc.util.NulsDateUtils;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
 import io.nuls.ledger.constant.LedgerConstant;
 import io.nuls.ledger.constant.LedgerErrorCode;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.AccountBalance;
 import io.nuls.ledger.model.Uncfd2CfdKey;
 import io.nuls.ledger.model.ValidateResult;
@@ -51,7 +54,7 @@ import io.nuls.ledger.utils.LoggerUtil;
 import io.nuls.ledger.validator.CoinDataValidator;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
 
 import static io.nuls.ledger.utils.LoggerUtil.logger;
 
@@ -91,6 +94,12 @@ public class TransactionServiceImpl implements TransactionService {
      * 缓存一个区块的hash值
      */
     private Map<String, Integer> ledgerHash = new ConcurrentHashMap<>(5120);
+    /**
+     * 批量未确认交易并行处理的最小交易数
+     */
+    private static final int PARALLEL_UNCONFIRMED_MIN = 16;
+    private final ExecutorService unconfirmedTxPool = ThreadUtils.createThreadPool(Runtime.getRuntime().availableProcessors(),
+            0, new NulsThreadFactory("ledger-unconfirmed-tx"));
 
 
     /**
@@ -110,29 +119,108 @@ public class TransactionServiceImpl implements TransactionService {
         if (!coinDataValidator.validateTxAmount(coinData, transaction.getType())) {
             return ValidateResult.getResult(LedgerErrorCode.TX_AMOUNT_INVALIDATE, new String[]{transaction.getHash().toHex()});
         }
-        /*未确认交易的校验*/
-        Map<String, TxUnconfirmed> accountsMap = new ConcurrentHashMap<>(8);
-        byte[] txNonce = LedgerUtil.getNonceByTx(transaction);
-        ValidateResult validateResult = coinDataValidator.analysisCoinData(addressChainId, transaction, accountsMap, txNonce);
-        if (!validateResult.isSuccess()) {
-            return validateResult;
+        //只锁交易from涉及的账户,不同账户的交易可并行处理
+        int[] stripes = LockerUtil.accountStripes(getFromAccountKeys(addressChainId, coinData));
+        LockerUtil.lockAccounts(stripes);
+        try {
+            /*未确认交易的校验*/
+            Map<AccountAssetKey, TxUnconfirmed> accountsMap = new ConcurrentHashMap<>(8);
+            byte[] txNonce = LedgerUtil.getNonceByTx(transaction);
+            ValidateResult validateResult = coinDataValidator.analysisCoinData(addressChainId, transaction, accountsMap, txNonce);
+            if (!validateResult.isSuccess()) {
+                return validateResult;
+            }
+            for (TxUnconfirmed txUnconfirmed : accountsMap.values()) {
+                ValidateResult updateResult = unconfirmedStateService.updateUnconfirmedTx(transaction.getHash().toHex(), addressChainId, txNonce, txUnconfirmed);
+                if (!updateResult.isSuccess()) {
+                    return updateResult;
+                }
+            }
+            return ValidateResult.getSuccess();
+        } finally {
+            LockerUtil.unlockAccounts(stripes);
         }
-        Set keys = accountsMap.keySet();
-        Iterator<String> it = keys.iterator();
-        while (it.hasNext()) {
-            TxUnconfirmed txUnconfirmed = accountsMap.get(it.next());
-            ValidateResult updateResult = unconfirmedStateService.updateUnconfirmedTx(transaction.getHash().toHex(), addressChainId, txNonce, txUnconfirmed);
-            if (!updateResult.isSuccess()) {
-                return updateResult;
+    }
+
+    @Override
+    public List<ValidateResult> unConfirmTxsProcess(int addressChainId, List<Transaction> txList) throws Exception {
+        int size = txList.size();
+        ValidateResult[] results = new ValidateResult[size];
+        if (size < PARALLEL_UNCONFIRMED_MIN) {
+            for (int i = 0; i < size; i++) {
+                results[i] = unConfirmTxProcess(addressChainId, txList.get(i));
             }
+            return Arrays.asList(results);
         }
-        return ValidateResult.getSuccess();
+        //from账户有交集的交易归为一组,组内按原顺序处理以保证nonce连续,组间并行
+        int[] parent = new int[size];
+        Map<AccountAssetKey, Integer> accountOwner = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+            CoinData coinData = CoinDataUtil.parseCoinData(txList.get(i).getCoinData());
+            if (null == coinData) {
+                continue;
+            }
+            for (AccountAssetKey key : getFromAccountKeys(addressChainId, coinData)) {
+                Integer owner = accountOwner.putIfAbsent(key, i);
+                if (null != owner) {
+                    parent[findGroup(parent, i)] = findGroup(parent, owner);
+                }
+            }
+        }
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            groups.computeIfAbsent(findGroup(parent, i), k -> new ArrayList<>()).add(i);
+        }
+        List<Callable<Boolean>> tasks = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups.values()) {
+            tasks.add(() -> {
+                for (int index : group) {
+                    results[index] = unConfirmTxProcess(addressChainId, txList.get(index));
+                }
+                return true;
+            });
+        }
+        for (Future<Boolean> future : unconfirmedTxPool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private static int findGroup(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * 交易from中本链账户的key
+     *
+     * @param addressChainId
+     * @param coinData
+     * @return
+     */
+    private Set<AccountAssetKey> getFromAccountKeys(int addressChainId, CoinData coinData) {
+        List<CoinFrom> froms = coinData.getFrom();
+        Set<AccountAssetKey> keys = new HashSet<>(froms.size() * 2);
+        for (CoinFrom from : froms) {
+            if (!LedgerUtil.isNotLocalChainAccount(addressChainId, from.getAddress())) {
+                keys.add(new AccountAssetKey(from.getAddress(), from.getAssetsChainId(), from.getAssetsId()));
+            }
+        }
+        return keys;
     }
 
 
     private boolean confirmBlockTxProcess(long blockHeight, int addressChainId, List<Transaction> txList,
-                                          Map<String, AccountBalance> updateAccounts, List<Uncfd2CfdKey> delUncfd2CfdKeys,
-                                          Map<String, Integer> clearUncfs, Map<String, List<String>> assetAddressIndex) throws Exception {
+                                          Map<AccountAssetKey, AccountBalance> updateAccounts, List<Uncfd2CfdKey> delUncfd2CfdKeys,
+                                          Map<AccountAssetKey, Integer> clearUncfs, Map<String, List<String>> assetAddressIndex) throws Exception {
         for (Transaction transaction : txList) {
             byte[] nonce8Bytes = LedgerUtil.getNonceByTx(transaction);
             String nonce8Str = LedgerUtil.getNonceEncode(nonce8Bytes);
@@ -165,18 +253,18 @@ public class TransactionServiceImpl implements TransactionService {
                     continue;
                 }
                 boolean process;
-                AccountBalance accountBalance = getAccountBalance(addressChainId, from, updateAccounts, address);
+                AccountAssetKey accountKey = new AccountAssetKey(from.getAddress(), from.getAssetsChainId(), from.getAssetsId());
+                AccountBalance accountBalance = getAccountBalance(addressChainId, accountKey, updateAccounts, address);
                 //归集链下有多少种类资产，资产下有多少地址
                 LedgerUtil.dealAssetAddressIndex(assetAddressIndex, from.getAssetsChainId(), from.getAssetsId(), address);
                 if (from.getLocked() == 0) {
                     AmountNonce amountNonce = new AmountNonce(from.getNonce(), nonce8Bytes, from.getAmount());
                     accountBalance.getPreAccountState().getNonces().add(amountNonce);
                     //判断是否存在未确认过程交易，如果存在则进行确认记录，如果不存在，则进行未确认的清空记录
-                    String accountKeyStr = LedgerUtil.getKeyStr(address, from.getAssetsChainId(), from.getAssetsId());
-                    if (unconfirmedStateService.existTxUnconfirmedTx(addressChainId, accountKeyStr, nonce8Str)) {
-                        delUncfd2CfdKeys.add(new Uncfd2CfdKey(accountKeyStr, nonce8Str));
+                    if (unconfirmedStateService.existTxUnconfirmedTx(addressChainId, accountKey, nonce8Str)) {
+                        delUncfd2CfdKeys.add(new Uncfd2CfdKey(accountKey, nonce8Str));
                     } else {
-                        clearUncfs.put(accountKeyStr, 1);
+                        clearUncfs.put(accountKey, 1);
                     }
                     //非解锁交易处理
                     process = commontTransactionProcessor.processFromCoinData(from, nonce8Bytes, accountBalance.getNowAccountState());
@@ -207,7 +295,8 @@ public class TransactionServiceImpl implements TransactionService {
                     LoggerUtil.logger(addressChainId).info("hash={} asset={}-{} rec contract asset", txHash, to.getAssetsChainId(), to.getAssetsId());
                     continue;
                 }
-                AccountBalance accountBalance = getAccountBalance(addressChainId, to, updateAccounts, address);
+                AccountAssetKey accountKey = new AccountAssetKey(to.getAddress(), to.getAssetsChainId(), to.getAssetsId());
+                AccountBalance accountBalance = getAccountBalance(addressChainId, accountKey, updateAccounts, address);
                 //归集链下有多少种类资产，资产下有多少地址
                 LedgerUtil.dealAssetAddressIndex(assetAddressIndex, to.getAssetsChainId(), to.getAssetsId(), address);
                 if (to.getLockTime() == 0) {
@@ -244,13 +333,13 @@ public class TransactionServiceImpl implements TransactionService {
             }
             int accountMapSize = txList.size() * 3;
             //批量交易按交易进行账户的金额处理，再按区块为原子性进行提交,updateAccounts用于账户计算缓存，最后统一处理
-            Map<String, AccountBalance> updateAccounts = new HashMap<>(accountMapSize);
-            Map<String, AccountState> updateMemAccounts = new HashMap<>(accountMapSize);
+            Map<AccountAssetKey, AccountBalance> updateAccounts = new HashMap<>(accountMapSize);
+            Map<AccountAssetKey, AccountState> updateMemAccounts = new HashMap<>(accountMapSize);
             //整体区块备份
             BlockSnapshotAccounts blockSnapshotAccounts = new BlockSnapshotAccounts();
             Map<byte[], byte[]> accountStatesMap = new HashMap<>(accountMapSize);
             List<Uncfd2CfdKey> delUncfd2CfdKeys = new ArrayList<>();
-            Map<String, Integer> clearUncfs = new HashMap<>(txList.size());
+            Map<AccountAssetKey, Integer> clearUncfs = new HashMap<>(txList.size());
             Map<String, List<String>> assetAddressIndex = new HashMap<>(4);
             try {
                 if (!confirmBlockTxProcess(blockHeight, addressChainId, txList, updateAccounts, delUncfd2CfdKeys, clearUncfs, assetAddressIndex)) {
@@ -258,12 +347,12 @@ public class TransactionServiceImpl implements TransactionService {
                 }
                 //整体交易的处理
                 //更新账本信息
-                for (Map.Entry<String, AccountBalance> entry : updateAccounts.entrySet()) {
+                for (Map.Entry<AccountAssetKey, AccountBalance> entry : updateAccounts.entrySet()) {
                     //缓存数据
                     blockSnapshotAccounts.addAccountState(entry.getValue().getPreAccountState());
                     freezeStateService.recalculateFreeze(addressChainId, entry.getValue().getNowAccountState());
                     entry.getValue().getNowAccountState().setLatestUnFreezeTime(NulsDateUtils.getCurrentTimeSeconds());
-                    accountStatesMap.put(entry.getKey().getBytes(LedgerConstant.DEFAULT_ENCODING), entry.getValue().getNowAccountState().serialize());
+                    accountStatesMap.put(entry.getKey().toBytes(), entry.getValue().getNowAccountState().serialize());
                     updateMemAccounts.put(entry.getKey(), entry.getValue().getNowAccountState());
                 }
             } catch (Exception e) {
@@ -282,7 +371,7 @@ public class TransactionServiceImpl implements TransactionService {
                 if (accountStatesMap.size() > 0) {
                     repository.batchUpdateAccountState(addressChainId, accountStatesMap, updateMemAccounts);
                 }
-                for (Map.Entry<String, Integer> entry : clearUncfs.entrySet()) {
+                for (Map.Entry<AccountAssetKey, Integer> entry : clearUncfs.entrySet()) {
                     //进行收到网络其他节点的交易，刷新本地未确认数据处理
                     unconfirmedStateService.clearAccountUnconfirmed(addressChainId, entry.getKey());
                 }
@@ -314,15 +403,12 @@ public class TransactionServiceImpl implements TransactionService {
 
     }
 
-    private AccountBalance getAccountBalance(int addressChainId, Coin coin, Map<String, AccountBalance> updateAccounts, String address) {
-        int assetChainId = coin.getAssetsChainId();
-        int assetId = coin.getAssetsId();
-        String key = LedgerUtil.getKeyStr(address, assetChainId, assetId);
+    private AccountBalance getAccountBalance(int addressChainId, AccountAssetKey key, Map<AccountAssetKey, AccountBalance> updateAccounts, String address) {
         AccountBalance accountBalance = updateAccounts.get(key);
         if (null == accountBalance) {
             //交易里的账户处理缓存AccountBalance
-            AccountState accountState = accountStateService.getAccountStateReCal(address, addressChainId, assetChainId, assetId);
-            AccountStateSnapshot bakAccountState = new AccountStateSnapshot(addressChainId, assetChainId, assetId, address, accountState.deepClone());
+            AccountState accountState = accountStateService.getAccountStateReCal(key, addressChainId);
+            AccountStateSnapshot bakAccountState = new AccountStateSnapshot(addressChainId, key.getAssetChainId(), key.getAssetId(), address, accountState.deepClone());
             accountBalance = new AccountBalance(accountState, bakAccountState);
             updateAccounts.put(key, accountBalance);
         }
@@ -439,11 +525,14 @@ public class TransactionServiceImpl implements TransactionService {
                     return false;
                 }
             }
-            String address = LedgerUtil.getRealAddressStr(from.getAddress());
-            int assetChainId = from.getAssetsChainId();
-            int assetId = from.getAssetsId();
-            String assetKey = LedgerUtil.getKeyStr(address, assetChainId, assetId);
-            return unconfirmedStateService.rollUnconfirmedTx(addressChainId, assetKey, txHash);
+            AccountAssetKey assetKey = new AccountAssetKey(from.getAddress(), from.getAssetsChainId(), from.getAssetsId());
+            int[] stripes = LockerUtil.accountStripes(Collections.singletonList(assetKey));
+            LockerUtil.lockAccounts(stripes);
+            try {
+                return unconfirmedStateService.rollUnconfirmedTx(addressChainId, assetKey, txHash);
+            } finally {
+                LockerUtil.unlockAccounts(stripes);
+            }
         }
         return true;
     }
@@ -30,6 +30,7 @@ import io.nuls.core.core.annotation.Component;
 import io.nuls.core.rpc.util.NulsDateUtils;
 import io.nuls.ledger.constant.LedgerConstant;
 import io.nuls.ledger.constant.LedgerErrorCode;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.Uncfd2CfdKey;
 import io.nuls.ledger.model.ValidateResult;
 import io.nuls.ledger.model.po.AccountState;
@@ -70,7 +71,11 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
      */
     @Override
     public AccountStateUnconfirmed getUnconfirmedInfo(String address, int addressChainId, int assetChainId, int assetId, AccountState accountState) {
-        String key = LedgerUtil.getKeyStr(address, assetChainId, assetId);
+        return getUnconfirmedInfo(AccountAssetKey.of(address, assetChainId, assetId), addressChainId, accountState);
+    }
+
+    @Override
+    public AccountStateUnconfirmed getUnconfirmedInfo(AccountAssetKey key, int addressChainId, AccountState accountState) {
         AccountStateUnconfirmed accountStateUnconfirmed = unconfirmedRepository.getMemAccountStateUnconfirmed(addressChainId, key);
         if (null != accountStateUnconfirmed && !accountStateUnconfirmed.isOverTime()) {
             //未确认与已确认状态一样，则未确认是最后的缓存信息
@@ -90,8 +95,7 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
      * @return
      */
     @Override
-    public AccountStateUnconfirmed getUnconfirmedInfoAndClear(String address, int addressChainId, int assetChainId, int assetId,AccountState accountState) {
-        String key = LedgerUtil.getKeyStr(address, assetChainId, assetId);
+    public AccountStateUnconfirmed getUnconfirmedInfoAndClear(AccountAssetKey key, int addressChainId, AccountState accountState) {
         AccountStateUnconfirmed accountStateUnconfirmed = unconfirmedRepository.getMemAccountStateUnconfirmed(addressChainId, key);
         if (null != accountStateUnconfirmed) {
             if (accountStateUnconfirmed.isOverTime()) {
@@ -120,8 +124,7 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
      * @return
      */
     @Override
-    public AccountStateUnconfirmed getUnconfirmedJustNonce(String address, int addressChainId, int assetChainId, int assetId,AccountState accountState) {
-        String key = LedgerUtil.getKeyStr(address, assetChainId, assetId);
+    public AccountStateUnconfirmed getUnconfirmedJustNonce(AccountAssetKey key, int addressChainId, AccountState accountState) {
         AccountStateUnconfirmed accountStateUnconfirmed = unconfirmedRepository.getMemAccountStateUnconfirmed(addressChainId, key);
         if (null != accountStateUnconfirmed && !accountStateUnconfirmed.isOverTime()) {
             //未确认与已确认状态一样，则未确认是最后的缓存信息
@@ -135,7 +138,7 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
     }
 
     @Override
-    public void mergeUnconfirmedNonce(int addressChainId,AccountState accountState, String assetKey, Map<String, TxUnconfirmed> txsUnconfirmed, AccountStateUnconfirmed accountStateUnconfirmed) {
+    public void mergeUnconfirmedNonce(int addressChainId,AccountState accountState, AccountAssetKey assetKey, Map<String, TxUnconfirmed> txsUnconfirmed, AccountStateUnconfirmed accountStateUnconfirmed) {
         //获取未确认的列表
         try {
             AccountStateUnconfirmed accountStateUnconfirmedDB = unconfirmedRepository.getMemAccountStateUnconfirmed(addressChainId, assetKey);
@@ -157,7 +160,7 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
     }
 
     @Override
-    public boolean rollUnconfirmedTx(int addressChainId, String assetKey, String txHash) {
+    public boolean rollUnconfirmedTx(int addressChainId, AccountAssetKey assetKey, String txHash) {
         //更新未确认上一个状态
         AccountStateUnconfirmed accountStateUnconfirmed = unconfirmedRepository.getMemAccountStateUnconfirmed(addressChainId, assetKey);
         try {
@@ -189,7 +192,7 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
     }
 
     @Override
-    public boolean existTxUnconfirmedTx(int addressChainId, String assetKey, String nonce) throws Exception {
+    public boolean existTxUnconfirmedTx(int addressChainId, AccountAssetKey assetKey, String nonce) throws Exception {
         TxUnconfirmed txUnconfirmed = unconfirmedRepository.getMemUnconfirmedTx(addressChainId, assetKey, nonce);
         if (null != txUnconfirmed) {
             unconfirmedRepository.addUncfd2Cfd(addressChainId, assetKey, txUnconfirmed.getAmount());
@@ -203,19 +206,19 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
      * @throws Exception
      */
     @Override
-    public void clearAccountUnconfirmed(int addressChainId, String accountKey) throws Exception {
+    public void clearAccountUnconfirmed(int addressChainId, AccountAssetKey accountKey) throws Exception {
         unconfirmedRepository.delMemAccountStateUnconfirmed(addressChainId, accountKey);
         unconfirmedRepository.clearMemUnconfirmedTxs(addressChainId, accountKey);
     }
 
     @Override
     public void clearAllAccountUnconfirmed(int addressChainId) throws Exception {
-        //账户处理锁
-        LockerUtil.UNCONFIRMED_SYNC_LOCKER.lock();
+        //账本写锁,与未确认交易处理互斥
+        LockerUtil.LEDGER_LOCKER.lock();
         try {
             unconfirmedRepository.clearAllMemUnconfirmedTxs(addressChainId);
         } finally {
-            LockerUtil.UNCONFIRMED_SYNC_LOCKER.unlock();
+            LockerUtil.LEDGER_LOCKER.unlock();
         }
 
     }
@@ -231,9 +234,9 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
     @Override
     public ValidateResult updateUnconfirmedTx(String txHash, int addressChainId, byte[] txNonce, TxUnconfirmed txUnconfirmed) {
         //账户同步锁
-        String keyStr = LedgerUtil.getKeyStr(txUnconfirmed.getAddress(), txUnconfirmed.getAssetChainId(), txUnconfirmed.getAssetId());
-        AccountState accountState = accountStateService.getAccountState(txUnconfirmed.getAddress(), addressChainId, txUnconfirmed.getAssetChainId(), txUnconfirmed.getAssetId());
-        AccountStateUnconfirmed accountStateUnconfirmed = getUnconfirmedInfoAndClear(txUnconfirmed.getAddress(),addressChainId,txUnconfirmed.getAssetChainId(),txUnconfirmed.getAssetId(),accountState);
+        AccountAssetKey accountKey = AccountAssetKey.of(txUnconfirmed.getAddress(), txUnconfirmed.getAssetChainId(), txUnconfirmed.getAssetId());
+        AccountState accountState = accountStateService.getAccountState(accountKey, addressChainId);
+        AccountStateUnconfirmed accountStateUnconfirmed = getUnconfirmedInfoAndClear(accountKey, addressChainId, accountState);
         byte[] preNonce = null;
         if (null == accountStateUnconfirmed) {
             //新建
@@ -248,7 +251,7 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
         }
         if (null == accountStateUnconfirmed) {
             accountStateUnconfirmed = new AccountStateUnconfirmed(txUnconfirmed.getFromNonce(), txUnconfirmed.getNonce(), txUnconfirmed.getAmount());
-            unconfirmedRepository.saveMemAccountStateUnconfirmed(addressChainId, keyStr, accountStateUnconfirmed);
+            unconfirmedRepository.saveMemAccountStateUnconfirmed(addressChainId, accountKey, accountStateUnconfirmed);
         } else {
             System.arraycopy(txUnconfirmed.getFromNonce(), 0, accountStateUnconfirmed.getFromNonce(), 0, LedgerConstant.NONCE_LENGHT);
             System.arraycopy(txUnconfirmed.getNonce(), 0, accountStateUnconfirmed.getNonce(), 0, LedgerConstant.NONCE_LENGHT);
@@ -256,11 +259,11 @@ public class UnconfirmedStateServiceImpl implements UnconfirmedStateService {
             accountStateUnconfirmed.setCreateTime(NulsDateUtils.getCurrentTimeSeconds());
         }
         try {
-            TxUnconfirmed preTxUnconfirmed = unconfirmedRepository.getMemUnconfirmedTx(addressChainId, keyStr, LedgerUtil.getNonceEncode(txUnconfirmed.getFromNonce()));
+            TxUnconfirmed preTxUnconfirmed = unconfirmedRepository.getMemUnconfirmedTx(addressChainId, accountKey, LedgerUtil.getNonceEncode(txUnconfirmed.getFromNonce()));
             if (null != preTxUnconfirmed) {
                 System.arraycopy(txUnconfirmed.getNonce(), 0, preTxUnconfirmed.getNextNonce(), 0, LedgerConstant.NONCE_LENGHT);
             }
-            unconfirmedRepository.saveMemUnconfirmedTx(addressChainId, keyStr, LedgerUtil.getNonceEncode(txNonce), txUnconfirmed);
+            unconfirmedRepository.saveMemUnconfirmedTx(addressChainId, accountKey, LedgerUtil.getNonceEncode(txNonce), txUnconfirmed);
         } catch (Exception e) {
             LoggerUtil.logger(addressChainId).error(e);
             return ValidateResult.getResult(LedgerErrorCode.VALIDATE_FAIL, new String[]{txUnconfirmed.getAddress(), LedgerUtil.getNonceEncode(txUnconfirmed.getFromNonce()), "updateUnconfirmTx exception"});
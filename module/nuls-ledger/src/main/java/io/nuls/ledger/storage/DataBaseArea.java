@@ -82,4 +82,9 @@ public interface DataBaseArea {
     String TB_LEDGER_ASSET_REG_MNG = "ledger_asset_reg_mng";
     String TB_LEDGER_ASSET_REG_HASH_INDEX = "ledger_asset_reg_hash_index";
     String TB_LEDGER_ASSET_REG_CONTRACT_INDEX = "ledger_asset_reg_contract_index";
+
+    /**
+     *   账本元数据(如各链账户key的迁移标记)
+     */
+    String TB_LEDGER_META = "ledger_meta";
 }
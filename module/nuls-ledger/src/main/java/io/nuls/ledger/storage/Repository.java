@@ -26,6 +26,7 @@
 package io.nuls.ledger.storage;
 
 import io.nuls.core.exception.NulsException;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.ChainHeight;
 import io.nuls.ledger.model.po.AccountState;
 import io.nuls.ledger.model.po.BlockSnapshotAccounts;
@@ -49,7 +50,7 @@ public interface Repository {
      * @param key
      * @return AccountState
      */
-    AccountState getAccountState(int chainId, byte[] key);
+    AccountState getAccountState(int chainId, AccountAssetKey key);
 
     /**
      * 内存获取账户余额对象
@@ -58,7 +59,7 @@ public interface Repository {
      * @param key
      * @return
      */
-    AccountState getAccountStateByMemory(int chainId, String key);
+    AccountState getAccountStateByMemory(int chainId, AccountAssetKey key);
 
     /**
      * 批量更新账号账本信息
@@ -68,8 +69,16 @@ public interface Repository {
      * @param accountStateMap
      * @throws Exception
      */
-    void batchUpdateAccountState(int addressChainId, Map<byte[], byte[]> accountStateMap,Map<String, AccountState> accountStateMemMap) throws Exception;
-    void clearAccountStateMem(int addressChainId, Map<String, AccountState> accountStateMemMap) throws Exception;
+    void batchUpdateAccountState(int addressChainId, Map<byte[], byte[]> accountStateMap, Map<AccountAssetKey, AccountState> accountStateMemMap) throws Exception;
+    void clearAccountStateMem(int addressChainId, Map<AccountAssetKey, AccountState> accountStateMemMap) throws Exception;
+
+    /**
+     * 将账户表中旧版字符串key迁移为定长二进制key
+     * Migrate the legacy string keys of the account table to fixed-width binary keys
+     *
+     * @param chainId
+     */
+    void migrateAccountKeys(int chainId);
 
     /**
      * 删除区块快照
@@ -25,6 +25,7 @@
  */
 package io.nuls.ledger.storage;
 
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.po.AccountStateUnconfirmed;
 import io.nuls.ledger.model.po.TxUnconfirmed;
 
@@ -36,25 +37,25 @@ import java.util.Map;
  */
 public interface UnconfirmedRepository {
 
-    AccountStateUnconfirmed getMemAccountStateUnconfirmed(int chainId, String accountKey);
+    AccountStateUnconfirmed getMemAccountStateUnconfirmed(int chainId, AccountAssetKey accountKey);
 
-    void delMemAccountStateUnconfirmed(int chainId, String accountKey);
+    void delMemAccountStateUnconfirmed(int chainId, AccountAssetKey accountKey);
 
-    void saveMemAccountStateUnconfirmed(int chainId, String accountKey, AccountStateUnconfirmed accountStateUnconfirmed);
+    void saveMemAccountStateUnconfirmed(int chainId, AccountAssetKey accountKey, AccountStateUnconfirmed accountStateUnconfirmed);
 
-    TxUnconfirmed getMemUnconfirmedTx(int chainId, String accountKey, String nonceKey);
+    TxUnconfirmed getMemUnconfirmedTx(int chainId, AccountAssetKey accountKey, String nonceKey);
 
-    void delMemUnconfirmedTx(int chainId, String accountKey, String nonceKey);
+    void delMemUnconfirmedTx(int chainId, AccountAssetKey accountKey, String nonceKey);
 
-    void saveMemUnconfirmedTxs(int chainId, String accountKey, Map<String, TxUnconfirmed> map);
+    void saveMemUnconfirmedTxs(int chainId, AccountAssetKey accountKey, Map<String, TxUnconfirmed> map);
 
-    void saveMemUnconfirmedTx(int chainId, String accountKey, String nonce, TxUnconfirmed txUnconfirmed);
+    void saveMemUnconfirmedTx(int chainId, AccountAssetKey accountKey, String nonce, TxUnconfirmed txUnconfirmed);
 
-    void addUncfd2Cfd(int chainId, String accountKey, BigInteger addAmount);
+    void addUncfd2Cfd(int chainId, AccountAssetKey accountKey, BigInteger addAmount);
 
-    void clearMemUnconfirmedTxs(int chainId, String accountKey, TxUnconfirmed txUnconfirmed);
+    void clearMemUnconfirmedTxs(int chainId, AccountAssetKey accountKey, TxUnconfirmed txUnconfirmed);
 
-    void clearMemUnconfirmedTxs(int chainId, String accountKey);
+    void clearMemUnconfirmedTxs(int chainId, AccountAssetKey accountKey);
 
 
     void clearAllMemUnconfirmedTxs(int chainId);
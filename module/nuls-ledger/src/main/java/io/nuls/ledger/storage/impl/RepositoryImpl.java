@@ -31,15 +31,21 @@ import io.nuls.core.core.annotation.Component;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
 import io.nuls.core.model.ByteUtils;
+import io.nuls.core.rockdb.constant.TableProfile;
 import io.nuls.core.rockdb.model.Entry;
 import io.nuls.core.rockdb.service.RocksDBService;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.ChainHeight;
 import io.nuls.ledger.model.po.AccountState;
 import io.nuls.ledger.model.po.BlockSnapshotAccounts;
 import io.nuls.ledger.storage.DataBaseArea;
 import io.nuls.ledger.storage.Repository;
+import io.nuls.ledger.utils.LockerUtil;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -56,14 +62,25 @@ public class RepositoryImpl implements Repository, InitializingBean {
     /**
      * key1=chainId,  Map1=确认账户状态， key2= addr+assetkey  value=AccountState
      */
-    Map<String, Map<String, AccountState>> memChainsAccounts = new ConcurrentHashMap<>(16);
+    Map<String, Map<AccountAssetKey, AccountState>> memChainsAccounts = new ConcurrentHashMap<>(16);
+
+    /**
+     * 账户表key迁移完成标记前缀, 按链存放在元数据表中
+     * Prefix of the per-chain marker kept in the meta table once the account keys were migrated to the binary format
+     */
+    private static final String ACCOUNT_KEY_MIGRATED = "account_key_v2_";
+    private static final int MIGRATE_BATCH_SIZE = 5000;
+    /**
+     * 已完成key迁移的链
+     */
+    private final Map<Integer, Boolean> migratedChains = new ConcurrentHashMap<>(4);
 
     public RepositoryImpl() {
 
     }
 
     @Override
-    public void batchUpdateAccountState(int addressChainId, Map<byte[], byte[]> accountStateMap, Map<String, AccountState> accountStateMemMap) throws Exception {
+    public void batchUpdateAccountState(int addressChainId, Map<byte[], byte[]> accountStateMap, Map<AccountAssetKey, AccountState> accountStateMemMap) throws Exception {
         if (null == memChainsAccounts.get(String.valueOf(addressChainId))) {
             memChainsAccounts.put(String.valueOf(addressChainId), new ConcurrentHashMap<>(1024));
         }
@@ -76,7 +93,7 @@ public class RepositoryImpl implements Repository, InitializingBean {
     }
 
     @Override
-    public void clearAccountStateMem(int addressChainId, Map<String, AccountState> accountStateMemMap) throws Exception {
+    public void clearAccountStateMem(int addressChainId, Map<AccountAssetKey, AccountState> accountStateMemMap) throws Exception {
         if (null == memChainsAccounts.get(String.valueOf(addressChainId))) {
             memChainsAccounts.put(String.valueOf(addressChainId), new ConcurrentHashMap<>(1024));
         }
@@ -120,8 +137,17 @@ public class RepositoryImpl implements Repository, InitializingBean {
      * @return
      */
     @Override
-    public AccountState getAccountState(int chainId, byte[] key) {
-        byte[] stream = RocksDBService.get(getLedgerAccountTableName(chainId), key);
+    public AccountState getAccountState(int chainId, AccountAssetKey key) {
+        String table = getLedgerAccountTableName(chainId);
+        byte[] dbKey = key.toBytes();
+        byte[] stream = RocksDBService.get(table, dbKey);
+        if (stream == null && !migratedChains.containsKey(chainId)) {
+            //迁移未完成时兼容旧版key, 迁移先写新key再删旧key, 旧key不存在时需重读新key
+            stream = RocksDBService.get(table, key.toLegacyBytes());
+            if (stream == null) {
+                stream = RocksDBService.get(table, dbKey);
+            }
+        }
         if (stream == null) {
             return null;
         }
@@ -135,7 +161,7 @@ public class RepositoryImpl implements Repository, InitializingBean {
     }
 
     @Override
-    public AccountState getAccountStateByMemory(int chainId, String key) {
+    public AccountState getAccountStateByMemory(int chainId, AccountAssetKey key) {
         //缓存有值,则直接获取
         if (null != memChainsAccounts.get(String.valueOf(chainId))) {
             AccountState accountStateMem = memChainsAccounts.get(String.valueOf(chainId)).get(key);
@@ -210,22 +236,112 @@ public class RepositoryImpl implements Repository, InitializingBean {
         return DataBaseArea.TB_LEDGER_BLOCK_HEIGHT;
     }
 
+    String getMetaTableName() {
+        return DataBaseArea.TB_LEDGER_META;
+    }
+
+    private byte[] accountKeyMigratedKey(int chainId) {
+        return (ACCOUNT_KEY_MIGRATED + chainId).getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * 初始化数据库
      */
     public void initChainDb(int addressChainId) {
         try {
-            if (!RocksDBService.existTable(getLedgerAccountTableName(addressChainId))) {
-                RocksDBService.createTable(getLedgerAccountTableName(addressChainId));
-            }
+            RocksDBService.createTable(getLedgerAccountTableName(addressChainId), TableProfile.POINT_LOOKUP);
             if (!RocksDBService.existTable(getBlockSnapshotTableName(addressChainId))) {
                 RocksDBService.createTable(getBlockSnapshotTableName(addressChainId));
             }
+            if (null != RocksDBService.get(getMetaTableName(), accountKeyMigratedKey(addressChainId))) {
+                migratedChains.put(addressChainId, true);
+            } else {
+                ThreadUtils.createAndRunThread("ledger-account-key-migrate-" + addressChainId, () -> migrateAccountKeys(addressChainId));
+            }
         } catch (Exception e) {
             logger(addressChainId).error(e);
         }
     }
 
+    /**
+     * 后台分批将旧版"address-assetChainId-assetId"字符串key改写为定长二进制key,完成后写入标记
+     * Rewrite the legacy "address-assetChainId-assetId" string keys to fixed-width binary keys in batches,
+     * then write the marker. Reads fall back to the legacy key until the marker exists.
+     *
+     * @param chainId
+     */
+    @Override
+    public void migrateAccountKeys(int chainId) {
+        if (migratedChains.containsKey(chainId)) {
+            return;
+        }
+        String table = getLedgerAccountTableName(chainId);
+        try {
+            List<byte[]> legacyKeys = new ArrayList<>(MIGRATE_BATCH_SIZE);
+            int count = 0;
+            //按页扫描key,避免一次性加载整张表的key
+            List<byte[]> keys = RocksDBService.keyList(table, null, MIGRATE_BATCH_SIZE);
+            while (null != keys && !keys.isEmpty()) {
+                for (byte[] key : keys) {
+                    if (key.length != AccountAssetKey.KEY_LENGTH) {
+                        legacyKeys.add(key);
+                    }
+                }
+                if (!legacyKeys.isEmpty()) {
+                    count += migrateAccountKeyBatch(table, legacyKeys);
+                    legacyKeys.clear();
+                }
+                if (keys.size() < MIGRATE_BATCH_SIZE) {
+                    break;
+                }
+                keys = RocksDBService.keyList(table, keys.get(keys.size() - 1), MIGRATE_BATCH_SIZE);
+            }
+            if (null == keys) {
+                logger(chainId).error("migrateAccountKeys scan error,table={}", table);
+                return;
+            }
+            RocksDBService.put(getMetaTableName(), accountKeyMigratedKey(chainId), new byte[]{1});
+            migratedChains.put(chainId, true);
+            logger(chainId).info("ledger account keys migrated,count={}", count);
+        } catch (Exception e) {
+            logger(chainId).error("migrateAccountKeys error", e);
+        }
+    }
+
+    private int migrateAccountKeyBatch(String table, List<byte[]> legacyKeys) throws Exception {
+        //与区块提交互斥,避免旧值覆盖刚提交的新key
+        LockerUtil.LEDGER_LOCKER.lock();
+        try {
+            Map<byte[], byte[]> legacyValues = RocksDBService.multiGet(table, legacyKeys);
+            if (null == legacyValues || legacyValues.isEmpty()) {
+                return 0;
+            }
+            Map<byte[], byte[]> newValues = new HashMap<>(legacyValues.size());
+            List<byte[]> delKeys = new ArrayList<>(legacyValues.size());
+            for (Map.Entry<byte[], byte[]> entry : legacyValues.entrySet()) {
+                AccountAssetKey key = AccountAssetKey.parseLegacy(entry.getKey());
+                if (null == key || null == entry.getValue()) {
+                    continue;
+                }
+                byte[] newKey = key.toBytes();
+                //新key已存在说明账户已按新key更新过,旧值直接丢弃
+                if (null == RocksDBService.get(table, newKey)) {
+                    newValues.put(newKey, entry.getValue());
+                }
+                delKeys.add(entry.getKey());
+            }
+            if (!newValues.isEmpty()) {
+                RocksDBService.batchPut(table, newValues);
+            }
+            if (!delKeys.isEmpty()) {
+                RocksDBService.deleteKeys(table, delKeys);
+            }
+            return delKeys.size();
+        } finally {
+            LockerUtil.LEDGER_LOCKER.unlock();
+        }
+    }
+
     @Override
     public void afterPropertiesSet() throws NulsException {
 
@@ -239,6 +355,7 @@ public class RepositoryImpl implements Repository, InitializingBean {
             } else {
                 Log.info("table {} exist.", getChainsHeightTableName());
             }
+            RocksDBService.createTableIfNotExist(getMetaTableName());
         } catch (Exception e) {
             Log.error(e);
             throw new NulsException(e);
@@ -28,6 +28,7 @@ package io.nuls.ledger.storage.impl;
 import io.nuls.core.basic.InitializingBean;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.exception.NulsException;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.po.AccountStateUnconfirmed;
 import io.nuls.ledger.model.po.TxUnconfirmed;
 import io.nuls.ledger.storage.UnconfirmedRepository;
@@ -50,11 +51,11 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
     /**
      * key1=chainId,  Map1=未确认账户状态， key2= addr+assetkey  value=AccountStateUnconfirmed
      */
-    Map<String, Map<String, AccountStateUnconfirmed>> chainAccountUnconfirmed = new ConcurrentHashMap<>(16);
+    Map<String, Map<AccountAssetKey, AccountStateUnconfirmed>> chainAccountUnconfirmed = new ConcurrentHashMap<>(16);
 
     @Override
-    public AccountStateUnconfirmed getMemAccountStateUnconfirmed(int chainId, String accountKey) {
-        Map<String, AccountStateUnconfirmed> map = chainAccountUnconfirmed.get(String.valueOf(chainId));
+    public AccountStateUnconfirmed getMemAccountStateUnconfirmed(int chainId, AccountAssetKey accountKey) {
+        Map<AccountAssetKey, AccountStateUnconfirmed> map = chainAccountUnconfirmed.get(String.valueOf(chainId));
         if (null != map) {
             return map.get(accountKey);
         }
@@ -62,26 +63,23 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
     }
 
     @Override
-    public void delMemAccountStateUnconfirmed(int chainId, String accountKey) {
-        Map<String, AccountStateUnconfirmed> map = chainAccountUnconfirmed.get(String.valueOf(chainId));
+    public void delMemAccountStateUnconfirmed(int chainId, AccountAssetKey accountKey) {
+        Map<AccountAssetKey, AccountStateUnconfirmed> map = chainAccountUnconfirmed.get(String.valueOf(chainId));
         if (null != map) {
             map.remove(accountKey);
         }
     }
 
     @Override
-    public void saveMemAccountStateUnconfirmed(int chainId, String accountKey, AccountStateUnconfirmed accountStateUnconfirmed) {
-        Map<String, AccountStateUnconfirmed> map = chainAccountUnconfirmed.get(String.valueOf(chainId));
-        if (null == map) {
-            map = new ConcurrentHashMap<>();
-            chainAccountUnconfirmed.put(String.valueOf(chainId), map);
-        }
+    public void saveMemAccountStateUnconfirmed(int chainId, AccountAssetKey accountKey, AccountStateUnconfirmed accountStateUnconfirmed) {
+        //不同账户的未确认交易会并行保存
+        Map<AccountAssetKey, AccountStateUnconfirmed> map = chainAccountUnconfirmed.computeIfAbsent(String.valueOf(chainId), k -> new ConcurrentHashMap<>());
         map.put(accountKey, accountStateUnconfirmed);
     }
 
 
     @Override
-    public TxUnconfirmed getMemUnconfirmedTx(int chainId, String accountKey, String nonceKey) {
+    public TxUnconfirmed getMemUnconfirmedTx(int chainId, AccountAssetKey accountKey, String nonceKey) {
         AccountStateUnconfirmed accountStateUnconfirmed = getMemAccountStateUnconfirmed(chainId, accountKey);
         if (null != accountStateUnconfirmed) {
             return accountStateUnconfirmed.getTxUnconfirmed(nonceKey);
@@ -90,7 +88,7 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
     }
 
     @Override
-    public void delMemUnconfirmedTx(int chainId, String accountKey, String nonceKey) {
+    public void delMemUnconfirmedTx(int chainId, AccountAssetKey accountKey, String nonceKey) {
         AccountStateUnconfirmed accountStateUnconfirmed = getMemAccountStateUnconfirmed(chainId, accountKey);
         if (null != accountStateUnconfirmed) {
             accountStateUnconfirmed.delTxUnconfirmed(nonceKey);
@@ -98,7 +96,7 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
     }
 
     @Override
-    public void saveMemUnconfirmedTxs(int chainId, String accountKey, Map<String, TxUnconfirmed> txUnconfirmedMap) {
+    public void saveMemUnconfirmedTxs(int chainId, AccountAssetKey accountKey, Map<String, TxUnconfirmed> txUnconfirmedMap) {
         AccountStateUnconfirmed accountStateUnconfirmed = getMemAccountStateUnconfirmed(chainId, accountKey);
         if (null != accountStateUnconfirmed) {
             accountStateUnconfirmed.addTxUnconfirmeds(txUnconfirmedMap);
@@ -106,7 +104,7 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
     }
 
     @Override
-    public void saveMemUnconfirmedTx(int chainId, String accountKey, String nonce, TxUnconfirmed txUnconfirmed) {
+    public void saveMemUnconfirmedTx(int chainId, AccountAssetKey accountKey, String nonce, TxUnconfirmed txUnconfirmed) {
         AccountStateUnconfirmed accountStateUnconfirmed = getMemAccountStateUnconfirmed(chainId, accountKey);
         if (null != accountStateUnconfirmed) {
             accountStateUnconfirmed.addTxUnconfirmed(nonce, txUnconfirmed);
@@ -114,7 +112,7 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
     }
 
     @Override
-    public void addUncfd2Cfd(int chainId, String accountKey, BigInteger addAmount) {
+    public void addUncfd2Cfd(int chainId, AccountAssetKey accountKey, BigInteger addAmount) {
         AccountStateUnconfirmed accountStateUnconfirmed = getMemAccountStateUnconfirmed(chainId, accountKey);
         if (null == accountStateUnconfirmed) {
             return;
@@ -130,7 +128,7 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
      * @param txUnconfirmed
      */
     @Override
-    public void clearMemUnconfirmedTxs(int chainId, String accountKey, TxUnconfirmed txUnconfirmed) {
+    public void clearMemUnconfirmedTxs(int chainId, AccountAssetKey accountKey, TxUnconfirmed txUnconfirmed) {
         AccountStateUnconfirmed accountStateUnconfirmed = getMemAccountStateUnconfirmed(chainId, accountKey);
         if (null == accountStateUnconfirmed || null == txUnconfirmed) {
             return;
@@ -155,7 +153,7 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
      * @param accountKey
      */
     @Override
-    public void clearMemUnconfirmedTxs(int chainId, String accountKey) {
+    public void clearMemUnconfirmedTxs(int chainId, AccountAssetKey accountKey) {
         AccountStateUnconfirmed accountStateUnconfirmed = getMemAccountStateUnconfirmed(chainId, accountKey);
         if (null == accountStateUnconfirmed) {
             return;
@@ -170,7 +168,7 @@ public class UnconfirmedRepositoryImpl implements UnconfirmedRepository, Initial
      */
     @Override
     public void clearAllMemUnconfirmedTxs(int chainId) {
-        Map<String, AccountStateUnconfirmed> allChainUnconfirmed = chainAccountUnconfirmed.get(String.valueOf(chainId));
+        Map<AccountAssetKey, AccountStateUnconfirmed> allChainUnconfirmed = chainAccountUnconfirmed.get(String.valueOf(chainId));
         if (null == allChainUnconfirmed) {
             return;
         }
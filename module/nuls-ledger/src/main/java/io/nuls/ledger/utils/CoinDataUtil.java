@@ -6,6 +6,7 @@ import io.nuls.base.data.CoinFrom;
 import io.nuls.core.exception.NulsException;
 import io.nuls.core.log.Log;
 import io.nuls.ledger.constant.LedgerConstant;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.po.TxUnconfirmed;
 
 import java.util.Map;
@@ -35,7 +36,7 @@ public class CoinDataUtil {
         return coinData;
     }
 
-    public static void calTxFromAmount(Map<String, TxUnconfirmed> map, CoinFrom coinFrom, byte[] txNonce, String accountKey, String address) {
+    public static void calTxFromAmount(Map<AccountAssetKey, TxUnconfirmed> map, CoinFrom coinFrom, byte[] txNonce, AccountAssetKey accountKey, String address) {
         TxUnconfirmed txUnconfirmed;
         if (null == map.get(accountKey)) {
             txUnconfirmed = new TxUnconfirmed(address, coinFrom.getAssetsChainId(),
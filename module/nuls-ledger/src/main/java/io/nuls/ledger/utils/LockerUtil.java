@@ -24,16 +24,88 @@
  */
 package io.nuls.ledger.utils;
 
+import io.nuls.ledger.model.AccountAssetKey;
+
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
+ * 账本锁
+ * 区块提交/回滚持有账本写锁,独占账本;未确认交易处理持有账本读锁及所涉及账户的分段锁,不同账户可并行处理
+ * Ledger locks. Block commit/rollback holds the ledger write lock and gets an exclusive view;
+ * unconfirmed tx processing holds the read lock plus the stripe locks of the accounts it touches,
+ * so transactions of disjoint accounts are processed in parallel.
+ *
  * @author lan
  * @description
  * @date 2019/01/07
  **/
 public class LockerUtil {
 //    public final static Lock BLOCK_SYNC_LOCKER = new ReentrantLock();
-    public final static Lock UNCONFIRMED_SYNC_LOCKER = new ReentrantLock();
-    public final static Lock LEDGER_LOCKER = new ReentrantLock();
+    private final static ReentrantReadWriteLock LEDGER_RW_LOCKER = new ReentrantReadWriteLock();
+    /**
+     * 账本写锁,区块提交、回滚及清空未确认数据时使用
+     */
+    public final static Lock LEDGER_LOCKER = LEDGER_RW_LOCKER.writeLock();
+    /**
+     * 账本读锁,未确认交易处理时与账户分段锁一起使用
+     */
+    public final static Lock LEDGER_READ_LOCKER = LEDGER_RW_LOCKER.readLock();
+
+    /**
+     * 账户分段锁数量,必须为2的幂
+     */
+    private final static int ACCOUNT_STRIPES = 1024;
+    private final static Lock[] ACCOUNT_LOCKERS = new Lock[ACCOUNT_STRIPES];
+
+    static {
+        for (int i = 0; i < ACCOUNT_STRIPES; i++) {
+            ACCOUNT_LOCKERS[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 计算账户对应的分段,去重并排序,按固定顺序加锁避免死锁
+     * Stripes of the given accounts, distinct and sorted so they are always locked in the same order
+     *
+     * @param keys 账户资产key
+     * @return int[]
+     */
+    public static int[] accountStripes(Collection<AccountAssetKey> keys) {
+        int[] stripes = new int[keys.size()];
+        int i = 0;
+        for (AccountAssetKey key : keys) {
+            int hash = key.hashCode();
+            stripes[i++] = (hash ^ (hash >>> 16)) & (ACCOUNT_STRIPES - 1);
+        }
+        Arrays.sort(stripes);
+        int size = 0;
+        for (int j = 0; j < stripes.length; j++) {
+            if (size == 0 || stripes[size - 1] != stripes[j]) {
+                stripes[size++] = stripes[j];
+            }
+        }
+        return size == stripes.length ? stripes : Arrays.copyOf(stripes, size);
+    }
+
+    /**
+     * 获取账本读锁及账户分段锁
+     * Acquire the ledger read lock and the given account stripes
+     */
+    public static void lockAccounts(int[] stripes) {
+        LEDGER_READ_LOCKER.lock();
+        for (int stripe : stripes) {
+            ACCOUNT_LOCKERS[stripe].lock();
+        }
+    }
+
+    public static void unlockAccounts(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            ACCOUNT_LOCKERS[stripes[i]].unlock();
+        }
+        LEDGER_READ_LOCKER.unlock();
+    }
 }
@@ -36,6 +36,7 @@ import io.nuls.core.core.annotation.Component;
 import io.nuls.core.model.BigIntegerUtils;
 import io.nuls.ledger.constant.LedgerConstant;
 import io.nuls.ledger.constant.LedgerErrorCode;
+import io.nuls.ledger.model.AccountAssetKey;
 import io.nuls.ledger.model.TempAccountNonce;
 import io.nuls.ledger.model.ValidateResult;
 import io.nuls.ledger.model.po.AccountState;
@@ -78,22 +79,22 @@ public class CoinDataValidator {
      * key String:chainId
      * value map :key是账号资产 value是待确认支出列表
      */
-    private Map<String, Map<String, List<TempAccountNonce>>> chainsAccountNonceMap = new ConcurrentHashMap<String, Map<String, List<TempAccountNonce>>>();
+    private Map<String, Map<AccountAssetKey, List<TempAccountNonce>>> chainsAccountNonceMap = new ConcurrentHashMap<String, Map<AccountAssetKey, List<TempAccountNonce>>>();
     /**
      * key String:chainId
      * value map :key是账号资产 value是待确认账户
      */
-    private Map<String, Map<String, AccountState>> chainsAccountStateMap = new ConcurrentHashMap<String, Map<String, AccountState>>();
+    private Map<String, Map<AccountAssetKey, AccountState>> chainsAccountStateMap = new ConcurrentHashMap<String, Map<AccountAssetKey, AccountState>>();
     /**
      * key String:chainId
      * value map :key是账号资产 value是时间锁定信息
      */
-    private Map<String, Map<String, List<FreezeLockTimeState>>> chainsLockedTimeMap = new ConcurrentHashMap<String, Map<String, List<FreezeLockTimeState>>>();
+    private Map<String, Map<AccountAssetKey, List<FreezeLockTimeState>>> chainsLockedTimeMap = new ConcurrentHashMap<String, Map<AccountAssetKey, List<FreezeLockTimeState>>>();
     /**
      * key String:chainId
      * value map :key是账号资产 value是时间锁定信息
      */
-    private Map<String, Map<String, List<FreezeHeightState>>> chainsLockedHeightMap = new ConcurrentHashMap<String, Map<String, List<FreezeHeightState>>>();
+    private Map<String, Map<AccountAssetKey, List<FreezeHeightState>>> chainsLockedHeightMap = new ConcurrentHashMap<String, Map<AccountAssetKey, List<FreezeHeightState>>>();
 
 
     @Autowired
@@ -112,22 +113,22 @@ public class CoinDataValidator {
         return chainsBatchValidateTxMap.get(String.valueOf(addressChainId));
     }
 
-    public Map<String, List<TempAccountNonce>> getAccountBalanceValidateMap(int addressChainId) {
+    public Map<AccountAssetKey, List<TempAccountNonce>> getAccountBalanceValidateMap(int addressChainId) {
         return chainsAccountNonceMap.get(String.valueOf(addressChainId));
     }
 
-    public Map<String, AccountState> getAccountValidateMap(int addressChainId) {
+    public Map<AccountAssetKey, AccountState> getAccountValidateMap(int addressChainId) {
         return chainsAccountStateMap.get(String.valueOf(addressChainId));
     }
 
-    public Map<String, List<FreezeLockTimeState>> getFreezeLockTimeValidateMap(int addressChainId) {
+    public Map<AccountAssetKey, List<FreezeLockTimeState>> getFreezeLockTimeValidateMap(int addressChainId) {
         if (null == chainsLockedTimeMap.get(String.valueOf(addressChainId))) {
-            chainsLockedTimeMap.put(String.valueOf(addressChainId), new ConcurrentHashMap<String, List<FreezeLockTimeState>>());
+            chainsLockedTimeMap.put(String.valueOf(addressChainId), new ConcurrentHashMap<AccountAssetKey, List<FreezeLockTimeState>>());
         }
         return chainsLockedTimeMap.get(String.valueOf(addressChainId));
     }
 
-    public List<FreezeLockTimeState> getFreezeLockTimeValidateList(Map<String, List<FreezeLockTimeState>> timeLockedMap, String assetKey) {
+    public List<FreezeLockTimeState> getFreezeLockTimeValidateList(Map<AccountAssetKey, List<FreezeLockTimeState>> timeLockedMap, AccountAssetKey assetKey) {
         List<FreezeLockTimeState> timeStateList = timeLockedMap.get(assetKey);
         if (null == timeStateList) {
             timeStateList = new ArrayList<>();
@@ -136,14 +137,14 @@ public class CoinDataValidator {
         return timeStateList;
     }
 
-    public Map<String, List<FreezeHeightState>> getFreezeLockHeightValidateMap(int addressChainId) {
+    public Map<AccountAssetKey, List<FreezeHeightState>> getFreezeLockHeightValidateMap(int addressChainId) {
         if (null == chainsLockedHeightMap.get(String.valueOf(addressChainId))) {
-            chainsLockedHeightMap.put(String.valueOf(addressChainId), new ConcurrentHashMap<String, List<FreezeHeightState>>());
+            chainsLockedHeightMap.put(String.valueOf(addressChainId), new ConcurrentHashMap<AccountAssetKey, List<FreezeHeightState>>());
         }
         return chainsLockedHeightMap.get(String.valueOf(addressChainId));
     }
 
-    public List<FreezeHeightState> getFreezeLockHeightValidateList(Map<String, List<FreezeHeightState>> heightMap, String assetKey) {
+    public List<FreezeHeightState> getFreezeLockHeightValidateList(Map<AccountAssetKey, List<FreezeHeightState>> heightMap, AccountAssetKey assetKey) {
         List<FreezeHeightState> heightStateList = heightMap.get(assetKey);
         if (null == heightStateList) {
             heightStateList = new ArrayList<>();
@@ -162,23 +163,23 @@ public class CoinDataValidator {
             batchValidateTxMap = new ConcurrentHashMap<>(1024);
             chainsBatchValidateTxMap.put(String.valueOf(chainId), batchValidateTxMap);
         }
-        Map<String, List<TempAccountNonce>> accountBalanceValidateTxMap = getAccountBalanceValidateMap(chainId);
+        Map<AccountAssetKey, List<TempAccountNonce>> accountBalanceValidateTxMap = getAccountBalanceValidateMap(chainId);
         if (null == accountBalanceValidateTxMap) {
             accountBalanceValidateTxMap = new ConcurrentHashMap<>(1024);
             chainsAccountNonceMap.put(String.valueOf(chainId), accountBalanceValidateTxMap);
         }
-        Map<String, AccountState> accountStateMap = getAccountValidateMap(chainId);
+        Map<AccountAssetKey, AccountState> accountStateMap = getAccountValidateMap(chainId);
         if (null == accountStateMap) {
             accountStateMap = new ConcurrentHashMap<>(1024);
             chainsAccountStateMap.put(String.valueOf(chainId), accountStateMap);
         }
-        Map<String, List<FreezeLockTimeState>> timeMap = getFreezeLockTimeValidateMap(chainId);
+        Map<AccountAssetKey, List<FreezeLockTimeState>> timeMap = getFreezeLockTimeValidateMap(chainId);
         if (null == timeMap) {
             timeMap = new ConcurrentHashMap<>(1024);
             chainsLockedTimeMap.put(String.valueOf(chainId), timeMap);
         }
 
-        Map<String, List<FreezeHeightState>> heightMap = getFreezeLockHeightValidateMap(chainId);
+        Map<AccountAssetKey, List<FreezeHeightState>> heightMap = getFreezeLockHeightValidateMap(chainId);
         if (null == heightMap) {
             heightMap = new ConcurrentHashMap<>(1024);
             chainsLockedHeightMap.put(String.valueOf(chainId), heightMap);
@@ -205,11 +206,11 @@ public class CoinDataValidator {
             return false;
         }
         Set<String> batchValidateTxSet = new HashSet<>(txs.size());
-        Map<String, List<TempAccountNonce>> accountValidateTxMap = new HashMap<>(1024);
-        Map<String, AccountState> accountStateMap = new HashMap<>(1024);
+        Map<AccountAssetKey, List<TempAccountNonce>> accountValidateTxMap = new HashMap<>(1024);
+        Map<AccountAssetKey, AccountState> accountStateMap = new HashMap<>(1024);
         Map<String, Object> lockedCancelNonceMap = new HashMap<>(32);
-        Map<String, List<FreezeLockTimeState>> lockedTimeMap = new ConcurrentHashMap<String, List<FreezeLockTimeState>>();
-        Map<String, List<FreezeHeightState>> lockedHeightMap = new ConcurrentHashMap<String, List<FreezeHeightState>>();
+        Map<AccountAssetKey, List<FreezeLockTimeState>> lockedTimeMap = new ConcurrentHashMap<AccountAssetKey, List<FreezeLockTimeState>>();
+        Map<AccountAssetKey, List<FreezeHeightState>> lockedHeightMap = new ConcurrentHashMap<AccountAssetKey, List<FreezeHeightState>>();
 
         for (Transaction tx : txs) {
             ValidateResult validateResult = blockTxsValidate(chainId, tx, batchValidateTxSet, accountValidateTxMap, accountStateMap, lockedCancelNonceMap,
@@ -220,7 +221,7 @@ public class CoinDataValidator {
             }
         }
         //遍历余额判断
-        for (Map.Entry<String, AccountState> entry : accountStateMap.entrySet()) {
+        for (Map.Entry<AccountAssetKey, AccountState> entry : accountStateMap.entrySet()) {
             //缓存数据
             if (BigIntegerUtils.isLessThan(entry.getValue().getAvailableAmount(), BigInteger.ZERO)) {
                 //余额不足
@@ -248,7 +249,7 @@ public class CoinDataValidator {
      */
     public ValidateResult bathValidatePerTx(int chainId, Transaction tx) {
         Map<String, String> batchValidateTxMap = getBatchValidateTxMap(chainId);
-        Map<String, List<TempAccountNonce>> accountBalanceValidateTxMap = getAccountBalanceValidateMap(chainId);
+        Map<AccountAssetKey, List<TempAccountNonce>> accountBalanceValidateTxMap = getAccountBalanceValidateMap(chainId);
         return confirmedTxValidate(chainId, tx, batchValidateTxMap, accountBalanceValidateTxMap);
 
     }
@@ -281,8 +282,8 @@ public class CoinDataValidator {
      * @return
      */
     private ValidateResult analysisFromCoinPerTx(int chainId, int txType, byte[] nonce8Bytes,
-                                                 List<CoinFrom> coinFroms, Map<String, List<TempAccountNonce>> accountValidateTxMap,
-                                                 Map<String, AccountState> accountStateMap, Map<String, AccountState> balanceValidateMap, String txHash) {
+                                                 List<CoinFrom> coinFroms, Map<AccountAssetKey, List<TempAccountNonce>> accountValidateTxMap,
+                                                 Map<AccountAssetKey, AccountState> accountStateMap, Map<AccountAssetKey, AccountState> balanceValidateMap, String txHash) {
         for (CoinFrom coinFrom : coinFroms) {
             String address = LedgerUtil.getRealAddressStr(coinFrom.getAddress());
             if (LedgerUtil.isNotLocalChainAccount(chainId, coinFrom.getAddress())) {
@@ -296,12 +297,12 @@ public class CoinDataValidator {
             if (AddressTool.isBlackHoleAddress(LedgerConstant.blackHolePublicKey, chainId, coinFrom.getAddress())) {
                 return ValidateResult.getResult(LedgerErrorCode.VALIDATE_FAIL, new String[]{address, LedgerUtil.getNonceEncode(coinFrom.getNonce()), "address is blackHoleAddress Exception"});
             }
-            String assetKey = LedgerUtil.getKeyStr(address, coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+            AccountAssetKey assetKey = new AccountAssetKey(coinFrom.getAddress(), coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
             AccountState accountState = accountStateMap.get(assetKey);
             List<FreezeLockTimeState> timeStates = getFreezeLockTimeValidateList(getFreezeLockTimeValidateMap(chainId), assetKey);
             List<FreezeHeightState> heightStates = getFreezeLockHeightValidateList(getFreezeLockHeightValidateMap(chainId), assetKey);
             if (null == accountState) {
-                accountState = accountStateService.getAccountStateReCal(address, chainId, coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+                accountState = accountStateService.getAccountStateReCal(assetKey, chainId);
                 accountStateMap.put(assetKey, accountState);
                 timeStates.addAll(accountState.getFreezeLockTimeStates());
                 heightStates.addAll(accountState.getFreezeHeightStates());
@@ -310,7 +311,7 @@ public class CoinDataValidator {
             //判断是否是解锁操作
             if (coinFrom.getLocked() == 0) {
                 accountState.addTotalFromAmount(coinFrom.getAmount());
-                ValidateResult validateResult = isValidateCommonTxBatch(chainId, accountState, coinFrom, nonce8Bytes, accountValidateTxMap);
+                ValidateResult validateResult = isValidateCommonTxBatch(chainId, assetKey, accountState, coinFrom, nonce8Bytes, accountValidateTxMap);
                 if (!validateResult.isSuccess()) {
                     return validateResult;
                 }
@@ -338,9 +339,9 @@ public class CoinDataValidator {
      * @return
      */
     private ValidateResult analysisToCoinPerTx(int chainId, int txType, List<CoinTo> coinTos,
-                                               Map<String, AccountState> accountStateMap,
-                                               Map<String, List<FreezeLockTimeState>> timeStatesMap,
-                                               Map<String, List<FreezeHeightState>> heightStatesMap, String txHash) {
+                                               Map<AccountAssetKey, AccountState> accountStateMap,
+                                               Map<AccountAssetKey, List<FreezeLockTimeState>> timeStatesMap,
+                                               Map<AccountAssetKey, List<FreezeHeightState>> heightStatesMap, String txHash) {
         for (CoinTo coinTo : coinTos) {
             if (LedgerUtil.isNotLocalChainAccount(chainId, coinTo.getAddress())) {
                 if (LedgerUtil.isCrossTx(txType)) {
@@ -350,13 +351,12 @@ public class CoinDataValidator {
                     return ValidateResult.getResult(LedgerErrorCode.VALIDATE_FAIL, new String[]{LedgerUtil.getRealAddressStr(coinTo.getAddress()), "--", "address Not local chain Exception"});
                 }
             }
-            String address = LedgerUtil.getRealAddressStr(coinTo.getAddress());
-            String assetKey = LedgerUtil.getKeyStr(address, coinTo.getAssetsChainId(), coinTo.getAssetsId());
+            AccountAssetKey assetKey = new AccountAssetKey(coinTo.getAddress(), coinTo.getAssetsChainId(), coinTo.getAssetsId());
             AccountState accountState = accountStateMap.get(assetKey);
             List<FreezeLockTimeState> timeList = getFreezeLockTimeValidateList(timeStatesMap, assetKey);
             List<FreezeHeightState> heightList = getFreezeLockHeightValidateList(heightStatesMap, assetKey);
             if (null == accountState) {
-                accountState = accountStateService.getAccountStateReCal(address, chainId, coinTo.getAssetsChainId(), coinTo.getAssetsId());
+                accountState = accountStateService.getAccountStateReCal(assetKey, chainId);
                 accountStateMap.put(assetKey, accountState);
                 timeList.addAll(accountState.getFreezeLockTimeStates());
                 heightList.addAll(accountState.getFreezeHeightStates());
@@ -367,8 +367,8 @@ public class CoinDataValidator {
                 accountState.addTotalToAmount(coinTo.getAmount());
             } else {
 //           //校验通过,将缓存处理
-                txLockedProcessor.processCoinData(coinTo, LedgerUtil.getNonceDecodeByTxHash(txHash), txHash, getFreezeLockTimeValidateList(timeStatesMap, assetKey),
-                        getFreezeLockHeightValidateList(heightStatesMap, assetKey), address, false);
+                txLockedProcessor.processCoinData(coinTo, LedgerUtil.getNonceDecodeByTxHash(txHash), txHash, timeList,
+                        heightList, assetKey.getRealAddress(), false);
             }
         }
         return ValidateResult.getSuccess();
@@ -381,9 +381,9 @@ public class CoinDataValidator {
      * @return
      */
     public ValidateResult confirmedTxValidate(int chainId, Transaction tx, Map<String, String> batchValidateTxMap,
-                                              Map<String, List<TempAccountNonce>> accountValidateTxMap) {
-        Map<String, AccountState> accountStateMap = getAccountValidateMap(chainId);
-        Map<String, AccountState> balanceValidateMap = new HashMap<>(64);
+                                              Map<AccountAssetKey, List<TempAccountNonce>> accountValidateTxMap) {
+        Map<AccountAssetKey, AccountState> accountStateMap = getAccountValidateMap(chainId);
+        Map<AccountAssetKey, AccountState> balanceValidateMap = new HashMap<>(64);
         //先校验，再逐笔放入缓存
         //交易的 hash值如果已存在，返回false，交易的from coin nonce 如果不连续，则存在双花。
         String txHash = tx.getHash().toHex();
@@ -418,14 +418,14 @@ public class CoinDataValidator {
         if (!validateResult.isSuccess()) {
             return validateResult;
         }
-        Map<String, List<FreezeLockTimeState>> timeStatesMap = getFreezeLockTimeValidateMap(chainId);
-        Map<String, List<FreezeHeightState>> heightStatesMap = getFreezeLockHeightValidateMap(chainId);
+        Map<AccountAssetKey, List<FreezeLockTimeState>> timeStatesMap = getFreezeLockTimeValidateMap(chainId);
+        Map<AccountAssetKey, List<FreezeHeightState>> heightStatesMap = getFreezeLockHeightValidateMap(chainId);
         ValidateResult toCoinValidateResult = analysisToCoinPerTx(chainId, tx.getType(), coinTos, accountStateMap, timeStatesMap, heightStatesMap, txHash);
         if (!toCoinValidateResult.isSuccess()) {
             return validateResult;
         }
         //遍历余额判断
-        for (Map.Entry<String, AccountState> entry : balanceValidateMap.entrySet()) {
+        for (Map.Entry<AccountAssetKey, AccountState> entry : balanceValidateMap.entrySet()) {
             //缓存数据
             if (BigIntegerUtils.isLessThan(entry.getValue().getAvailableAmount(), BigInteger.ZERO)) {
                 //余额不足
@@ -435,7 +435,7 @@ public class CoinDataValidator {
                         entry.getValue().getTotalToAmount(),
                         entry.getValue().getTotalFromAmount()
                 );
-                return ValidateResult.getResult(LedgerErrorCode.BALANCE_NOT_ENOUGH, new String[]{entry.getKey(),
+                return ValidateResult.getResult(LedgerErrorCode.BALANCE_NOT_ENOUGH, new String[]{entry.getKey().toString(),
                         BigIntegerUtils.bigIntegerToString(entry.getValue().getAvailableAmount())});
             }
         }
@@ -452,12 +452,14 @@ public class CoinDataValidator {
      * @param fromNonce
      * @return
      */
-    private ValidateResult validateCommonCoinData(int addressChainId, int assetChainId, int assetId, AccountState accountState, String address, BigInteger fromAmount, byte[] fromNonce, byte[] txNonce, boolean containUncomfirmedAmount) {
+    private ValidateResult validateCommonCoinData(int addressChainId, AccountAssetKey accountKey, AccountState accountState, String address, BigInteger fromAmount, byte[] fromNonce, byte[] txNonce, boolean containUncomfirmedAmount) {
+        int assetChainId = accountKey.getAssetChainId();
+        int assetId = accountKey.getAssetId();
         AccountStateUnconfirmed accountStateUnconfirmed = null;
         if (containUncomfirmedAmount) {
-            accountStateUnconfirmed = unconfirmedStateService.getUnconfirmedInfo(address, addressChainId, assetChainId, assetId, accountState);
+            accountStateUnconfirmed = unconfirmedStateService.getUnconfirmedInfo(accountKey, addressChainId, accountState);
         } else {
-            accountStateUnconfirmed = unconfirmedStateService.getUnconfirmedJustNonce(address, addressChainId, assetChainId, assetId, accountState);
+            accountStateUnconfirmed = unconfirmedStateService.getUnconfirmedJustNonce(accountKey, addressChainId, accountState);
         }
         byte[] preNonce = null;
         BigInteger amount = BigInteger.ZERO;
@@ -474,7 +476,7 @@ public class CoinDataValidator {
         if (LedgerUtil.equalsNonces(fromNonce, preNonce)) {
             if (BigIntegerUtils.isLessThan(amount, fromAmount)) {
                 logger(addressChainId).error("dbAmount={},fromAmount={},balance is not enough", BigIntegerUtils.bigIntegerToString(amount), BigIntegerUtils.bigIntegerToString(fromAmount));
-                return ValidateResult.getResult(LedgerErrorCode.BALANCE_NOT_ENOUGH, new String[]{address + "-" + assetChainId + "-" + assetId,
+                return ValidateResult.getResult(LedgerErrorCode.BALANCE_NOT_ENOUGH, new String[]{accountKey.toString(),
                         BigIntegerUtils.bigIntegerToString(amount.subtract(fromAmount))});
             }
             return ValidateResult.getSuccess();
@@ -514,10 +516,9 @@ public class CoinDataValidator {
      * @param txNonce
      * @return
      */
-    private ValidateResult isValidateCommonTxBatch(int chainId, AccountState accountState, CoinFrom coinFrom, byte[] txNonce,
-                                                   Map<String, List<TempAccountNonce>> accountValidateTxMap) {
+    private ValidateResult isValidateCommonTxBatch(int chainId, AccountAssetKey assetKey, AccountState accountState, CoinFrom coinFrom, byte[] txNonce,
+                                                   Map<AccountAssetKey, List<TempAccountNonce>> accountValidateTxMap) {
         String address = LedgerUtil.getRealAddressStr(coinFrom.getAddress());
-        String assetKey = LedgerUtil.getKeyStr(address, coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
         String fromCoinNonceStr = LedgerUtil.getNonceEncode(coinFrom.getNonce());
         if (LedgerUtil.equalsNonces(coinFrom.getNonce(), txNonce)) {
             //nonce 重复了
@@ -550,9 +551,9 @@ public class CoinDataValidator {
     }
 
     private ValidateResult analysisFromCoinBlokTx(int chainId, int txType, byte[] txNonce, List<CoinFrom> coinFroms,
-                                                  Map<String, List<TempAccountNonce>> accountValidateTxMap, Map<String, AccountState> accountStateMap,
+                                                  Map<AccountAssetKey, List<TempAccountNonce>> accountValidateTxMap, Map<AccountAssetKey, AccountState> accountStateMap,
                                                   Map<String, Object> lockedCancelNonceMap,
-                                                  Map<String, List<FreezeLockTimeState>> timeLockMap, Map<String, List<FreezeHeightState>> heightLockMap, String txHash) {
+                                                  Map<AccountAssetKey, List<FreezeLockTimeState>> timeLockMap, Map<AccountAssetKey, List<FreezeHeightState>> heightLockMap, String txHash) {
         for (CoinFrom coinFrom : coinFroms) {
             String address = LedgerUtil.getRealAddressStr(coinFrom.getAddress());
             if (LedgerUtil.isNotLocalChainAccount(chainId, coinFrom.getAddress())) {
@@ -563,12 +564,12 @@ public class CoinDataValidator {
                     return ValidateResult.getResult(LedgerErrorCode.VALIDATE_FAIL, new String[]{address, "--", "address Not local chain Exception"});
                 }
             }
-            String assetKey = LedgerUtil.getKeyStr(address, coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+            AccountAssetKey assetKey = new AccountAssetKey(coinFrom.getAddress(), coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
             AccountState accountState = accountStateMap.get(assetKey);
             List<FreezeLockTimeState> timeList = getFreezeLockTimeValidateList(timeLockMap, assetKey);
             List<FreezeHeightState> heightList = getFreezeLockHeightValidateList(heightLockMap, assetKey);
             if (null == accountState) {
-                accountState = accountStateService.getAccountStateReCal(address, chainId, coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+                accountState = accountStateService.getAccountStateReCal(assetKey, chainId);
                 accountStateMap.put(assetKey, accountState);
                 timeList.addAll(accountState.getFreezeLockTimeStates());
                 heightList.addAll(accountState.getFreezeHeightStates());
@@ -626,9 +627,9 @@ public class CoinDataValidator {
         return ValidateResult.getSuccess();
     }
 
-    public ValidateResult blockTxsValidate(int chainId, Transaction tx, Set<String> batchValidateTxSet, Map<String, List<TempAccountNonce>> accountValidateTxMap,
-                                           Map<String, AccountState> accountStateMap, Map<String, Object> lockedCancelNonceMap, Map<String, List<FreezeLockTimeState>> lockedTimeMap,
-                                           Map<String, List<FreezeHeightState>> lockedHeightMap) {
+    public ValidateResult blockTxsValidate(int chainId, Transaction tx, Set<String> batchValidateTxSet, Map<AccountAssetKey, List<TempAccountNonce>> accountValidateTxMap,
+                                           Map<AccountAssetKey, AccountState> accountStateMap, Map<String, Object> lockedCancelNonceMap, Map<AccountAssetKey, List<FreezeLockTimeState>> lockedTimeMap,
+                                           Map<AccountAssetKey, List<FreezeHeightState>> lockedHeightMap) {
         //先校验，再逐笔放入缓存
         //交易的 hash值如果已存在，返回false，交易的from coin nonce 如果不连续，则存在双花。
         String txHash = tx.getHash().toHex();
@@ -774,10 +775,11 @@ public class CoinDataValidator {
                 }
             }
             String address = LedgerUtil.getRealAddressStr(coinFrom.getAddress());
-            AccountState accountState = accountStateService.getAccountStateReCal(address, addressChainId, coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+            AccountAssetKey accountKey = new AccountAssetKey(coinFrom.getAddress(), coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+            AccountState accountState = accountStateService.getAccountStateReCal(accountKey, addressChainId);
             //普通交易
             if (coinFrom.getLocked() == 0) {
-                return validateCommonCoinData(addressChainId, coinFrom.getAssetsChainId(), coinFrom.getAssetsId(), accountState, address, coinFrom.getAmount(), coinFrom.getNonce(), txNonce, true);
+                return validateCommonCoinData(addressChainId, accountKey, accountState, address, coinFrom.getAmount(), coinFrom.getNonce(), txNonce, true);
             } else {
                 if (!isValidateFreezeTx(coinFrom.getLocked(), accountState, coinFrom.getAmount(), coinFrom.getNonce())) {
                     //确认交易未找到冻结的交易
@@ -788,7 +790,7 @@ public class CoinDataValidator {
         return ValidateResult.getSuccess();
     }
 
-    public ValidateResult analysisCoinData(int addressChainId, Transaction tx, Map<String, TxUnconfirmed> accountsMap, byte[] txNonce) throws Exception {
+    public ValidateResult analysisCoinData(int addressChainId, Transaction tx, Map<AccountAssetKey, TxUnconfirmed> accountsMap, byte[] txNonce) throws Exception {
         String txHash = tx.getHash().toHex();
         if (transactionService.hadTxExist(addressChainId, txHash)) {
             return ValidateResult.getResult(LedgerErrorCode.TX_EXIST, new String[]{"--", txHash});
@@ -813,13 +815,11 @@ public class CoinDataValidator {
                 }
             }
             String address = LedgerUtil.getRealAddressStr(coinFrom.getAddress());
-            int assetChainId = coinFrom.getAssetsChainId();
-            int assetId = coinFrom.getAssetsId();
-            String accountKey = LedgerUtil.getKeyStr(address, assetChainId, assetId);
-            AccountState accountState = accountStateService.getAccountStateReCal(address, addressChainId, coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+            AccountAssetKey accountKey = new AccountAssetKey(coinFrom.getAddress(), coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+            AccountState accountState = accountStateService.getAccountStateReCal(accountKey, addressChainId);
             //普通交易
             if (coinFrom.getLocked() == 0) {
-                ValidateResult validateResult = validateCommonCoinData(addressChainId, assetChainId, assetId, accountState, address, coinFrom.getAmount(), coinFrom.getNonce(), txNonce, false);
+                ValidateResult validateResult = validateCommonCoinData(addressChainId, accountKey, accountState, address, coinFrom.getAmount(), coinFrom.getNonce(), txNonce, false);
                 if (validateResult.isSuccess()) {
                     CoinDataUtil.calTxFromAmount(accountsMap, coinFrom, txNonce, accountKey, address);
                 } else {
@@ -839,7 +839,7 @@ public class CoinDataValidator {
      * 批量打包单笔交易回滚处理
      */
     public boolean rollbackTxValidateStatus(int chainId, Transaction tx) {
-        Map<String, List<TempAccountNonce>> accountBalanceValidateTxMap = getAccountBalanceValidateMap(chainId);
+        Map<AccountAssetKey, List<TempAccountNonce>> accountBalanceValidateTxMap = getAccountBalanceValidateMap(chainId);
         String txHash = tx.getHash().toHex();
         if (null == chainsBatchValidateTxMap.get(txHash)) {
             logger(chainId).info("{} tx not exist!", txHash);
@@ -865,7 +865,7 @@ public class CoinDataValidator {
             }
             //判断是否是解锁操作
             if (coinFrom.getLocked() == 0) {
-                String assetKey = LedgerUtil.getKeyStr(LedgerUtil.getRealAddressStr(coinFrom.getAddress()), coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
+                AccountAssetKey assetKey = new AccountAssetKey(coinFrom.getAddress(), coinFrom.getAssetsChainId(), coinFrom.getAssetsId());
                 //回滚accountBalanceValidateTxMap缓存数据
                 List<TempAccountNonce> list = accountBalanceValidateTxMap.get(assetKey);
                 if (null == list) {
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.nuls.ledger.test;
+
+import io.nuls.ledger.model.AccountAssetKey;
+import io.nuls.ledger.utils.LockerUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 账户分段锁竞争测试:不同账户的处理互不阻塞,相同账户的处理保持互斥
+ */
+public class LockerUtilContentionTest {
+
+    private static final int OPS_PER_THREAD = 20000;
+
+    private static AccountAssetKey key(int i) {
+        byte[] address = new byte[23];
+        address[0] = 2;
+        address[19] = (byte) (i >>> 16);
+        address[20] = (byte) (i >>> 8);
+        address[21] = (byte) i;
+        return new AccountAssetKey(address, 2, 1);
+    }
+
+    @Test
+    public void stripesAreSortedAndDistinct() {
+        AccountAssetKey a = key(1);
+        int[] stripes = LockerUtil.accountStripes(Arrays.asList(a, key(2), a, key(3)));
+        for (int i = 1; i < stripes.length; i++) {
+            Assert.assertTrue(stripes[i - 1] < stripes[i]);
+        }
+        Assert.assertArrayEquals(LockerUtil.accountStripes(Arrays.asList(a)), LockerUtil.accountStripes(Arrays.asList(a, a)));
+    }
+
+    @Test
+    public void sameAccountIsMutuallyExclusive() throws Exception {
+        final long[] counter = new long[1];
+        int[] stripes = LockerUtil.accountStripes(Arrays.asList(key(7)));
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        run(threads, t -> {
+            for (int i = 0; i < OPS_PER_THREAD; i++) {
+                LockerUtil.lockAccounts(stripes);
+                try {
+                    counter[0]++;
+                } finally {
+                    LockerUtil.unlockAccounts(stripes);
+                }
+            }
+        });
+        Assert.assertEquals((long) threads * OPS_PER_THREAD, counter[0]);
+    }
+
+    /**
+     * 一个账户被锁定时,其他分段的账户可以正常加锁,相同账户需要等待
+     */
+    @Test
+    public void disjointAccountsDoNotBlock() throws Exception {
+        int[] held = LockerUtil.accountStripes(Arrays.asList(key(1)));
+        int[] other = null;
+        for (int i = 2; null == other; i++) {
+            int[] stripes = LockerUtil.accountStripes(Arrays.asList(key(i)));
+            if (stripes[0] != held[0]) {
+                other = stripes;
+            }
+        }
+        final int[] otherStripes = other;
+        Thread sameAccount = new Thread(() -> {
+            LockerUtil.lockAccounts(held);
+            LockerUtil.unlockAccounts(held);
+        });
+        LockerUtil.lockAccounts(held);
+        try {
+            Thread disjointAccount = new Thread(() -> {
+                LockerUtil.lockAccounts(otherStripes);
+                LockerUtil.unlockAccounts(otherStripes);
+            });
+            disjointAccount.start();
+            disjointAccount.join(5000);
+            Assert.assertFalse(disjointAccount.isAlive());
+
+            sameAccount.start();
+            sameAccount.join(200);
+            Assert.assertTrue(sameAccount.isAlive());
+        } finally {
+            LockerUtil.unlockAccounts(held);
+        }
+        sameAccount.join(5000);
+        Assert.assertFalse(sameAccount.isAlive());
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void run(int threads, Worker worker) throws Exception {
+        CountDownLatch latch = new CountDownLatch(threads);
+        Exception[] error = new Exception[1];
+        for (int t = 0; t < threads; t++) {
+            final int index = t;
+            new Thread(() -> {
+                try {
+                    worker.run(index);
+                } catch (Exception e) {
+                    error[0] = e;
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        if (null != error[0]) {
+            throw error[0];
+        }
+    }
+}
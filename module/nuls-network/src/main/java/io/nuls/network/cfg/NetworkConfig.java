@@ -56,6 +56,11 @@ public class NetworkConfig implements ModuleConfig {
      * 中心化网络服务接口
      */
     private String timeServers;
+    /**
+     * 本节点支持的最高校验和版本，0为sha256，1为CRC32C
+     * highest checksum version supported by this node, 0 sha256, 1 CRC32C
+     */
+    private int checksumVersion = 1;
 
     public List<String> getLocalIps() {
 
@@ -189,6 +194,14 @@ public class NetworkConfig implements ModuleConfig {
         this.moonSeedIpList = moonSeedIpList;
     }
 
+    public int getChecksumVersion() {
+        return checksumVersion;
+    }
+
+    public void setChecksumVersion(int checksumVersion) {
+        this.checksumVersion = checksumVersion;
+    }
+
     public boolean isMoonNode() {
         return moonNode;
     }
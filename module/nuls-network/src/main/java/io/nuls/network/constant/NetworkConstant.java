@@ -124,9 +124,80 @@ public interface NetworkConstant {
     long MAX_NUMBER_4_BYTE = 4294967295L;
     int MAX_NUMBER_2_BYTE = 65535;
 
-    int MAX_CACHE_MSG_QUEUE = 100;
-    int INIT_CACHE_MSG_QUEUE_NUMBER = 110;
-
+    /**
+     * 普通与低优先级消息在发送队列中的最长等待时间，超时丢弃
+     * max time a default or low priority message waits in the send queue before it is dropped
+     */
     int MAX_CACHE_MSG_CYCLE_MILL_TIME = 5000;
-    int MAX_CACHE_MSG_TRY_TIME = 5;
+
+    /**
+     * --------[peer发送队列 / peer send queue] -------
+     * 单个peer待发送消息的字节上限，超过后先丢弃低优先级消息
+     * pending bytes limit per peer, low priority messages are shed first beyond it
+     */
+    int SEND_QUEUE_MAX_BYTES = 8 * 1024 * 1024;
+    /**
+     * 单次调度最多写入的消息数，之后让出event loop
+     * max messages written per drain before yielding the event loop
+     */
+    int SEND_QUEUE_DRAIN_MAX = 256;
+    /**
+     * 小于该字节数的低优先级消息合并后写入
+     * low priority messages smaller than this are coalesced into one write
+     */
+    int SEND_COALESCE_MSG_SIZE = 1024;
+    /**
+     * 合并写入的字节上限
+     * max bytes per coalesced write
+     */
+    int SEND_COALESCE_MAX_BYTES = 64 * 1024;
+
+    /**
+     * --------[peer消息推送给订阅模块 / peer messages pushed to subscribing modules] -------
+     * 单批最大消息数
+     * max frames per batch
+     */
+    int DELIVERY_MAX_BATCH = 256;
+    /**
+     * 每个订阅模块的推送线程数，同一peer的消息总由同一线程按接收顺序推送
+     * sender threads per subscribing module, frames of one peer always go through the same thread in arrival order
+     */
+    int DELIVERY_WORKERS = 4;
+    /**
+     * 推送线程的队列达到该长度时暂停读取发送方peer
+     * pause reading from the sending peer once its sender thread's queue reaches this size
+     */
+    int DELIVERY_HIGH_WATER = 1024;
+    /**
+     * 队列回落到该长度时恢复读取
+     * resume reading once the queue drains to this size
+     */
+    int DELIVERY_LOW_WATER = 256;
+    /**
+     * 推送线程的队列硬上限，超过后丢弃
+     * hard limit of a sender thread's queue, frames beyond it are dropped
+     */
+    int DELIVERY_MAX_QUEUE = 4096;
+    long DELIVERY_TIMEOUT_MILL_TIME = 30000;
+
+    /**
+     * --------[消息校验和 / message checksum] -------
+     * 0: sha256(sha256(payload))前4字节，所有节点都支持
+     * 0: first 4 bytes of sha256(sha256(payload)), supported by every node
+     */
+    int CHECKSUM_SHA256 = 0;
+    /**
+     * 1: CRC32C，握手时通过version消息的extend字段协商
+     * 1: CRC32C, negotiated through the extend field of the version message
+     */
+    int CHECKSUM_CRC32C = 1;
+    String EXTEND_CHECKSUM_KEY = "checksum";
+
+    /**
+     * --------[入站消息处理 / inbound message processing] -------
+     * 单个连接待处理消息达到该数量时暂停读取，回落到低水位后恢复
+     * pause reading a connection once this many of its frames are pending, resume at the low water mark
+     */
+    int INBOUND_PENDING_HIGH_WATER = 256;
+    int INBOUND_PENDING_LOW_WATER = 64;
 }
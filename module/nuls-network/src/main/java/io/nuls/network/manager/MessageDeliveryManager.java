@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.nuls.network.manager;
+
+import io.netty.channel.Channel;
+import io.nuls.base.RPCUtil;
+import io.nuls.core.constant.BaseConstant;
+import io.nuls.core.rpc.info.Constants;
+import io.nuls.core.rpc.model.message.MessageUtil;
+import io.nuls.core.rpc.model.message.Request;
+import io.nuls.core.rpc.model.message.Response;
+import io.nuls.core.rpc.netty.processor.ResponseMessageProcessor;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.network.constant.NetworkConstant;
+import io.nuls.network.model.Node;
+import io.nuls.network.model.dto.PeerMessageFrame;
+import io.nuls.network.netty.handler.ReadGate;
+import io.nuls.network.utils.LoggerUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 将收到的peer消息按订阅模块排队，批量推送原始字节(msgBatchProcess)。
+ * 每个模块固定数量的推送线程，各自一个队列，按发送方peer分配，同一peer的消息保持接收顺序；
+ * 每个线程同时只有一个批次在途，模块处理慢时队列增长，超过高水位暂停读取发送方peer的channel(autoRead)，
+ * 回落到低水位后恢复，由TCP把压力传回peer。
+ * Queue received peer messages per subscribing module and push them in batches as raw bytes (msgBatchProcess).
+ * Each module has a fixed number of sender threads, each with its own queue; a peer is always mapped to the
+ * same one so its frames keep their arrival order. Each thread has one batch in flight, so a slow module makes
+ * the queues grow; above the high water mark the sending peer's channel stops reading (autoRead) until the
+ * queue drains to the low water mark, and TCP carries the pressure back to the peer.
+ */
+public class MessageDeliveryManager {
+
+    private static MessageDeliveryManager instance = new MessageDeliveryManager();
+
+    public static MessageDeliveryManager getInstance() {
+        return instance;
+    }
+
+    private final Map<String, RoleStream> streams = new ConcurrentHashMap<>();
+
+    private MessageDeliveryManager() {
+    }
+
+    /**
+     * 投递一条peer消息到订阅模块
+     * Deliver a peer message to a subscribing module
+     *
+     * @param role  订阅模块角色 / subscriber role
+     * @param frame 消息 / message
+     * @param node  发送方peer / sending peer
+     */
+    public void deliver(String role, PeerMessageFrame frame, Node node) {
+        streams.computeIfAbsent(role, RoleStream::new).offer(frame, node);
+    }
+
+    public int getQueueSize(String role) {
+        RoleStream stream = streams.get(role);
+        if (stream == null) {
+            return 0;
+        }
+        int size = 0;
+        for (Lane lane : stream.lanes) {
+            size += lane.queue.size();
+        }
+        return size;
+    }
+
+    private static class RoleStream {
+        private final String role;
+        private final Lane[] lanes = new Lane[NetworkConstant.DELIVERY_WORKERS];
+        /**
+         * 模块不支持msgBatchProcess时退回逐条msgProcess
+         * falls back to one msgProcess per frame when the module has no msgBatchProcess
+         */
+        private volatile boolean legacy = false;
+
+        RoleStream(String role) {
+            this.role = role;
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new Lane(this);
+                ThreadUtils.createAndRunThread("msgDelivery-" + role + "-" + i, lanes[i]::sendLoop, true);
+            }
+        }
+
+        void offer(PeerMessageFrame frame, Node node) {
+            lanes[(node.getId().hashCode() & Integer.MAX_VALUE) % lanes.length].offer(frame, node);
+        }
+
+        private void sendBatch(List<PeerMessageFrame> batch) throws Exception {
+            List<Map<String, Object>> messages = new ArrayList<>(batch.size());
+            for (PeerMessageFrame frame : batch) {
+                messages.add(frame.toMap());
+            }
+            Map<String, Object> params = new HashMap<>(2);
+            params.put("messages", messages);
+            Response response = ResponseMessageProcessor.requestAndResponse(role, BaseConstant.MSG_BATCH_PROCESS, params, NetworkConstant.DELIVERY_TIMEOUT_MILL_TIME);
+            if (response.isSuccess()) {
+                return;
+            }
+            String comment = response.getResponseComment();
+            if (null != comment && comment.startsWith(Constants.CMD_NOT_FOUND)) {
+                LoggerUtil.COMMON_LOG.warn("role={} does not support {},fall back to {}:{}", role, BaseConstant.MSG_BATCH_PROCESS, BaseConstant.MSG_PROCESS, comment);
+                legacy = true;
+                sendEach(batch);
+            } else {
+                LoggerUtil.COMMON_LOG.error("role={},size={},batch process fail:{}", role, batch.size(), comment);
+            }
+        }
+
+        private void sendEach(List<PeerMessageFrame> batch) throws Exception {
+            for (PeerMessageFrame frame : batch) {
+                Map<String, Object> params = frame.toMap();
+                params.put("messageBody", RPCUtil.encode(frame.getMessageBody()));
+                Request request = MessageUtil.newRequest(BaseConstant.MSG_PROCESS, params, Constants.BOOLEAN_FALSE, Constants.ZERO, Constants.ZERO);
+                if ("0".equals(ResponseMessageProcessor.requestOnly(role, request))) {
+                    LoggerUtil.logger(frame.getChainId()).error("role={},cmd={},RPC fail,drop msg", role, frame.getCmd());
+                }
+            }
+        }
+    }
+
+    /**
+     * 一个推送线程及其队列，暂停读取时以自身作为ReadGate的原因，不同模块、不同线程互不影响
+     * One sender thread and its queue; it pauses channels under itself as the ReadGate reason, so modules and
+     * threads never resume a channel another one still holds paused
+     */
+    private static class Lane {
+        private final RoleStream stream;
+        private final LinkedBlockingQueue<PeerMessageFrame> queue = new LinkedBlockingQueue<>(NetworkConstant.DELIVERY_MAX_QUEUE);
+        private final Set<Channel> pausedChannels = ConcurrentHashMap.newKeySet();
+
+        Lane(RoleStream stream) {
+            this.stream = stream;
+        }
+
+        void offer(PeerMessageFrame frame, Node node) {
+            if (!queue.offer(frame)) {
+                LoggerUtil.logger(frame.getChainId()).error("role={},cmd={},delivery queue full,drop msg", stream.role, frame.getCmd());
+                return;
+            }
+            Channel channel = node.getChannel();
+            if (queue.size() >= NetworkConstant.DELIVERY_HIGH_WATER && null != channel && ReadGate.pause(channel, this)) {
+                pausedChannels.add(channel);
+                LoggerUtil.logger(frame.getChainId()).warn("role={},queue={},pause reading node={}", stream.role, queue.size(), node.getId());
+                //暂停期间队列可能已被清空，再检查一次避免channel一直停读 / the queue may have drained meanwhile, recheck so the channel is not left paused
+                resumeIfDrained();
+            }
+        }
+
+        private void resumeIfDrained() {
+            if (pausedChannels.isEmpty() || queue.size() > NetworkConstant.DELIVERY_LOW_WATER) {
+                return;
+            }
+            for (Channel channel : pausedChannels) {
+                pausedChannels.remove(channel);
+                ReadGate.resume(channel, this);
+            }
+        }
+
+        private void sendLoop() {
+            List<PeerMessageFrame> batch = new ArrayList<>(NetworkConstant.DELIVERY_MAX_BATCH);
+            while (true) {
+                try {
+                    PeerMessageFrame first = queue.poll(1, TimeUnit.SECONDS);
+                    if (null == first) {
+                        resumeIfDrained();
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, NetworkConstant.DELIVERY_MAX_BATCH - 1);
+                    resumeIfDrained();
+                    if (stream.legacy) {
+                        stream.sendEach(batch);
+                    } else {
+                        stream.sendBatch(batch);
+                    }
+                } catch (InterruptedException e) {
+                    LoggerUtil.COMMON_LOG.error("role={},delivery thread interrupt", stream.role);
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    LoggerUtil.COMMON_LOG.error("role={},size={},delivery fail,drop msg", stream.role, batch.size());
+                    LoggerUtil.COMMON_LOG.error(e);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -24,14 +24,16 @@
  */
 package io.nuls.network.manager;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.base.data.BaseNulsData;
-import io.nuls.core.crypto.Sha256Hash;
 import io.nuls.core.log.Log;
-import io.nuls.core.model.ByteUtils;
 import io.nuls.network.constant.ManagerStatusEnum;
 import io.nuls.network.constant.NetworkConstant;
 import io.nuls.network.constant.NetworkErrorCode;
@@ -43,13 +45,12 @@ import io.nuls.network.model.NetworkEventResult;
 import io.nuls.network.model.Node;
 import io.nuls.network.model.NodeGroup;
 import io.nuls.network.model.dto.IpAddressShare;
-import io.nuls.network.model.dto.PeerCacheMessage;
 import io.nuls.network.model.message.AddrMessage;
 import io.nuls.network.model.message.GetAddrMessage;
 import io.nuls.network.model.message.base.BaseMessage;
 import io.nuls.network.model.message.base.MessageHeader;
+import io.nuls.network.utils.ChecksumUtil;
 import io.nuls.network.utils.LoggerUtil;
-import io.nuls.network.utils.MessageUtil;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
@@ -93,9 +94,7 @@ public class MessageManager extends BaseManager {
      * @return long
      */
     public long getCheckSum(byte[] msgBody) {
-        byte[] bodyHash = Sha256Hash.hashTwice(msgBody);
-        byte[] get4Byte = ByteUtils.subBytes(bodyHash, 0, 4);
-        return ByteUtils.bytesToBigInteger(get4Byte).longValue();
+        return ChecksumUtil.sha256(msgBody);
     }
 
     private BaseMessage getMessageInstance(String command) {
@@ -118,50 +117,40 @@ public class MessageManager extends BaseManager {
 
 
     /**
-     * 验证消息
-     * validate message checkSum
+     * 统一接收消息处理，在入站工作线程执行
+     * Handle an inbound frame, runs on the inbound worker
      *
-     * @param data entity
-     * @return boolean
+     * @param buf  完整的消息帧，由调用方释放 / the whole frame, released by the caller
+     * @param node 发送方peer / sending peer
      */
-    private boolean validate(byte[] data, long pChecksum) {
-        byte[] bodyHash = Sha256Hash.hashTwice(data);
-        byte[] get4Byte = ByteUtils.subBytes(bodyHash, 0, 4);
-        long checksum = ByteUtils.bytesToBigInteger(get4Byte).longValue();
-        return checksum == pChecksum;
-    }
-
-    public void receiveMessage(NulsByteBuffer byteBuffer, Node node) {
-        //统一接收消息处理
+    public void receiveMessage(ByteBuf buf, Node node) {
         try {
-            if (null == byteBuffer) {
-                return;
-            }
             MessageHeader header = new MessageHeader();
+            header.parseFrame(buf);
             int headerSize = header.size();
-            byte[] payLoad = byteBuffer.getPayload();
-            byte[] payLoadBody = ByteUtils.subBytes(payLoad, headerSize, payLoad.length - headerSize);
-            byte[] headerByte = ByteUtils.copyOf(payLoad, headerSize);
             int chainId = NodeGroupManager.getInstance().getChainIdByMagicNum(header.getMagicNumber());
-            header.parse(headerByte, 0);
-            if (!validate(payLoadBody, header.getChecksum())) {
+            //消息体只复制一次 / the body is copied exactly once
+            byte[] payLoadBody = new byte[buf.readableBytes() - headerSize];
+            buf.getBytes(buf.readerIndex() + headerSize, payLoadBody);
+            if (!ChecksumUtil.verify(node.getChecksumVersion(), payLoadBody, header.getChecksum())) {
                 LoggerUtil.logger(chainId).error("validate  false ======================cmd:{}", header.getCommandStr());
                 return;
             }
             BaseMessage message = MessageManager.getInstance().getMessageInstance(header.getCommandStr());
-            byteBuffer.setCursor(0);
-            while (!byteBuffer.isFinished()) {
-                NetworkEventResult result = null;
-                if (null != message) {
-                    message = byteBuffer.readNulsData(message);
-                    BaseMeesageHandlerInf handler = MessageHandlerFactory.getInstance().getHandler(header.getCommandStr());
-                    result = handler.recieve(message, node);
-                } else {
-                    //外部消息，转外部接口
-                    OtherModuleMessageHandler handler = MessageHandlerFactory.getInstance().getOtherModuleHandler();
-                    result = handler.recieve(header, payLoadBody, node);
-                    byteBuffer.setCursor(payLoad.length);
+            if (null == message) {
+                //外部消息，转外部接口
+                OtherModuleMessageHandler handler = MessageHandlerFactory.getInstance().getOtherModuleHandler();
+                NetworkEventResult result = handler.recieve(header, payLoadBody, node);
+                if (!result.isSuccess()) {
+                    LoggerUtil.logger(chainId).error("receiveMessage deal fail:" + result.getErrorCode().getMsg());
                 }
+                return;
+            }
+            NulsByteBuffer byteBuffer = new NulsByteBuffer(ByteBufUtil.getBytes(buf));
+            while (!byteBuffer.isFinished()) {
+                message = byteBuffer.readNulsData(message);
+                BaseMeesageHandlerInf handler = MessageHandlerFactory.getInstance().getHandler(header.getCommandStr());
+                NetworkEventResult result = handler.recieve(message, node);
                 if (!result.isSuccess()) {
                     LoggerUtil.logger(chainId).error("receiveMessage deal fail:" + result.getErrorCode().getMsg());
                 }
@@ -261,15 +250,116 @@ public class MessageManager extends BaseManager {
         } else {
             connectNodes = nodeGroup.getLocalNetNodeContainer().getConnectedNodes().values();
         }
-        if (null != connectNodes && connectNodes.size() > 0) {
-            for (Node connectNode : connectNodes) {
-                if (null != excludeNode && connectNode.getId().equals(excludeNode.getId())) {
+        if (null == connectNodes || connectNodes.isEmpty()) {
+            return new NetworkEventResult(true, NetworkErrorCode.SUCCESS);
+        }
+        List<Node> nodes = new ArrayList<>(connectNodes.size());
+        for (Node connectNode : connectNodes) {
+            if (null != excludeNode && connectNode.getId().equals(excludeNode.getId())) {
+                continue;
+            }
+            if (!isHandShakeMessage(message) && NodeConnectStatusEnum.AVAILABLE != connectNode.getConnectStatus()) {
+                Log.error("============={} status is not handshake(AVAILABLE)", connectNode.getId());
+                continue;
+            }
+            nodes.add(connectNode);
+        }
+        if (nodes.isEmpty()) {
+            return new NetworkEventResult(true, NetworkErrorCode.SUCCESS);
+        }
+        if (!asyn) {
+            for (Node node : nodes) {
+                this.sendToNode(message, node, false);
+            }
+            return new NetworkEventResult(true, NetworkErrorCode.SUCCESS);
+        }
+        //只序列化一次(包括校验和)，所有节点共享同一块池化内存
+        //serialize once (checksum included), every peer shares the same pooled buffer
+        ByteBuf buf;
+        try {
+            buf = encode(message);
+        } catch (Exception e) {
+            LoggerUtil.COMMON_LOG.error(e);
+            return new NetworkEventResult(false, NetworkErrorCode.NET_MESSAGE_ERROR);
+        }
+        writeToNodes(buf, message.getHeader().getCommandStr(), nodes);
+        return new NetworkEventResult(true, NetworkErrorCode.SUCCESS);
+    }
+
+    /**
+     * 将消息头和消息体一次性编码到池化的ByteBuf中
+     * Encode header and body once into a pooled ByteBuf
+     *
+     * @param message message
+     * @return 引用计数为1的缓冲区，由调用方释放 / buffer with refCnt 1, released by the caller
+     * @throws IOException
+     */
+    ByteBuf encode(BaseMessage message) throws IOException {
+        MessageHeader header = message.getHeader();
+        header.setPayloadLength(message.getMsgBody().size());
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer(message.size());
+        try {
+            message.serializeTo(new ByteBufOutputStream(buf));
+        } catch (IOException | RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+        return buf;
+    }
+
+    /**
+     * 将共享缓冲区放入各节点的发送队列：每个节点一个retainedDuplicate，由发送队列按优先级写出并合并flush。
+     * 调用后buf的所有权转移给本方法。
+     * Queue a shared buffer to each peer's send queue: every node gets a retainedDuplicate and the send
+     * queue writes it out by priority with coalesced flushes. Takes ownership of buf.
+     *
+     * @param buf   完整的消息 / the complete message
+     * @param cmd   消息指令 / message command
+     * @param nodes 目标节点 / target nodes
+     */
+    private void writeToNodes(ByteBuf buf, String cmd, List<Node> nodes) {
+        //协商了CRC32C的节点共用同一个消息体，只替换消息头里的校验和 / CRC32C peers share the body, only the header checksum differs
+        List<Node> crcNodes = new ArrayList<>();
+        List<Node> shaNodes = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            if (node.getChecksumVersion() >= NetworkConstant.CHECKSUM_CRC32C) {
+                crcNodes.add(node);
+            } else {
+                shaNodes.add(node);
+            }
+        }
+        if (!crcNodes.isEmpty()) {
+            offerToNodes(withCrc32c(buf), cmd, crcNodes);
+        }
+        offerToNodes(buf, cmd, shaNodes);
+    }
+
+    /**
+     * 复用消息体，生成校验和为CRC32C的消息
+     * Build the CRC32C variant of a message, reusing its body
+     */
+    private ByteBuf withCrc32c(ByteBuf buf) {
+        int bodyIndex = buf.readerIndex() + MessageHeader.HEADER_LENGTH;
+        int bodyLength = buf.readableBytes() - MessageHeader.HEADER_LENGTH;
+        ByteBuf header = Unpooled.buffer(MessageHeader.HEADER_LENGTH);
+        header.writeBytes(buf, buf.readerIndex(), MessageHeader.HEADER_LENGTH - 4);
+        header.writeIntLE((int) ChecksumUtil.crc32c(buf.nioBuffer(bodyIndex, bodyLength)));
+        return Unpooled.wrappedBuffer(header, buf.retainedSlice(bodyIndex, bodyLength));
+    }
+
+    private void offerToNodes(ByteBuf buf, String cmd, List<Node> nodes) {
+        try {
+            for (Node node : nodes) {
+                Channel channel = node.getChannel();
+                if (channel == null || !channel.isActive()) {
+                    Log.info("broadcastToNodes node={} is not Active", node.getId());
                     continue;
                 }
-                this.sendToNode(message, connectNode, asyn);
+                node.getSendQueue().offer(buf.retainedDuplicate(), cmd);
             }
+        } finally {
+            buf.release();
         }
-        return new NetworkEventResult(true, NetworkErrorCode.SUCCESS);
     }
 
     public NetworkEventResult broadcastNewAddr(BaseMessage message, Node excludeNode, boolean isCross, boolean asyn) {
@@ -322,21 +412,7 @@ public class MessageManager extends BaseManager {
             BaseNulsData body = message.getMsgBody();
             header.setPayloadLength(body.size());
             if (asyn) {
-                node.getChannel().eventLoop().execute(() -> {
-                    Channel channel = node.getChannel();
-                    if (channel != null) {
-                        try {
-                            if (!channel.isWritable()) {
-                                LoggerUtil.COMMON_LOG.error("#### isWritable=false,send fail.node={},cmd={}", node.getId(), header.getCommandStr());
-
-                            }
-                            channel.writeAndFlush(Unpooled.wrappedBuffer(message.serialize()));
-                        } catch (IOException e) {
-                            LoggerUtil.COMMON_LOG.error(e);
-                        }
-                    }
-
-                });
+                node.getSendQueue().offer(Unpooled.wrappedBuffer(message.serialize()), header.getCommandStr());
             } else {
                 ChannelFuture future = node.getChannel().writeAndFlush(Unpooled.wrappedBuffer(message.serialize()));
                 future.await();
@@ -372,35 +448,22 @@ public class MessageManager extends BaseManager {
             }
             nodes = nodes.subList(0, toIndex);
         }
+        if (asyn) {
+            //RPC传入的消息已是完整字节，直接包装共享，不再复制 / bytes from RPC are already complete, wrap and share them
+            writeToNodes(Unpooled.wrappedBuffer(message), cmd, nodes);
+            return new NetworkEventResult(true, NetworkErrorCode.SUCCESS);
+        }
         for (Node node : nodes) {
             if (node.getChannel() == null || !node.getChannel().isActive()) {
                 Log.info("broadcastToNodes node={} is not Active", node.getId());
                 continue;
             }
             try {
-                if (asyn) {
-                    node.getChannel().eventLoop().execute(() -> {
-                        Channel channel = node.getChannel();
-                        if (channel != null) {
-                            if (!channel.isWritable()) {
-                                if (!MessageUtil.isLowerLeverCmd(cmd)) {
-                                    LoggerUtil.COMMON_LOG.debug("#### isWritable=false,node={},cmd={} add to cache", node.getId(), cmd);
-                                    node.getCacheSendMsgQueue().addLast(new PeerCacheMessage(message));
-                                } else {
-                                    LoggerUtil.COMMON_LOG.debug("#### isWritable=false,node={},cmd={} send to peer is drop", node.getId(), cmd);
-                                }
-                            } else {
-                                channel.writeAndFlush(Unpooled.wrappedBuffer(message));
-                            }
-                        }
-                    });
-                } else {
-                    ChannelFuture future = node.getChannel().writeAndFlush(Unpooled.wrappedBuffer(message));
-                    future.await();
-                    boolean success = future.isSuccess();
-                    if (!success) {
-                        return new NetworkEventResult(false, NetworkErrorCode.NET_BROADCAST_FAIL);
-                    }
+                ChannelFuture future = node.getChannel().writeAndFlush(Unpooled.wrappedBuffer(message));
+                future.await();
+                boolean success = future.isSuccess();
+                if (!success) {
+                    return new NetworkEventResult(false, NetworkErrorCode.NET_BROADCAST_FAIL);
                 }
             } catch (Exception e) {
                 Log.error(e);
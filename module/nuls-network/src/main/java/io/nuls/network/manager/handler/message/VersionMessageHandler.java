@@ -26,6 +26,7 @@
 package io.nuls.network.manager.handler.message;
 
 import io.nuls.core.core.ioc.SpringLiteContext;
+import io.nuls.network.cfg.NetworkConfig;
 import io.nuls.network.constant.NodeConnectStatusEnum;
 import io.nuls.network.constant.NodeStatusEnum;
 import io.nuls.network.manager.*;
@@ -42,6 +43,7 @@ import io.nuls.network.model.message.body.VersionMessageBody;
 import io.nuls.network.netty.container.NodesContainer;
 import io.nuls.network.rpc.call.BlockRpcService;
 import io.nuls.network.rpc.call.impl.BlockRpcServiceImpl;
+import io.nuls.network.utils.ChecksumUtil;
 import io.nuls.network.utils.LoggerUtil;
 
 import java.util.Map;
@@ -58,6 +60,7 @@ public class VersionMessageHandler extends BaseMessageHandler {
 
     private static VersionMessageHandler instance = new VersionMessageHandler();
     private NodeGroupManager nodeGroupManager = NodeGroupManager.getInstance();
+    private NetworkConfig networkConfig = SpringLiteContext.getBean(NetworkConfig.class);
 
     private VersionMessageHandler() {
 
@@ -180,6 +183,7 @@ public class VersionMessageHandler extends BaseMessageHandler {
         });
         //存储需要的信息,协议版本信息，远程跨链端口信息
         node.setVersionProtocolInfos(versionBody.getProtocolVersion(), versionBody.getBlockHeight(), versionBody.getBlockHash());
+        node.setChecksumVersion(ChecksumUtil.negotiate(networkConfig.getChecksumVersion(), versionBody.getExtend()));
         //回复version
         VersionMessage versionMessage = MessageFactory.getInstance().buildVersionMessage(node, message.getHeader().getMagicNumber());
         LoggerUtil.logger(nodeGroup.getChainId()).info("rec node={} ver msg success.go response versionMessage..cross={}", node.getId(), node.isCrossConnect());
@@ -202,6 +206,7 @@ public class VersionMessageHandler extends BaseMessageHandler {
 //       Log.debug("VersionMessageHandler Recieve:Client"+":"+node.getIp()+":"+node.getRemotePort()+"==CMD=" +message.getHeader().getCommandStr());
         //存储需要的信息
         node.setVersionProtocolInfos(versionBody.getProtocolVersion(), versionBody.getBlockHeight(), versionBody.getBlockHash());
+        node.setChecksumVersion(ChecksumUtil.negotiate(networkConfig.getChecksumVersion(), versionBody.getExtend()));
         node.setConnectStatus(NodeConnectStatusEnum.AVAILABLE);
         node.setFailCount(0);
         node.setConnectTime(TimeManager.currentTimeMillis());
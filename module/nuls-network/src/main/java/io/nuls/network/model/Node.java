@@ -29,14 +29,10 @@ import io.netty.channel.Channel;
 import io.nuls.network.constant.NetworkConstant;
 import io.nuls.network.manager.NodeGroupManager;
 import io.nuls.network.model.dto.Dto;
-import io.nuls.network.model.dto.PeerCacheMessage;
 import io.nuls.network.model.po.BasePo;
 import io.nuls.network.model.po.NodePo;
 import io.nuls.network.netty.listener.EventListener;
 
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
-
 /**
  * 一个peer节点可以同时为多条链使用，
  * 所以存在节点所属不同网络的状态维护
@@ -109,7 +105,17 @@ public class Node implements Dto {
     private EventListener connectedListener;
     private EventListener disconnectListener;
 
-    private BlockingDeque<PeerCacheMessage> cacheSendMsgQueue = new LinkedBlockingDeque<>(NetworkConstant.INIT_CACHE_MSG_QUEUE_NUMBER);
+    /**
+     * 与该节点协商的校验和版本
+     * checksum version negotiated with this peer
+     */
+    private volatile int checksumVersion = NetworkConstant.CHECKSUM_SHA256;
+
+    /**
+     * 按优先级排队的发送队列
+     * priority send queue of this peer
+     */
+    private final PeerSendQueue sendQueue = new PeerSendQueue(this);
 
     public Node(long magicNumber, String ip, int remotePort, int remoteCrossPort, int type, boolean isCrossConnect) {
         this(ip + NetworkConstant.COLON + remotePort, magicNumber, ip, remotePort, remoteCrossPort, type, isCrossConnect);
@@ -225,6 +231,14 @@ public class Node implements Dto {
         this.id = id;
     }
 
+    public int getChecksumVersion() {
+        return checksumVersion;
+    }
+
+    public void setChecksumVersion(int checksumVersion) {
+        this.checksumVersion = checksumVersion;
+    }
+
     public Channel getChannel() {
         return channel;
     }
@@ -352,12 +366,8 @@ public class Node implements Dto {
         this.hadShare = hadShare;
     }
 
-    public BlockingDeque<PeerCacheMessage> getCacheSendMsgQueue() {
-        return cacheSendMsgQueue;
-    }
-
-    public void setCacheSendMsgQueue(BlockingDeque<PeerCacheMessage> cacheSendMsgQueue) {
-        this.cacheSendMsgQueue = cacheSendMsgQueue;
+    public PeerSendQueue getSendQueue() {
+        return sendQueue;
     }
 
     @Override
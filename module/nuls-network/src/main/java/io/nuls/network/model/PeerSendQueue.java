@@ -0,0 +1,332 @@
+/*
+ * *
+ *  * MIT License
+ *  *
+ *  * Copyright (c) 2017-2019 nuls.io
+ *  *
+ *  * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ *  * in the Software without restriction, including without limitation the rights
+ *  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  * copies of the Software, and to permit persons to whom the Software is
+ *  * furnished to do so, subject to the following conditions:
+ *  *
+ *  * The above copyright notice and this permission notice shall be included in all
+ *  * copies or substantial portions of the Software.
+ *  *
+ *  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  * SOFTWARE.
+ */
+package io.nuls.network.model;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.Channel;
+import io.nuls.core.rpc.model.CmdPriority;
+import io.nuls.network.constant.NetworkConstant;
+import io.nuls.network.utils.LoggerUtil;
+import io.nuls.network.utils.MessageUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * peer发送队列：网络模块自身的HIGH消息优先写出，交易转发消息排在最后，其余消息(包括区块等请求/应答序列)
+ * 共用一个先进先出队列，保证应答顺序不被打乱。在channel所属的event loop上写出，每轮调度只flush一次；
+ * 小的交易转发消息合并为一次写入，积压时先丢弃交易转发消息。
+ * channel不可写时停止写出，可写后由channelWritabilityChanged重新调度，不再轮询。
+ * Per-peer send queue: the network module's HIGH messages go first and tx gossip goes last, every other
+ * message (including request/response sequences such as blocks followed by complete) shares one FIFO queue
+ * so replies keep their order. Written on the channel's event loop with one flush per drain; small gossip
+ * messages are coalesced into one write and are shed first under backlog.
+ * Writing stops while the channel is not writable and channelWritabilityChanged reschedules it, no polling.
+ */
+public class PeerSendQueue {
+    private static final CmdPriority[] PRIORITIES = {CmdPriority.HIGH, CmdPriority.DEFAULT, CmdPriority.LOWER};
+    private static final int HIGH = 0;
+    private static final int DEFAULT = 1;
+    private static final int LOWER = 2;
+
+    private final Node node;
+    private final Queue<Entry>[] queues;
+    private final ClassStats[] stats;
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    @SuppressWarnings("unchecked")
+    public PeerSendQueue(Node node) {
+        this.node = node;
+        this.queues = new Queue[PRIORITIES.length];
+        this.stats = new ClassStats[PRIORITIES.length];
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+            stats[i] = new ClassStats();
+        }
+    }
+
+    /**
+     * 只有交易转发消息进入LOWER队列，注册为LOWER的其他消息仍按先进先出与DEFAULT消息一起发送
+     * Only tx gossip goes to the LOWER queue, other commands registered as LOWER stay FIFO with DEFAULT ones
+     */
+    private static int indexOf(String cmd, CmdPriority priority) {
+        if (priority == CmdPriority.HIGH) {
+            return HIGH;
+        }
+        if (MessageUtil.isGossipCmd(cmd)) {
+            return LOWER;
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * 消息入队并调度发送，调用后buf的所有权转移给队列
+     * Queue a message and schedule a drain, takes ownership of buf
+     *
+     * @param buf 完整的消息 / the complete message
+     * @param cmd 消息指令 / message command
+     * @return 被丢弃时返回false / false if the message was dropped
+     */
+    public boolean offer(ByteBuf buf, String cmd) {
+        CmdPriority priority = MessageUtil.getCmdPriority(cmd);
+        int index = indexOf(cmd, priority);
+        Channel channel = node.getChannel();
+        if (channel == null || !channel.isActive()) {
+            drop(index, buf);
+            return false;
+        }
+        //网络缓冲区已满时低优先级消息直接丢弃 / low priority messages are dropped while the socket buffer is full
+        if (priority == CmdPriority.LOWER && !channel.isWritable()) {
+            LoggerUtil.COMMON_LOG.debug("#### isWritable=false,node={},cmd={} send to peer is drop", node.getId(), cmd);
+            drop(index, buf);
+            return false;
+        }
+        int size = buf.readableBytes();
+        if (!reserve(index, size)) {
+            LoggerUtil.COMMON_LOG.debug("#### send queue full,node={},cmd={} send to peer is drop", node.getId(), cmd);
+            drop(index, buf);
+            return false;
+        }
+        queues[index].offer(new Entry(buf, size, System.nanoTime()));
+        stats[index].depth.incrementAndGet();
+        stats[index].enqueued.incrementAndGet();
+        schedule();
+        return true;
+    }
+
+    /**
+     * 预留待发送字节，超限时先丢弃排队中的低优先级消息，高优先级消息始终接收
+     * Reserve pending bytes; beyond the limit queued low priority messages are shed first, high priority is always accepted
+     */
+    private boolean reserve(int index, int size) {
+        while (pendingBytes.get() + size > NetworkConstant.SEND_QUEUE_MAX_BYTES && index != LOWER) {
+            Entry shed = poll(LOWER);
+            if (shed == null) {
+                break;
+            }
+            drop(LOWER, shed.buf);
+        }
+        if (pendingBytes.get() + size > NetworkConstant.SEND_QUEUE_MAX_BYTES && index != HIGH) {
+            return false;
+        }
+        pendingBytes.addAndGet(size);
+        return true;
+    }
+
+    private Entry poll(int index) {
+        Entry entry = queues[index].poll();
+        if (entry != null) {
+            stats[index].depth.decrementAndGet();
+            pendingBytes.addAndGet(-entry.size);
+        }
+        return entry;
+    }
+
+    private void drop(int index, ByteBuf buf) {
+        stats[index].dropped.incrementAndGet();
+        buf.release();
+    }
+
+    /**
+     * 在channel的event loop上调度一次发送，已调度时忽略
+     * Schedule a drain on the channel's event loop, no-op if one is already pending
+     */
+    public void schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Channel channel = node.getChannel();
+        if (channel == null) {
+            scheduled.set(false);
+            return;
+        }
+        try {
+            channel.eventLoop().execute(this::drain);
+        } catch (Exception e) {
+            scheduled.set(false);
+            LoggerUtil.COMMON_LOG.error(e);
+            clear();
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        Channel channel = node.getChannel();
+        if (channel == null || !channel.isActive()) {
+            clear();
+            return;
+        }
+        int written = 0;
+        CompositeByteBuf batch = null;
+        long now = System.nanoTime();
+        while (written < NetworkConstant.SEND_QUEUE_DRAIN_MAX && channel.isWritable()) {
+            int index = nextIndex();
+            if (index < 0) {
+                break;
+            }
+            Entry entry = poll(index);
+            if (entry == null) {
+                continue;
+            }
+            long waitNanos = now - entry.enqueueNanos;
+            if (index != HIGH && waitNanos > TimeUnit.MILLISECONDS.toNanos(NetworkConstant.MAX_CACHE_MSG_CYCLE_MILL_TIME)) {
+                LoggerUtil.COMMON_LOG.error("nodeId={},wait={}ms,peer cache send fail,drop from cache", node.getId(), TimeUnit.NANOSECONDS.toMillis(waitNanos));
+                drop(index, entry.buf);
+                continue;
+            }
+            stats[index].sent(waitNanos);
+            written++;
+            if (index == LOWER && entry.size < NetworkConstant.SEND_COALESCE_MSG_SIZE) {
+                if (batch == null) {
+                    batch = channel.alloc().compositeBuffer(NetworkConstant.SEND_QUEUE_DRAIN_MAX);
+                }
+                batch.addComponent(true, entry.buf);
+                if (batch.readableBytes() >= NetworkConstant.SEND_COALESCE_MAX_BYTES) {
+                    channel.write(batch, channel.voidPromise());
+                    batch = null;
+                }
+                continue;
+            }
+            if (batch != null) {
+                channel.write(batch, channel.voidPromise());
+                batch = null;
+            }
+            channel.write(entry.buf, channel.voidPromise());
+        }
+        if (batch != null) {
+            channel.write(batch, channel.voidPromise());
+        }
+        if (written > 0) {
+            channel.flush();
+        }
+        //只因本轮写入上限而停止时继续调度，不可写时等待channelWritabilityChanged
+        //reschedule only when stopped by the per-drain limit, otherwise wait for channelWritabilityChanged
+        if (channel.isWritable() && nextIndex() >= 0) {
+            schedule();
+        }
+    }
+
+    private int nextIndex() {
+        for (int i = 0; i < queues.length; i++) {
+            if (!queues[i].isEmpty()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 连接断开时释放所有排队消息
+     * Release every queued message when the connection goes away
+     */
+    public void clear() {
+        for (int i = 0; i < queues.length; i++) {
+            Entry entry;
+            while ((entry = poll(i)) != null) {
+                drop(i, entry.buf);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ClassStats stat : stats) {
+            size += stat.depth.get();
+        }
+        return size;
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    /**
+     * 各优先级的队列深度、收发数量与排队延迟
+     * Queue depth, counters and queueing latency per priority class
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            map.put(PRIORITIES[i].name(), stats[i].toMap());
+        }
+        map.put("pendingBytes", pendingBytes.get());
+        return map;
+    }
+
+    private static class Entry {
+        final ByteBuf buf;
+        final int size;
+        final long enqueueNanos;
+
+        Entry(ByteBuf buf, int size, long enqueueNanos) {
+            this.buf = buf;
+            this.size = size;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+
+    private static class ClassStats {
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicLong enqueued = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        /**
+         * 只在event loop上更新 / only updated on the event loop
+         */
+        volatile long lastWaitNanos;
+        volatile long maxWaitNanos;
+
+        void sent(long waitNanos) {
+            sent.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            lastWaitNanos = waitNanos;
+            if (waitNanos > maxWaitNanos) {
+                maxWaitNanos = waitNanos;
+            }
+        }
+
+        Map<String, Object> toMap() {
+            long sentCount = sent.get();
+            Map<String, Object> map = new HashMap<>();
+            map.put("depth", depth.get());
+            map.put("enqueued", enqueued.get());
+            map.put("sent", sentCount);
+            map.put("dropped", dropped.get());
+            map.put("lastWaitMs", TimeUnit.NANOSECONDS.toMillis(lastWaitNanos));
+            map.put("maxWaitMs", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            map.put("avgWaitMs", sentCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / sentCount));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.nuls.network.model.dto;
+
+import io.nuls.core.rpc.info.Constants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 推送给订阅模块的peer消息，消息体保持原始字节
+ * A peer message pushed to a subscribing module, the body stays raw bytes
+ */
+public class PeerMessageFrame {
+    private final int chainId;
+    private final String nodeId;
+    private final String cmd;
+    private final byte[] messageBody;
+
+    public PeerMessageFrame(int chainId, String nodeId, String cmd, byte[] messageBody) {
+        this.chainId = chainId;
+        this.nodeId = nodeId;
+        this.cmd = cmd;
+        this.messageBody = messageBody;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>(4);
+        map.put(Constants.CHAIN_ID, chainId);
+        map.put("nodeId", nodeId);
+        map.put("cmd", cmd);
+        map.put("messageBody", messageBody);
+        return map;
+    }
+
+    public int getChainId() {
+        return chainId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getCmd() {
+        return cmd;
+    }
+
+    public byte[] getMessageBody() {
+        return messageBody;
+    }
+}
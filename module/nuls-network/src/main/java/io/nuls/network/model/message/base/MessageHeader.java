@@ -25,6 +25,7 @@
 package io.nuls.network.model.message.base;
 
 
+import io.netty.buffer.ByteBuf;
 import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.base.basic.NulsOutputStreamBuffer;
 import io.nuls.base.data.BaseNulsData;
@@ -41,6 +42,12 @@ import java.io.IOException;
  * @author lanjinsheng
  */
 public class MessageHeader extends BaseNulsData {
+    /**
+     * 消息头长度，校验和位于最后4字节
+     * header length, the checksum is the last 4 bytes
+     */
+    public static final int HEADER_LENGTH = 24;
+
     /**
      * 魔法参数，用于隔离网段
      * Magic parameters used in the isolation section.
@@ -138,6 +145,21 @@ public class MessageHeader extends BaseNulsData {
         }
     }
 
+    /**
+     * 直接从netty缓冲区的readerIndex处解析，不复制也不移动readerIndex
+     * Parse straight from a netty buffer at its readerIndex, without copying or moving the readerIndex
+     *
+     * @param buf 完整的消息帧 / the whole message frame
+     */
+    public void parseFrame(ByteBuf buf) {
+        int index = buf.readerIndex();
+        magicNumber = buf.getUnsignedIntLE(index);
+        payloadLength = buf.getUnsignedIntLE(index + 4);
+        buf.getBytes(index + 8, command);
+        checksum = buf.getUnsignedIntLE(index + 8 + command.length);
+        commandStr = null;
+    }
+
     @Override
     public int size() {
         int s = 0;
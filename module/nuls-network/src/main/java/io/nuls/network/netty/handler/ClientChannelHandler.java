@@ -30,10 +30,8 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
-import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.core.log.Log;
 import io.nuls.network.constant.NetworkConstant;
-import io.nuls.network.manager.MessageManager;
 import io.nuls.network.manager.handler.base.BaseChannelHandler;
 import io.nuls.network.model.Node;
 import io.nuls.network.utils.LoggerUtil;
@@ -82,6 +80,23 @@ public class ClientChannelHandler extends BaseChannelHandler {
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         super.channelInactive(ctx);
+        Node node = ctx.channel().attr(key).get();
+        if (node != null) {
+            node.getSendQueue().clear();
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        super.channelWritabilityChanged(ctx);
+        if (!ctx.channel().isWritable()) {
+            return;
+        }
+        //缓冲区回落到低水位，继续发送排队消息 / the buffer fell below the low water mark, resume the send queue
+        Node node = ctx.channel().attr(key).get();
+        if (node != null) {
+            node.getSendQueue().schedule();
+        }
     }
 
     @Override
@@ -90,15 +105,12 @@ public class ClientChannelHandler extends BaseChannelHandler {
         String remoteIP = socketChannel.remoteAddress().getHostString();
         int port = socketChannel.remoteAddress().getPort();
         ByteBuf buf = (ByteBuf) msg;
-        NulsByteBuffer byteBuffer = null;
-        Node node = null;
         try {
             Attribute<Node> nodeAttribute = ctx.channel().attr(key);
-            node = nodeAttribute.get();
+            Node node = nodeAttribute.get();
             if (node != null) {
-                byte[] bytes = new byte[buf.readableBytes()];
-                buf.readBytes(bytes);
-                byteBuffer = new NulsByteBuffer(bytes);
+                //不在IO线程复制和校验，交给入站工作线程 / no copy or checksum on the I/O thread, hand off to the inbound worker
+                InboundMessageExecutor.dispatch(ctx.channel(), buf.retain(), node);
             } else {
                 Log.error("-----------------client channelRead  node is null -----------------" + remoteIP + ":" + port);
                 ctx.channel().close();
@@ -106,10 +118,7 @@ public class ClientChannelHandler extends BaseChannelHandler {
         } catch (Exception e) {
             Log.error(e);
 //            throw e;
-        } finally {
-            buf.clear();
         }
-        MessageManager.getInstance().receiveMessage(byteBuffer, node);
     }
 
     @Override
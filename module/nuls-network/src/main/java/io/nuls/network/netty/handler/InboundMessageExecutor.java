@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.network.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.nuls.core.thread.commom.NulsThreadFactory;
+import io.nuls.network.constant.NetworkConstant;
+import io.nuls.network.manager.MessageManager;
+import io.nuls.network.model.Node;
+import io.nuls.network.utils.LoggerUtil;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 入站消息的校验与解析移出IO线程：每个连接固定绑定到一个工作线程以保持消息顺序；
+ * 单个连接的待处理消息超过高水位时暂停读取该连接，处理回落到低水位后恢复，工作队列因此有界。
+ * Checksum and parsing of inbound frames run off the I/O thread. Each connection is pinned to one worker so its
+ * frames keep their order. A connection whose pending frames exceed the high water mark stops being read until
+ * they drain to the low water mark, which keeps the worker queues bounded.
+ */
+public final class InboundMessageExecutor {
+
+    private static final EventExecutorGroup WORKERS = new DefaultEventExecutorGroup(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), new NulsThreadFactory("nw-inbound"));
+
+    private static final AttributeKey<EventExecutor> EXECUTOR = AttributeKey.valueOf("inbound-executor");
+    private static final AttributeKey<AtomicInteger> PENDING = AttributeKey.valueOf("inbound-pending");
+
+    private InboundMessageExecutor() {
+    }
+
+    /**
+     * 在IO线程调用，buf的所有权转移给本方法
+     * Called on the I/O thread, takes ownership of buf
+     */
+    public static void dispatch(Channel channel, ByteBuf buf, Node node) {
+        EventExecutor executor = channel.attr(EXECUTOR).get();
+        AtomicInteger pending = channel.attr(PENDING).get();
+        if (executor == null) {
+            //同一连接的事件都在同一个IO线程，无需同步 / events of one channel always come from the same I/O thread
+            executor = WORKERS.next();
+            pending = new AtomicInteger();
+            channel.attr(EXECUTOR).set(executor);
+            channel.attr(PENDING).set(pending);
+        }
+        if (pending.incrementAndGet() >= NetworkConstant.INBOUND_PENDING_HIGH_WATER) {
+            if (ReadGate.pause(channel, ReadGate.INBOUND_BACKLOG)) {
+                LoggerUtil.COMMON_LOG.debug("node={},inbound pending={},pause reading", node.getId(), pending.get());
+            }
+        }
+        AtomicInteger counter = pending;
+        try {
+            executor.execute(() -> {
+                try {
+                    MessageManager.getInstance().receiveMessage(buf, node);
+                } finally {
+                    buf.release();
+                    if (counter.decrementAndGet() <= NetworkConstant.INBOUND_PENDING_LOW_WATER) {
+                        ReadGate.resume(channel, ReadGate.INBOUND_BACKLOG);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            buf.release();
+            counter.decrementAndGet();
+            LoggerUtil.COMMON_LOG.error(e);
+        }
+    }
+}
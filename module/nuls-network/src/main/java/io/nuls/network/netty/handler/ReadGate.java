@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.network.netty.handler;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 连接读取开关：多个原因都可以暂停读取(autoRead=false)，全部解除后才恢复，避免一方恢复了另一方暂停的连接
+ * Read gate of a connection: several reasons may pause reading (autoRead=false) and reading only resumes once
+ * all of them are cleared, so one side never resumes a channel another side has paused
+ * <p>
+ * 原因可以是任意对象，例如每个订阅模块的推送队列各自作为一个原因
+ * A reason may be any object, e.g. each delivery queue of a subscribing module is a reason of its own
+ */
+public final class ReadGate {
+    /**
+     * 本连接入站消息积压 / inbound frames of this connection are backed up
+     */
+    public static final Object INBOUND_BACKLOG = "inbound-backlog";
+
+    private static final AttributeKey<Set<Object>> PAUSE_REASONS = AttributeKey.valueOf("read-pause-reasons");
+
+    private ReadGate() {
+    }
+
+    /**
+     * @return 本次调用是否新增了该原因 / whether this call added the reason
+     */
+    public static boolean pause(Channel channel, Object reason) {
+        Set<Object> reasons = reasons(channel);
+        synchronized (reasons) {
+            if (!reasons.add(reason)) {
+                return false;
+            }
+            channel.config().setAutoRead(false);
+            return true;
+        }
+    }
+
+    public static void resume(Channel channel, Object reason) {
+        Set<Object> reasons = reasons(channel);
+        synchronized (reasons) {
+            if (reasons.remove(reason) && reasons.isEmpty()) {
+                channel.config().setAutoRead(true);
+            }
+        }
+    }
+
+    private static Set<Object> reasons(Channel channel) {
+        Set<Object> reasons = channel.attr(PAUSE_REASONS).get();
+        if (reasons == null) {
+            Set<Object> created = new HashSet<>();
+            reasons = channel.attr(PAUSE_REASONS).setIfAbsent(created);
+            if (reasons == null) {
+                reasons = created;
+            }
+        }
+        return reasons;
+    }
+}
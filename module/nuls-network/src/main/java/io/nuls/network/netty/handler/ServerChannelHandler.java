@@ -31,11 +31,9 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
-import io.nuls.base.basic.NulsByteBuffer;
 import io.nuls.network.constant.NetworkConstant;
 import io.nuls.network.manager.BusinessGroupManager;
 import io.nuls.network.manager.ConnectionManager;
-import io.nuls.network.manager.MessageManager;
 import io.nuls.network.manager.handler.base.BaseChannelHandler;
 import io.nuls.network.model.Node;
 import io.nuls.network.utils.IpUtil;
@@ -78,6 +76,26 @@ public class ServerChannelHandler extends BaseChannelHandler {
         SocketChannel channel = (SocketChannel) ctx.channel();
         String nodeId = IpUtil.getNodeId(channel.remoteAddress());
         LoggerUtil.COMMON_LOG.info("Server Node is Inactive:{}", nodeId);
+        Attribute<Node> nodeAttribute = channel.attr(AttributeKey.valueOf("node-" + nodeId));
+        Node node = nodeAttribute.get();
+        if (node != null) {
+            node.getSendQueue().clear();
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        super.channelWritabilityChanged(ctx);
+        SocketChannel channel = (SocketChannel) ctx.channel();
+        if (!channel.isWritable()) {
+            return;
+        }
+        //缓冲区回落到低水位，继续发送排队消息 / the buffer fell below the low water mark, resume the send queue
+        Attribute<Node> nodeAttribute = channel.attr(AttributeKey.valueOf("node-" + IpUtil.getNodeId(channel.remoteAddress())));
+        Node node = nodeAttribute.get();
+        if (node != null) {
+            node.getSendQueue().schedule();
+        }
     }
 
     @Override
@@ -100,16 +118,13 @@ public class ServerChannelHandler extends BaseChannelHandler {
         SocketChannel channel = (SocketChannel) ctx.channel();
         ByteBuf buf = (ByteBuf) msg;
         String remoteIP = channel.remoteAddress().getHostString();
-        NulsByteBuffer byteBuffer = null;
-        Node node = null;
         try {
             String nodeId = IpUtil.getNodeId(channel.remoteAddress());
             Attribute<Node> nodeAttribute = channel.attr(AttributeKey.valueOf("node-" + nodeId));
-            node = nodeAttribute.get();
+            Node node = nodeAttribute.get();
             if (node != null) {
-                byte[] bytes = new byte[buf.readableBytes()];
-                buf.readBytes(bytes);
-                byteBuffer = new NulsByteBuffer(bytes);
+                //不在IO线程复制和校验，交给入站工作线程 / no copy or checksum on the I/O thread, hand off to the inbound worker
+                InboundMessageExecutor.dispatch(channel, buf.retain(), node);
             } else {
                 LoggerUtil.COMMON_LOG.error("-----------------Server channelRead  node is null -----------------" + remoteIP + ":" + channel.remoteAddress().getPort());
                 ctx.channel().close();
@@ -117,10 +132,7 @@ public class ServerChannelHandler extends BaseChannelHandler {
         } catch (Exception e) {
             LoggerUtil.COMMON_LOG.error(e);
 //            throw e;
-        } finally {
-            buf.clear();
         }
-        MessageManager.getInstance().receiveMessage(byteBuffer, node);
     }
 
     @Override
@@ -115,7 +115,8 @@ public class NetworkInfoRpc extends BaseCmd {
             responseType = @TypeDescriptor(value = List.class, collectionElement = Map.class, mapKeys = {
                     @Key(name = "peer", valueType = String.class, description = "peer节点ID"),
                     @Key(name = "blockHeight", valueType = Long.class, description = "节点高度"),
-                    @Key(name = "blockHash", valueType = String.class, description = "节点Hash")
+                    @Key(name = "blockHash", valueType = String.class, description = "节点Hash"),
+                    @Key(name = "sendQueue", valueType = Map.class, description = "发送队列各优先级(HIGH,DEFAULT,LOWER)的深度、发送、丢弃数量与排队延迟")
             })
     )
     public Response getNetworkNodeList(Map<String, Object> params) {
@@ -131,6 +132,7 @@ public class NetworkInfoRpc extends BaseCmd {
             data.put("peer", node.getId());
             data.put("blockHeight", node.getBlockHeight());
             data.put("blockHash", node.getBlockHash());
+            data.put("sendQueue", node.getSendQueue().getStats());
             res.add(data);
         }
         return success(res);
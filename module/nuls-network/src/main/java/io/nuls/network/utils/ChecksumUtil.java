@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.network.utils;
+
+import io.nuls.core.crypto.Sha256Hash;
+import io.nuls.core.model.StringUtils;
+import io.nuls.network.constant.NetworkConstant;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * 消息校验和：sha256(sha256(payload))前4字节为所有节点支持的默认算法；
+ * 双方在version消息extend字段中声明"checksum:版本"后，发送方可以改用CRC32C，接收方先按协商算法校验，失败再按sha256校验，
+ * 因此协商前后在途的消息都能通过。
+ * Message checksum: the first 4 bytes of sha256(sha256(payload)) is the default every node supports.
+ * Once both sides declare "checksum:version" in the extend field of the version message, senders may switch to
+ * CRC32C. Receivers check the negotiated algorithm first and fall back to sha256, so messages in flight around the
+ * handshake still pass.
+ */
+public class ChecksumUtil {
+
+    private static final ThreadLocal<CRC32C> CRC32C_LOCAL = ThreadLocal.withInitial(CRC32C::new);
+
+    public static long sha256(byte[] body) {
+        byte[] hash = Sha256Hash.hashTwice(body);
+        return ((hash[0] & 0xFFL) << 24) | ((hash[1] & 0xFFL) << 16) | ((hash[2] & 0xFFL) << 8) | (hash[3] & 0xFFL);
+    }
+
+    public static long crc32c(byte[] body) {
+        CRC32C crc = CRC32C_LOCAL.get();
+        crc.reset();
+        crc.update(body, 0, body.length);
+        return crc.getValue();
+    }
+
+    public static long crc32c(ByteBuffer body) {
+        CRC32C crc = CRC32C_LOCAL.get();
+        crc.reset();
+        crc.update(body);
+        return crc.getValue();
+    }
+
+    public static long checksum(int version, byte[] body) {
+        return version >= NetworkConstant.CHECKSUM_CRC32C ? crc32c(body) : sha256(body);
+    }
+
+    /**
+     * @param version  与发送方协商的版本 / version negotiated with the sender
+     * @param body     消息体 / message body
+     * @param checksum 消息头中的校验和 / checksum from the header
+     */
+    public static boolean verify(int version, byte[] body, long checksum) {
+        if (version >= NetworkConstant.CHECKSUM_CRC32C && crc32c(body) == checksum) {
+            return true;
+        }
+        return sha256(body) == checksum;
+    }
+
+    /**
+     * version消息extend字段中声明的校验和版本
+     * Checksum declaration for the extend field of the version message
+     */
+    public static String toExtend(int localVersion) {
+        return localVersion > NetworkConstant.CHECKSUM_SHA256 ? NetworkConstant.EXTEND_CHECKSUM_KEY + NetworkConstant.COLON + localVersion : "";
+    }
+
+    /**
+     * 取本地与对方声明版本中较低者，对方未声明时为sha256
+     * The lower of the local and the declared version, sha256 when the peer declares nothing
+     */
+    public static int negotiate(int localVersion, String extend) {
+        if (StringUtils.isBlank(extend)) {
+            return NetworkConstant.CHECKSUM_SHA256;
+        }
+        for (String item : extend.split(NetworkConstant.COMMA)) {
+            String[] kv = item.split(NetworkConstant.COLON);
+            if (kv.length == 2 && NetworkConstant.EXTEND_CHECKSUM_KEY.equals(kv[0].trim())) {
+                try {
+                    return Math.max(NetworkConstant.CHECKSUM_SHA256, Math.min(localVersion, Integer.parseInt(kv[1].trim())));
+                } catch (NumberFormatException e) {
+                    return NetworkConstant.CHECKSUM_SHA256;
+                }
+            }
+        }
+        return NetworkConstant.CHECKSUM_SHA256;
+    }
+}
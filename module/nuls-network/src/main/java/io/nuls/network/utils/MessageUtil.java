@@ -25,6 +25,7 @@
 package io.nuls.network.utils;
 
 import io.nuls.core.rpc.model.CmdPriority;
+import io.nuls.network.constant.NetworkConstant;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -46,12 +47,63 @@ public class MessageUtil {
         lowerLeverCmd.put("block", 1);
     }
 
+    /**
+     * 交易转发消息，发送队列只对这类消息做重排、合并与丢弃，其余消息保持先进先出
+     * tx gossip commands, the only ones the send queue may reorder, coalesce or shed; everything else stays FIFO
+     */
+    public static Map<String, Integer> gossipCmd = new HashMap<>();
+
+    static {
+        gossipCmd.put("newHash", 1);
+        gossipCmd.put("askTx", 1);
+        gossipCmd.put("receiveTx", 1);
+    }
+
     public static Map<String, Integer> highLeverCmd = new HashMap<>();
 
+    static {
+        //网络模块自身的握手、心跳与地址消息 / the network module's own handshake, heartbeat and address messages
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_VERSION, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_VERACK, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_ADDR, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_GET_ADDR, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_BYE, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_GET_TIME, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_RESPONSE_TIME, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_SEND_LOCAL_INFOS, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_PING, 1);
+        highLeverCmd.put(NetworkConstant.CMD_MESSAGE_PONG, 1);
+    }
+
     public static boolean isLowerLeverCmd(String cmd) {
         return (lowerLeverCmd.get(cmd) != null);
     }
 
+    public static boolean isGossipCmd(String cmd) {
+        return (gossipCmd.get(cmd) != null);
+    }
+
+    public static boolean isHighLeverCmd(String cmd) {
+        return (highLeverCmd.get(cmd) != null);
+    }
+
+    /**
+     * 消息发送优先级
+     * send priority of a message command
+     *
+     * @param cmd 消息指令 / message command
+     * @return CmdPriority
+     */
+    public static CmdPriority getCmdPriority(String cmd) {
+        if (isLowerLeverCmd(cmd)) {
+            return CmdPriority.LOWER;
+        }
+        if (isHighLeverCmd(cmd)) {
+            return CmdPriority.HIGH;
+        }
+        return CmdPriority.DEFAULT;
+    }
+
     public static void addCmdPriority(String cmd, CmdPriority cmdPriority) {
         switch (cmdPriority) {
             case HIGH:
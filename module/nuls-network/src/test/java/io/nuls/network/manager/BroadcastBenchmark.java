@@ -0,0 +1,113 @@
+package io.nuls.network.manager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.nuls.network.constant.NetworkConstant;
+import io.nuls.network.model.Node;
+import io.nuls.network.model.dto.IpAddressShare;
+import io.nuls.network.model.message.AddrMessage;
+import io.nuls.network.model.message.body.AddrMessageBody;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 广播基准测试，对比每个节点单独序列化与只序列化一次共享缓冲区
+ * Broadcast benchmarks, comparing a serialize() per peer with encoding once and sharing the buffer.
+ * 每个节点使用EmbeddedChannel，每次调用后取出并释放所有出站数据
+ * 运行 / run: main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BroadcastBenchmark {
+
+    private static final long MAGIC_NUMBER = 123456789L;
+
+    @Param({"1", "8", "32", "128"})
+    private int peerCount;
+
+    @Param({"500"})
+    private int addrCount;
+
+    private AddrMessage message;
+    private List<EmbeddedChannel> channels;
+    private List<Node> nodes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        AddrMessageBody body = new AddrMessageBody();
+        for (int i = 0; i < addrCount; i++) {
+            body.addAddr(new IpAddressShare("10.0." + (i / 250) + "." + (i % 250), 8001, 8002));
+        }
+        message = new AddrMessage(MAGIC_NUMBER, NetworkConstant.CMD_MESSAGE_ADDR, body);
+
+        channels = new ArrayList<>(peerCount);
+        nodes = new ArrayList<>(peerCount);
+        for (int i = 0; i < peerCount; i++) {
+            EmbeddedChannel channel = new EmbeddedChannel();
+            Node node = new Node(MAGIC_NUMBER, "10.1." + (i / 250) + "." + (i % 250), 8001, 8002, Node.OUT, false);
+            node.setChannel(channel);
+            channels.add(channel);
+            nodes.add(node);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (EmbeddedChannel channel : channels) {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    /**
+     * 旧方式：每个节点各自执行一次serialize()
+     * Previous behaviour: every peer runs its own serialize()
+     */
+    @Benchmark
+    public int serializePerPeer() throws IOException {
+        for (EmbeddedChannel channel : channels) {
+            channel.writeAndFlush(Unpooled.wrappedBuffer(message.serialize()));
+        }
+        return drain();
+    }
+
+    /**
+     * 现方式：只序列化一次，经发送队列把共享缓冲区写给所有节点
+     * Current behaviour: serialize once and hand the shared buffer to every peer through the send queue
+     */
+    @Benchmark
+    public int encodeOnce() throws IOException {
+        MessageManager.getInstance().broadcastToNodes(message.serialize(), NetworkConstant.CMD_MESSAGE_ADDR, nodes, true, NetworkConstant.FULL_BROADCAST_PERCENT);
+        return drain();
+    }
+
+    private int drain() {
+        int bytes = 0;
+        for (EmbeddedChannel channel : channels) {
+            channel.runPendingTasks();
+            ByteBuf out;
+            while ((out = channel.readOutbound()) != null) {
+                bytes += out.readableBytes();
+                out.release();
+            }
+        }
+        return bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(BroadcastBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
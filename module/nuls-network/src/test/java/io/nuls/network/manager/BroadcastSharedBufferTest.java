@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.nuls.network.manager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.nuls.network.constant.NetworkConstant;
+import io.nuls.network.model.Node;
+import io.nuls.network.model.dto.IpAddressShare;
+import io.nuls.network.model.message.AddrMessage;
+import io.nuls.network.model.message.body.AddrMessageBody;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 广播一次序列化共享缓冲区测试：每个节点收到的字节与单独序列化的结果一致
+ * Broadcast serializes once and shares the buffer: every peer receives the same bytes as a standalone encode
+ */
+public class BroadcastSharedBufferTest {
+
+    private static final long MAGIC_NUMBER = 123456789L;
+
+    private static AddrMessage buildMessage() {
+        AddrMessageBody body = new AddrMessageBody();
+        for (int i = 0; i < 500; i++) {
+            body.addAddr(new IpAddressShare("10.0." + (i / 250) + "." + (i % 250), 8001, 8002));
+        }
+        return new AddrMessage(MAGIC_NUMBER, NetworkConstant.CMD_MESSAGE_ADDR, body);
+    }
+
+    private static List<EmbeddedChannel> channels(int peers) {
+        List<EmbeddedChannel> channels = new ArrayList<>(peers);
+        for (int i = 0; i < peers; i++) {
+            channels.add(new EmbeddedChannel());
+        }
+        return channels;
+    }
+
+    @Test
+    public void everyPeerGetsTheSameBytes() throws Exception {
+        AddrMessage message = buildMessage();
+        ByteBuf buf = MessageManager.getInstance().encode(message);
+        byte[] expect = ByteBufUtil.getBytes(buf);
+        buf.release();
+        Assert.assertEquals(0, buf.refCnt());
+
+        List<EmbeddedChannel> channels = channels(5);
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < channels.size(); i++) {
+            Node node = new Node(MAGIC_NUMBER, "10.1.0." + i, 8001, 8002, Node.OUT, false);
+            node.setChannel(channels.get(i));
+            nodes.add(node);
+        }
+        MessageManager.getInstance().broadcastToNodes(expect, NetworkConstant.CMD_MESSAGE_ADDR, nodes, true, NetworkConstant.FULL_BROADCAST_PERCENT);
+        ByteBuf shared = null;
+        for (EmbeddedChannel channel : channels) {
+            channel.runPendingTasks();
+            ByteBuf out = channel.readOutbound();
+            Assert.assertArrayEquals(expect, ByteBufUtil.getBytes(out));
+            //所有节点共用同一块底层缓冲区 / all peers share one underlying buffer
+            if (null == shared) {
+                shared = out.unwrap();
+            }
+            Assert.assertSame(shared, out.unwrap());
+            out.release();
+            Assert.assertNull(channel.readOutbound());
+        }
+        //每个节点释放自己的引用后共享缓冲区被回收 / released once every peer dropped its reference
+        Assert.assertEquals(0, shared.refCnt());
+    }
+}
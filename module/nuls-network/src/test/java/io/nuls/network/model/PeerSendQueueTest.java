@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.network.model;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.nuls.network.constant.NetworkConstant;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * 发送队列按优先级写出，小的低优先级消息合并写入
+ * The send queue writes by priority and coalesces small low priority messages
+ */
+public class PeerSendQueueTest {
+
+    private static Node node(EmbeddedChannel channel) {
+        Node node = new Node(123456789L, "10.1.0.1", 8001, 8002, Node.OUT, false);
+        node.setChannel(channel);
+        return node;
+    }
+
+    private static ByteBuf msg(int value, int size) {
+        byte[] bytes = new byte[size];
+        bytes[0] = (byte) value;
+        return Unpooled.wrappedBuffer(bytes);
+    }
+
+    @Test
+    public void highPriorityIsWrittenFirst() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        PeerSendQueue queue = node(channel).getSendQueue();
+        queue.offer(msg(1, 100), "newHash");
+        queue.offer(msg(2, 100), "receiveTx");
+        queue.offer(msg(3, 2000), "vote");
+        queue.offer(msg(4, 100), NetworkConstant.CMD_MESSAGE_PING);
+        Assert.assertEquals(4, queue.size());
+        channel.runPendingTasks();
+
+        ByteBuf first = channel.readOutbound();
+        Assert.assertEquals(4, first.getByte(0));
+        first.release();
+        ByteBuf second = channel.readOutbound();
+        Assert.assertEquals(3, second.getByte(0));
+        second.release();
+        //两条交易转发消息合并为一次写入 / the two tx gossip messages are coalesced into one write
+        ByteBuf third = channel.readOutbound();
+        byte[] bytes = ByteBufUtil.getBytes(third);
+        third.release();
+        Assert.assertEquals(200, bytes.length);
+        Assert.assertEquals(1, bytes[0]);
+        Assert.assertEquals(2, bytes[100]);
+        Assert.assertNull(channel.readOutbound());
+        Assert.assertEquals(0, queue.size());
+        Assert.assertEquals(0, queue.getPendingBytes());
+
+        Map<String, Object> lower = (Map<String, Object>) queue.getStats().get("LOWER");
+        Assert.assertEquals(2L, lower.get("sent"));
+        Assert.assertEquals(0L, lower.get("dropped"));
+    }
+
+    @Test
+    public void responsesKeepTheirOrder() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        PeerSendQueue queue = node(channel).getSendQueue();
+        //区块应答注册为LOWER，结束标记为DEFAULT，二者仍按入队顺序写出 / blocks are LOWER, complete is DEFAULT, both keep queue order
+        queue.offer(msg(1, 100), "block");
+        queue.offer(msg(2, 100), "block");
+        queue.offer(msg(3, 100), "complete");
+        channel.runPendingTasks();
+
+        for (int i = 1; i <= 3; i++) {
+            ByteBuf out = channel.readOutbound();
+            Assert.assertEquals(100, out.readableBytes());
+            Assert.assertEquals(i, out.getByte(0));
+            out.release();
+        }
+        Assert.assertNull(channel.readOutbound());
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void lowPriorityIsShedFirst() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        PeerSendQueue queue = node(channel).getSendQueue();
+        int half = NetworkConstant.SEND_QUEUE_MAX_BYTES / 2;
+        ByteBuf low = msg(1, half);
+        Assert.assertTrue(queue.offer(low, "newHash"));
+        Assert.assertTrue(queue.offer(msg(2, half), "vote"));
+        //队列已满，新的普通消息挤掉排队中的低优先级消息 / the queue is full, the new message sheds the queued low priority one
+        Assert.assertTrue(queue.offer(msg(3, 100), "vote"));
+        Assert.assertEquals(0, low.refCnt());
+        Assert.assertFalse(queue.offer(msg(4, half), "vote"));
+        Map<String, Object> lower = (Map<String, Object>) queue.getStats().get("LOWER");
+        Assert.assertEquals(1L, lower.get("dropped"));
+
+        channel.close();
+        queue.clear();
+        Assert.assertEquals(0, queue.getPendingBytes());
+    }
+}
@@ -0,0 +1,34 @@
+package io.nuls.network.netty.handler;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 多个原因暂停同一连接时，只有全部解除后才恢复读取
+ */
+public class ReadGateTest {
+
+    @Test
+    public void resumeOnlyWhenAllReasonsCleared() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        Object roleA = new Object();
+        Object roleB = new Object();
+        assertTrue(ReadGate.pause(channel, roleA));
+        assertTrue(ReadGate.pause(channel, roleB));
+        assertFalse(ReadGate.pause(channel, roleA));
+        assertFalse(channel.config().isAutoRead());
+
+        ReadGate.resume(channel, roleA);
+        assertFalse(channel.config().isAutoRead());
+        ReadGate.resume(channel, roleA);
+        assertFalse(channel.config().isAutoRead());
+
+        ReadGate.pause(channel, ReadGate.INBOUND_BACKLOG);
+        ReadGate.resume(channel, roleB);
+        assertFalse(channel.config().isAutoRead());
+        ReadGate.resume(channel, ReadGate.INBOUND_BACKLOG);
+        assertTrue(channel.config().isAutoRead());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.network.utils;
+
+import io.nuls.core.crypto.Sha256Hash;
+import io.nuls.core.model.ByteUtils;
+import io.nuls.network.constant.NetworkConstant;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ */
+public class ChecksumUtilTest {
+
+    private static byte[] body(int size) {
+        byte[] body = new byte[size];
+        new Random(size).nextBytes(body);
+        return body;
+    }
+
+    @Test
+    public void sha256MatchesLegacyChecksum() {
+        for (int size : new int[]{1, 32, 1000, 100000}) {
+            byte[] body = body(size);
+            byte[] hash = Sha256Hash.hashTwice(body);
+            long legacy = ByteUtils.bytesToBigInteger(ByteUtils.subBytes(hash, 0, 4)).longValue();
+            Assert.assertEquals(legacy, ChecksumUtil.sha256(body));
+        }
+    }
+
+    @Test
+    public void verifyAcceptsBothAlgorithmsAfterNegotiation() {
+        byte[] body = body(4096);
+        long sha = ChecksumUtil.sha256(body);
+        long crc = ChecksumUtil.crc32c(body);
+        Assert.assertTrue(ChecksumUtil.verify(NetworkConstant.CHECKSUM_CRC32C, body, crc));
+        Assert.assertTrue(ChecksumUtil.verify(NetworkConstant.CHECKSUM_CRC32C, body, sha));
+        Assert.assertTrue(ChecksumUtil.verify(NetworkConstant.CHECKSUM_SHA256, body, sha));
+        Assert.assertFalse(ChecksumUtil.verify(NetworkConstant.CHECKSUM_SHA256, body, crc));
+        body[100] ^= 1;
+        Assert.assertFalse(ChecksumUtil.verify(NetworkConstant.CHECKSUM_CRC32C, body, crc));
+    }
+
+    @Test
+    public void negotiate() {
+        Assert.assertEquals(NetworkConstant.CHECKSUM_SHA256, ChecksumUtil.negotiate(1, ""));
+        Assert.assertEquals(NetworkConstant.CHECKSUM_SHA256, ChecksumUtil.negotiate(1, "foo:bar"));
+        Assert.assertEquals(NetworkConstant.CHECKSUM_SHA256, ChecksumUtil.negotiate(0, ChecksumUtil.toExtend(1)));
+        Assert.assertEquals(NetworkConstant.CHECKSUM_CRC32C, ChecksumUtil.negotiate(1, ChecksumUtil.toExtend(1)));
+        Assert.assertEquals(NetworkConstant.CHECKSUM_CRC32C, ChecksumUtil.negotiate(1, "x:1," + ChecksumUtil.toExtend(2)));
+    }
+}
@@ -20,6 +20,8 @@
 
 package io.nuls.api;
 
+import io.nuls.api.constant.ApiConstant;
+
 import java.math.BigInteger;
 import java.util.HashSet;
 import java.util.Set;
@@ -75,6 +77,14 @@ public class ApiContext {
 
     public static int connectTimeOut;
 
+    public static int syncBlockWindow = ApiConstant.SYNC_BLOCK_WINDOW;
+
+    public static int accountCacheSize = ApiConstant.ACCOUNT_CACHE_SIZE;
+
+    public static int ledgerCacheSize = ApiConstant.LEDGER_CACHE_SIZE;
+
+    public static int aliasCacheSize = ApiConstant.ALIAS_CACHE_SIZE;
+
     public static String mongoUser;
 
     public static String mongoPwd;
@@ -150,6 +150,18 @@ public class PublicServiceBootstrap extends RpcModule {
         ApiContext.socketTimeout = apiConfig.getSocketTimeout();
         ApiContext.mongoUser = apiConfig.getMongoUser();
         ApiContext.mongoPwd = apiConfig.getMongoPwd();
+        if (apiConfig.getSyncBlockWindow() > 0) {
+            ApiContext.syncBlockWindow = apiConfig.getSyncBlockWindow();
+        }
+        if (apiConfig.getAccountCacheSize() > 0) {
+            ApiContext.accountCacheSize = apiConfig.getAccountCacheSize();
+        }
+        if (apiConfig.getLedgerCacheSize() > 0) {
+            ApiContext.ledgerCacheSize = apiConfig.getLedgerCacheSize();
+        }
+        if (apiConfig.getAliasCacheSize() > 0) {
+            ApiContext.aliasCacheSize = apiConfig.getAliasCacheSize();
+        }
         ApiContext.blackHolePublicKey = Hex.decode(apiConfig.getBlackHolePublicKey());
         if (apiConfig.getDeveloperNodeAddress() != null) {
             ApiContext.DEVELOPER_NODE_ADDRESS = new HashSet(Arrays.asList(apiConfig.getDeveloperNodeAddress().split(",")));
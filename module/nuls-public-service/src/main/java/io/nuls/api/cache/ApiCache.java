@@ -1,8 +1,13 @@
 package io.nuls.api.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.nuls.api.ApiContext;
 import io.nuls.api.model.po.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,34 +26,45 @@ public class ApiCache {
 
     private BlockTimeInfo blockTimeInfo;
 
-    private Map<String, AccountInfo> accountMap = new ConcurrentHashMap<>();
+    /**
+     * 账户、账户资产、别名缓存按条目数限制大小，超出后淘汰最近最少使用的条目，未命中时由对应的Mongo服务回源加载
+     * Account, ledger and alias caches are bounded by entry count and evict the least recently used entries,
+     * misses are loaded through the Mongo services
+     */
+    private final Cache<String, AccountInfo> accountCache;
 
-    private Map<String, AccountLedgerInfo> ledgerMap = new ConcurrentHashMap<>();
+    private final Cache<String, AccountLedgerInfo> ledgerCache;
 
-    private Map<String, AgentInfo> agentMap = new ConcurrentHashMap<>();
+    private final Cache<String, AliasInfo> aliasCache;
 
-    private Map<String, AliasInfo> aliasMap = new ConcurrentHashMap<>();
+    /**
+     * 节点列表需要完整遍历，不做淘汰
+     */
+    private Map<String, AgentInfo> agentMap = new ConcurrentHashMap<>();
 
     private List<Nrc20Info> nrc20InfoList = new ArrayList<>();
 
     public ApiCache() {
         currentRound = new CurrentRound();
+        accountCache = CacheBuilder.newBuilder().maximumSize(ApiContext.accountCacheSize).recordStats().build();
+        ledgerCache = CacheBuilder.newBuilder().maximumSize(ApiContext.ledgerCacheSize).recordStats().build();
+        aliasCache = CacheBuilder.newBuilder().maximumSize(ApiContext.aliasCacheSize).recordStats().build();
     }
 
     public void addAccountInfo(AccountInfo accountInfo) {
-        accountMap.put(accountInfo.getAddress(), accountInfo);
+        accountCache.put(accountInfo.getAddress(), accountInfo);
     }
 
     public AccountInfo getAccountInfo(String address) {
-        return accountMap.get(address);
+        return accountCache.getIfPresent(address);
     }
 
     public AccountLedgerInfo getAccountLedgerInfo(String key) {
-        return ledgerMap.get(key);
+        return ledgerCache.getIfPresent(key);
     }
 
     public void addAccountLedgerInfo(AccountLedgerInfo ledgerInfo) {
-        ledgerMap.put(ledgerInfo.getKey(), ledgerInfo);
+        ledgerCache.put(ledgerInfo.getKey(), ledgerInfo);
     }
 
     public void addNrc20Info(Nrc20Info nrc20Info) {
@@ -68,12 +84,44 @@ public class ApiCache {
     }
 
     public void addAlias(AliasInfo aliasInfo) {
-        aliasMap.put(aliasInfo.getAddress(), aliasInfo);
-        aliasMap.put(aliasInfo.getAlias(), aliasInfo);
+        aliasCache.put(aliasInfo.getAddress(), aliasInfo);
+        aliasCache.put(aliasInfo.getAlias(), aliasInfo);
     }
 
     public AliasInfo getAlias(String key) {
-        return aliasMap.get(key);
+        return aliasCache.getIfPresent(key);
+    }
+
+    public void removeAlias(AliasInfo aliasInfo) {
+        aliasCache.invalidate(aliasInfo.getAddress());
+        aliasCache.invalidate(aliasInfo.getAlias());
+    }
+
+    /**
+     * 缓存命中、未命中、淘汰统计
+     * Hit, miss and eviction counters of the bounded caches
+     */
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("account", toStatsMap(accountCache, ApiContext.accountCacheSize));
+        map.put("ledger", toStatsMap(ledgerCache, ApiContext.ledgerCacheSize));
+        map.put("alias", toStatsMap(aliasCache, ApiContext.aliasCacheSize));
+        Map<String, Object> agentStats = new HashMap<>();
+        agentStats.put("size", agentMap.size());
+        map.put("agent", agentStats);
+        return map;
+    }
+
+    private static Map<String, Object> toStatsMap(Cache<String, ?> cache, int maxSize) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> map = new HashMap<>();
+        map.put("size", cache.size());
+        map.put("maxSize", maxSize);
+        map.put("hitCount", stats.hitCount());
+        map.put("missCount", stats.missCount());
+        map.put("hitRate", stats.hitRate());
+        map.put("evictionCount", stats.evictionCount());
+        return map;
     }
 
 
@@ -102,22 +150,6 @@ public class ApiCache {
         this.currentRound = currentRound;
     }
 
-    public Map<String, AccountInfo> getAccountMap() {
-        return accountMap;
-    }
-
-    public void setAccountMap(Map<String, AccountInfo> accountMap) {
-        this.accountMap = accountMap;
-    }
-
-    public Map<String, AccountLedgerInfo> getLedgerMap() {
-        return ledgerMap;
-    }
-
-    public void setLedgerMap(Map<String, AccountLedgerInfo> ledgerMap) {
-        this.ledgerMap = ledgerMap;
-    }
-
     public Map<String, AgentInfo> getAgentMap() {
         return agentMap;
     }
@@ -126,14 +158,6 @@ public class ApiCache {
         this.agentMap = agentMap;
     }
 
-    public Map<String, AliasInfo> getAliasMap() {
-        return aliasMap;
-    }
-
-    public void setAliasMap(Map<String, AliasInfo> aliasMap) {
-        this.aliasMap = aliasMap;
-    }
-
     public CoinContextInfo getCoinContextInfo() {
         return coinContextInfo;
     }
@@ -46,6 +46,22 @@ public interface ApiConstant {
 
     int INIT_CAPACITY_8 = 8;
 
+    /**
+     * 区块同步默认并行拉取窗口（区块数）
+     * Default number of blocks fetched in parallel while syncing
+     */
+    int SYNC_BLOCK_WINDOW = 16;
+
+    /**
+     * 账户、账户资产、别名缓存默认最大条目数
+     * Default max entries of the account, ledger and alias caches
+     */
+    int ACCOUNT_CACHE_SIZE = 50000;
+
+    int LEDGER_CACHE_SIZE = 100000;
+
+    int ALIAS_CACHE_SIZE = 20000;
+
     String DB_MODULE_CONFIG = "api-config";
 
     /**
@@ -76,6 +76,20 @@ public class ApiConfig implements ModuleConfig {
 
     private String mongoPwd;
 
+    /**
+     * 区块同步并行拉取窗口
+     */
+    private int syncBlockWindow;
+
+    /**
+     * 账户、账户资产、别名缓存最大条目数
+     */
+    private int accountCacheSize;
+
+    private int ledgerCacheSize;
+
+    private int aliasCacheSize;
+
     public String getEncoding() {
         return encoding;
     }
@@ -276,6 +290,38 @@ public class ApiConfig implements ModuleConfig {
         this.blackHolePublicKey = blackHolePublicKey;
     }
 
+    public int getSyncBlockWindow() {
+        return syncBlockWindow;
+    }
+
+    public void setSyncBlockWindow(int syncBlockWindow) {
+        this.syncBlockWindow = syncBlockWindow;
+    }
+
+    public int getAccountCacheSize() {
+        return accountCacheSize;
+    }
+
+    public void setAccountCacheSize(int accountCacheSize) {
+        this.accountCacheSize = accountCacheSize;
+    }
+
+    public int getLedgerCacheSize() {
+        return ledgerCacheSize;
+    }
+
+    public void setLedgerCacheSize(int ledgerCacheSize) {
+        this.ledgerCacheSize = ledgerCacheSize;
+    }
+
+    public int getAliasCacheSize() {
+        return aliasCacheSize;
+    }
+
+    public void setAliasCacheSize(int aliasCacheSize) {
+        this.aliasCacheSize = aliasCacheSize;
+    }
+
     public int getSocketTimeout() {
         return socketTimeout;
     }
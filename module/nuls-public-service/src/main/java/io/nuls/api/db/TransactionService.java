@@ -28,6 +28,12 @@ public interface TransactionService {
 
     void rollbackTx(int chainId, List<String> txHashList);
 
+    /**
+     * 删除高于指定高度的交易记录（批量预写入但区块未完成同步的交易）
+     * Delete tx records above the height (txs written ahead in a batch whose blocks were not finished)
+     */
+    void deleteTxsAboveHeight(int chainId, long height);
+
     void saveUnConfirmTx(int chainId, TransactionInfo tx, String txHex);
 
     void deleteUnConfirmTx(int chainId, String txHash);
@@ -1,6 +1,7 @@
 package io.nuls.api.db.mongo;
 
 import com.mongodb.client.model.*;
+import io.nuls.api.ApiContext;
 import io.nuls.api.cache.ApiCache;
 import io.nuls.api.constant.ApiConstant;
 import io.nuls.api.constant.DBTableConstant;
@@ -24,17 +25,17 @@ public class MongoAccountLedgerServiceImpl implements AccountLedgerService {
     @Autowired
     private MongoDBService mongoDBService;
 
-    private List<String> keyList = new LinkedList<>();
-
-    private static int cacheSize = 30000;
+    /**
+     * 启动时预加载的账户资产数
+     */
+    private static final int PRELOAD_SIZE = 30000;
 
     public void initCache() {
         for (ApiCache apiCache : CacheManager.getApiCaches().values()) {
-            List<Document> documentList = mongoDBService.pageQuery(DBTableConstant.ACCOUNT_LEDGER_TABLE + apiCache.getChainInfo().getChainId(), 0, cacheSize);
+            List<Document> documentList = mongoDBService.pageQuery(DBTableConstant.ACCOUNT_LEDGER_TABLE + apiCache.getChainInfo().getChainId(), 1, Math.min(PRELOAD_SIZE, ApiContext.ledgerCacheSize));
             for (Document document : documentList) {
                 AccountLedgerInfo ledgerInfo = DocumentTransferTool.toInfo(document, "key", AccountLedgerInfo.class);
                 apiCache.addAccountLedgerInfo(ledgerInfo);
-                keyList.add(ledgerInfo.getKey());
             }
         }
     }
@@ -48,12 +49,7 @@ public class MongoAccountLedgerServiceImpl implements AccountLedgerService {
                 return null;
             }
             accountLedgerInfo = DocumentTransferTool.toInfo(document, "key", AccountLedgerInfo.class);
-            while (keyList.size() >= cacheSize) {
-                key = keyList.remove(0);
-                apiCache.getLedgerMap().remove(key);
-            }
             apiCache.addAccountLedgerInfo(accountLedgerInfo);
-            keyList.add(accountLedgerInfo.getKey());
         }
         return accountLedgerInfo.copy();
     }
@@ -103,11 +99,10 @@ public class MongoAccountLedgerServiceImpl implements AccountLedgerService {
             mongoDBService.bulkWrite(DBTableConstant.ACCOUNT_LEDGER_TABLE + chainId, modelList, options);
         }
 
+        //写入数据库后更新缓存，超出容量时由缓存淘汰
         ApiCache apiCache = CacheManager.getCache(chainId);
         for (AccountLedgerInfo ledgerInfo : accountLedgerInfoMap.values()) {
-            if (apiCache.getLedgerMap().containsKey(ledgerInfo.getKey())) {
-                apiCache.addAccountLedgerInfo(ledgerInfo);
-            }
+            apiCache.addAccountLedgerInfo(ledgerInfo);
         }
     }
 
@@ -2,6 +2,7 @@ package io.nuls.api.db.mongo;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.client.model.*;
+import io.nuls.api.ApiContext;
 import io.nuls.api.cache.ApiCache;
 import io.nuls.api.constant.ApiConstant;
 import io.nuls.api.db.AccountService;
@@ -20,7 +21,6 @@ import org.bson.conversions.Bson;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -32,18 +32,18 @@ public class MongoAccountServiceImpl implements AccountService {
     @Autowired
     private MongoDBService mongoDBService;
 
-    private List<String> addressList = new LinkedList<>();
-
-    public static int cacheSize = 5000;
+    /**
+     * 启动时预加载的账户数
+     */
+    private static final int PRELOAD_SIZE = 5000;
 
     public void initCache() {
         for (ApiCache apiCache : CacheManager.getApiCaches().values()) {
-            List<Document> documentList = mongoDBService.pageQuery(ACCOUNT_TABLE + apiCache.getChainInfo().getChainId(), 0, cacheSize);
+            List<Document> documentList = mongoDBService.pageQuery(ACCOUNT_TABLE + apiCache.getChainInfo().getChainId(), 1, Math.min(PRELOAD_SIZE, ApiContext.accountCacheSize));
             for (int i = 0; i < documentList.size(); i++) {
                 Document document = documentList.get(i);
                 AccountInfo accountInfo = DocumentTransferTool.toInfo(document, "address", AccountInfo.class);
                 apiCache.addAccountInfo(accountInfo);
-                addressList.add(accountInfo.getAddress());
             }
         }
     }
@@ -60,12 +60,7 @@ public class MongoAccountServiceImpl implements AccountService {
                 return null;
             }
             accountInfo = DocumentTransferTool.toInfo(document, "address", AccountInfo.class);
-            while (addressList.size() >= cacheSize) {
-                address = addressList.remove(0);
-                apiCache.getAccountMap().remove(address);
-            }
             apiCache.addAccountInfo(accountInfo);
-            addressList.add(accountInfo.getAddress());
         }
         return accountInfo.copy();
     }
@@ -100,19 +95,10 @@ public class MongoAccountServiceImpl implements AccountService {
             mongoDBService.bulkWrite(ACCOUNT_TABLE + chainId, modelList, options);
         }
 
+        //写入数据库后更新缓存，同步中活跃的账户留在缓存中，超出容量时由缓存淘汰
         ApiCache apiCache = CacheManager.getCache(chainId);
         for (AccountInfo accountInfo : accountInfoMap.values()) {
-            if (apiCache.getAccountMap().containsKey(accountInfo.getAddress())) {
-                apiCache.addAccountInfo(accountInfo);
-            }
-//            else {
-//                while (addressList.size() >= cacheSize) {
-//                    String address = addressList.remove(0);
-//                    apiCache.getAccountMap().remove(address);
-//                }
-//                apiCache.addAccountInfo(accountInfo);
-//                addressList.add(accountInfo.getAddress());
-//            }
+            apiCache.addAccountInfo(accountInfo);
         }
     }
 
@@ -2,6 +2,7 @@ package io.nuls.api.db.mongo;
 
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.InsertManyOptions;
+import io.nuls.api.ApiContext;
 import io.nuls.api.cache.ApiCache;
 import io.nuls.api.db.AliasService;
 import io.nuls.api.manager.CacheManager;
@@ -25,7 +26,8 @@ public class MongoAliasServiceImpl implements AliasService {
 
     public void initCache() {
         for (ApiCache apiCache : CacheManager.getApiCaches().values()) {
-            List<Document> documentList = mongoDBService.query(ALIAS_TABLE + apiCache.getChainInfo().getChainId());
+            //每个别名占用地址和别名两个缓存条目
+            List<Document> documentList = mongoDBService.pageQuery(ALIAS_TABLE + apiCache.getChainInfo().getChainId(), 1, ApiContext.aliasCacheSize / 2);
             for (Document document : documentList) {
                 AliasInfo aliasInfo = DocumentTransferTool.toInfo(document, "address", AliasInfo.class);
                 apiCache.addAlias(aliasInfo);
@@ -87,8 +89,7 @@ public class MongoAliasServiceImpl implements AliasService {
         List<String> list = new ArrayList<>();
         for (AliasInfo aliasInfo : aliasInfoList) {
             list.add(aliasInfo.getAddress());
-            apiCache.getAliasMap().remove(aliasInfo.getAddress());
-            apiCache.getAliasMap().remove(aliasInfo.getAlias());
+            apiCache.removeAlias(aliasInfo);
         }
         mongoDBService.delete(ALIAS_TABLE + chainId, Filters.in("_id", list));
     }
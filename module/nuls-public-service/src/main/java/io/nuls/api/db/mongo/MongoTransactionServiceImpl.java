@@ -87,6 +87,7 @@ public class MongoTransactionServiceImpl implements TransactionService, Initiali
     }
 
     //tx_table只存储最近100万条数据
+    //同步时txList可包含多个连续区块的交易，按1000条一批写入
     public void saveTxList(int chainId, List<TransactionInfo> txList) {
         if (txList.isEmpty()) {
             return;
@@ -346,6 +347,11 @@ public class MongoTransactionServiceImpl implements TransactionService, Initiali
         mongoDBService.delete(TX_TABLE + chainId, Filters.in("_id", txHashList));
     }
 
+    @Override
+    public void deleteTxsAboveHeight(int chainId, long height) {
+        mongoDBService.delete(TX_TABLE + chainId, Filters.gt("height", height));
+    }
+
     @Override
     public void saveUnConfirmTx(int chainId, TransactionInfo tx, String txHex) {
         Set<TxRelationInfo> txRelationInfoSet = new HashSet<>();
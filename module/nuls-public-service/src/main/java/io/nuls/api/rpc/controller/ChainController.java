@@ -88,6 +88,24 @@ public class ChainController {
 
     }
 
+    /**
+     * 查询账户、账户资产、别名等内存缓存的大小与命中、未命中、淘汰统计
+     */
+    @RpcMethod("getCacheStats")
+    public RpcResult getCacheStats(List<Object> params) {
+        VerifyUtils.verifyParams(params, 1);
+        int chainId;
+        try {
+            chainId = (int) params.get(0);
+        } catch (Exception e) {
+            return RpcResult.paramError("[chainId] is invalid");
+        }
+        if (!CacheManager.isChainExist(chainId)) {
+            return RpcResult.dataNotFound();
+        }
+        return RpcResult.success(CacheManager.getCache(chainId).getCacheStats());
+    }
+
     @RpcMethod("getInfo")
     public RpcResult getInfo(List<Object> params) {
         VerifyUtils.verifyParams(params, 1);
@@ -8,7 +8,6 @@ import io.nuls.api.constant.ApiErrorCode;
 import io.nuls.api.constant.DepositFixedType;
 import io.nuls.api.constant.DepositInfoType;
 import io.nuls.api.db.*;
-import io.nuls.api.db.mongo.MongoAccountServiceImpl;
 import io.nuls.api.manager.CacheManager;
 import io.nuls.api.model.po.*;
 import io.nuls.api.model.po.mini.CancelDepositInfo;
@@ -134,6 +133,43 @@ public class SyncService {
 
 
     public boolean syncNewBlock(int chainId, BlockInfo blockInfo) {
+        return syncNewBlock(chainId, blockInfo, true);
+    }
+
+    /**
+     * 按高度顺序同步多个连续区块，所有区块的交易记录合并为批量写入，其余数据仍逐块保存并记录同步步骤，
+     * 中断后按原有方式回滚最新的未完成区块
+     * Sync consecutive blocks in height order. The tx records of all blocks are written as one bulk operation,
+     * everything else is still saved block by block with its sync steps, so an interrupted sync rolls back
+     * the newest unfinished block as before.
+     *
+     * @param blockList 已通过连续性验证、按高度升序排列的区块
+     */
+    public boolean syncNewBlocks(int chainId, List<BlockInfo> blockList) {
+        if (blockList.size() == 1) {
+            return syncNewBlock(chainId, blockList.get(0), true);
+        }
+        List<TransactionInfo> txList = new ArrayList<>();
+        for (BlockInfo blockInfo : blockList) {
+            txList.addAll(blockInfo.getTxList());
+        }
+        txService.saveTxList(chainId, txList);
+        for (BlockInfo blockInfo : blockList) {
+            syncNewBlock(chainId, blockInfo, false);
+        }
+        return true;
+    }
+
+    /**
+     * 删除批量预写入但区块未完成同步的交易记录
+     * Delete tx records written ahead for blocks that were not finished
+     */
+    public void clearUnfinishedTxs(int chainId) {
+        BlockHeaderInfo bestHeader = getBestBlockHeader(chainId);
+        txService.deleteTxsAboveHeight(chainId, bestHeader == null ? -1 : bestHeader.getHeight());
+    }
+
+    private boolean syncNewBlock(int chainId, BlockInfo blockInfo, boolean saveTx) {
         clear(chainId);
         long time1, time2;
         time1 = System.currentTimeMillis();
@@ -145,7 +181,7 @@ public class SyncService {
         //处理轮次
 //        roundManager.process(chainId, blockInfo);
         //保存数据
-        save(chainId, blockInfo);
+        save(chainId, blockInfo, saveTx);
 
         ApiCache apiCache = CacheManager.getCache(chainId);
         apiCache.setBestHeader(blockInfo.getHeader());
@@ -1020,6 +1056,10 @@ public class SyncService {
      */
     public void
     save(int chainId, BlockInfo blockInfo) {
+        save(chainId, blockInfo, true);
+    }
+
+    private void save(int chainId, BlockInfo blockInfo, boolean saveTx) {
         long height = blockInfo.getHeader().getHeight();
 
         long time1, time2;
@@ -1041,8 +1081,10 @@ public class SyncService {
 //        time2 = System.currentTimeMillis();
 //        System.out.println("-----------saveBlockHexInfo, use: " + (time2 - time1) );
 //        time1 = System.currentTimeMillis();
-        //存储交易记录
-        txService.saveTxList(chainId, blockInfo.getTxList());
+        //存储交易记录，批量同步时已预先写入
+        if (saveTx) {
+            txService.saveTxList(chainId, blockInfo.getTxList());
+        }
 //        time2 = System.currentTimeMillis();
 //        System.out.println("-----------saveTxList, use: " + (time2 - time1) );
 //        time1 = System.currentTimeMillis();
@@ -1252,18 +1294,5 @@ public class SyncService {
         accountTokenMap.clear();
         tokenTransferList.clear();
         chainInfoList.clear();
-
-        ApiCache apiCache = CacheManager.getCache(chainId);
-        if (apiCache.getAccountMap().size() > MongoAccountServiceImpl.cacheSize * 2) {
-            Set<String> keySet = apiCache.getAccountMap().keySet();
-            int i = 0;
-            for (String key : keySet) {
-                apiCache.getAccountMap().remove(key);
-                i++;
-                if (i >= MongoAccountServiceImpl.cacheSize) {
-                    break;
-                }
-            }
-        }
     }
 }
@@ -11,6 +11,13 @@ import io.nuls.api.utils.LoggerUtil;
 import io.nuls.core.basic.Result;
 import io.nuls.core.core.ioc.SpringLiteContext;
 import io.nuls.core.log.Log;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 public class SyncBlockTask implements Runnable {
 
@@ -20,10 +27,24 @@ public class SyncBlockTask implements Runnable {
 
     private RollbackService rollbackService;
 
+    /**
+     * 并行拉取窗口：每次最多同时拉取并解析的区块数
+     * Number of blocks fetched and decoded in parallel per round trip
+     */
+    private final int window;
+
+    private final ThreadPoolExecutor fetchExecutor;
+
     public SyncBlockTask(int chainId) {
+        this(chainId, SpringLiteContext.getBean(SyncService.class), SpringLiteContext.getBean(RollbackService.class), ApiContext.syncBlockWindow);
+    }
+
+    SyncBlockTask(int chainId, SyncService syncService, RollbackService rollbackService, int window) {
         this.chainId = chainId;
-        syncService = SpringLiteContext.getBean(SyncService.class);
-        rollbackService = SpringLiteContext.getBean(RollbackService.class);
+        this.syncService = syncService;
+        this.rollbackService = rollbackService;
+        this.window = Math.max(1, window);
+        fetchExecutor = ThreadUtils.createThreadPool(this.window, this.window, new NulsThreadFactory("sync-block-fetch-" + chainId));
     }
 
     @Override
@@ -40,6 +61,8 @@ public class SyncBlockTask implements Runnable {
             if (syncInfo != null && !syncInfo.isFinish()) {
                 rollbackService.rollbackBlock(chainId, syncInfo.getBestHeight());
             }
+            //批量同步中断时，后续区块的交易可能已提前写入
+            syncService.clearUnfinishedTxs(chainId);
         } catch (Exception e) {
             Log.error(e);
             return;
@@ -67,6 +90,7 @@ public class SyncBlockTask implements Runnable {
      * 2. 根据本地最新块的高度，去同步钱包的下一个块（本地没有则从第0块开始）
      * 3. 同步到最新块后，任务结束，等待下个10秒，重新同步
      * 4. 每次同步都需要和上一块做连续性验证，如果验证失败，说明本地分叉，需要做回滚处理
+     * 5. 每次并行拉取并解析一个窗口内的多个区块，验证连续后按高度顺序写入
      *
      * @return boolean 是否还继续同步
      */
@@ -85,23 +109,75 @@ public class SyncBlockTask implements Runnable {
         if (localBestBlockHeader != null) {
             nextHeight = localBestBlockHeader.getHeight() + 1;
         }
-        Result<BlockInfo> result = WalletRpcHandler.getBlockInfo(chainId, nextHeight);
-        if (result.isFailed()) {
+        List<BlockInfo> blockList = fetchBlocks(nextHeight);
+        if (blockList == null) {
             return false;
         }
-        BlockInfo newBlock = result.getData();
-        if (null == newBlock) {
+        if (blockList.isEmpty()) {
             Thread.sleep(5000L);
             return false;
         }
-        if (checkBlockContinuity(localBestBlockHeader, newBlock.getHeader())) {
-            return syncService.syncNewBlock(chainId, newBlock);
+        //窗口内的区块依次与前一块做连续性验证，只写入连续的部分，不连续的区块在下一次同步时重新验证
+        BlockHeaderInfo preHeader = localBestBlockHeader;
+        int continuousCount = 0;
+        for (BlockInfo blockInfo : blockList) {
+            if (!checkBlockContinuity(preHeader, blockInfo.getHeader())) {
+                break;
+            }
+            preHeader = blockInfo.getHeader();
+            continuousCount++;
+        }
+        if (continuousCount > 0) {
+            return syncService.syncNewBlocks(chainId, blockList.subList(0, continuousCount));
         } else if (localBestBlockHeader != null) {
             return rollbackService.rollbackBlock(chainId, localBestBlockHeader.getHeight());
         }
         return false;
     }
 
+    /**
+     * 并行拉取并解析从指定高度开始的多个区块，返回按高度排列的连续结果，遇到不存在的区块即截止
+     * Fetch and decode blocks from the height in parallel, the result is cut at the first missing block
+     *
+     * @return 第一个区块拉取失败时返回null / null if the first block failed
+     */
+    private List<BlockInfo> fetchBlocks(long startHeight) throws Exception {
+        int count = window;
+        if (ApiContext.localHeight >= startHeight) {
+            count = (int) Math.min(count, ApiContext.localHeight - startHeight + 1);
+        } else {
+            count = 1;
+        }
+        List<Future<Result<BlockInfo>>> futureList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long height = startHeight + i;
+            futureList.add(fetchExecutor.submit(() -> getBlockInfo(height)));
+        }
+        List<BlockInfo> blockList = new ArrayList<>(count);
+        for (Future<Result<BlockInfo>> future : futureList) {
+            Result<BlockInfo> result = future.get();
+            if (result.isFailed()) {
+                if (blockList.isEmpty()) {
+                    return null;
+                }
+                break;
+            }
+            if (null == result.getData()) {
+                break;
+            }
+            blockList.add(result.getData());
+        }
+        return blockList;
+    }
+
+    /**
+     * 从区块模块拉取并解析指定高度的区块
+     * Fetch and decode the block at the height from the block module
+     */
+    Result<BlockInfo> getBlockInfo(long height) {
+        return WalletRpcHandler.getBlockInfo(chainId, height);
+    }
+
     /**
      * 区块连续性验证
      * Block continuity verification
@@ -0,0 +1,165 @@
+package io.nuls.api.task;
+
+import io.nuls.api.ApiContext;
+import io.nuls.api.model.po.BlockHeaderInfo;
+import io.nuls.api.model.po.BlockInfo;
+import io.nuls.api.model.po.SyncInfo;
+import io.nuls.api.service.RollbackService;
+import io.nuls.api.service.SyncService;
+import io.nuls.core.basic.Result;
+import io.nuls.core.constant.CommonCodeConstanst;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 并行窗口同步：只写入连续的前缀，第一个区块不连续时回滚，批量中断后清理预写入的交易
+ * Windowed sync: only the continuous prefix is applied, a break at the first block rolls back,
+ * and txs written ahead are cleared after an interrupted batch
+ */
+public class SyncBlockTaskTest {
+
+    private static final int CHAIN_ID = 2;
+
+    private boolean isReady;
+    private long localHeight;
+
+    /**
+     * 本地已同步的最新区块 / best block synced locally
+     */
+    private BlockHeaderInfo best;
+    private SyncInfo syncInfo;
+    private final Map<Long, Result<BlockInfo>> source = new HashMap<>();
+    private final List<String> calls = new ArrayList<>();
+    private final List<Long> synced = new ArrayList<>();
+
+    private final SyncService syncService = new SyncService() {
+        @Override
+        public SyncInfo getSyncInfo(int chainId) {
+            return syncInfo;
+        }
+
+        @Override
+        public BlockHeaderInfo getBestBlockHeader(int chainId) {
+            return best;
+        }
+
+        @Override
+        public boolean syncNewBlocks(int chainId, List<BlockInfo> blockList) {
+            calls.add("sync");
+            for (BlockInfo blockInfo : blockList) {
+                synced.add(blockInfo.getHeader().getHeight());
+            }
+            return false;
+        }
+
+        @Override
+        public void clearUnfinishedTxs(int chainId) {
+            calls.add("clear:" + (best == null ? -1 : best.getHeight()));
+        }
+    };
+
+    private final RollbackService rollbackService = new RollbackService() {
+        @Override
+        public boolean rollbackBlock(int chainId, long blockHeight) {
+            calls.add("rollback:" + blockHeight);
+            best = header(blockHeight - 1, "h" + (blockHeight - 1), "h" + (blockHeight - 2));
+            return false;
+        }
+    };
+
+    @Before
+    public void before() {
+        isReady = ApiContext.isReady;
+        localHeight = ApiContext.localHeight;
+        ApiContext.isReady = true;
+        ApiContext.localHeight = 20;
+        best = header(4, "h4", "h3");
+        for (long height = 5; height <= 20; height++) {
+            source.put(height, block(height, "h" + (height - 1)));
+        }
+    }
+
+    @After
+    public void after() {
+        ApiContext.isReady = isReady;
+        ApiContext.localHeight = localHeight;
+    }
+
+    private static BlockHeaderInfo header(long height, String hash, String preHash) {
+        BlockHeaderInfo header = new BlockHeaderInfo();
+        header.setHeight(height);
+        header.setHash(hash);
+        header.setPreHash(preHash);
+        return header;
+    }
+
+    private static Result<BlockInfo> block(long height, String preHash) {
+        BlockInfo blockInfo = new BlockInfo();
+        blockInfo.setHeader(header(height, "h" + height, preHash));
+        blockInfo.setTxList(new ArrayList<>());
+        return Result.getSuccess(blockInfo);
+    }
+
+    private void runTask() {
+        new SyncBlockTask(CHAIN_ID, syncService, rollbackService, 4) {
+            @Override
+            Result<BlockInfo> getBlockInfo(long height) {
+                Result<BlockInfo> result = source.get(height);
+                return result == null ? Result.getFailed(CommonCodeConstanst.DATA_NOT_FOUND) : result;
+            }
+        }.run();
+    }
+
+    @Test
+    public void fullWindowIsApplied() {
+        runTask();
+        Assert.assertEquals(Arrays.asList("clear:4", "sync"), calls);
+        Assert.assertEquals(Arrays.asList(5L, 6L, 7L, 8L), synced);
+    }
+
+    @Test
+    public void gapInsideWindowCutsTheBatch() {
+        //区块模块还没有7号块 / the block module does not have height 7 yet
+        source.put(7L, Result.getSuccess(null));
+        runTask();
+        Assert.assertEquals(Arrays.asList("clear:4", "sync"), calls);
+        Assert.assertEquals(Arrays.asList(5L, 6L), synced);
+    }
+
+    @Test
+    public void hashBreakAppliesOnlyThePrefix() {
+        //7号块的父hash与6号块不符，只写入5、6 / height 7 does not link to 6, only 5 and 6 are applied
+        source.put(7L, block(7, "fork"));
+        runTask();
+        Assert.assertEquals(Arrays.asList("clear:4", "sync"), calls);
+        Assert.assertEquals(Arrays.asList(5L, 6L), synced);
+    }
+
+    @Test
+    public void breakAtFirstBlockRollsBack() {
+        source.put(5L, block(5, "fork"));
+        runTask();
+        Assert.assertEquals(Arrays.asList("clear:4", "rollback:4"), calls);
+        Assert.assertTrue(synced.isEmpty());
+    }
+
+    @Test
+    public void interruptedBatchIsRolledBackThenCleared() {
+        //6号块只完成了部分同步步骤，7、8号块的交易已在批量中预先写入
+        //height 6 stopped halfway, the txs of 7 and 8 were already written by the batch
+        best = header(6, "h6", "h5");
+        syncInfo = new SyncInfo(CHAIN_ID, 6, 1, 3);
+        source.clear();
+        runTask();
+        Assert.assertEquals(Arrays.asList("rollback:6", "clear:5"), calls);
+        Assert.assertTrue(synced.isEmpty());
+    }
+}
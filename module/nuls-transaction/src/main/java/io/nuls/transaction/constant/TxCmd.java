@@ -46,6 +46,7 @@ public final class TxCmd {
     public static final String TX_GET_BLOCK_TXS_EXTEND = "tx_getBlockTxsExtend";
     public static final String TX_GET_NONEXISTENT_UNCONFIRMED_HASHS = "tx_getNonexistentUnconfirmedHashs";
     public static final String TX_BATCHVERIFY = "tx_batchVerify";
+    public static final String TX_PRE_VERIFY_SIGNATURES = "tx_preVerifySignatures";
     public static final String CLIENT_GETTX = "tx_getTxClient";
     public static final String CLIENT_GETTX_CONFIRMED = "tx_getConfirmedTxClient";
 
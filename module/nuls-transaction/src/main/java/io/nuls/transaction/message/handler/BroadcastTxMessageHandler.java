@@ -33,6 +33,11 @@ public class BroadcastTxMessageHandler implements MessageProcessor {
 
     @Override
     public void process(int chainId, String nodeId, String msgStr) {
+        process(chainId, nodeId, RPCUtil.decode(msgStr));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
         Chain chain = null;
         try {
             chain = chainManager.getChain(chainId);
@@ -41,7 +46,7 @@ public class BroadcastTxMessageHandler implements MessageProcessor {
                 return;
             }
             //解析新的交易消息
-            BroadcastTxMessage message = RPCUtil.getInstanceRpcStr(msgStr, BroadcastTxMessage.class);
+            BroadcastTxMessage message = RPCUtil.getInstance(msgBytes, BroadcastTxMessage.class);
             if (message == null) {
                 return;
             }
@@ -92,14 +92,14 @@ public class LedgerCall {
     public static Map commitBatchUnconfirmedTxs(Chain chain,List<TransactionNetPO> txNetList) throws NulsException {
 
         try {
-            List<String> txStrList = new ArrayList<>();
+            List<byte[]> txDataList = new ArrayList<>();
             for(TransactionNetPO txNet : txNetList){
-                txStrList.add(RPCUtil.encode(txNet.getTx().serialize()));
+                txDataList.add(txNet.getTx().serialize());
             }
             Map<String, Object> params = new HashMap<>(TxConstant.INIT_CAPACITY_8);
             params.put(Constants.VERSION_KEY_STR, TxConstant.RPC_VERSION);
             params.put(Constants.CHAIN_ID, chain.getChainId());
-            params.put("txList", txStrList);
+            params.put("txList", txDataList);
             HashMap result = (HashMap) TransactionCall.requestAndResponse(ModuleE.LG.abbr, "commitBatchUnconfirmedTxs", params);
             return result;
         }catch (IOException e) {
@@ -142,11 +142,14 @@ public class LedgerCall {
 
     /**
      * 打包验证交易coinData(批量)
+     * 交易列表元素为交易序列化数据byte[]或hex字符串, byte[]在JSON传输时编码为base64, 接收方用RPCUtil.decodeParam解析
+     * Items are serialized transactions (byte[]) or hex strings, byte[] items become base64 on JSON channels
+     * and the receiver decodes either form with RPCUtil.decodeParam
      * @param chain
      * @param txStrList
      * @return
      */
-    public static Map verifyCoinDataBatchPackaged(Chain chain, List<String> txStrList) throws NulsException {
+    public static Map verifyCoinDataBatchPackaged(Chain chain, List<?> txStrList) throws NulsException {
         try {
             Map<String, Object> params = new HashMap<>(TxConstant.INIT_CAPACITY_8);
             params.put(Constants.VERSION_KEY_STR, TxConstant.RPC_VERSION);
@@ -162,13 +165,14 @@ public class LedgerCall {
 
     /**
      * 验证区块中的交易CoinData
+     * 交易列表元素为交易序列化数据byte[]或hex字符串
      * @param chain
      * @param txList
      * @param blockHeight
      * @return
      * @throws NulsException
      */
-    public static boolean verifyBlockTxsCoinData(Chain chain, List<String> txList, Long blockHeight) throws NulsException {
+    public static boolean verifyBlockTxsCoinData(Chain chain, List<?> txList, Long blockHeight) throws NulsException {
         try {
             Map<String, Object> params = new HashMap<>(TxConstant.INIT_CAPACITY_8);
             params.put(Constants.VERSION_KEY_STR, TxConstant.RPC_VERSION);
@@ -274,10 +278,11 @@ public class LedgerCall {
 
     /**
      * 提交已确认交易给账本
+     * 交易列表元素为交易序列化数据byte[]或hex字符串
      * @param chain
      * @param txList
      */
-    public static boolean commitTxsLedger(Chain chain, List<String> txList, Long blockHeight) throws NulsException {
+    public static boolean commitTxsLedger(Chain chain, List<?> txList, Long blockHeight) throws NulsException {
         try {
             Map<String, Object> params = new HashMap<>(TxConstant.INIT_CAPACITY_8);
             params.put(Constants.VERSION_KEY_STR, TxConstant.RPC_VERSION);
@@ -338,10 +343,11 @@ public class LedgerCall {
 
     /**
      * 调用账本回滚已确认的交易
+     * 交易列表元素为交易序列化数据byte[]或hex字符串
      * @param chain
      * @param txList
      */
-    public static boolean rollbackTxsLedger(Chain chain, List<String> txList, Long blockHeight) throws NulsException {
+    public static boolean rollbackTxsLedger(Chain chain, List<?> txList, Long blockHeight) throws NulsException {
         try {
             Map<String, Object> params = new HashMap<>(TxConstant.INIT_CAPACITY_8);
             params.put(Constants.VERSION_KEY_STR, TxConstant.RPC_VERSION);
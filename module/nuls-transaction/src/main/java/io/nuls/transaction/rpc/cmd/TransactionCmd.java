@@ -196,7 +196,7 @@ public class TransactionCmd extends BaseCmd {
             //交易数据最大容量值
             int maxTxDataSize = (int) params.get("maxTxDataSize");
 //            chain.getLogger().info("总可用:{}", endTimestamp - NulsDateUtils.getCurrentTimeMillis());
-            List<String> list = txPackageService.packageBasic(chain, endTimestamp, maxTxDataSize);
+            List<byte[]> list = txPackageService.packageBasic(chain, endTimestamp, maxTxDataSize);
             Map<String, Object> map = new HashMap<>(TxConstant.INIT_CAPACITY_4);
             map.put("list", null == list ? new ArrayList<>() : list);
             return success(map);
@@ -652,9 +652,8 @@ public class TransactionCmd extends BaseCmd {
             if (null == chain) {
                 throw new NulsException(TxErrorCode.CHAIN_NOT_FOUND);
             }
-            List<String> txList = (List<String>) params.get("txList");
-            String blockHeaderStr = (String) params.get("blockHeader");
-            txPackageService.verifyBlockTransations(chain, txList, blockHeaderStr);
+            List<Object> txList = (List<Object>) params.get("txList");
+            txPackageService.verifyBlockTransations(chain, txList, params.get("blockHeader"));
             Map<String, Boolean> resultMap = new HashMap<>(TxConstant.INIT_CAPACITY_2);
             resultMap.put("value", true);
             return success(resultMap);
@@ -668,6 +667,37 @@ public class TransactionCmd extends BaseCmd {
 
     }
 
+    @CmdAnnotation(cmd = TxCmd.TX_PRE_VERIFY_SIGNATURES, version = 1.0, description = "区块同步时预验证后续区块的交易签名/Pre-verify transaction signatures of blocks waiting to be synced")
+    @Parameters(value = {
+            @Parameter(parameterName = "chainId", requestType = @TypeDescriptor(value = int.class), parameterDes = "链id"),
+            @Parameter(parameterName = "txList", requestType = @TypeDescriptor(value = List.class, collectionElement = String.class), parameterDes = "待验证交易序列化数据字符串集合")
+    })
+    @ResponseData(name = "返回值", description = "返回一个Map，包含一个key", responseType = @TypeDescriptor(value = Map.class, mapKeys = {
+            @Key(name = "fail", valueType = List.class, valueElement = String.class, description = "签名验证失败的交易hash")
+    }))
+    public Response preVerifySignatures(Map params) {
+        Chain chain = null;
+        try {
+            ObjectUtils.canNotEmpty(params.get("chainId"), TxErrorCode.PARAMETER_ERROR.getMsg());
+            ObjectUtils.canNotEmpty(params.get("txList"), TxErrorCode.PARAMETER_ERROR.getMsg());
+            chain = chainManager.getChain((Integer) params.get("chainId"));
+            if (null == chain) {
+                throw new NulsException(TxErrorCode.CHAIN_NOT_FOUND);
+            }
+            List<Object> txList = (List<Object>) params.get("txList");
+            List<String> failList = txPackageService.preVerifySignatures(chain, txList);
+            Map<String, Object> resultMap = new HashMap<>(TxConstant.INIT_CAPACITY_2);
+            resultMap.put("fail", failList);
+            return success(resultMap);
+        } catch (NulsException e) {
+            errorLogProcess(chain, e);
+            return failed(e.getErrorCode());
+        } catch (Exception e) {
+            errorLogProcess(chain, e);
+            return failed(TxErrorCode.SYS_UNKOWN_EXCEPTION);
+        }
+    }
+
     @CmdAnnotation(cmd = TxCmd.TX_CS_STATE, version = 1.0, description = "设置节点打包状态(由共识模块设置)/Set the node packaging state")
     @Parameters(value = {
             @Parameter(parameterName = "chainId", requestType = @TypeDescriptor(value = int.class), parameterDes = "链id"),
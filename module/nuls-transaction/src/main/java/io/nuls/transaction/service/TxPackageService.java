@@ -41,18 +41,30 @@ public interface TxPackageService {
      * @param chain
      * @param endtimestamp
      * @param maxTxDataSize
-     * @return
+     * @return 可打包交易的序列化数据 / Serialized packable transactions
      */
-    List<String> packageBasic (Chain chain, long endtimestamp, long maxTxDataSize);
+    List<byte[]> packageBasic (Chain chain, long endtimestamp, long maxTxDataSize);
 
     /**
      * 验证区块交易
+     * 交易与区块头为序列化数据byte[](二进制传输或同进程调用)或hex/base64字符串(JSON传输)
+     * Transactions and block header are raw bytes (binary transport or in-process call) or hex/base64 strings (JSON transport)
      * @param chain
-     * @param txStrList
-     * @param blockHeaderStr
+     * @param txDataList
+     * @param blockHeaderData
      * @return
      * @throws Exception
      */
-    boolean verifyBlockTransations(Chain chain, List<String> txStrList, String blockHeaderStr) throws Exception;
+    boolean verifyBlockTransations(Chain chain, List<Object> txDataList, Object blockHeaderData) throws Exception;
+
+    /**
+     * 并行预验证待同步区块中的交易签名, 验证通过的记入签名缓存, 区块验证时不再重复验证
+     * Pre-verify the transaction signatures of blocks waiting to be synced in parallel, verified signatures are
+     * cached so block verification does not check them again
+     * @param chain
+     * @param txDataList 交易序列化数据byte[]或hex字符串 / raw bytes or hex strings
+     * @return 签名验证失败的交易hash / hashes of transactions whose signature failed
+     */
+    List<String> preVerifySignatures(Chain chain, List<Object> txDataList);
 
 }
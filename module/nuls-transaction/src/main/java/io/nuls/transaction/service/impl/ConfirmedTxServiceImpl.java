@@ -214,7 +214,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         return true;
     }
 
-    private boolean commitLedger(Chain chain, List<String> txList, long blockHeight) {
+    private boolean commitLedger(Chain chain, List<?> txList, long blockHeight) {
         try {
             chain.getPackableState().set(false);
             boolean rs = LedgerCall.commitTxsLedger(chain, txList, blockHeight);
@@ -261,7 +261,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         return true;
     }
 
-    private boolean rollbackLedger(Chain chain, List<String> txList, Long blockHeight) {
+    private boolean rollbackLedger(Chain chain, List<?> txList, Long blockHeight) {
         if (txList.isEmpty()) {
             return true;
         }
@@ -292,7 +292,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         logger.info("start rollbackTxList block height:{}", blockHeight);
         long start = NulsDateUtils.getCurrentTimeMillis();
         List<Transaction> txList = new ArrayList<>();
-        List<String> txStrList = new ArrayList<>();
+        List<byte[]> txDataList = new ArrayList<>();
         //组装统一验证参数数据,key为各模块统一验证器cmd
         Map<String, List<String>> moduleVerifyMap = new HashMap<>(TxConstant.INIT_CAPACITY_8);
         try {
@@ -304,8 +304,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
                 }
                 Transaction tx = txPO.getTx();
                 txList.add(tx);
-                String txStr = RPCUtil.encode(tx.serialize());
-                txStrList.add(txStr);
+                txDataList.add(tx.serialize());
                 // end code by pierre
                 TxUtil.moduleGroups(chain, moduleVerifyMap, tx);
             }
@@ -320,7 +319,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         logger.debug("[回滚区块] 组装数据 执行时间:{}", NulsDateUtils.getCurrentTimeMillis() - start);
 
         long ledgerStart = NulsDateUtils.getCurrentTimeMillis();
-        if (!rollbackLedger(chain, txStrList, blockHeight)) {
+        if (!rollbackLedger(chain, txDataList, blockHeight)) {
             return false;
         }
         logger.debug("[回滚区块] 回滚账本 执行时间:{}", NulsDateUtils.getCurrentTimeMillis() - ledgerStart);
@@ -328,7 +327,7 @@ public class ConfirmedTxServiceImpl implements ConfirmedTxService {
         // end code by pierre
         long moduleStart = NulsDateUtils.getCurrentTimeMillis();
         if (!rollbackTxs(chain, moduleVerifyMap, blockHeaderStr, true)) {
-            commitLedger(chain, txStrList, blockHeight);
+            commitLedger(chain, txDataList, blockHeight);
             return false;
         }
         logger.debug("[回滚区块] 回滚交易业务数据 执行时间:{}", NulsDateUtils.getCurrentTimeMillis() - moduleStart);
@@ -54,12 +54,14 @@ import io.nuls.transaction.service.TxService;
 import io.nuls.transaction.storage.ConfirmedTxStorageService;
 import io.nuls.transaction.storage.UnconfirmedTxStorageService;
 import io.nuls.transaction.utils.LoggerUtil;
+import io.nuls.transaction.utils.TxSignatureCache;
 import io.nuls.transaction.utils.TxUtil;
 
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 
 import static io.nuls.transaction.constant.TxConstant.CACHED_SIZE;
@@ -86,6 +88,11 @@ public class TxPackageServiceImpl implements TxPackageService {
     private ExecutorService verifySignExecutor = ThreadUtils.createThreadPool(Runtime.getRuntime().availableProcessors(),
             CACHED_SIZE, new NulsThreadFactory(TxConstant.BASIC_VERIFY_TX_SIGN_THREAD));
 
+    /**
+     * 区块同步时预验证签名的线程池(work-stealing), 各区块交易数差异大, 空闲线程可以分担其他任务
+     */
+    private ForkJoinPool preVerifySignPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
     /**
      * 打包交易
      * 适用于不包含智能合约交易的区块链
@@ -96,7 +103,7 @@ public class TxPackageServiceImpl implements TxPackageService {
      * @return
      */
     @Override
-    public List<String> packageBasic(Chain chain, long endtimestamp, long maxTxDataSize) {
+    public List<byte[]> packageBasic(Chain chain, long endtimestamp, long maxTxDataSize) {
         chain.getPackageLock().lock();
         long startTime = NulsDateUtils.getCurrentTimeMillis();
         long packableTime = endtimestamp - startTime;
@@ -133,7 +140,7 @@ public class TxPackageServiceImpl implements TxPackageService {
             }
 
 
-            List<String> packableTxs = new ArrayList<>();
+            List<byte[]> packableTxs = new ArrayList<>();
             Iterator<TxPackageWrapper> iterator = packingTxList.iterator();
             Map<NulsHash, Integer> txPackageOrphanMap = chain.getTxPackageOrphanMap();
             while (iterator.hasNext()) {
@@ -144,8 +151,7 @@ public class TxPackageServiceImpl implements TxPackageService {
                     txPackageOrphanMap.remove(hash);
                 }
                 try {
-                    String txHex = RPCUtil.encode(tx.serialize());
-                    packableTxs.add(txHex);
+                    packableTxs.add(tx.serialize());
                 } catch (Exception e) {
                     txService.clearInvalidTx(chain, tx);
                     iterator.remove();
@@ -157,8 +163,8 @@ public class TxPackageServiceImpl implements TxPackageService {
              * 处理需要打包时内部生成的交易
              */
             List<String> newProduceTxs = packProduceProcess(chain, packingTxList, height);
-            if (!newProduceTxs.isEmpty()) {
-                packableTxs.addAll(newProduceTxs);
+            for (String txHex : newProduceTxs) {
+                packableTxs.add(RPCUtil.decode(txHex));
             }
 
             //孤儿交易加回待打包队列去
@@ -272,7 +278,7 @@ public class TxPackageServiceImpl implements TxPackageService {
         LedgerCall.coinDataBatchNotify(chain);
         int allCorssTxCount = 0, batchCorssTxCount = 0;
         long totalSize = 0L, totalSizeTemp = 0L;
-        List<String> batchProcessList = new ArrayList<>();
+        List<byte[]> batchProcessList = new ArrayList<>();
         Set<String> duplicatesVerify = new HashSet<>();
         List<TxPackageWrapper> currentBatchPackableTxs = new ArrayList<>();
         NulsLogger log = chain.getLogger();
@@ -360,20 +366,20 @@ public class TxPackageServiceImpl implements TxPackageService {
                                 process = true;
                             }
                         }
-                        String txHex;
+                        byte[] txBytes;
                         try {
-                            txHex = RPCUtil.encode(tx.serialize());
+                            txBytes = tx.serialize();
                         } catch (Exception e) {
                             log.warn(e.getMessage(), e);
                             log.error("丢弃获取hex出错交易, txHash:{}, - type:{}, - time:{}", tx.getHash().toHex(), tx.getType(), tx.getTime());
                             txService.clearInvalidTx(chain, tx);
                             continue;
                         }
-                        TxPackageWrapper txPackageWrapper = new TxPackageWrapper(tx, index, txHex);
+                        TxPackageWrapper txPackageWrapper = new TxPackageWrapper(tx, index);
                         if (tx.getType() == TxType.FINAL_QUOTATION) {
                             packingTxList.add(txPackageWrapper);
                         } else {
-                            batchProcessList.add(txHex);
+                            batchProcessList.add(txBytes);
                             currentBatchPackableTxs.add(txPackageWrapper);
                             if (batchProcessList.size() == TxConstant.BASIC_PACKAGE_VERIFY_COINDATA_BATCH) {
                                 //达到处理该批次的条件
@@ -434,7 +440,7 @@ public class TxPackageServiceImpl implements TxPackageService {
      * @param orphanTxSet
      * @throws NulsException
      */
-    private void verifyLedgerBasic(Chain chain, List<String> batchProcessList, List<TxPackageWrapper> currentBatchPackableTxs,
+    private void verifyLedgerBasic(Chain chain, List<byte[]> batchProcessList, List<TxPackageWrapper> currentBatchPackableTxs,
                                    Set<TxPackageWrapper> orphanTxSet) throws NulsException {
         //开始处理
         Map verifyCoinDataResult = LedgerCall.verifyCoinDataBatchPackaged(chain, batchProcessList);
@@ -501,22 +507,29 @@ public class TxPackageServiceImpl implements TxPackageService {
     }
 
     @Override
-    public boolean verifyBlockTransations(Chain chain, List<String> txStrList, String blockHeaderStr) throws Exception {
+    public boolean verifyBlockTransations(Chain chain, List<Object> txDataList, Object blockHeaderData) throws Exception {
         long s1 = NulsDateUtils.getCurrentTimeMillis();
         NulsLogger log = chain.getLogger();
-        BlockHeader blockHeader = TxUtil.getInstanceRpcStr(blockHeaderStr, BlockHeader.class);
+        byte[] blockHeaderBytes = RPCUtil.decodeParam(blockHeaderData);
+        BlockHeader blockHeader = TxUtil.getInstance(blockHeaderBytes, BlockHeader.class);
+        //各模块统一验证器仍使用hex / module validators still take hex
+        String blockHeaderStr = blockHeaderData instanceof String ? (String) blockHeaderData : RPCUtil.encode(blockHeaderBytes);
         long blockHeight = blockHeader.getHeight();
         boolean isLogDebug = log.isDebugEnabled();
         if (isLogDebug) {
-            log.debug("[验区块交易] 开始 -----高度:{} -----区块交易数:{}", blockHeight, txStrList.size());
+            log.debug("[验区块交易] 开始 -----高度:{} -----区块交易数:{}", blockHeight, txDataList.size());
         }
         List<TxVerifyWrapper> txList = new ArrayList<>();
         //组装统一验证参数数据,key为各模块统一验证器cmd
         Map<String, List<String>> moduleVerifyMap = new HashMap<>(TxConstant.INIT_CAPACITY_8);
         List<byte[]> keys = new ArrayList<>();
         int totalSize = 0;
-        for (String txStr : txStrList) {
-            Transaction tx = TxUtil.getInstanceRpcStr(txStr, Transaction.class);
+        List<byte[]> txBytesList = new ArrayList<>(txDataList.size());
+        for (Object txData : txDataList) {
+            byte[] txBytes = RPCUtil.decodeParam(txData);
+            String txStr = txData instanceof String ? (String) txData : RPCUtil.encode(txBytes);
+            Transaction tx = TxUtil.getInstance(txBytes, Transaction.class);
+            txBytesList.add(txBytes);
             totalSize += tx.size();
             txList.add(new TxVerifyWrapper(tx, txStr));
             TxRegister txRegister = TxManager.getTxRegister(chain, tx.getType());
@@ -538,7 +551,7 @@ public class TxPackageServiceImpl implements TxPackageService {
 
         //验证账本
         long coinDataV = NulsDateUtils.getCurrentTimeMillis();
-        if (!LedgerCall.verifyBlockTxsCoinData(chain, txStrList, blockHeight)) {
+        if (!LedgerCall.verifyBlockTxsCoinData(chain, txBytesList, blockHeight)) {
             throw new NulsException(TxErrorCode.TX_LEDGER_VERIFY_FAIL);
         }
         if (isLogDebug) {
@@ -568,11 +581,49 @@ public class TxPackageServiceImpl implements TxPackageService {
 
         if (isLogDebug) {
             log.debug("[验区块交易] 合计执行时间:{}, 交易总size:{} - 高度:{} - 区块交易数:{}, " + TxUtil.nextLine(),
-                    NulsDateUtils.getCurrentTimeMillis() - s1, totalSize, blockHeight, txStrList.size());
+                    NulsDateUtils.getCurrentTimeMillis() - s1, totalSize, blockHeight, txDataList.size());
         }
         return true;
     }
 
+    @Override
+    public List<String> preVerifySignatures(Chain chain, List<Object> txDataList) {
+        int chainId = chain.getChainId();
+        List<Callable<String>> tasks = new ArrayList<>(txDataList.size());
+        for (Object txData : txDataList) {
+            tasks.add(() -> {
+                Transaction tx = null;
+                try {
+                    tx = TxUtil.getInstance(RPCUtil.decodeParam(txData), Transaction.class);
+                    TxRegister txRegister = TxManager.getTxRegister(chain, tx.getType());
+                    //与validateTxSignature一致, 不需要验证签名的交易和跨链交易跳过
+                    if (null == txRegister || !txRegister.getVerifySignature() || ModuleE.CC.abbr.equals(txRegister.getModuleCode())) {
+                        return null;
+                    }
+                    return TxSignatureCache.verify(chainId, tx) ? null : tx.getHash().toHex();
+                } catch (Exception e) {
+                    chain.getLogger().warn("preVerifySignatures fail, hash:{}", null == tx ? null : tx.getHash().toHex());
+                    return null == tx ? "" : tx.getHash().toHex();
+                }
+            });
+        }
+        List<String> failList = new ArrayList<>();
+        for (Future<String> future : preVerifySignPool.invokeAll(tasks)) {
+            try {
+                String hash = future.get();
+                if (null != hash) {
+                    failList.add(hash);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                chain.getLogger().error(e);
+            }
+        }
+        return failList;
+    }
+
     /**
      * 验证是否含有已确认交易
      */
@@ -64,6 +64,7 @@ import io.nuls.transaction.service.TxService;
 import io.nuls.transaction.storage.ConfirmedTxStorageService;
 import io.nuls.transaction.storage.UnconfirmedTxStorageService;
 import io.nuls.transaction.utils.TxDuplicateRemoval;
+import io.nuls.transaction.utils.TxSignatureCache;
 import io.nuls.transaction.utils.TxUtil;
 
 import java.io.IOException;
@@ -399,7 +400,7 @@ public class TxServiceImpl implements TxService {
                 break;
             }
         }
-        if (!SignatureUtil.validateTransactionSignture(chainId, tx)) {
+        if (!TxSignatureCache.verify(chainId, tx)) {
             throw new NulsException(TxErrorCode.SIGNATURE_ERROR);
         }
     }
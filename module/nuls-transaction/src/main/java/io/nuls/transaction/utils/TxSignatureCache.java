@@ -0,0 +1,136 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2019 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.transaction.utils;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.base.data.Transaction;
+import io.nuls.base.signture.SignatureUtil;
+import io.nuls.core.exception.NulsException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已验证交易签名缓存, 同一笔交易在未确认验证、区块同步预验证、区块验证中只做一次ECDSA验证
+ * Cache of verified transaction signatures, so a transaction is ECDSA-verified only once across
+ * unconfirmed verification, sync pre-verification and block verification.
+ * <p>
+ * 交易hash不包含签名数据, 所以缓存值为签名数据, 命中时需要签名完全一致
+ * The tx hash does not cover the signature, so the signature bytes are cached and must match exactly on a hit.
+ * 只缓存没有设置区块高度的验证结果(按最严格规则验证)
+ * Only results verified without a block height (i.e. under the strictest rule) are cached.
+ * 多链模式下按链ID和交易hash缓存, 一条链的验证结果不会用于其他链
+ * Keyed by chain id and tx hash, so a result recorded for one chain is never reused for another.
+ */
+public class TxSignatureCache {
+
+    /**
+     * 缓存交易数量上限, 分两代存放, 每代最多一半
+     */
+    private static final int MAX_SIZE = 100000;
+
+    private static volatile Map<Key, byte[]> current = new ConcurrentHashMap<>();
+    private static volatile Map<Key, byte[]> previous = new ConcurrentHashMap<>();
+
+    /**
+     * 验证交易签名, 已验证过的直接返回
+     * Verify the transaction signature, returns immediately if it was verified before
+     */
+    public static boolean verify(int chainId, Transaction tx) throws NulsException {
+        NulsHash hash = tx.getHash();
+        byte[] signature = tx.getTransactionSignature();
+        if (contains(chainId, hash, signature)) {
+            return true;
+        }
+        if (!SignatureUtil.validateTransactionSignture(chainId, tx)) {
+            return false;
+        }
+        if (tx.getBlockHeight() <= 0) {
+            put(new Key(chainId, hash), signature);
+        }
+        return true;
+    }
+
+    public static boolean contains(int chainId, NulsHash hash, byte[] signature) {
+        if (null == signature) {
+            return false;
+        }
+        Key key = new Key(chainId, hash);
+        byte[] cached = current.get(key);
+        if (null == cached) {
+            cached = previous.get(key);
+        }
+        return null != cached && Arrays.equals(cached, signature);
+    }
+
+    private static void put(Key key, byte[] signature) {
+        current.put(key, signature);
+        if (current.size() >= MAX_SIZE / 2) {
+            rotate();
+        }
+    }
+
+    private static synchronized void rotate() {
+        if (current.size() < MAX_SIZE / 2) {
+            return;
+        }
+        previous = current;
+        current = new ConcurrentHashMap<>();
+    }
+
+    public static void remove(int chainId, NulsHash hash) {
+        Key key = new Key(chainId, hash);
+        current.remove(key);
+        previous.remove(key);
+    }
+
+    private static final class Key {
+        private final int chainId;
+        private final NulsHash hash;
+
+        private Key(int chainId, NulsHash hash) {
+            this.chainId = chainId;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return chainId == key.chainId && hash.equals(key.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * chainId + hash.hashCode();
+        }
+    }
+}
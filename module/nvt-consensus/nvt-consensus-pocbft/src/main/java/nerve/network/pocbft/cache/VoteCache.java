@@ -1,5 +1,7 @@
 package nerve.network.pocbft.cache;
 
+import io.nuls.base.data.NulsHash;
+import io.nuls.core.model.ByteArrayWrapper;
 import nerve.network.pocbft.constant.ConsensusConstant;
 import nerve.network.pocbft.message.VoteMessage;
 import nerve.network.pocbft.message.VoteResultMessage;
@@ -55,6 +57,14 @@ public class VoteCache {
      * */
     public static final FIFOCache<String, Map<Byte, VoteResultData>> CONFIRMED_VOTE_RESULT_MAP = new FIFOCache<>(ConsensusConstant.BLOCK_VOTE_CACHE_COUNT);
 
+    /**
+     * 最近验证通过的投票签名，验证投票结果时跳过已验证的签名
+     * key:投票hash+签名(含公钥)
+     * Recently verified vote signatures, skipped when a vote result is verified
+     * key: vote hash + signature (public key included)
+     * */
+    private static final FIFOCache<ByteArrayWrapper, Boolean> VERIFIED_SIGNATURE_CACHE = new FIFOCache<>(ConsensusConstant.VERIFIED_SIGNATURE_CACHE_COUNT);
+
     /**
      * 待处理确认数据
      * key:roundIndex_packingIndexOfRound
@@ -276,6 +286,42 @@ public class VoteCache {
         futureVoteData.addVoteMessage(chain, voteMessage, nodeId);
     }
 
+    /**
+     * 记录验证通过的投票签名
+     * Record a verified vote signature
+     *
+     * @param voteHash 投票hash
+     * @param sign     签名
+     * */
+    public static void addVerifiedSignature(NulsHash voteHash, byte[] sign){
+        ByteArrayWrapper key = signatureKey(voteHash, sign);
+        synchronized (VERIFIED_SIGNATURE_CACHE){
+            VERIFIED_SIGNATURE_CACHE.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 该签名是否已验证通过
+     * Whether the signature has been verified already
+     *
+     * @param voteHash 投票hash
+     * @param sign     签名
+     * */
+    public static boolean isVerifiedSignature(NulsHash voteHash, byte[] sign){
+        ByteArrayWrapper key = signatureKey(voteHash, sign);
+        synchronized (VERIFIED_SIGNATURE_CACHE){
+            return VERIFIED_SIGNATURE_CACHE.containsKey(key);
+        }
+    }
+
+    private static ByteArrayWrapper signatureKey(NulsHash voteHash, byte[] sign){
+        byte[] hashBytes = voteHash.getBytes();
+        byte[] key = new byte[hashBytes.length + sign.length];
+        System.arraycopy(hashBytes, 0, key, 0, hashBytes.length);
+        System.arraycopy(sign, 0, key, hashBytes.length, sign.length);
+        return new ByteArrayWrapper(key);
+    }
+
     /**
      * 清空当前投票轮次信息（当本节点由共识节点转非共识节点时）
      * */
@@ -183,6 +183,11 @@ public interface ConsensusConstant {
      * */
     int BLOCK_VOTE_CACHE_COUNT = 500;
 
+    /**
+     * 已验证投票签名缓存数
+     * */
+    int VERIFIED_SIGNATURE_CACHE_COUNT = 10000;
+
     String DATE_FORMAT = "yyyyMMdd";
 
     int ONE_DAY_MILLISECONDS = 24 * 60 * 60 * 1000;
@@ -39,12 +39,17 @@ public class VoteHandler implements MessageProcessor {
 
     @Override
     public void process(int chainId, String nodeId, String msg) {
+        process(chainId, nodeId, RPCUtil.decode(msg));
+    }
+
+    @Override
+    public void process(int chainId, String nodeId, byte[] msgBytes) {
         Chain chain = chainManager.getChainMap().get(chainId);
         if(chain == null){
             LoggerUtil.commonLog.error("Chains do not exist");
             return;
         }
-        VoteMessage message = RPCUtil.getInstanceRpcStr(msg, VoteMessage.class);
+        VoteMessage message = RPCUtil.getInstance(msgBytes, VoteMessage.class);
         if (message == null) {
             return;
         }
@@ -86,6 +91,7 @@ public class VoteHandler implements MessageProcessor {
                 chain.getLogger().error("Voting signature verification failed");
                 return;
             }
+            VoteCache.addVerifiedSignature(message.getVoteHash(), message.getSign());
         } catch (NulsException e) {
             chain.getLogger().error(e);
             return;
@@ -2,7 +2,9 @@ package nerve.network.pocbft.model.bo;
 import io.nuls.base.data.BlockHeader;
 import io.nuls.base.data.Transaction;
 import nerve.network.pocbft.model.bo.config.ChainConfig;
+import nerve.network.pocbft.model.bo.consensus.ConsensusState;
 import nerve.network.pocbft.model.bo.consensus.Evidence;
+import nerve.network.pocbft.model.bo.round.BlockHeaderBuffer;
 import nerve.network.pocbft.model.bo.round.MeetingRound;
 import nerve.network.pocbft.model.bo.tx.txdata.Agent;
 import nerve.network.pocbft.model.bo.tx.txdata.Deposit;
@@ -61,28 +63,10 @@ public class Chain {
     private BlockHeader newestHeader;
 
     /**
-     * 节点列表
-     * Agent list
+     * 节点、委托、红黄牌列表及其索引
+     * Agent, deposit and punish lists with their indexes
      */
-    private List<Agent> agentList;
-
-    /**
-     * 委托信息列表
-     * Deposit list
-     */
-    private List<Deposit> depositList;
-
-    /**
-     * 黄牌列表
-     * Yellow punish list
-     */
-    private List<PunishLogPo> yellowPunishList;
-
-    /**
-     * 红牌列表
-     * Red punish list
-     */
-    private List<PunishLogPo> redPunishList;
+    private final ConsensusState consensusState = new ConsensusState();
 
     /**
      * 记录链出块地址PackingAddress，同一个高度发出了两个不同的块的证据
@@ -106,10 +90,10 @@ public class Chain {
     private List<MeetingRound> roundList;
 
     /**
-     * 最新200轮区块头
-     * The latest 200 rounds block
+     * 最新若干轮已解码的区块头
+     * Decoded block headers of the latest rounds
      */
-    private List<BlockHeader> blockHeaderList;
+    private final BlockHeaderBuffer blockHeaderBuffer = new BlockHeaderBuffer();
 
     /**
      * 追加保证金信息列表
@@ -154,10 +138,6 @@ public class Chain {
     public Chain() {
         this.consensusStatus = ConsensusStatus.RUNNING;
         this.canPacking = false;
-        this.agentList = new ArrayList<>();
-        this.depositList = new ArrayList<>();
-        this.yellowPunishList = new ArrayList<>();
-        this.redPunishList = new ArrayList<>();
         this.evidenceMap = new HashMap<>();
         this.redPunishTransactionList = new ArrayList<>();
         this.roundList = new ArrayList<>();
@@ -203,36 +183,32 @@ public class Chain {
         this.canPacking = canPacking;
     }
 
-    public List<Agent> getAgentList() {
-        return agentList;
+    public ConsensusState getConsensusState() {
+        return consensusState;
     }
 
-    public void setAgentList(List<Agent> agentList) {
-        this.agentList = agentList;
+    /**
+     * 节点列表只读快照
+     * Read-only snapshot of the agent list
+     */
+    public List<Agent> getAgentList() {
+        return consensusState.getAgentList();
     }
 
+    /**
+     * 委托列表只读快照
+     * Read-only snapshot of the deposit list
+     */
     public List<Deposit> getDepositList() {
-        return depositList;
-    }
-
-    public void setDepositList(List<Deposit> depositList) {
-        this.depositList = depositList;
+        return consensusState.getDepositList();
     }
 
     public List<PunishLogPo> getYellowPunishList() {
-        return yellowPunishList;
-    }
-
-    public void setYellowPunishList(List<PunishLogPo> yellowPunishList) {
-        this.yellowPunishList = yellowPunishList;
+        return consensusState.getYellowPunishList();
     }
 
     public List<PunishLogPo> getRedPunishList() {
-        return redPunishList;
-    }
-
-    public void setRedPunishList(List<PunishLogPo> redPunishList) {
-        this.redPunishList = redPunishList;
+        return consensusState.getRedPunishList();
     }
 
     public Map<String, List<Evidence>> getEvidenceMap() {
@@ -267,12 +243,8 @@ public class Chain {
         this.newestHeader = newestHeader;
     }
 
-    public List<BlockHeader> getBlockHeaderList() {
-        return blockHeaderList;
-    }
-
-    public void setBlockHeaderList(List<BlockHeader> blockHeaderList) {
-        this.blockHeaderList = blockHeaderList;
+    public BlockHeaderBuffer getBlockHeaderBuffer() {
+        return blockHeaderBuffer;
     }
 
     public ThreadPoolExecutor getThreadPool() {
@@ -0,0 +1,368 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nerve.network.pocbft.model.bo.consensus;
+
+import io.nuls.base.data.NulsHash;
+import io.nuls.core.model.ByteArrayWrapper;
+import nerve.network.pocbft.model.bo.tx.txdata.Agent;
+import nerve.network.pocbft.model.bo.tx.txdata.Deposit;
+import nerve.network.pocbft.model.po.PunishLogPo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 内存共识状态：节点、委托、红黄牌列表及其索引
+ * In-memory consensus state: agent, deposit and punishment lists with their indexes
+ * <p>
+ * 写操作(加载、交易提交与回滚)加锁并同步更新索引；列表读取返回只读快照，写入后第一次读取时重建，
+ * 轮次计算等遍历操作不受并发写入影响，索引查询不加锁。
+ * Writes (load, tx commit and rollback) are serialized and keep the indexes in step. List reads return a read-only
+ * snapshot rebuilt on the first read after a write, so round computation iterates a stable copy; index lookups are lock free.
+ */
+public class ConsensusState {
+    private final List<Agent> agentList = new ArrayList<>();
+    private volatile List<Agent> agentSnapshot = Collections.emptyList();
+    private final Map<NulsHash, Agent> agentMap = new ConcurrentHashMap<>();
+    private final Map<ByteArrayWrapper, List<Agent>> agentsByAgentAddress = new ConcurrentHashMap<>();
+    private final Map<ByteArrayWrapper, List<Agent>> agentsByPackingAddress = new ConcurrentHashMap<>();
+    private final Map<ByteArrayWrapper, List<Agent>> agentsByRewardAddress = new ConcurrentHashMap<>();
+
+    private final List<Deposit> depositList = new ArrayList<>();
+    private volatile List<Deposit> depositSnapshot = Collections.emptyList();
+    private final Map<NulsHash, Deposit> depositMap = new ConcurrentHashMap<>();
+    private final Map<ByteArrayWrapper, List<Deposit>> depositsByAddress = new ConcurrentHashMap<>();
+
+    /**
+     * 黄牌按轮次升序排列
+     * Yellow punishments in ascending round order
+     */
+    private final List<PunishLogPo> yellowPunishList = new ArrayList<>();
+    private volatile List<PunishLogPo> yellowPunishSnapshot = Collections.emptyList();
+    /**
+     * key:地址, value: 轮次->该轮次黄牌数
+     * key: address, value: round index -> yellow punishments in that round
+     */
+    private final Map<ByteArrayWrapper, NavigableMap<Long, Integer>> yellowPunishByAddress = new ConcurrentHashMap<>();
+
+    private final List<PunishLogPo> redPunishList = new ArrayList<>();
+    private volatile List<PunishLogPo> redPunishSnapshot = Collections.emptyList();
+    private final Map<ByteArrayWrapper, Integer> redPunishCountByAddress = new ConcurrentHashMap<>();
+
+    /*
+     * ---------------- 节点 / agents ----------------
+     */
+
+    public synchronized void loadAgents(List<Agent> agents) {
+        agentList.clear();
+        agentMap.clear();
+        agentsByAgentAddress.clear();
+        agentsByPackingAddress.clear();
+        agentsByRewardAddress.clear();
+        for (Agent agent : agents) {
+            addAgent(agent);
+        }
+    }
+
+    public synchronized void addAgent(Agent agent) {
+        agentList.add(agent);
+        agentMap.put(agent.getTxHash(), agent);
+        addToIndex(agentsByAgentAddress, agent.getAgentAddress(), agent);
+        addToIndex(agentsByPackingAddress, agent.getPackingAddress(), agent);
+        addToIndex(agentsByRewardAddress, agent.getRewardAddress(), agent);
+        agentSnapshot = null;
+    }
+
+    public synchronized void removeAgent(NulsHash txHash) {
+        Agent agent = agentMap.remove(txHash);
+        if (agent == null) {
+            return;
+        }
+        agentList.remove(agent);
+        removeFromIndex(agentsByAgentAddress, agent.getAgentAddress(), agent);
+        removeFromIndex(agentsByPackingAddress, agent.getPackingAddress(), agent);
+        removeFromIndex(agentsByRewardAddress, agent.getRewardAddress(), agent);
+        agentSnapshot = null;
+    }
+
+    public List<Agent> getAgentList() {
+        List<Agent> snapshot = agentSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = agentSnapshot;
+                if (snapshot == null) {
+                    snapshot = Collections.unmodifiableList(new ArrayList<>(agentList));
+                    agentSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    public Agent getAgent(NulsHash txHash) {
+        return agentMap.get(txHash);
+    }
+
+    /**
+     * 按创建地址查询，包含已注销的节点，按创建顺序排列
+     * Agents created by the address, stopped agents included, in creation order
+     */
+    public List<Agent> getAgentsByAgentAddress(byte[] address) {
+        return getFromIndex(agentsByAgentAddress, address);
+    }
+
+    public List<Agent> getAgentsByPackingAddress(byte[] address) {
+        return getFromIndex(agentsByPackingAddress, address);
+    }
+
+    public List<Agent> getAgentsByRewardAddress(byte[] address) {
+        return getFromIndex(agentsByRewardAddress, address);
+    }
+
+    /*
+     * ---------------- 委托 / deposits ----------------
+     */
+
+    public synchronized void loadDeposits(List<Deposit> deposits) {
+        depositList.clear();
+        depositMap.clear();
+        depositsByAddress.clear();
+        for (Deposit deposit : deposits) {
+            addDeposit(deposit);
+        }
+    }
+
+    public synchronized void addDeposit(Deposit deposit) {
+        depositList.add(deposit);
+        depositMap.put(deposit.getTxHash(), deposit);
+        addToIndex(depositsByAddress, deposit.getAddress(), deposit);
+        depositSnapshot = null;
+    }
+
+    public synchronized void removeDeposit(NulsHash txHash) {
+        Deposit deposit = depositMap.remove(txHash);
+        if (deposit == null) {
+            return;
+        }
+        depositList.remove(deposit);
+        removeFromIndex(depositsByAddress, deposit.getAddress(), deposit);
+        depositSnapshot = null;
+    }
+
+    public List<Deposit> getDepositList() {
+        List<Deposit> snapshot = depositSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = depositSnapshot;
+                if (snapshot == null) {
+                    snapshot = Collections.unmodifiableList(new ArrayList<>(depositList));
+                    depositSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    public Deposit getDeposit(NulsHash txHash) {
+        return depositMap.get(txHash);
+    }
+
+    public List<Deposit> getDepositsByAddress(byte[] address) {
+        return getFromIndex(depositsByAddress, address);
+    }
+
+    /*
+     * ---------------- 红黄牌 / punishments ----------------
+     */
+
+    public synchronized void loadPunishes(List<PunishLogPo> redPunishes, List<PunishLogPo> yellowPunishes) {
+        redPunishList.clear();
+        redPunishCountByAddress.clear();
+        for (PunishLogPo po : redPunishes) {
+            addRedPunish(po);
+        }
+        yellowPunishList.clear();
+        yellowPunishByAddress.clear();
+        addYellowPunishes(yellowPunishes);
+    }
+
+    public synchronized void addYellowPunishes(List<PunishLogPo> punishes) {
+        for (PunishLogPo po : punishes) {
+            yellowPunishList.add(po);
+            yellowPunishByAddress.computeIfAbsent(new ByteArrayWrapper(po.getAddress()), k -> new ConcurrentSkipListMap<>())
+                    .merge(po.getRoundIndex(), 1, Integer::sum);
+        }
+        yellowPunishSnapshot = null;
+    }
+
+    public synchronized void removeYellowPunishes(List<PunishLogPo> punishes) {
+        for (PunishLogPo po : punishes) {
+            if (yellowPunishList.remove(po)) {
+                decreaseYellowPunish(po);
+            }
+        }
+        yellowPunishSnapshot = null;
+    }
+
+    /**
+     * 清理指定轮次之前的黄牌
+     * Drop yellow punishments older than the given round
+     */
+    public synchronized void clearYellowPunishes(long minRound) {
+        Iterator<PunishLogPo> iterator = yellowPunishList.iterator();
+        boolean changed = false;
+        while (iterator.hasNext()) {
+            PunishLogPo po = iterator.next();
+            if (po.getRoundIndex() >= minRound) {
+                break;
+            }
+            iterator.remove();
+            decreaseYellowPunish(po);
+            changed = true;
+        }
+        if (changed) {
+            yellowPunishSnapshot = null;
+        }
+    }
+
+    private void decreaseYellowPunish(PunishLogPo po) {
+        ByteArrayWrapper key = new ByteArrayWrapper(po.getAddress());
+        NavigableMap<Long, Integer> roundMap = yellowPunishByAddress.get(key);
+        if (roundMap == null) {
+            return;
+        }
+        roundMap.computeIfPresent(po.getRoundIndex(), (k, v) -> v > 1 ? v - 1 : null);
+        if (roundMap.isEmpty()) {
+            yellowPunishByAddress.remove(key);
+        }
+    }
+
+    /**
+     * 指定地址在轮次区间内的黄牌数，达到max后不再累加
+     * Yellow punishments of an address within [roundStart, roundEnd], counting stops at max
+     */
+    public long countYellowPunish(byte[] address, long roundStart, long roundEnd, long max) {
+        NavigableMap<Long, Integer> roundMap = yellowPunishByAddress.get(new ByteArrayWrapper(address));
+        if (roundMap == null || roundStart > roundEnd) {
+            return 0;
+        }
+        long count = 0;
+        for (int value : roundMap.subMap(roundStart, true, roundEnd, true).values()) {
+            count += value;
+            if (count >= max) {
+                return max;
+            }
+        }
+        return count;
+    }
+
+    public synchronized void addRedPunish(PunishLogPo po) {
+        redPunishList.add(po);
+        redPunishCountByAddress.merge(new ByteArrayWrapper(po.getAddress()), 1, Integer::sum);
+        redPunishSnapshot = null;
+    }
+
+    public synchronized void removeRedPunish(PunishLogPo po) {
+        if (redPunishList.remove(po)) {
+            redPunishCountByAddress.computeIfPresent(new ByteArrayWrapper(po.getAddress()), (k, v) -> v > 1 ? v - 1 : null);
+            redPunishSnapshot = null;
+        }
+    }
+
+    public long countRedPunish(byte[] address) {
+        Integer count = redPunishCountByAddress.get(new ByteArrayWrapper(address));
+        return count == null ? 0 : count;
+    }
+
+    public List<PunishLogPo> getYellowPunishList() {
+        List<PunishLogPo> snapshot = yellowPunishSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = yellowPunishSnapshot;
+                if (snapshot == null) {
+                    snapshot = Collections.unmodifiableList(new ArrayList<>(yellowPunishList));
+                    yellowPunishSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    public List<PunishLogPo> getRedPunishList() {
+        List<PunishLogPo> snapshot = redPunishSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = redPunishSnapshot;
+                if (snapshot == null) {
+                    snapshot = Collections.unmodifiableList(new ArrayList<>(redPunishList));
+                    redPunishSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /*
+     * 索引的value为只读列表，修改时整体替换
+     * index values are read-only lists, replaced as a whole on change
+     */
+
+    private static <T> void addToIndex(Map<ByteArrayWrapper, List<T>> index, byte[] address, T value) {
+        if (address == null) {
+            return;
+        }
+        ByteArrayWrapper key = new ByteArrayWrapper(address);
+        List<T> old = index.get(key);
+        List<T> list = old == null ? new ArrayList<>(1) : new ArrayList<>(old);
+        list.add(value);
+        index.put(key, Collections.unmodifiableList(list));
+    }
+
+    private static <T> void removeFromIndex(Map<ByteArrayWrapper, List<T>> index, byte[] address, T value) {
+        if (address == null) {
+            return;
+        }
+        ByteArrayWrapper key = new ByteArrayWrapper(address);
+        List<T> old = index.get(key);
+        if (old == null) {
+            return;
+        }
+        List<T> list = new ArrayList<>(old);
+        list.remove(value);
+        if (list.isEmpty()) {
+            index.remove(key);
+        } else {
+            index.put(key, Collections.unmodifiableList(list));
+        }
+    }
+
+    private static <T> List<T> getFromIndex(Map<ByteArrayWrapper, List<T>> index, byte[] address) {
+        if (address == null) {
+            return Collections.emptyList();
+        }
+        List<T> list = index.get(new ByteArrayWrapper(address));
+        return list == null ? Collections.emptyList() : list;
+    }
+}
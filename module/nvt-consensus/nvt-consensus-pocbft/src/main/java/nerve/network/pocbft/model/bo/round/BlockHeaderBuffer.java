@@ -0,0 +1,313 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nerve.network.pocbft.model.bo.round;
+
+import io.nuls.base.data.BlockHeader;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地缓存的最近若干轮区块头，按高度连续存放在环形数组中
+ * Block headers of the latest rounds, stored by height in a ring buffer
+ * <p>
+ * 区块保存时追加到尾部，回滚时从尾部移除，补齐历史区块时插入头部，轮次过旧时从头部整轮清除；
+ * 按高度、按轮次(首尾区块)查询均为O(1)，按时间与按轮次前驱查询为二分查找。
+ * Saved blocks are appended, rolled back blocks are removed from the tail, backfilled history is prepended and
+ * the oldest round is trimmed from the head. Lookups by height and by round (first/last block) are O(1),
+ * lookups by time and by preceding round are binary searches.
+ */
+public class BlockHeaderBuffer {
+    private static final int INIT_CAPACITY = 1024;
+
+    private BlockHeaderSummary[] ring = new BlockHeaderSummary[INIT_CAPACITY];
+    private int head;
+    private int size;
+    /**
+     * key:轮次, value:[该轮首个区块高度, 该轮最后区块高度]
+     * key: round index, value: [first height, last height] of the round
+     */
+    private final Map<Long, long[]> roundSpans = new HashMap<>();
+
+    /**
+     * 清空并加载区块头，区块头需按高度升序排列
+     * Clear and load block headers sorted by ascending height
+     */
+    public synchronized void load(List<BlockHeader> headers, int chainId) {
+        clear();
+        for (BlockHeader header : headers) {
+            add(header, chainId);
+        }
+    }
+
+    /**
+     * 追加最新区块头，高度不连续时先截断或重置缓存
+     * Append the newest header. A header at or below the current tip replaces the tail from that height,
+     * a gap resets the buffer.
+     */
+    public synchronized BlockHeaderSummary add(BlockHeader header, int chainId) {
+        BlockHeaderSummary summary = new BlockHeaderSummary(header, chainId);
+        if (size > 0) {
+            long expected = getLastInternal().getHeight() + 1;
+            if (summary.getHeight() < expected) {
+                while (size > 0 && getLastInternal().getHeight() >= summary.getHeight()) {
+                    removeLastInternal();
+                }
+            } else if (summary.getHeight() > expected) {
+                clear();
+            }
+        }
+        ensureCapacity();
+        ring[index(size)] = summary;
+        size++;
+        long[] span = roundSpans.get(summary.getRoundIndex());
+        if (span == null) {
+            roundSpans.put(summary.getRoundIndex(), new long[]{summary.getHeight(), summary.getHeight()});
+        } else {
+            span[1] = summary.getHeight();
+        }
+        return summary;
+    }
+
+    /**
+     * 在头部补齐更早的区块头，区块头需按高度升序排列，与已有区块重叠或不连续的部分被忽略
+     * Prepend older headers sorted by ascending height. Headers overlapping the buffer or not adjacent to it are ignored.
+     *
+     * @return 实际插入数量 / number of headers inserted
+     */
+    public synchronized int prepend(List<BlockHeader> headers, int chainId) {
+        if (size == 0) {
+            load(headers, chainId);
+            return size;
+        }
+        int count = 0;
+        for (int i = headers.size() - 1; i >= 0; i--) {
+            BlockHeader header = headers.get(i);
+            long firstHeight = getFirstInternal().getHeight();
+            if (header.getHeight() >= firstHeight) {
+                continue;
+            }
+            if (header.getHeight() != firstHeight - 1) {
+                break;
+            }
+            BlockHeaderSummary summary = new BlockHeaderSummary(header, chainId);
+            ensureCapacity();
+            head = (head - 1) & (ring.length - 1);
+            ring[head] = summary;
+            size++;
+            long[] span = roundSpans.get(summary.getRoundIndex());
+            if (span == null) {
+                roundSpans.put(summary.getRoundIndex(), new long[]{summary.getHeight(), summary.getHeight()});
+            } else {
+                span[0] = summary.getHeight();
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 移除最新区块头（区块回滚）
+     * Remove the newest header (block rollback)
+     */
+    public synchronized BlockHeaderSummary removeLast() {
+        if (size == 0) {
+            return null;
+        }
+        return removeLastInternal();
+    }
+
+    /**
+     * 从头部移除最早一轮的全部区块头
+     * Remove every header of the oldest round from the head
+     *
+     * @return 移除的轮次，缓存为空时返回-1 / the removed round, -1 if the buffer is empty
+     */
+    public synchronized long removeFirstRound() {
+        if (size == 0) {
+            return -1;
+        }
+        long roundIndex = getFirstInternal().getRoundIndex();
+        while (size > 0 && getFirstInternal().getRoundIndex() == roundIndex) {
+            ring[head] = null;
+            head = (head + 1) & (ring.length - 1);
+            size--;
+        }
+        roundSpans.remove(roundIndex);
+        return roundIndex;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized BlockHeaderSummary getFirst() {
+        return size == 0 ? null : getFirstInternal();
+    }
+
+    public synchronized BlockHeaderSummary getLast() {
+        return size == 0 ? null : getLastInternal();
+    }
+
+    public synchronized BlockHeaderSummary get(long height) {
+        if (size == 0) {
+            return null;
+        }
+        long offset = height - getFirstInternal().getHeight();
+        if (offset < 0 || offset >= size) {
+            return null;
+        }
+        return ring[index((int) offset)];
+    }
+
+    /**
+     * 指定轮次的第一个区块
+     * The first header of the round
+     */
+    public synchronized BlockHeaderSummary getFirstOfRound(long roundIndex) {
+        long[] span = roundSpans.get(roundIndex);
+        return span == null ? null : get(span[0]);
+    }
+
+    /**
+     * 指定轮次的最后一个区块
+     * The last header of the round
+     */
+    public synchronized BlockHeaderSummary getLastOfRound(long roundIndex) {
+        long[] span = roundSpans.get(roundIndex);
+        return span == null ? null : get(span[1]);
+    }
+
+    /**
+     * 轮次小于指定轮次的最新区块
+     * The newest header whose round is lower than the given round
+     */
+    public synchronized BlockHeaderSummary getLastBeforeRound(long roundIndex) {
+        int low = 0;
+        int high = size - 1;
+        BlockHeaderSummary result = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            BlockHeaderSummary summary = ring[index(mid)];
+            if (summary.getRoundIndex() < roundIndex) {
+                result = summary;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 出块时间不大于指定时间的最新区块
+     * The newest header whose time is not after the given time
+     */
+    public synchronized BlockHeaderSummary getLastNotAfter(long time) {
+        int low = 0;
+        int high = size - 1;
+        BlockHeaderSummary result = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            BlockHeaderSummary summary = ring[index(mid)];
+            if (summary.getTime() <= time) {
+                result = summary;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 指定轮次区间内某地址打包的区块数
+     * Number of blocks packed by the address within the round range
+     */
+    public synchronized long countByPackingAddress(byte[] packingAddress, long roundStart, long roundEnd) {
+        long count = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            BlockHeaderSummary summary = ring[index(i)];
+            if (summary.getRoundIndex() > roundEnd) {
+                continue;
+            }
+            if (summary.getRoundIndex() < roundStart) {
+                break;
+            }
+            if (Arrays.equals(summary.getPackingAddress(), packingAddress)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void clear() {
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+        roundSpans.clear();
+    }
+
+    private BlockHeaderSummary getFirstInternal() {
+        return ring[head];
+    }
+
+    private BlockHeaderSummary getLastInternal() {
+        return ring[index(size - 1)];
+    }
+
+    private BlockHeaderSummary removeLastInternal() {
+        int tail = index(size - 1);
+        BlockHeaderSummary summary = ring[tail];
+        ring[tail] = null;
+        size--;
+        long[] span = roundSpans.get(summary.getRoundIndex());
+        if (span != null) {
+            if (span[0] >= summary.getHeight()) {
+                roundSpans.remove(summary.getRoundIndex());
+            } else {
+                span[1] = summary.getHeight() - 1;
+            }
+        }
+        return summary;
+    }
+
+    private int index(int offset) {
+        return (head + offset) & (ring.length - 1);
+    }
+
+    private void ensureCapacity() {
+        if (size < ring.length) {
+            return;
+        }
+        BlockHeaderSummary[] newRing = new BlockHeaderSummary[ring.length << 1];
+        for (int i = 0; i < size; i++) {
+            newRing[i] = ring[index(i)];
+        }
+        ring = newRing;
+        head = 0;
+    }
+}
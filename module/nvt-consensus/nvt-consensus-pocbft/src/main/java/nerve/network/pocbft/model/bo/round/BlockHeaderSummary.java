@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2019 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nerve.network.pocbft.model.bo.round;
+
+import io.nuls.base.data.BlockExtendsData;
+import io.nuls.base.data.BlockHeader;
+import io.nuls.base.data.NulsHash;
+
+/**
+ * 已解码的区块头摘要，轮次计算直接读取字段，无需重复解析扩展数据或由签名公钥推导打包地址
+ * Decoded block header summary, round computation reads the fields directly instead of
+ * re-parsing the extend data or deriving the packing address from the signature public key
+ */
+public class BlockHeaderSummary {
+    private final long height;
+    private final NulsHash hash;
+    private final long time;
+    private final long roundIndex;
+    private final long roundStartTime;
+    private final int consensusMemberCount;
+    private final int packingIndexOfRound;
+    private final byte[] packingAddress;
+    private final BlockHeader header;
+
+    public BlockHeaderSummary(BlockHeader header, int chainId) {
+        BlockExtendsData extendsData = header.getExtendsData();
+        this.height = header.getHeight();
+        this.hash = header.getHash();
+        this.time = header.getTime();
+        this.roundIndex = extendsData.getRoundIndex();
+        this.roundStartTime = extendsData.getRoundStartTime();
+        this.consensusMemberCount = extendsData.getConsensusMemberCount();
+        this.packingIndexOfRound = extendsData.getPackingIndexOfRound();
+        this.packingAddress = header.getPackingAddress(chainId);
+        this.header = header;
+    }
+
+    /**
+     * 轮次结束时间
+     * Round end time
+     *
+     * @param packingInterval 出块间隔
+     */
+    public long getRoundEndTime(long packingInterval) {
+        return roundStartTime + packingInterval * consensusMemberCount;
+    }
+
+    public long getHeight() {
+        return height;
+    }
+
+    public NulsHash getHash() {
+        return hash;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public long getRoundIndex() {
+        return roundIndex;
+    }
+
+    public long getRoundStartTime() {
+        return roundStartTime;
+    }
+
+    public int getConsensusMemberCount() {
+        return consensusMemberCount;
+    }
+
+    public int getPackingIndexOfRound() {
+        return packingIndexOfRound;
+    }
+
+    public byte[] getPackingAddress() {
+        return packingAddress;
+    }
+
+    public BlockHeader getHeader() {
+        return header;
+    }
+
+    public BlockExtendsData getExtendsData() {
+        return header.getExtendsData();
+    }
+}
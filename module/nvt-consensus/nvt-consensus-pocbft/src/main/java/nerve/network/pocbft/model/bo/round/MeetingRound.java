@@ -37,6 +37,7 @@ import nerve.network.pocbft.model.bo.Chain;
 import nerve.network.pocbft.rpc.call.CallMethodUtils;
 import io.nuls.core.exception.NulsRuntimeException;
 import io.nuls.core.log.Log;
+import io.nuls.core.model.ByteArrayWrapper;
 import io.nuls.core.model.StringUtils;
 import nerve.network.pocbft.utils.ConsensusNetUtil;
 
@@ -94,6 +95,12 @@ public class MeetingRound {
      * */
     private Set<String> memberAddressList;
 
+    /**
+     * 本轮次出块节点地址(字节)，用于签名验证时直接比对
+     * Raw addresses of this round's members, compared directly when verifying signatures
+     * */
+    private Set<ByteArrayWrapper> memberAddressSet;
+
     public MeetingRound getPreRound() {
         return preRound;
     }
@@ -137,14 +144,27 @@ public class MeetingRound {
         Collections.sort(memberList);
         this.memberCount = memberList.size();
         Set<String> memberAddressList = new HashSet<>();
+        Set<ByteArrayWrapper> memberAddressSet = new HashSet<>();
         MeetingMember member;
         for (int i = 0; i < memberCount; i++) {
             member = memberList.get(i);
             member.setRoundStartTime(this.getStartTime());
             member.setPackingIndexOfRound(i + 1);
             memberAddressList.add(AddressTool.getStringAddressByBytes(memberList.get(i).getAgent().getPackingAddress()));
+            memberAddressSet.add(new ByteArrayWrapper(memberList.get(i).getAgent().getPackingAddress()));
         }
         this.memberAddressList = memberAddressList;
+        this.memberAddressSet = memberAddressSet;
+    }
+
+    /**
+     * 地址是否为本轮次出块节点
+     * Whether the address is a member of this round
+     *
+     * @param address 地址字节/raw address
+     * */
+    public boolean isMember(byte[] address) {
+        return memberAddressSet != null && memberAddressSet.contains(new ByteArrayWrapper(address));
     }
 
     public MeetingMember getMember(int order) {
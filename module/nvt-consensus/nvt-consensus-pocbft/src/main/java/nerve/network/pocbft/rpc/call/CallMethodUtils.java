@@ -381,14 +381,15 @@ public class CallMethodUtils {
         try {
             Map<String, Object> params = new HashMap<>(2);
             params.put(Constants.CHAIN_ID, chainId);
-            List<String> txList = new ArrayList<>();
+            //交易与区块头以序列化数据传递，只在JSON通道上编码为hex
+            List<byte[]> txList = new ArrayList<>(transactions.size());
             for (Transaction transaction : transactions) {
-                txList.add(RPCUtil.encode(transaction.serialize()));
+                txList.add(transaction.serialize());
             }
             params.put(PARAM_TX_LIST, txList);
             BlockExtendsData lastData = lastHeader.getExtendsData();
             params.put(PARAM_PRE_STATE_ROOT, RPCUtil.encode(lastData.getStateRoot()));
-            params.put(PARAM_BLOCK_HEADER, RPCUtil.encode(header.serialize()));
+            params.put(PARAM_BLOCK_HEADER, header.serialize());
             return ResponseMessageProcessor.requestAndResponse(ModuleE.TX.abbr, CALL_TX_BATCH_VERIFY, params, 10 * 60 * 1000);
         } catch (Exception e) {
             logger.error("", e);
@@ -488,7 +489,7 @@ public class CallMethodUtils {
             blockHeaders.add(blockHeader);
         }
         blockHeaders.sort(new BlockHeaderComparator());
-        chain.setBlockHeaderList(blockHeaders);
+        chain.getBlockHeaderBuffer().load(blockHeaders, chain.getChainId());
         chain.setNewestHeader(blockHeaders.get(blockHeaders.size() - 1));
         Log.debug("---------------------------区块加载成功！");
     }
@@ -534,7 +535,7 @@ public class CallMethodUtils {
             blockHeaders.add(blockHeader);
         }
         blockHeaders.sort(new BlockHeaderComparator());
-        chain.getBlockHeaderList().addAll(0, blockHeaders);
+        chain.getBlockHeaderBuffer().prepend(blockHeaders, chain.getChainId());
         Log.debug("---------------------------回滚区块轮次变化从新加载区块成功！");
     }
 
@@ -254,17 +254,7 @@ public class AgentServiceImpl implements AgentService {
         }
         try {
             HashMap callResult = CallMethodUtils.accountValid(dto.getChainId(), dto.getAddress(), dto.getPassword());
-            List<Agent> agentList = chain.getAgentList();
-            Agent agent = null;
-            for (Agent a : agentList) {
-                if (a.getDelHeight() > 0) {
-                    continue;
-                }
-                if (Arrays.equals(a.getAgentAddress(), AddressTool.getAddress(dto.getAddress()))) {
-                    agent = a;
-                    break;
-                }
-            }
+            Agent agent = agentManager.getValidAgentByAddress(chain, AddressTool.getAddress(dto.getAddress()));
             if (agent == null || agent.getDelHeight() > 0) {
                 return Result.getFailed(ConsensusErrorCode.AGENT_NOT_EXIST);
             }
@@ -411,19 +401,17 @@ public class AgentServiceImpl implements AgentService {
             return Result.getFailed(ConsensusErrorCode.CHAIN_NOT_EXIST);
         }
         NulsHash agentHashData = NulsHash.fromHex(agentHash);
-        List<Agent> agentList = chain.getAgentList();
-        for (Agent agent : agentList) {
-            if (agent.getTxHash().equals(agentHashData)) {
-                MeetingRound round = roundManager.getCurrentRound(chain);
-                if (agent.getDelHeight() == -1) {
-                    agentManager.fillAgent( agent, round);
-                } else {
-                    agent.setStatus(0);
-                    agent.setCreditVal(0);
-                }
-                AgentDTO result = new AgentDTO(agent);
-                return Result.getSuccess(ConsensusErrorCode.SUCCESS).setData(result);
+        Agent agent = agentManager.getAgentByHash(chain, agentHashData);
+        if (agent != null) {
+            MeetingRound round = roundManager.getCurrentRound(chain);
+            if (agent.getDelHeight() == -1) {
+                agentManager.fillAgent( agent, round);
+            } else {
+                agent.setStatus(0);
+                agent.setCreditVal(0);
             }
+            AgentDTO result = new AgentDTO(agent);
+            return Result.getSuccess(ConsensusErrorCode.SUCCESS).setData(result);
         }
         return Result.getFailed(ConsensusErrorCode.AGENT_NOT_EXIST);
     }
@@ -22,6 +22,7 @@ import nerve.network.pocbft.rpc.call.CallMethodUtils;
 import nerve.network.pocbft.rpc.call.NetWorkCall;
 import nerve.network.pocbft.service.BlockService;
 import nerve.network.pocbft.utils.ConsensusAwardUtil;
+import nerve.network.pocbft.utils.compare.BlockHeaderComparator;
 import nerve.network.pocbft.utils.manager.BlockManager;
 import nerve.network.pocbft.utils.manager.ChainManager;
 import nerve.network.pocbft.utils.validator.BlockValidator;
@@ -129,8 +130,8 @@ public class BlockServiceImpl implements BlockService {
                 blockHeader.parse(RPCUtil.decode(header),0);
                 blockHeaderList.add(blockHeader);
             }
-            List<BlockHeader> localBlockHeaders = chain.getBlockHeaderList();
-            localBlockHeaders.addAll(0, blockHeaderList);
+            blockHeaderList.sort(new BlockHeaderComparator());
+            chain.getBlockHeaderBuffer().prepend(blockHeaderList, chainId);
             Map<String, Object> validResult = new HashMap<>(2);
             validResult.put(PARAM_RESULT_VALUE, true);
             return Result.getSuccess(ConsensusErrorCode.SUCCESS).setData(validResult);
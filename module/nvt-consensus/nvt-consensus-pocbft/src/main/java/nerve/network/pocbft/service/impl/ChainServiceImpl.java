@@ -232,21 +232,18 @@ public class ChainServiceImpl implements ChainService {
         int agentCount = 0;
         String agentHash = null;
         byte[] addressBytes = AddressTool.getAddress(address);
-        List<Agent> agentList = chain.getAgentList();
-        for (Agent agent : agentList) {
+        for (Agent agent : chain.getConsensusState().getAgentsByAgentAddress(addressBytes)) {
             if (agent.getDelHeight() != -1L && agent.getDelHeight() <= startBlockHeight) {
                 continue;
             } else if (agent.getBlockHeight() > startBlockHeight || agent.getBlockHeight() < 0L) {
                 continue;
             }
-            if (Arrays.equals(agent.getAgentAddress(), addressBytes)) {
-                //一个账户最多只能创建一个共识节点
-                agentCount = 1;
-                agentHash = agent.getTxHash().toHex();
-                break;
-            }
+            //一个账户最多只能创建一个共识节点
+            agentCount = 1;
+            agentHash = agent.getTxHash().toHex();
+            break;
         }
-        List<Deposit> depositList = chain.getDepositList();
+        List<Deposit> depositList = chain.getConsensusState().getDepositsByAddress(addressBytes);
         Set<NulsHash> agentSet = new HashSet<>();
         BigInteger totalDeposit = BigInteger.ZERO;
         for (Deposit deposit : depositList) {
@@ -243,12 +243,15 @@ public class DepositServiceImpl implements DepositService {
         if (chain == null) {
             return Result.getFailed(ConsensusErrorCode.CHAIN_NOT_EXIST);
         }
-        List<Deposit> depositList = chain.getDepositList();
+        List<Deposit> depositList;
         List<Deposit> handleList = new ArrayList<>();
         long startBlockHeight = chain.getNewestHeader().getHeight();
         byte[] addressBytes = null;
         if (StringUtils.isNotBlank(address)) {
             addressBytes = AddressTool.getAddress(address);
+            depositList = chain.getConsensusState().getDepositsByAddress(addressBytes);
+        } else {
+            depositList = chain.getDepositList();
         }
         for (Deposit deposit : depositList) {
             if (deposit.getDelHeight() != -1L && deposit.getDelHeight() <= startBlockHeight) {
@@ -126,16 +126,13 @@ public class MultiSignServiceImpl implements MultiSignService {
             Transaction tx = new Transaction(TxType.STOP_AGENT);
             StopAgent stopAgent = new StopAgent();
             stopAgent.setAddress(AddressTool.getAddress(dto.getAddress()));
-            List<Agent> agentList = chain.getAgentList();
             Agent agent = null;
-            for (Agent a : agentList) {
+            for (Agent a : chain.getConsensusState().getAgentsByAgentAddress(AddressTool.getAddress(dto.getAddress()))) {
                 if (a.getDelHeight() > 0) {
                     continue;
                 }
-                if (Arrays.equals(a.getAgentAddress(), AddressTool.getAddress(dto.getAddress()))) {
-                    agent = a;
-                    break;
-                }
+                agent = a;
+                break;
             }
             if (agent == null || agent.getDelHeight() > 0) {
                 return Result.getFailed(ConsensusErrorCode.AGENT_NOT_EXIST);
@@ -193,7 +193,7 @@ public class RedPunishProcessor implements TransactionProcessor {
         }
 
         //更新缓存
-        chain.getRedPunishList().add(punishLogPo);
+        chain.getConsensusState().addRedPunish(punishLogPo);
         return true;
     }
 
@@ -252,7 +252,7 @@ public class RedPunishProcessor implements TransactionProcessor {
         punishLogPo.setType(PunishType.RED.getCode());
         punishLogPo.setEvidence(punishData.getEvidence());
         punishLogPo.setReasonCode(punishData.getReasonCode());
-        chain.getRedPunishList().remove(punishLogPo);
+        chain.getConsensusState().removeRedPunish(punishLogPo);
         return true;
     }
 }
@@ -130,7 +130,7 @@ public class YellowPunishProcessor implements TransactionProcessor {
                 savedList.add(po);
             }
         }
-        chain.getYellowPunishList().addAll(savedList);
+        chain.getConsensusState().addYellowPunishes(savedList);
         return true;
     }
 
@@ -168,7 +168,7 @@ public class YellowPunishProcessor implements TransactionProcessor {
             }
             deleteIndex++;
         }
-        chain.getYellowPunishList().removeAll(deletedList);
+        chain.getConsensusState().removeYellowPunishes(deletedList);
         return true;
     }
 }
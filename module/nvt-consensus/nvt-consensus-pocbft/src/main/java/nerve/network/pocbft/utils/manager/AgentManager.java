@@ -55,7 +55,7 @@ public class AgentManager {
             allAgentList.add(agent);
         }
         allAgentList.sort(new AgentComparator());
-        chain.setAgentList(allAgentList);
+        chain.getConsensusState().loadAgents(allAgentList);
     }
 
     /**
@@ -70,7 +70,7 @@ public class AgentManager {
             chain.getLogger().error("Agent data save error!");
             return false;
         }
-        chain.getAgentList().add(agent);
+        chain.getConsensusState().addAgent(agent);
         return true;
     }
 
@@ -87,12 +87,10 @@ public class AgentManager {
             return false;
         }
 
-        for (Agent agent : chain.getAgentList()) {
-            if(agent.getTxHash().equals(realAgent.getTxHash())){
-                agent.setDelHeight(realAgent.getDelHeight());
-                agent.setDeposit(realAgent.getDeposit());
-                break;
-            }
+        Agent agent = chain.getConsensusState().getAgent(realAgent.getTxHash());
+        if(agent != null){
+            agent.setDelHeight(realAgent.getDelHeight());
+            agent.setDeposit(realAgent.getDeposit());
         }
 
         return true;
@@ -110,7 +108,7 @@ public class AgentManager {
             chain.getLogger().error("Data save error!");
             return false;
         }
-        chain.getAgentList().removeIf(s -> s.getTxHash().equals(txHash));
+        chain.getConsensusState().removeAgent(txHash);
         return true;
     }
 
@@ -122,12 +120,7 @@ public class AgentManager {
      * @param txHash 创建该节点交易的HASH/Creating the node transaction hash
      */
     public Agent getAgentByHash(Chain chain, NulsHash txHash){
-        for (Agent agent : chain.getAgentList()) {
-            if (txHash.equals(agent.getTxHash())) {
-                return agent;
-            }
-        }
-        return null;
+        return chain.getConsensusState().getAgent(txHash);
     }
 
     /**
@@ -138,8 +131,20 @@ public class AgentManager {
      * @param agentAddress   节点地址
      */
     public Agent getAgentByAddress(Chain chain, byte[] agentAddress){
-        for (Agent agent:chain.getAgentList()) {
-            if(Arrays.equals(agentAddress, agent.getAgentAddress())){
+        List<Agent> agentList = chain.getConsensusState().getAgentsByAgentAddress(agentAddress);
+        return agentList.isEmpty() ? null : agentList.get(0);
+    }
+
+    /**
+     * 查询指定地址创建的未注销节点
+     * Query the agent created by the address that has not been stopped
+     *
+     * @param chain          chain info
+     * @param agentAddress   节点地址
+     */
+    public Agent getValidAgentByAddress(Chain chain, byte[] agentAddress){
+        for (Agent agent : chain.getConsensusState().getAgentsByAgentAddress(agentAddress)) {
+            if(agent.getDelHeight() <= 0){
                 return agent;
             }
         }
@@ -154,8 +159,20 @@ public class AgentManager {
      * @param packAddress   节点地址
      */
     public Agent getAgentByPackAddress(Chain chain, byte[] packAddress){
-        for (Agent agent:chain.getAgentList()) {
-            if(Arrays.equals(packAddress, agent.getPackingAddress())){
+        List<Agent> agentList = chain.getConsensusState().getAgentsByPackingAddress(packAddress);
+        return agentList.isEmpty() ? null : agentList.get(0);
+    }
+
+    /**
+     * 查询使用指定出块地址的未注销节点
+     * Query the agent using the packing address that has not been stopped
+     *
+     * @param chain          chain info
+     * @param packAddress   出块地址
+     */
+    public Agent getValidAgentByPackAddress(Chain chain, byte[] packAddress){
+        for (Agent agent : chain.getConsensusState().getAgentsByPackingAddress(packAddress)) {
+            if(agent.getDelHeight() <= 0){
                 return agent;
             }
         }
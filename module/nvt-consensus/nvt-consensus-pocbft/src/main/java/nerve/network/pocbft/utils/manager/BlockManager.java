@@ -6,12 +6,10 @@ import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import nerve.network.pocbft.constant.ConsensusConstant;
 import nerve.network.pocbft.model.bo.Chain;
+import nerve.network.pocbft.model.bo.round.BlockHeaderBuffer;
+import nerve.network.pocbft.model.bo.round.BlockHeaderSummary;
 import nerve.network.pocbft.rpc.call.CallMethodUtils;
 import nerve.network.pocbft.utils.ConsensusAwardUtil;
-import nerve.network.pocbft.utils.compare.BlockHeaderComparator;
-
-import java.util.Iterator;
-import java.util.List;
 
 /**
  * 链区块管理类
@@ -48,24 +46,17 @@ public class BlockManager {
         BlockExtendsData newestExtendsData = newestHeader.getExtendsData();
         BlockExtendsData receiveExtendsData = blockHeader.getExtendsData();
         long receiveRoundIndex = receiveExtendsData.getRoundIndex();
-        if(chain.getBlockHeaderList().size() >0){
-            BlockExtendsData lastExtendsData = chain.getBlockHeaderList().get(0).getExtendsData();
-            long lastRoundIndex = lastExtendsData.getRoundIndex();
+        BlockHeaderBuffer headerBuffer = chain.getBlockHeaderBuffer();
+        BlockHeaderSummary firstSummary = headerBuffer.getFirst();
+        if(firstSummary != null){
+            long lastRoundIndex = firstSummary.getRoundIndex();
             if (receiveRoundIndex > newestExtendsData.getRoundIndex() && (receiveRoundIndex - ConsensusConstant.INIT_BLOCK_HEADER_COUNT > lastRoundIndex)) {
-                Iterator<BlockHeader> iterator = chain.getBlockHeaderList().iterator();
-                while (iterator.hasNext()) {
-                    lastExtendsData = iterator.next().getExtendsData();
-                    if (lastExtendsData.getRoundIndex() == lastRoundIndex) {
-                        iterator.remove();
-                    } else if (lastExtendsData.getRoundIndex() > lastRoundIndex) {
-                        break;
-                    }
-                }
+                headerBuffer.removeFirstRound();
                 //清理轮次缓存
                 punishManager.clear(chain);
             }
         }
-        chain.getBlockHeaderList().add(blockHeader);
+        headerBuffer.add(blockHeader, chain.getChainId());
         chain.setNewestHeader(blockHeader);
         chain.getLogger().info("区块保存，高度为：" + blockHeader.getHeight() + " , txCount: " + blockHeader.getTxCount() + ",本地最新区块高度为：" + chain.getNewestHeader().getHeight() + ", 轮次:" + receiveExtendsData.getRoundIndex());
         //清除已经缓存了的比本节点轮次大的轮次信息
@@ -90,28 +81,24 @@ public class BlockManager {
      */
     public void chainRollBack(Chain chain, int height) {
         chain.getLogger().info("区块开始回滚，回滚到的高度：" + height);
-        List<BlockHeader> headerList = chain.getBlockHeaderList();
-        headerList.sort(new BlockHeaderComparator());
+        BlockHeaderBuffer headerBuffer = chain.getBlockHeaderBuffer();
         BlockHeader originalBlocHeader = chain.getNewestHeader();
         BlockExtendsData originalExtendsData = originalBlocHeader.getExtendsData();
         long originalRound = originalExtendsData.getRoundIndex();
-        BlockHeader rollBackHeader;
-        for (int index = headerList.size() - 1; index >= 0; index--) {
-            if (headerList.get(index).getHeight() >= height) {
-                rollBackHeader = headerList.remove(index);
-                ConsensusAwardUtil.rollbackAndSwitchSettleRecord(chain, rollBackHeader, headerList.get(index - 1));
-            } else {
-                break;
-            }
+        BlockHeaderSummary rollBackSummary = headerBuffer.getLast();
+        while (headerBuffer.size() > 1 && rollBackSummary.getHeight() >= height) {
+            headerBuffer.removeLast();
+            BlockHeaderSummary preSummary = headerBuffer.getLast();
+            ConsensusAwardUtil.rollbackAndSwitchSettleRecord(chain, rollBackSummary.getHeader(), preSummary.getHeader());
+            rollBackSummary = preSummary;
         }
-        chain.setBlockHeaderList(headerList);
-        chain.setNewestHeader(headerList.get(headerList.size() - 1));
+        chain.setNewestHeader(headerBuffer.getLast().getHeader());
         BlockHeader newestBlocHeader = chain.getNewestHeader();
         BlockExtendsData bestExtendsData = newestBlocHeader.getExtendsData();
         long currentRound = bestExtendsData.getRoundIndex();
         //如果有轮次变化，回滚之后如果本地区块不足指定轮次的区块，则需向区块获取区块补足并回滚本地
         if(currentRound != originalRound){
-            BlockHeader lastestBlocHeader = chain.getBlockHeaderList().get(0);
+            BlockHeader lastestBlocHeader = headerBuffer.getFirst().getHeader();
             BlockExtendsData lastestExtendsData = lastestBlocHeader.getExtendsData();
             long minRound = lastestExtendsData.getRoundIndex();
             int localRoundCount = (int)(currentRound - minRound + 1);
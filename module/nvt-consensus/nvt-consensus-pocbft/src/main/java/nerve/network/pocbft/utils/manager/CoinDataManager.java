@@ -225,14 +225,11 @@ public class CoinDataManager {
      * @return CoinData
      */
     public CoinData getStopAgentCoinData(Chain chain, byte[] address, long lockTime) throws NulsException {
-        List<Agent> agentList = chain.getAgentList();
-        for (Agent agent : agentList) {
+        for (Agent agent : chain.getConsensusState().getAgentsByAgentAddress(address)) {
             if (agent.getDelHeight() > 0) {
                 continue;
             }
-            if (Arrays.equals(address, agent.getAgentAddress())) {
-                return getStopAgentCoinData(chain, agent, lockTime);
-            }
+            return getStopAgentCoinData(chain, agent, lockTime);
         }
         return null;
     }
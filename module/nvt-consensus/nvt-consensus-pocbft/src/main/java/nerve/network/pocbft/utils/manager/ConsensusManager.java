@@ -111,10 +111,10 @@ public class ConsensusManager {
         Map<String, Object> resultMap = CallMethodUtils.getPackingTxList(chain, bd.getTime());
         List<Transaction> packingTxList = new ArrayList<>();
         if (resultMap != null) {
-            List<String> txHexList = (List) resultMap.get(ParameterConstant.PARAM_LIST);
-            for (String txHex : txHexList) {
+            List<Object> txDataList = (List) resultMap.get(ParameterConstant.PARAM_LIST);
+            for (Object txData : txDataList) {
                 Transaction tx = new Transaction();
-                tx.parse(RPCUtil.decode(txHex), 0);
+                tx.parse(RPCUtil.decodeParam(txData), 0);
                 packingTxList.add(tx);
             }
         }
@@ -161,10 +161,10 @@ public class ConsensusManager {
                 bd.getExtendsData().setStateRoot(RPCUtil.decode(stateRoot));
             }
             if (realPackageHeight >= txPackageHeight) {
-                List<String> txHexList = (List) resultMap.get(ParameterConstant.PARAM_LIST);
-                for (String txHex : txHexList) {
+                List<Object> txDataList = (List) resultMap.get(ParameterConstant.PARAM_LIST);
+                for (Object txData : txDataList) {
                     Transaction tx = new Transaction();
-                    tx.parse(RPCUtil.decode(txHex), 0);
+                    tx.parse(RPCUtil.decodeParam(txData), 0);
                     packingTxList.add(tx);
                 }
             }
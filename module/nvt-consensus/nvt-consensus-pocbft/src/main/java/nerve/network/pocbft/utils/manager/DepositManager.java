@@ -49,7 +49,7 @@ public class DepositManager {
             allDepositList.add(deposit);
         }
         allDepositList.sort(new DepositComparator());
-        chain.setDepositList(allDepositList);
+        chain.getConsensusState().loadDeposits(allDepositList);
     }
 
     /**
@@ -64,7 +64,7 @@ public class DepositManager {
             chain.getLogger().error("Data save error!");
             return false;
         }
-        chain.getDepositList().add(deposit);
+        chain.getConsensusState().addDeposit(deposit);
         return true;
     }
 
@@ -80,11 +80,9 @@ public class DepositManager {
             chain.getLogger().error("Data save error!");
             return false;
         }
-        for (Deposit oldDeposit:chain.getDepositList()) {
-            if(oldDeposit.getTxHash().equals(deposit.getTxHash())){
-                oldDeposit.setDelHeight(deposit.getDelHeight());
-                break;
-            }
+        Deposit oldDeposit = chain.getConsensusState().getDeposit(deposit.getTxHash());
+        if(oldDeposit != null){
+            oldDeposit.setDelHeight(deposit.getDelHeight());
         }
         return true;
     }
@@ -101,7 +99,7 @@ public class DepositManager {
             chain.getLogger().error("Data save error!");
             return false;
         }
-        chain.getDepositList().removeIf(s -> s.getTxHash().equals(txHash));
+        chain.getConsensusState().removeDeposit(txHash);
         return true;
     }
 
@@ -113,12 +111,7 @@ public class DepositManager {
      * @param txHash 创建该委托交易的Hash/Hash to create the delegated transaction
      */
     public Deposit getDeposit(Chain chain, NulsHash txHash){
-        for (Deposit deposit:chain.getDepositList()) {
-            if(deposit.getTxHash().equals(txHash)){
-                return deposit;
-            }
-        }
-        return null;
+        return chain.getConsensusState().getDeposit(txHash);
     }
 
     /**
@@ -44,6 +44,8 @@ public class PunishManager {
     private CoinDataManager coinDataManager;
     @Autowired
     private RoundManager roundManager;
+    @Autowired
+    private AgentManager agentManager;
 
     /**
      * 加载所有的红牌信息和最近X黃牌数据到缓存
@@ -73,8 +75,7 @@ public class PunishManager {
         }
         Collections.sort(redPunishList, new PunishLogComparator());
         Collections.sort(yellowPunishList, new PunishLogComparator());
-        chain.setRedPunishList(redPunishList);
-        chain.setYellowPunishList(yellowPunishList);
+        chain.getConsensusState().loadPunishes(redPunishList, yellowPunishList);
     }
 
     /**
@@ -86,15 +87,8 @@ public class PunishManager {
     public void clear(Chain chain) {
         BlockHeader blockHeader = chain.getNewestHeader();
         BlockExtendsData roundData = blockHeader.getExtendsData();
-        Iterator <PunishLogPo> iterator = chain.getYellowPunishList().iterator();
         long minRound = roundData.getRoundIndex() - ConsensusConstant.INIT_PUNISH_OF_ROUND_COUNT;
-        while (iterator.hasNext()){
-            PunishLogPo punishLogPo = iterator.next();
-            if(punishLogPo.getRoundIndex() >= minRound){
-                break;
-            }
-            iterator.remove();
-        }
+        chain.getConsensusState().clearYellowPunishes(minRound);
     }
 
     /**
@@ -110,16 +104,7 @@ public class PunishManager {
         找到分叉的节点
         Find the bifurcated nodes
         */
-        Agent agent = null;
-        for (Agent a : chain.getAgentList()) {
-            if (a.getDelHeight() > 0) {
-                continue;
-            }
-            if (Arrays.equals(a.getPackingAddress(), firstHeader.getPackingAddress(chain.getConfig().getChainId()))) {
-                agent = a;
-                break;
-            }
-        }
+        Agent agent = agentManager.getValidAgentByPackAddress(chain, firstHeader.getPackingAddress(chain.getConfig().getChainId()));
         if (null == agent) {
             return;
         }
@@ -147,17 +132,7 @@ public class PunishManager {
         Find the bifurcated nodes
         */
         byte[] packingAddress = AddressTool.getAddress(block.getHeader().getBlockSignature().getPublicKey(), (short) chain.getConfig().getChainId());
-        List<Agent> agentList = chain.getAgentList();
-        Agent agent = null;
-        for (Agent a : agentList) {
-            if (a.getDelHeight() > 0) {
-                continue;
-            }
-            if (Arrays.equals(a.getPackingAddress(), packingAddress)) {
-                agent = a;
-                break;
-            }
-        }
+        Agent agent = agentManager.getValidAgentByPackAddress(chain, packingAddress);
         if (agent == null) {
             return;
         }
@@ -544,17 +519,7 @@ public class PunishManager {
      * @return long
      */
     public long getRedPunishCount(Chain chain, byte[] address) {
-        List<PunishLogPo> list = chain.getRedPunishList();
-        if (null == list || list.isEmpty()) {
-            return 0;
-        }
-        long count = 0;
-        for (PunishLogPo po : list) {
-            if (Arrays.equals(address, po.getAddress())) {
-                count++;
-            }
-        }
-        return count;
+        return chain.getConsensusState().countRedPunish(address);
     }
 
     /**
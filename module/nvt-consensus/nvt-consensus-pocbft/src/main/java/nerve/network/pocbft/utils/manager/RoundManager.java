@@ -12,6 +12,8 @@ import io.nuls.core.model.StringUtils;
 import io.nuls.core.rpc.util.NulsDateUtils;
 import nerve.network.pocbft.constant.ConsensusConstant;
 import nerve.network.pocbft.model.bo.Chain;
+import nerve.network.pocbft.model.bo.round.BlockHeaderBuffer;
+import nerve.network.pocbft.model.bo.round.BlockHeaderSummary;
 import nerve.network.pocbft.model.bo.round.MeetingMember;
 import nerve.network.pocbft.model.bo.round.MeetingRound;
 import nerve.network.pocbft.model.bo.tx.txdata.Agent;
@@ -214,34 +216,25 @@ public class RoundManager {
      * @param time   时间点
      * */
     public MeetingRound getRoundByTime(Chain chain, long time) throws Exception {
-        int blockHeaderSize = chain.getBlockHeaderList().size();
-        for (int index = blockHeaderSize - 1; index >= 0; index--) {
-            BlockHeader blockHeader = chain.getBlockHeaderList().get(index);
-            if (blockHeader.getTime() <= time) {
-                BlockExtendsData blockExtendsData = blockHeader.getExtendsData();
-                long roundStartTime = blockExtendsData.getRoundStartTime();
-                long roundEndTime = roundStartTime + chain.getConfig().getPackingInterval() * blockExtendsData.getConsensusMemberCount();
-                if (roundStartTime <= time) {
-                    if (roundEndTime >= time) {
-                        return getRound(chain, blockExtendsData, false);
-                    } else {
-                        int realIndex = index + 1;
-                        while (realIndex <= blockHeaderSize - 1) {
-                            blockExtendsData.parse(chain.getBlockHeaderList().get(realIndex).getExtend(), 0);
-                            roundStartTime = blockExtendsData.getRoundStartTime();
-                            roundEndTime = roundStartTime + chain.getConfig().getPackingInterval() * blockExtendsData.getConsensusMemberCount();
-                            if (roundStartTime > time) {
-                                return null;
-                            }
-                            if (roundEndTime >= time) {
-                                return getRound(chain, blockExtendsData, false);
-                            }
-                            realIndex++;
-                        }
-                        return null;
-                    }
-                }
+        BlockHeaderBuffer headerBuffer = chain.getBlockHeaderBuffer();
+        long packingInterval = chain.getConfig().getPackingInterval();
+        BlockHeaderSummary summary = headerBuffer.getLastNotAfter(time);
+        while (summary != null && summary.getRoundStartTime() > time) {
+            summary = headerBuffer.get(summary.getHeight() - 1);
+        }
+        //从该区块所在轮次开始逐轮向后查找包含该时间点的轮次
+        while (summary != null) {
+            if (summary.getRoundStartTime() > time) {
+                return null;
+            }
+            if (summary.getRoundEndTime(packingInterval) >= time) {
+                return getRound(chain, summary.getExtendsData(), false);
             }
+            BlockHeaderSummary roundLast = headerBuffer.getLastOfRound(summary.getRoundIndex());
+            if (roundLast == null) {
+                return null;
+            }
+            summary = headerBuffer.get(roundLast.getHeight() + 1);
         }
         return null;
     }
@@ -453,25 +446,27 @@ public class RoundManager {
      */
     private long getPunishCountByAddress(Chain chain, byte[] address, long roundStart, long roundEnd, int code) throws NulsException {
         long count = 0;
-        List<PunishLogPo> punishList = chain.getYellowPunishList();
         if (code == PunishType.RED.getCode()) {
-            punishList = chain.getRedPunishList();
-        }
-        for (int i = punishList.size() - 1; i >= 0; i--) {
-            if (count >= ConsensusConstant.CREDIT_MAGIC_NUM) {
-                break;
-            }
-            PunishLogPo punish = punishList.get(i);
+            List<PunishLogPo> punishList = chain.getRedPunishList();
+            for (int i = punishList.size() - 1; i >= 0; i--) {
+                if (count >= ConsensusConstant.CREDIT_MAGIC_NUM) {
+                    break;
+                }
+                PunishLogPo punish = punishList.get(i);
 
-            if (punish.getRoundIndex() > roundEnd) {
-                continue;
-            }
-            if (punish.getRoundIndex() < roundStart) {
-                break;
-            }
-            if (Arrays.equals(punish.getAddress(), address)) {
-                count++;
+                if (punish.getRoundIndex() > roundEnd) {
+                    continue;
+                }
+                if (punish.getRoundIndex() < roundStart) {
+                    break;
+                }
+                if (Arrays.equals(punish.getAddress(), address)) {
+                    count++;
+                }
             }
+        } else {
+            //黄牌按地址和轮次索引，不再遍历全部黄牌 / yellow punishments are indexed by address and round, no full scan
+            count = chain.getConsensusState().countYellowPunish(address, roundStart, roundEnd, ConsensusConstant.CREDIT_MAGIC_NUM);
         }
         /*
         每一轮的惩罚都有可能包含上一轮次的惩罚记录，即计算从a到a+99轮的惩罚记录时，a轮的惩罚中可能是惩罚某个地址在a-1轮未出块，导致100轮最多可能有101个惩罚记录，在这里处理下
@@ -495,23 +490,13 @@ public class RoundManager {
      */
     public BlockHeader getFirstBlockOfPreRound(Chain chain, long roundIndex) {
         BlockHeader firstBlockHeader = null;
-        long startRoundIndex = 0L;
-        List<BlockHeader> blockHeaderList = chain.getBlockHeaderList();
-        for (int i = blockHeaderList.size() - 1; i >= 0; i--) {
-            BlockHeader blockHeader = blockHeaderList.get(i);
-            long currentRoundIndex = blockHeader.getExtendsData().getRoundIndex();
-            if (roundIndex > currentRoundIndex) {
-                if (startRoundIndex == 0L) {
-                    startRoundIndex = currentRoundIndex;
-                }
-                if (currentRoundIndex < startRoundIndex) {
-                    firstBlockHeader = blockHeaderList.get(i + 1);
-                    BlockExtendsData roundData = firstBlockHeader.getExtendsData();
-                    if (roundData.getPackingIndexOfRound() > 1) {
-                        firstBlockHeader = blockHeader;
-                    }
-                    break;
-                }
+        BlockHeaderBuffer headerBuffer = chain.getBlockHeaderBuffer();
+        BlockHeaderSummary preRoundLast = headerBuffer.getLastBeforeRound(roundIndex);
+        if (preRoundLast != null) {
+            BlockHeaderSummary preRoundFirst = headerBuffer.getFirstOfRound(preRoundLast.getRoundIndex());
+            BlockHeaderSummary beforeSummary = preRoundFirst == null ? null : headerBuffer.get(preRoundFirst.getHeight() - 1);
+            if (beforeSummary != null) {
+                firstBlockHeader = preRoundFirst.getPackingIndexOfRound() > 1 ? beforeSummary.getHeader() : preRoundFirst.getHeader();
             }
         }
         if (firstBlockHeader == null) {
@@ -529,19 +514,15 @@ public class RoundManager {
      * @param roundIndex 轮次下标
      */
     public MeetingRound getPreRound(Chain chain, long roundIndex)throws Exception{
-        List<BlockHeader> blockHeaderList = chain.getBlockHeaderList();
-        BlockHeader blockHeader;
-        BlockExtendsData extendsData = null;
-        for (int i = blockHeaderList.size() - 1; i >= 0; i--) {
-            blockHeader = blockHeaderList.get(i);
-            extendsData = blockHeader.getExtendsData();
-            if(extendsData.getRoundIndex() < roundIndex){
-                break;
-            }
+        BlockHeaderBuffer headerBuffer = chain.getBlockHeaderBuffer();
+        BlockHeaderSummary summary = headerBuffer.getLastBeforeRound(roundIndex);
+        if(summary == null){
+            summary = headerBuffer.getFirst();
         }
-        if(extendsData == null){
+        if(summary == null){
             return null;
         }
+        BlockExtendsData extendsData = summary.getExtendsData();
         MeetingRound round = getRoundByIndex(chain, extendsData.getRoundIndex());
         if(round != null){
             return round;
@@ -559,22 +540,7 @@ public class RoundManager {
      * @param roundEnd       结束轮次
      */
     private long getBlockCountByAddress(Chain chain, byte[] packingAddress, long roundStart, long roundEnd) {
-        long count = 0;
-        List<BlockHeader> blockHeaderList = chain.getBlockHeaderList();
-        for (int i = blockHeaderList.size() - 1; i >= 0; i--) {
-            BlockHeader blockHeader = blockHeaderList.get(i);
-            BlockExtendsData roundData = blockHeader.getExtendsData();
-            if (roundData.getRoundIndex() > roundEnd) {
-                continue;
-            }
-            if (roundData.getRoundIndex() < roundStart) {
-                break;
-            }
-            if (Arrays.equals(blockHeader.getPackingAddress(chain.getConfig().getChainId()), packingAddress)) {
-                count++;
-            }
-        }
-        return count;
+        return chain.getBlockHeaderBuffer().countByPackingAddress(packingAddress, roundStart, roundEnd);
     }
 
 
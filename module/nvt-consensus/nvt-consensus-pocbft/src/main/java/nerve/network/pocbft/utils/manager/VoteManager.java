@@ -8,6 +8,8 @@ import io.nuls.base.signture.BlockSignature;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.exception.NulsException;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
 import nerve.network.pocbft.cache.VoteCache;
 import nerve.network.pocbft.constant.CommandConstant;
 import nerve.network.pocbft.constant.ConsensusConstant;
@@ -21,7 +23,12 @@ import nerve.network.pocbft.rpc.call.NetWorkCall;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -37,6 +44,12 @@ import static nerve.network.pocbft.cache.VoteCache.*;
 @Component
 public class VoteManager {
     private static Lock switchVoteInfoLock = new ReentrantLock();
+    private static final int VERIFY_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+    /**
+     * 投票结果签名并行验证线程池
+     * Thread pool verifying vote result signatures in parallel
+     */
+    private static final ThreadPoolExecutor SIGNATURE_VERIFY_POOL = ThreadUtils.createThreadPool(VERIFY_THREAD_COUNT, 0, new NulsThreadFactory("vote-verify"));
     @Autowired
     private static RoundManager roundManager;
 
@@ -221,13 +234,16 @@ public class VoteManager {
     /**
      * 投票结果签名验证
      * Voting result signature verification
+     * 1.签名地址按字节与轮次成员比对
+     * 2.跳过作为单独投票收到时已验证过的签名
+     * 3.其余签名分片后并行验证
      *
      * @param chain          链信息
      * @param voteResultData 投票结果数据
      * @param round          轮次信息
      */
     private static boolean verifySignature(Chain chain, VoteResultData voteResultData, MeetingRound round) {
-        Set<String> memberAddressList = round.getMemberAddressList();
+        List<PendingSignature> pendingList = new ArrayList<>();
         for (VoteResultItem item : voteResultData.getVoteResultItemList()) {
             NulsHash voteHash;
             try {
@@ -244,21 +260,75 @@ public class VoteManager {
                     chain.getLogger().error(e);
                     return false;
                 }
-                String address = AddressTool.getStringAddressByBytes(AddressTool.getAddress(signature.getPublicKey(), chain.getChainId()));
-                if (!memberAddressList.contains(address)) {
+                if (!round.isMember(AddressTool.getAddress(signature.getPublicKey(), chain.getChainId()))) {
                     chain.getLogger().error("Not a consensus node signature");
                     return false;
                 }
-                if (signature.verifySignature(voteHash).isFailed()) {
-                    chain.getLogger().error("Voting signature verification failed");
-                    return false;
+                if (VoteCache.isVerifiedSignature(voteHash, sign)) {
+                    continue;
                 }
-
+                pendingList.add(new PendingSignature(voteHash, sign, signature));
+            }
+        }
+        if (pendingList.isEmpty()) {
+            return true;
+        }
+        int shardCount = Math.min(pendingList.size(), VERIFY_THREAD_COUNT);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<Future<?>> futureList = new ArrayList<>();
+        //第0片在当前线程验证，其余分片交给验证线程池
+        for (int shard = 1; shard < shardCount; shard++) {
+            int index = shard;
+            try {
+                futureList.add(SIGNATURE_VERIFY_POOL.submit(() -> verifyShard(pendingList, index, shardCount, failed)));
+            } catch (RejectedExecutionException e) {
+                verifyShard(pendingList, index, shardCount, failed);
             }
         }
+        verifyShard(pendingList, 0, shardCount, failed);
+        for (Future<?> future : futureList) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                chain.getLogger().error(e);
+                return false;
+            } catch (ExecutionException e) {
+                chain.getLogger().error(e);
+                return false;
+            }
+        }
+        if (failed.get()) {
+            chain.getLogger().error("Voting signature verification failed");
+            return false;
+        }
+        for (PendingSignature pending : pendingList) {
+            VoteCache.addVerifiedSignature(pending.voteHash, pending.sign);
+        }
         return true;
     }
 
+    private static void verifyShard(List<PendingSignature> pendingList, int shard, int shardCount, AtomicBoolean failed) {
+        for (int i = shard; i < pendingList.size() && !failed.get(); i += shardCount) {
+            PendingSignature pending = pendingList.get(i);
+            if (pending.signature.verifySignature(pending.voteHash).isFailed()) {
+                failed.set(true);
+            }
+        }
+    }
+
+    private static class PendingSignature {
+        private final NulsHash voteHash;
+        private final byte[] sign;
+        private final BlockSignature signature;
+
+        private PendingSignature(NulsHash voteHash, byte[] sign, BlockSignature signature) {
+            this.voteHash = voteHash;
+            this.sign = sign;
+            this.signature = signature;
+        }
+    }
+
     /****
      * 停止当前投票（共识状态变更时）
      * @param chain          链信息
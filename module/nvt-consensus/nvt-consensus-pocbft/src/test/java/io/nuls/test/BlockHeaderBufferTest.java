@@ -0,0 +1,89 @@
+package io.nuls.test;
+
+import io.nuls.base.data.BlockExtendsData;
+import io.nuls.base.data.BlockHeader;
+import io.nuls.base.data.NulsHash;
+import nerve.network.pocbft.model.bo.round.BlockHeaderBuffer;
+import nerve.network.pocbft.model.bo.round.BlockHeaderSummary;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 区块头环形缓存测试：追加、回滚、补齐与按轮次清除后的高度及轮次索引
+ */
+public class BlockHeaderBufferTest {
+    private static final int CHAIN_ID = 9;
+    private static final int ROUND_SIZE = 5;
+
+    /**
+     * 每轮5个区块，高度h属于轮次h/5+1
+     */
+    private static BlockHeader header(long height) throws Exception {
+        long round = height / ROUND_SIZE + 1;
+        BlockExtendsData extendsData = new BlockExtendsData(round, ROUND_SIZE, round * 100, (int) (height % ROUND_SIZE) + 1);
+        BlockHeader header = new BlockHeader();
+        header.setHeight(height);
+        header.setTime(round * 100 + height % ROUND_SIZE * 10);
+        header.setPreHash(NulsHash.EMPTY_NULS_HASH);
+        header.setMerkleHash(NulsHash.EMPTY_NULS_HASH);
+        header.setExtend(extendsData.serialize());
+        return header;
+    }
+
+    private static List<BlockHeader> headers(long from, long to) throws Exception {
+        List<BlockHeader> list = new ArrayList<>();
+        for (long height = from; height <= to; height++) {
+            list.add(header(height));
+        }
+        return list;
+    }
+
+    @Test
+    public void addRollbackAndTrim() throws Exception {
+        BlockHeaderBuffer buffer = new BlockHeaderBuffer();
+        buffer.load(headers(100, 1200), CHAIN_ID);
+        Assert.assertEquals(1101, buffer.size());
+        Assert.assertEquals(500, buffer.get(500).getHeight());
+        Assert.assertNull(buffer.get(99));
+        Assert.assertEquals(105, buffer.getFirstOfRound(22).getHeight());
+        Assert.assertEquals(109, buffer.getLastOfRound(22).getHeight());
+
+        buffer.add(header(1201), CHAIN_ID);
+        Assert.assertEquals(1201, buffer.getLast().getHeight());
+        Assert.assertEquals(1201, buffer.getLastOfRound(241).getHeight());
+
+        BlockHeaderSummary removed = buffer.removeLast();
+        Assert.assertEquals(1201, removed.getHeight());
+        Assert.assertEquals(1200, buffer.getLastOfRound(241).getHeight());
+        //替换尾部区块
+        buffer.add(header(1198), CHAIN_ID);
+        Assert.assertEquals(1198, buffer.getLast().getHeight());
+        Assert.assertEquals(1198, buffer.getLastOfRound(240).getHeight());
+        Assert.assertNull(buffer.getFirstOfRound(241));
+
+        Assert.assertEquals(21, buffer.removeFirstRound());
+        Assert.assertEquals(105, buffer.getFirst().getHeight());
+        Assert.assertNull(buffer.getFirstOfRound(21));
+
+        Assert.assertEquals(15, buffer.prepend(headers(90, 107), CHAIN_ID));
+        Assert.assertEquals(90, buffer.getFirst().getHeight());
+        Assert.assertEquals(94, buffer.getLastOfRound(19).getHeight());
+        Assert.assertEquals(100, buffer.getFirstOfRound(21).getHeight());
+    }
+
+    @Test
+    public void lookupByRoundAndTime() throws Exception {
+        BlockHeaderBuffer buffer = new BlockHeaderBuffer();
+        buffer.load(headers(0, 99), CHAIN_ID);
+        Assert.assertEquals(9, buffer.getLastBeforeRound(3).getHeight());
+        Assert.assertNull(buffer.getLastBeforeRound(1));
+        Assert.assertEquals(10, buffer.getLastNotAfter(300).getHeight());
+        Assert.assertEquals(11, buffer.getLastNotAfter(315).getHeight());
+        Assert.assertNull(buffer.getLastNotAfter(50));
+        Assert.assertEquals(300, buffer.getLastNotAfter(315).getRoundStartTime());
+        Assert.assertEquals(0, buffer.countByPackingAddress(new byte[23], 1, 20));
+    }
+}
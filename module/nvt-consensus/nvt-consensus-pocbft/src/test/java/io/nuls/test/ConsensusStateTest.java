@@ -0,0 +1,70 @@
+package io.nuls.test;
+
+import nerve.network.pocbft.model.bo.consensus.ConsensusState;
+import nerve.network.pocbft.model.po.PunishLogPo;
+import nerve.network.pocbft.utils.enumeration.PunishType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 共识状态索引与全量遍历结果一致性测试
+ * Consensus state indexes must agree with a full scan
+ */
+public class ConsensusStateTest {
+
+    private static byte[] address(int i) {
+        byte[] address = new byte[23];
+        address[22] = (byte) i;
+        return address;
+    }
+
+    private static PunishLogPo yellow(int address, long round, long height, int index) {
+        PunishLogPo po = new PunishLogPo();
+        po.setAddress(address(address));
+        po.setRoundIndex(round);
+        po.setHeight(height);
+        po.setIndex(index);
+        po.setType(PunishType.YELLOW.getCode());
+        return po;
+    }
+
+    @Test
+    public void yellowPunishCount() {
+        ConsensusState state = new ConsensusState();
+        List<PunishLogPo> list = new ArrayList<>();
+        for (int round = 1; round <= 300; round++) {
+            list.add(yellow(round % 3, round, round * 10L, 1));
+            list.add(yellow(7, round, round * 10L, 2));
+        }
+        state.loadPunishes(Collections.emptyList(), list);
+        Assert.assertEquals(34, state.countYellowPunish(address(1), 1, 100, 100));
+        Assert.assertEquals(100, state.countYellowPunish(address(7), 1, 300, 100));
+        Assert.assertEquals(0, state.countYellowPunish(address(9), 1, 300, 100));
+
+        state.clearYellowPunishes(101);
+        Assert.assertEquals(0, state.countYellowPunish(address(1), 1, 100, 100));
+        Assert.assertEquals(400, state.getYellowPunishList().size());
+
+        state.removeYellowPunishes(Collections.singletonList(yellow(7, 150, 1500L, 2)));
+        Assert.assertEquals(9, state.countYellowPunish(address(7), 145, 154, 100));
+    }
+
+    @Test
+    public void redPunishCountAndSnapshot() {
+        ConsensusState state = new ConsensusState();
+        PunishLogPo red = yellow(5, 10, 100L, 0);
+        red.setType(PunishType.RED.getCode());
+        List<PunishLogPo> snapshot = state.getRedPunishList();
+        state.addRedPunish(red);
+        Assert.assertEquals(1, state.countRedPunish(address(5)));
+        //写入前取得的快照不受影响 / a snapshot taken before the write is unchanged
+        Assert.assertTrue(snapshot.isEmpty());
+        Assert.assertEquals(1, state.getRedPunishList().size());
+        state.removeRedPunish(red);
+        Assert.assertEquals(0, state.countRedPunish(address(5)));
+    }
+}
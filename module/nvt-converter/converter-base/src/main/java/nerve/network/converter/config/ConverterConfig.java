@@ -64,6 +64,10 @@ public class ConverterConfig extends ConfigBean implements ModuleConfig {
     public  int agentCountOfEnableVirtualBankChanges;
 
     public  BigInteger proposalPrice;
+    /**
+     * 异构链区块同步时关闭logsBloom预过滤，逐笔完整解析交易，用于校验预过滤结果
+     */
+    private boolean ethBlockFullScan;
 
     public String getTxDataRoot() {
         return dataPath + File.separator + ModuleE.CV.name;
@@ -157,6 +161,14 @@ public class ConverterConfig extends ConfigBean implements ModuleConfig {
         this.proposalPrice = proposalPrice;
     }
 
+    public boolean isEthBlockFullScan() {
+        return ethBlockFullScan;
+    }
+
+    public void setEthBlockFullScan(boolean ethBlockFullScan) {
+        this.ethBlockFullScan = ethBlockFullScan;
+    }
+
     @Override
     public VersionChangeInvoker getVersionChangeInvoker() throws ClassNotFoundException, NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
         //todo 协议升级触发 待完善
@@ -116,4 +116,26 @@ public interface EthConstant {
     Long ROLLBACK_NUMER = 100L;
 
     long MINUTES_20 = 20 * 60 * 1000L;
+
+    /**
+     * 区块logsBloom字节长度
+     */
+    int BLOOM_BYTE_LENGTH = 256;
+
+    /**
+     * 区块同步: 每个JSON-RPC批量请求包含的区块数
+     */
+    int SYNC_BLOCK_BATCH_SIZE = 10;
+    /**
+     * 区块同步: 预取窗口，最多提前获取的区块数
+     */
+    int SYNC_BLOCK_PREFETCH_WINDOW = 50;
+    /**
+     * 区块同步: 每个批量请求最多包含的交易收据数
+     */
+    int SYNC_RECEIPT_BATCH_SIZE = 100;
+    /**
+     * 区块同步: 等待一批区块获取完成的超时时间(秒)
+     */
+    long SYNC_BLOCK_FETCH_TIMEOUT = 120L;
 }
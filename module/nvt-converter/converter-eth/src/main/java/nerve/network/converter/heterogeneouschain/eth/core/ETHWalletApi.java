@@ -21,9 +21,11 @@ import org.web3j.crypto.Credentials;
 import org.web3j.crypto.RawTransaction;
 import org.web3j.crypto.TransactionEncoder;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.*;
 import org.web3j.protocol.http.HttpService;
 import org.web3j.utils.Numeric;
@@ -480,6 +482,54 @@ public class ETHWalletApi implements WalletApi {
         });
     }
 
+    /**
+     * 批量获取区块(JSON-RPC batch)，返回结果与请求高度顺序一致，未取到的区块为null
+     */
+    public List<EthBlock.Block> getBlocksByHeights(List<Long> heights) throws Exception {
+        return this.timeOutWrapperFunction("getBlocksByHeights", heights, args -> {
+            BatchRequest batch = web3j.newBatch();
+            for (Long height : args) {
+                batch.add(web3j.ethGetBlockByNumber(new DefaultBlockParameterNumber(height), true));
+            }
+            // 批量响应不保证顺序，按区块高度重新对应
+            Map<Long, EthBlock.Block> blockMap = new HashMap<>();
+            for (Response<?> response : batch.send().getResponses()) {
+                EthBlock.Block block = ((EthBlock) response).getBlock();
+                if (block != null) {
+                    blockMap.put(block.getNumber().longValue(), block);
+                }
+            }
+            List<EthBlock.Block> blocks = new ArrayList<>(args.size());
+            for (Long height : args) {
+                blocks.add(blockMap.get(height));
+            }
+            return blocks;
+        });
+    }
+
+    /**
+     * 批量获取交易收据(JSON-RPC batch)，key为交易hash，未取到的收据不在结果中
+     */
+    public Map<String, TransactionReceipt> getTxReceipts(List<String> txHashList) throws Exception {
+        if (txHashList == null || txHashList.isEmpty()) {
+            return new HashMap<>();
+        }
+        return this.timeOutWrapperFunction("getTxReceipts", txHashList, args -> {
+            BatchRequest batch = web3j.newBatch();
+            for (String txHash : args) {
+                batch.add(web3j.ethGetTransactionReceipt(txHash));
+            }
+            Map<String, TransactionReceipt> receipts = new HashMap<>();
+            for (Response<?> response : batch.send().getResponses()) {
+                Optional<TransactionReceipt> result = ((EthGetTransactionReceipt) response).getTransactionReceipt();
+                if (result != null && result.isPresent()) {
+                    receipts.put(result.get().getTransactionHash(), result.get());
+                }
+            }
+            return receipts;
+        });
+    }
+
     /**
      * 调用合约的view/constant函数
      */
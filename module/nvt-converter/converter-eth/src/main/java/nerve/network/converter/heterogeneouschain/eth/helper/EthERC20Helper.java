@@ -57,6 +57,10 @@ public class EthERC20Helper {
         return true;
     }
 
+    public boolean isERC20(String address) {
+        return ethERC20StorageService.isExistsByAddress(address);
+    }
+
     public EthERC20Po loadERC20(String address, HeterogeneousTransactionBaseInfo po) {
         EthERC20Po erc20Po = ethERC20StorageService.findByAddress(address);
         if (erc20Po == null) {
@@ -24,10 +24,12 @@
 
 package nerve.network.converter.heterogeneouschain.eth.helper;
 
+import nerve.network.converter.constant.ConverterErrorCode;
 import nerve.network.converter.heterogeneouschain.eth.model.EthSimpleBlockHeader;
 import nerve.network.converter.heterogeneouschain.eth.storage.EthBlockHeaderStorageService;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
+import io.nuls.core.exception.NulsException;
 
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -64,6 +66,16 @@ public class EthLocalBlockHelper {
         ethBlockStorageService.save(blockHeader);
     }
 
+    /**
+     * 保存本地最新区块，同时删除指定高度的旧区块，两者原子提交，成功后再更新内存
+     */
+    public void commitLocalBlockHeader(EthSimpleBlockHeader blockHeader, long deleteHeight) throws Exception {
+        if (ethBlockStorageService.saveAndDeleteByHeight(blockHeader, deleteHeight) == 0) {
+            throw new NulsException(ConverterErrorCode.DB_SAVE_ERROR);
+        }
+        localBlockHeaderMaps.put(BLOCK_HEADER_KEY, blockHeader);
+    }
+
     /**
      * 查询本地数据库中最新区块
      */
@@ -34,6 +34,11 @@ public interface EthBlockHeaderStorageService {
 
     int save(EthSimpleBlockHeader blockHeader) throws Exception;
 
+    /**
+     * 在同一个批次中保存最新区块并删除指定高度的旧区块
+     */
+    int saveAndDeleteByHeight(EthSimpleBlockHeader blockHeader, Long deleteHeight) throws Exception;
+
     EthSimpleBlockHeader findLatest();
 
     EthSimpleBlockHeader findByHeight(Long height);
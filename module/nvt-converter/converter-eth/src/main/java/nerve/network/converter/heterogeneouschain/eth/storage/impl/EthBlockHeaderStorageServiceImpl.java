@@ -29,6 +29,7 @@ import nerve.network.converter.heterogeneouschain.eth.model.EthSimpleBlockHeader
 import nerve.network.converter.heterogeneouschain.eth.storage.EthBlockHeaderStorageService;
 import nerve.network.converter.utils.ConverterDBUtil;
 import io.nuls.core.core.annotation.Component;
+import io.nuls.core.rockdb.service.BatchOperation;
 import io.nuls.core.rockdb.service.RocksDBService;
 
 import static nerve.network.converter.utils.ConverterDBUtil.stringToBytes;
@@ -59,6 +60,24 @@ public class EthBlockHeaderStorageServiceImpl implements EthBlockHeaderStorageSe
         return result ? 1 : 0;
     }
 
+    @Override
+    public int saveAndDeleteByHeight(EthSimpleBlockHeader blockHeader, Long deleteHeight) throws Exception {
+        if (blockHeader == null) {
+            return 0;
+        }
+        BatchOperation batch = RocksDBService.createWriteBatch(baseArea);
+        if (batch == null) {
+            return 0;
+        }
+        byte[] bytes = ConverterDBUtil.getModelSerialize(blockHeader);
+        batch.put(stringToBytes(KEY_PREFIX + blockHeader.getHeight()), bytes);
+        batch.put(LOCAL_LATEST_HEADER_KEY, bytes);
+        if (deleteHeight != null && deleteHeight < blockHeader.getHeight()) {
+            batch.delete(stringToBytes(KEY_PREFIX + deleteHeight));
+        }
+        return batch.executeBatch() ? 1 : 0;
+    }
+
     @Override
     public EthSimpleBlockHeader findLatest() {
         return ConverterDBUtil.getModel(baseArea, LOCAL_LATEST_HEADER_KEY, EthSimpleBlockHeader.class);
@@ -23,6 +23,7 @@
  */
 package nerve.network.converter.heterogeneouschain.eth.syncblock;
 
+import nerve.network.converter.config.ConverterConfig;
 import nerve.network.converter.enums.HeterogeneousChainTxType;
 import nerve.network.converter.heterogeneouschain.eth.callback.EthCallBackManager;
 import nerve.network.converter.heterogeneouschain.eth.constant.EthConstant;
@@ -49,8 +50,11 @@ import org.web3j.protocol.core.methods.response.Transaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static nerve.network.converter.heterogeneouschain.eth.context.EthContext.logger;
 
@@ -81,18 +85,36 @@ public class EthBlockAnalysis {
     private EthLocalBlockHelper ethLocalBlockHelper;
     @Autowired
     private EthParseTxHelper ethParseTxHelper;
+    @Autowired
+    private EthBlockPrefilter ethBlockPrefilter;
+    @Autowired
+    private ConverterConfig converterConfig;
 
     /**
      * 解析以太坊区块
      */
     public void analysisEthBlock(EthBlock.Block block) throws Exception {
+        this.analysisEthBlock(block, Collections.emptyMap());
+    }
+
+    /**
+     * 解析以太坊区块，优先使用预取的交易收据，未预取的收据再单独请求
+     */
+    public void analysisEthBlock(EthBlock.Block block, Map<String, TransactionReceipt> receipts) throws Exception {
         List<EthBlock.TransactionResult> ethTransactionResults = block.getTransactions();
         long blockHeight = block.getNumber().longValue();
         int size;
         if (ethTransactionResults != null && (size = ethTransactionResults.size()) > 0) {
             long txTime = block.getTimestamp().longValue();
+            boolean fullScan = converterConfig.isEthBlockFullScan();
+            boolean mayContainERC20Deposit = ethBlockPrefilter.mayContainERC20Deposit(block);
             for (int i = 0; i < size; i++) {
                 org.web3j.protocol.core.methods.response.Transaction tx = (org.web3j.protocol.core.methods.response.Transaction) ethTransactionResults.get(i).get();
+                boolean isCandidateTx = ethBlockPrefilter.isCandidateTx(tx, mayContainERC20Deposit);
+                // 预过滤跳过无关交易，完整扫描模式下仍逐笔解析，用于校验预过滤结果
+                if (!isCandidateTx && !fullScan) {
+                    continue;
+                }
                 boolean addUnconfirmTx = false;
                 boolean isBroadcastTx = false;
                 String ethTxHash = tx.getHash();
@@ -152,7 +174,7 @@ public class EthBlockAnalysis {
                     }
                     // ERC20充值交易
                     if (ethERC20Helper.isERC20(tx.getTo(), po)) {
-                        TransactionReceipt txReceipt = ethWalletApi.getTxReceipt(ethTxHash);
+                        TransactionReceipt txReceipt = this.getTxReceipt(receipts, ethTxHash);
                         if (ethERC20Helper.hasERC20WithListeningAddress(txReceipt, po, toAddress -> ethListener.isListeningAddress(toAddress))) {
                             addUnconfirmTx = true;
                             txType = HeterogeneousChainTxType.DEPOSIT;
@@ -165,6 +187,9 @@ public class EthBlockAnalysis {
                     }
 
                 } while (false);
+                if (!isCandidateTx && (isBroadcastTx || addUnconfirmTx)) {
+                    logger().error("预过滤遗漏了ETH网络的交易[{}], height: {}", ethTxHash, blockHeight);
+                }
                 // 如果是发出去的交易，例如提现和管理员变更，则补全交易信息
                 if (isBroadcastTx) {
                     if(txType == null) {
@@ -175,7 +200,7 @@ public class EthBlockAnalysis {
                             txType = HeterogeneousChainTxType.CHANGE;
                         }
                     }
-                    this.dealBroadcastTx(txType, tx, blockHeight, txTime);
+                    this.dealBroadcastTx(txType, tx, blockHeight, txTime, receipts);
                     continue;
                 }
                 // 充值交易放入需要确认30个区块的待确认交易队列中
@@ -198,13 +223,53 @@ public class EthBlockAnalysis {
         simpleBlockHeader.setPreHash(block.getParentHash());
         simpleBlockHeader.setHeight(block.getNumber().longValue());
         simpleBlockHeader.setCreateTime(System.currentTimeMillis());
-        ethLocalBlockHelper.saveLocalBlockHeader(simpleBlockHeader);
-        // 只保留最近的三个区块
-        ethLocalBlockHelper.deleteByHeight(blockHeight - 3);
+        // 保存本地区块的同时只保留最近的三个区块，两者在同一批次中提交
+        ethLocalBlockHelper.commitLocalBlockHeader(simpleBlockHeader, blockHeight - 3);
         logger().info("同步ETH高度[{}]完成", block.getNumber().longValue());
     }
 
-    private void dealBroadcastTx(HeterogeneousChainTxType txType, Transaction tx, long blockHeight, long txTime) throws Exception {
+    /**
+     * 挑选区块中需要交易收据才能解析的交易: 本地广播的交易、多签合约的提现/变更交易、ERC20合约交易
+     * 在区块获取线程中调用，不修改交易数据
+     */
+    public List<String> selectReceiptTxHashList(EthBlock.Block block) {
+        List<EthBlock.TransactionResult> ethTransactionResults = block.getTransactions();
+        if (ethTransactionResults == null || ethTransactionResults.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> txHashList = new ArrayList<>();
+        boolean mayContainERC20Deposit = ethBlockPrefilter.mayContainERC20Deposit(block);
+        for (EthBlock.TransactionResult result : ethTransactionResults) {
+            Transaction tx = (Transaction) result.get();
+            if (!ethBlockPrefilter.isCandidateTx(tx, mayContainERC20Deposit)) {
+                continue;
+            }
+            if (ethListener.isListeningTx(tx.getHash())) {
+                txHashList.add(tx.getHash());
+                continue;
+            }
+            String input = tx.getInput();
+            if (input != null && input.length() >= 10) {
+                String methodHash = input.substring(0, 10);
+                // 发往多签地址的提现/变更交易，或者ERC20合约交易
+                if (methodHash.equals(EthConstant.METHOD_HASH_CREATEORSIGNWITHDRAW) || methodHash.equals(EthConstant.METHOD_HASH_CREATEORSIGNMANAGERCHANGE)
+                        || !ethListener.isListeningAddress(tx.getTo().toLowerCase())) {
+                    txHashList.add(tx.getHash());
+                }
+            }
+        }
+        return txHashList;
+    }
+
+    private TransactionReceipt getTxReceipt(Map<String, TransactionReceipt> receipts, String txHash) throws Exception {
+        TransactionReceipt txReceipt = receipts.get(txHash);
+        if (txReceipt == null) {
+            txReceipt = ethWalletApi.getTxReceipt(txHash);
+        }
+        return txReceipt;
+    }
+
+    private void dealBroadcastTx(HeterogeneousChainTxType txType, Transaction tx, long blockHeight, long txTime, Map<String, TransactionReceipt> receipts) throws Exception {
         String ethTxHash = tx.getHash();
         EthUnconfirmedTxPo txPo = ethUnconfirmedTxStorageService.findByTxHash(ethTxHash);
         boolean isLocal = true;
@@ -213,7 +278,7 @@ public class EthBlockAnalysis {
             isLocal = false;
         }
         // 判断是否为签名完成的交易，更改状态，解析交易的多签地址列表
-        TransactionReceipt txReceipt = ethWalletApi.getTxReceipt(ethTxHash);
+        TransactionReceipt txReceipt = this.getTxReceipt(receipts, ethTxHash);
         if (txReceipt == null || !txReceipt.isStatusOK()) {
             txPo.setStatus(MultiSignatureStatus.FAILED);
         } else {
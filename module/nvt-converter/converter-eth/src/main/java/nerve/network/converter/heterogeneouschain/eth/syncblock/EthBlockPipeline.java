@@ -0,0 +1,143 @@
+/**
+ * MIT License
+ * <p>
+ Copyright (c) 2019-2020 nerve.network
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nerve.network.converter.heterogeneouschain.eth.syncblock;
+
+import nerve.network.converter.heterogeneouschain.eth.core.ETHWalletApi;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static nerve.network.converter.heterogeneouschain.eth.constant.EthConstant.SYNC_BLOCK_FETCH_TIMEOUT;
+import static nerve.network.converter.heterogeneouschain.eth.constant.EthConstant.SYNC_RECEIPT_BATCH_SIZE;
+import static nerve.network.converter.heterogeneouschain.eth.context.EthContext.logger;
+
+/**
+ * 流水线式ETH区块同步
+ * 以JSON-RPC批量请求获取区块及其中相关交易的收据，在预取窗口内并发获取多批区块，再按高度顺序交给处理器解析
+ */
+public class EthBlockPipeline {
+
+    /**
+     * 区块处理器，按高度顺序被调用
+     */
+    public interface BlockHandler {
+        void handle(EthBlock.Block block, Map<String, TransactionReceipt> receipts) throws Exception;
+    }
+
+    private final ETHWalletApi ethWalletApi;
+    private final ExecutorService fetchExecutor;
+    private final int batchSize;
+    private final int prefetchWindow;
+    /**
+     * 从区块中挑选需要预取收据的交易hash
+     */
+    private final Function<EthBlock.Block, List<String>> receiptSelector;
+
+    public EthBlockPipeline(ETHWalletApi ethWalletApi, ExecutorService fetchExecutor, int batchSize, int prefetchWindow,
+                            Function<EthBlock.Block, List<String>> receiptSelector) {
+        this.ethWalletApi = ethWalletApi;
+        this.fetchExecutor = fetchExecutor;
+        this.batchSize = Math.max(1, batchSize);
+        this.prefetchWindow = Math.max(this.batchSize, prefetchWindow);
+        this.receiptSelector = receiptSelector;
+    }
+
+    /**
+     * 同步[startHeight, endHeight]区间的区块
+     * 遇到获取不到的区块或者与前一区块不连续时停止，由下一轮同步重新校验本地最新区块
+     *
+     * @param parentHash startHeight上一区块的hash，为空时不校验第一个区块的连续性
+     * @return 最后一个处理完成的区块高度
+     */
+    public long sync(long startHeight, long endHeight, String parentHash, BlockHandler handler) throws Exception {
+        int maxInFlight = prefetchWindow / batchSize;
+        Deque<Future<FetchedBatch>> inFlight = new ArrayDeque<>();
+        long nextHeight = startHeight;
+        long handledHeight = startHeight - 1;
+        String preHash = parentHash;
+        try {
+            while (handledHeight < endHeight) {
+                while (inFlight.size() < maxInFlight && nextHeight <= endHeight) {
+                    long from = nextHeight;
+                    long to = Math.min(endHeight, from + batchSize - 1);
+                    inFlight.offer(fetchExecutor.submit(() -> fetch(from, to)));
+                    nextHeight = to + 1;
+                }
+                FetchedBatch batch = inFlight.poll().get(SYNC_BLOCK_FETCH_TIMEOUT, TimeUnit.SECONDS);
+                for (EthBlock.Block block : batch.blocks) {
+                    if (block == null) {
+                        logger().warn("获取区块为空，停止本轮同步，已同步高度[{}]", handledHeight);
+                        return handledHeight;
+                    }
+                    if (preHash != null && !preHash.equals(block.getParentHash())) {
+                        logger().warn("区块[{}]与上一区块不连续，停止本轮同步", block.getNumber().longValue());
+                        return handledHeight;
+                    }
+                    handler.handle(block, batch.receipts);
+                    handledHeight = block.getNumber().longValue();
+                    preHash = block.getHash();
+                }
+            }
+            return handledHeight;
+        } finally {
+            for (Future<FetchedBatch> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private FetchedBatch fetch(long from, long to) throws Exception {
+        List<Long> heights = new ArrayList<>((int) (to - from + 1));
+        for (long height = from; height <= to; height++) {
+            heights.add(height);
+        }
+        List<EthBlock.Block> blocks = ethWalletApi.getBlocksByHeights(heights);
+        List<String> txHashList = new ArrayList<>();
+        for (EthBlock.Block block : blocks) {
+            if (block != null) {
+                txHashList.addAll(receiptSelector.apply(block));
+            }
+        }
+        Map<String, TransactionReceipt> receipts = new HashMap<>();
+        for (int i = 0; i < txHashList.size(); i += SYNC_RECEIPT_BATCH_SIZE) {
+            receipts.putAll(ethWalletApi.getTxReceipts(txHashList.subList(i, Math.min(txHashList.size(), i + SYNC_RECEIPT_BATCH_SIZE))));
+        }
+        return new FetchedBatch(blocks, receipts);
+    }
+
+    private static class FetchedBatch {
+        private final List<EthBlock.Block> blocks;
+        private final Map<String, TransactionReceipt> receipts;
+
+        private FetchedBatch(List<EthBlock.Block> blocks, Map<String, TransactionReceipt> receipts) {
+            this.blocks = blocks;
+            this.receipts = receipts;
+        }
+    }
+}
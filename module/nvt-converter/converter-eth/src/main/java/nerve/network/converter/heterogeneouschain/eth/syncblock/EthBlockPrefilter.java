@@ -0,0 +1,102 @@
+/**
+ * MIT License
+ * <p>
+ Copyright (c) 2019-2020 nerve.network
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package nerve.network.converter.heterogeneouschain.eth.syncblock;
+
+import nerve.network.converter.heterogeneouschain.eth.helper.EthERC20Helper;
+import nerve.network.converter.heterogeneouschain.eth.listener.EthListener;
+import nerve.network.converter.heterogeneouschain.eth.utils.EthUtil;
+import io.nuls.core.core.annotation.Autowired;
+import io.nuls.core.core.annotation.Component;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.utils.Numeric;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static nerve.network.converter.heterogeneouschain.eth.constant.EthConstant.BLOOM_BYTE_LENGTH;
+import static nerve.network.converter.heterogeneouschain.eth.constant.EthConstant.EVENT_HASH_ERC20_TRANSFER;
+
+/**
+ * ETH区块预过滤
+ * 根据区块logsBloom判断区块中是否可能有转入监听地址的ERC20交易，再以监听交易、监听地址集合筛选需要完整解析的交易
+ */
+@Component
+public class EthBlockPrefilter {
+
+    private static final int[] ERC20_TRANSFER_BITS = EthUtil.bloomBits(Numeric.hexStringToByteArray(EVENT_HASH_ERC20_TRANSFER));
+
+    @Autowired
+    private EthListener ethListener;
+    @Autowired
+    private EthERC20Helper ethERC20Helper;
+    /**
+     * 监听地址作为日志topic(左补零至32字节)时在logsBloom中对应的位
+     */
+    private final Map<String, int[]> addressTopicBitsMap = new ConcurrentHashMap<>();
+
+    /**
+     * 区块中是否可能包含转入监听地址的ERC20 Transfer日志，logsBloom缺失时视为可能包含
+     */
+    public boolean mayContainERC20Deposit(EthBlock.Block block) {
+        String logsBloom = block.getLogsBloom();
+        if (logsBloom == null) {
+            return true;
+        }
+        byte[] bloom = Numeric.hexStringToByteArray(logsBloom);
+        if (bloom.length != BLOOM_BYTE_LENGTH) {
+            return true;
+        }
+        if (!EthUtil.bloomContains(bloom, ERC20_TRANSFER_BITS)) {
+            return false;
+        }
+        for (String address : ethListener.getListeningAddressSet()) {
+            if (EthUtil.bloomContains(bloom, addressTopicBitsMap.computeIfAbsent(address, EthBlockPrefilter::topicBits))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 交易是否需要完整解析: 监听的交易、发往监听地址的交易(充值/提现/变更)，或者区块可能包含ERC20充值时的ERC20合约交易
+     */
+    public boolean isCandidateTx(Transaction tx, boolean mayContainERC20Deposit) {
+        if (tx == null || tx.getTo() == null) {
+            return false;
+        }
+        if (ethListener.isListeningTx(tx.getHash())) {
+            return true;
+        }
+        String to = tx.getTo().toLowerCase();
+        if (ethListener.isListeningAddress(to)) {
+            return true;
+        }
+        return mayContainERC20Deposit && ethERC20Helper.isERC20(to);
+    }
+
+    private static int[] topicBits(String address) {
+        return EthUtil.bloomBits(Numeric.toBytesPadded(Numeric.toBigInt(address), 32));
+    }
+}
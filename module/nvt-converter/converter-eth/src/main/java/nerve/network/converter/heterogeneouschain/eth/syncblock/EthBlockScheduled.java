@@ -31,12 +31,17 @@ import nerve.network.converter.heterogeneouschain.eth.helper.EthLocalBlockHelper
 import nerve.network.converter.heterogeneouschain.eth.model.EthSimpleBlockHeader;
 import io.nuls.core.core.annotation.Autowired;
 import io.nuls.core.core.annotation.Component;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
 import org.web3j.protocol.core.methods.response.EthBlock;
 
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
+import static nerve.network.converter.heterogeneouschain.eth.constant.EthConstant.SYNC_BLOCK_BATCH_SIZE;
+import static nerve.network.converter.heterogeneouschain.eth.constant.EthConstant.SYNC_BLOCK_PREFETCH_WINDOW;
 import static nerve.network.converter.heterogeneouschain.eth.context.EthContext.logger;
 
 /**
@@ -62,6 +67,7 @@ public class EthBlockScheduled implements Runnable {
     private boolean switchBlockSync;
     private boolean initialLoaded = false;
     private boolean firstSync = true;
+    private EthBlockPipeline blockPipeline;
 
 
     public void run() {
@@ -112,17 +118,14 @@ public class EthBlockScheduled implements Runnable {
                 return;
             }
 
-            for (int i = 1; i <= blockHeightFromEth - localBlockHeight; i++) {
-                localBlockHeight = localBlockHeight + 1;
-                /**
-                 * 同步并解析数据
-                 */
+            /**
+             * 流水线同步并按高度顺序解析数据
+             */
+            if (localBlockHeight < blockHeightFromEth) {
                 try {
-                    EthBlock.Block block = ethWalletApi.getBlockByHeight(localBlockHeight);
-                    ethBlockAnalysis.analysisEthBlock(block);
+                    getBlockPipeline().sync(localBlockHeight + 1, blockHeightFromEth, localMax.getHash(), ethBlockAnalysis::analysisEthBlock);
                 } catch (Exception e) {
                     logger().error("syncHeight error ", e);
-                    break;
                 }
             }
         } catch (Exception e) {
@@ -130,6 +133,16 @@ public class EthBlockScheduled implements Runnable {
         }
     }
 
+    private EthBlockPipeline getBlockPipeline() {
+        if (blockPipeline == null) {
+            int fetchThreads = SYNC_BLOCK_PREFETCH_WINDOW / SYNC_BLOCK_BATCH_SIZE;
+            ExecutorService fetchExecutor = ThreadUtils.createThreadPool(fetchThreads, 0, new NulsThreadFactory("eth-block-fetch"));
+            blockPipeline = new EthBlockPipeline(ethWalletApi, fetchExecutor, SYNC_BLOCK_BATCH_SIZE, SYNC_BLOCK_PREFETCH_WINDOW,
+                    ethBlockAnalysis::selectReceiptTxHashList);
+        }
+        return blockPipeline;
+    }
+
     private void runBackup() {
         if(!ethCallBackManager.getTxConfirmedProcessor().isVirtualBankByCurrentNode()) {
             logger().info("Not a virtual bank, skipping `EthBlockScheduled`");
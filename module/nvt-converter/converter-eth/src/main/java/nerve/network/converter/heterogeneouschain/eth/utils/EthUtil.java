@@ -226,6 +226,30 @@ public class EthUtil {
         );
     }
 
+    /**
+     * 计算数据在以太坊2048位logsBloom中对应的三个位，按黄皮书定义取keccak256前三组双字节的低11位
+     */
+    public static int[] bloomBits(byte[] data) {
+        byte[] hash = Hash.sha3(data);
+        int[] bits = new int[3];
+        for (int i = 0; i < 3; i++) {
+            bits[i] = ((hash[2 * i] & 0x07) << 8) | (hash[2 * i + 1] & 0xff);
+        }
+        return bits;
+    }
+
+    /**
+     * 以太坊logsBloom是否可能包含指定的位，bloom为256字节的大端位图
+     */
+    public static boolean bloomContains(byte[] bloom, int[] bits) {
+        for (int bit : bits) {
+            if ((bloom[BLOOM_BYTE_LENGTH - 1 - bit / 8] & (1 << (bit % 8))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static BigInteger extractEthPublicKey(Transaction tx) {
         ECDSASignature signature = new ECDSASignature(Numeric.decodeQuantity(tx.getR()), Numeric.decodeQuantity(tx.getS()));
         byte[] hashBytes = getRawTxHashBytes(tx);
@@ -0,0 +1,189 @@
+package nerve.network.converter.heterogeneouschain.eth.syncblock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import nerve.network.converter.heterogeneouschain.eth.context.EthContext;
+import nerve.network.converter.heterogeneouschain.eth.core.ETHWalletApi;
+import io.nuls.core.log.Log;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.http.HttpService;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 使用本地JSON-RPC桩服务测试流水线区块同步
+ */
+public class EthBlockPipelineTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private HttpServer server;
+    private ExecutorService fetchExecutor;
+    private ETHWalletApi ethWalletApi;
+    private AtomicInteger httpRequestCount = new AtomicInteger();
+    private long chainHeight = 35;
+    private long forkHeight = -1;
+
+    @Before
+    public void setUp() throws Exception {
+        EthContext.setLogger(Log.BASIC_LOGGER);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            httpRequestCount.incrementAndGet();
+            JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+            JsonNode response;
+            if (request.isArray()) {
+                ArrayNode array = MAPPER.createArrayNode();
+                // 倒序返回，校验客户端不依赖批量响应顺序
+                for (int i = request.size() - 1; i >= 0; i--) {
+                    array.add(handle(request.get(i)));
+                }
+                response = array;
+            } else {
+                response = handle(request);
+            }
+            byte[] bytes = MAPPER.writeValueAsBytes(response);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        Web3j web3j = Web3j.build(new HttpService("http://127.0.0.1:" + server.getAddress().getPort()));
+        ethWalletApi = new ETHWalletApi();
+        ethWalletApi.setWeb3j(web3j);
+        fetchExecutor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        fetchExecutor.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    public void syncInHeightOrderWithBatchedRequests() throws Exception {
+        EthBlockPipeline pipeline = new EthBlockPipeline(ethWalletApi, fetchExecutor, 10, 40, this::allTxHashes);
+        List<Long> handled = new ArrayList<>();
+        long synced = pipeline.sync(1, 30, blockHash(0), (block, receipts) -> {
+            handled.add(block.getNumber().longValue());
+            for (EthBlock.TransactionResult result : block.getTransactions()) {
+                String txHash = ((Transaction) result.get()).getHash();
+                assertNotNull("receipt should be prefetched: " + txHash, receipts.get(txHash));
+            }
+        });
+        assertEquals(30, synced);
+        for (int i = 0; i < handled.size(); i++) {
+            assertEquals(i + 1, handled.get(i).longValue());
+        }
+        // 3批区块 + 3批收据
+        assertEquals(6, httpRequestCount.get());
+    }
+
+    @Test
+    public void stopAtMissingBlock() throws Exception {
+        chainHeight = 12;
+        EthBlockPipeline pipeline = new EthBlockPipeline(ethWalletApi, fetchExecutor, 5, 20, this::allTxHashes);
+        List<Long> handled = new ArrayList<>();
+        long synced = pipeline.sync(1, 20, blockHash(0), (block, receipts) -> handled.add(block.getNumber().longValue()));
+        assertEquals(12, synced);
+        assertEquals(12, handled.size());
+    }
+
+    @Test
+    public void stopAtDiscontinuousBlock() throws Exception {
+        forkHeight = 8;
+        EthBlockPipeline pipeline = new EthBlockPipeline(ethWalletApi, fetchExecutor, 5, 20, this::allTxHashes);
+        List<Long> handled = new ArrayList<>();
+        long synced = pipeline.sync(1, 20, blockHash(0), (block, receipts) -> handled.add(block.getNumber().longValue()));
+        assertEquals(7, synced);
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L), handled);
+    }
+
+    @Test
+    public void batchReceipts() throws Exception {
+        Map<String, TransactionReceipt> receipts = ethWalletApi.getTxReceipts(Arrays.asList(txHash(3, 0), txHash(3, 1)));
+        assertEquals(2, receipts.size());
+        assertTrue(receipts.get(txHash(3, 1)).isStatusOK());
+    }
+
+    private List<String> allTxHashes(EthBlock.Block block) {
+        List<String> list = new ArrayList<>();
+        for (EthBlock.TransactionResult result : block.getTransactions()) {
+            list.add(((Transaction) result.get()).getHash());
+        }
+        return list;
+    }
+
+    private JsonNode handle(JsonNode request) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        response.set("id", request.get("id"));
+        String method = request.get("method").asText();
+        JsonNode params = request.get("params");
+        if ("eth_getBlockByNumber".equals(method)) {
+            long height = Long.decode(params.get(0).asText());
+            if (height > chainHeight) {
+                response.putNull("result");
+            } else {
+                response.set("result", block(height));
+            }
+        } else if ("eth_getTransactionReceipt".equals(method)) {
+            ObjectNode receipt = MAPPER.createObjectNode();
+            receipt.put("transactionHash", params.get(0).asText());
+            receipt.put("status", "0x1");
+            receipt.set("logs", MAPPER.createArrayNode());
+            response.set("result", receipt);
+        } else {
+            response.putNull("result");
+        }
+        return response;
+    }
+
+    private ObjectNode block(long height) {
+        ObjectNode block = MAPPER.createObjectNode();
+        block.put("number", "0x" + Long.toHexString(height));
+        block.put("hash", blockHash(height));
+        block.put("parentHash", height == forkHeight ? blockHash(height + 100) : blockHash(height - 1));
+        block.put("timestamp", "0x" + Long.toHexString(1586000000L + height * 15));
+        ArrayNode txs = MAPPER.createArrayNode();
+        for (int i = 0; i < 2; i++) {
+            ObjectNode tx = MAPPER.createObjectNode();
+            tx.put("hash", txHash(height, i));
+            tx.put("blockNumber", "0x" + Long.toHexString(height));
+            tx.put("from", "0x1111111111111111111111111111111111111111");
+            tx.put("to", "0x2222222222222222222222222222222222222222");
+            tx.put("value", "0x0");
+            tx.put("input", "0x");
+            txs.add(tx);
+        }
+        block.set("transactions", txs);
+        return block;
+    }
+
+    private static String blockHash(long height) {
+        return String.format("0x%064x", height);
+    }
+
+    private static String txHash(long height, int index) {
+        return String.format("0x%060x%04x", height, index);
+    }
+}
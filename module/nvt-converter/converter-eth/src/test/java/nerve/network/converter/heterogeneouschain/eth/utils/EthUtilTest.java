@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static nerve.network.converter.heterogeneouschain.eth.constant.EthConstant.ETH_ERC20_STANDARD_FILE;
+import static org.junit.Assert.*;
 
 public class EthUtilTest extends Base {
 
@@ -44,6 +45,21 @@ public class EthUtilTest extends Base {
         System.out.println(txInfo.toString());
     }
 
+    @Test
+    public void bloomBitsTest() {
+        // keccak256("") = c5d2460186f7233c...
+        int[] bits = EthUtil.bloomBits(new byte[0]);
+        assertArrayEquals(new int[]{1490, 1537, 1783}, bits);
+
+        byte[] bloom = new byte[256];
+        for (int bit : bits) {
+            bloom[255 - bit / 8] |= 1 << (bit % 8);
+        }
+        assertTrue(EthUtil.bloomContains(bloom, bits));
+        assertFalse(EthUtil.bloomContains(bloom, EthUtil.bloomBits("other".getBytes())));
+        assertFalse(EthUtil.bloomContains(new byte[256], bits));
+    }
+
     @Test
     public void parseERC20() throws Exception {
         setMain();
@@ -75,6 +75,14 @@ public interface QuotationConstant {
     String QU_COLLECTOR_THREAD = "quotationCollector";
     /** 计算最终报价线程*/
     String QU_CALCULATOR_THREAD = "quotationCalculator";
+    /** 并发查询第三方价格线程*/
+    String QU_QUERIER_THREAD = "quotationQuerier";
+    /** 并发查询第三方价格线程数 */
+    int QU_QUERIER_THREADS = 16;
+    /** 单个查询器获取一个token价格的超时时间(毫秒), 需大于查询器http连接和请求超时 */
+    long QU_QUERIER_TIMEOUT = 12000L;
+    /** 第三方价格缓存有效时间(毫秒) */
+    long QU_PRICE_CACHE_TIME = 30000L;
     /** 报价处理task, 初始延迟值(分) */
     int QU_TASK_INITIALDELAY = 1;//1
     /** 报价处理task, 运行周期间隔(分) */
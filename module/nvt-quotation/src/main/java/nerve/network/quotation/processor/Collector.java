@@ -27,6 +27,9 @@ package nerve.network.quotation.processor;
 import nerve.network.quotation.model.bo.Chain;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 价格收集器接口
@@ -41,4 +44,21 @@ public interface Collector {
      * @return 执行成功
      */
     BigDecimal enquiry(Chain chain, String anchorToken);
+
+    /**
+     * 批量获取多个token的第三方加权平均价格
+     * @param chain
+     * @param anchorTokens
+     * @return key:anchorToken, value:价格; 没有获取到价格的token不在结果中
+     */
+    default Map<String, BigDecimal> enquiry(Chain chain, List<String> anchorTokens) {
+        Map<String, BigDecimal> pricesMap = new HashMap<>();
+        for (String anchorToken : anchorTokens) {
+            BigDecimal price = enquiry(chain, anchorToken);
+            if (null != price) {
+                pricesMap.put(anchorToken, price);
+            }
+        }
+        return pricesMap;
+    }
 }
@@ -26,6 +26,8 @@ package nerve.network.quotation.processor.impl;
 
 import io.nuls.core.core.annotation.Component;
 import io.nuls.core.core.ioc.SpringLiteContext;
+import io.nuls.core.thread.ThreadUtils;
+import io.nuls.core.thread.commom.NulsThreadFactory;
 import nerve.network.quotation.constant.QuotationConstant;
 import nerve.network.quotation.model.bo.Chain;
 import nerve.network.quotation.model.bo.QuerierCfg;
@@ -34,55 +36,231 @@ import nerve.network.quotation.rpc.querier.Querier;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
+ * 并发从各个查询器采集token价格
+ * 所有token与查询器的组合提交到查询线程池, 每个查询结果返回后立即计入对应token的加权平均值,
+ * 每个查询从实际开始执行时计算自己的超时时间, 超时仍未返回的查询将被取消, 只使用已返回的价格,
+ * 排队等待线程的查询不计入超时(查询器自身的http超时保证线程会被及时释放);
+ * 查询成功的价格会缓存一段时间, 有效期内不再重复请求第三方
+ *
  * @author: Chino
  * @date: 2020/03/5
  */
 @Component
 public class CollectorProcessor implements Collector {
 
+    private final ExecutorService executor;
+    /** 单个查询的超时时间(毫秒) */
+    private final long querierTimeout;
+    /** 价格缓存有效时间(毫秒) */
+    private final long priceCacheTime;
+    /**
+     * 第三方价格缓存
+     * key: 查询器名称_anchorToken
+     */
+    private final Map<String, CachedPrice> priceCache = new ConcurrentHashMap<>();
+
+    public CollectorProcessor() {
+        this(ThreadUtils.createThreadPool(QuotationConstant.QU_QUERIER_THREADS, 0, new NulsThreadFactory(QuotationConstant.QU_QUERIER_THREAD)),
+                QuotationConstant.QU_QUERIER_TIMEOUT, QuotationConstant.QU_PRICE_CACHE_TIME);
+    }
+
+    public CollectorProcessor(ExecutorService executor, long querierTimeout, long priceCacheTime) {
+        this.executor = executor;
+        this.querierTimeout = querierTimeout;
+        this.priceCacheTime = priceCacheTime;
+    }
+
     @Override
     public BigDecimal enquiry(Chain chain, String anchorToken) {
+        return enquiry(chain, Collections.singletonList(anchorToken)).get(anchorToken);
+    }
+
+    @Override
+    public Map<String, BigDecimal> enquiry(Chain chain, List<String> anchorTokens) {
+        Map<String, BigDecimal> result = new HashMap<>();
+        Map<Future<QueryResult>, QueryTask> pending = new LinkedHashMap<>();
         try {
             /**
              * 根据token从各个查询器采集多个(交易所等)价格
              * 根据不同第三方机构,对价格计算加权平均值
              */
-            chain.getLogger().info("开始获({})第三方报价", anchorToken);
-            BigDecimal interim = new BigDecimal("0");
-            BigDecimal weightTotal = new BigDecimal("0.0");
-            for (QuerierCfg cfg : chain.getCollectors()) {
-                try {
-                    Querier querier = getQuerier(cfg.getCollector());
-                    BigDecimal price = querier.tickerPrice(chain, cfg.getBaseurl(), anchorToken);
-                    if(null == price){
+            chain.getLogger().info("开始获取({})第三方报价", anchorTokens);
+            Map<String, WeightedPrice> weightedMap = new HashMap<>();
+            for (String anchorToken : anchorTokens) {
+                weightedMap.put(anchorToken, new WeightedPrice());
+            }
+            CompletionService<QueryResult> completionService = new ExecutorCompletionService<>(executor);
+            long now = System.currentTimeMillis();
+            for (String anchorToken : anchorTokens) {
+                for (QuerierCfg cfg : chain.getCollectors()) {
+                    CachedPrice cached = priceCache.get(cacheKey(cfg, anchorToken));
+                    if (null != cached && now - cached.time < priceCacheTime) {
+                        chain.getLogger().debug("使用缓存价格, name:{}, anchorToken:{}, price:{}", cfg.getName(), anchorToken, cached.price);
+                        weightedMap.get(anchorToken).add(cached.price, new BigDecimal(cfg.getWeight()));
                         continue;
                     }
-                    BigDecimal weight = new BigDecimal(cfg.getWeight());
-                    interim = interim.add(price.multiply(weight));
-                    weightTotal = weightTotal.add(weight);
-                } catch (Exception e) {
-                    chain.getLogger().error("获取价格异常, name:{}, anchorToken:{}", cfg.getName(), anchorToken);
-                    chain.getLogger().error(e);
+                    QueryTask task = new QueryTask(chain, cfg, anchorToken);
+                    pending.put(completionService.submit(task), task);
+                }
+            }
+            //查询结果按返回的先后顺序计入加权平均值, 被取消的查询也会进入完成队列
+            while (!pending.isEmpty()) {
+                Future<QueryResult> future = completionService.poll(nextWait(pending), TimeUnit.MILLISECONDS);
+                if (null == future) {
+                    cancelTimeout(chain, pending);
+                    continue;
+                }
+                pending.remove(future);
+                if (future.isCancelled()) {
+                    continue;
+                }
+                QueryResult queryResult = future.get();
+                if (null == queryResult.price) {
                     continue;
                 }
+                priceCache.put(cacheKey(queryResult.cfg, queryResult.anchorToken), new CachedPrice(queryResult.price, System.currentTimeMillis()));
+                weightedMap.get(queryResult.anchorToken).add(queryResult.price, new BigDecimal(queryResult.cfg.getWeight()));
             }
-            if(weightTotal.doubleValue() == 0){
-                chain.getLogger().error("没有获取token任何第三方价格, anchorToken:{}", anchorToken);
-                return null;
+            for (Map.Entry<String, WeightedPrice> entry : weightedMap.entrySet()) {
+                BigDecimal price = entry.getValue().average();
+                if (null == price) {
+                    chain.getLogger().error("没有获取token任何第三方价格, anchorToken:{}", entry.getKey());
+                    continue;
+                }
+                result.put(entry.getKey(), price);
             }
-            return interim.divide(weightTotal, QuotationConstant.SCALE, RoundingMode.HALF_DOWN);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chain.getLogger().error("获取token第三方价格被中断, anchorTokens:{}", anchorTokens);
         } catch (Throwable e) {
-            chain.getLogger().error("获取token第三方价格失败, anchorToken:{}", anchorToken);
+            chain.getLogger().error("获取token第三方价格失败, anchorTokens:{}", anchorTokens);
             chain.getLogger().error(e);
-            return null;
+        } finally {
+            //异常退出时取消未返回的查询
+            for (Future<QueryResult> future : pending.keySet()) {
+                future.cancel(true);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 距离最早开始执行的查询超时还需等待的时间, 都在排队时等待一个完整的超时时间
+     */
+    private long nextWait(Map<Future<QueryResult>, QueryTask> pending) {
+        long now = System.currentTimeMillis();
+        long wait = querierTimeout;
+        for (QueryTask task : pending.values()) {
+            long startTime = task.startTime;
+            if (startTime > 0) {
+                wait = Math.min(wait, startTime + querierTimeout - now);
+            }
         }
+        return Math.max(1L, wait);
     }
 
+    /**
+     * 取消已执行超过超时时间的查询, 尚在排队的查询不受影响
+     */
+    private void cancelTimeout(Chain chain, Map<Future<QueryResult>, QueryTask> pending) {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Future<QueryResult>, QueryTask> entry : pending.entrySet()) {
+            QueryTask task = entry.getValue();
+            long startTime = task.startTime;
+            if (startTime > 0 && now - startTime >= querierTimeout) {
+                chain.getLogger().error("获取第三方价格超时, name:{}, anchorToken:{}", task.cfg.getName(), task.anchorToken);
+                entry.getKey().cancel(true);
+            }
+        }
+    }
+
+    private QueryResult query(Chain chain, QuerierCfg cfg, String anchorToken) {
+        BigDecimal price = null;
+        try {
+            Querier querier = getQuerier(cfg.getCollector());
+            price = querier.tickerPrice(chain, cfg.getBaseurl(), anchorToken);
+        } catch (Exception e) {
+            chain.getLogger().error("获取价格异常, name:{}, anchorToken:{}", cfg.getName(), anchorToken);
+            chain.getLogger().error(e);
+        }
+        return new QueryResult(cfg, anchorToken, price);
+    }
+
+    private String cacheKey(QuerierCfg cfg, String anchorToken) {
+        return cfg.getName() + "_" + anchorToken;
+    }
 
     public Querier getQuerier(String clazz) throws Exception {
         Class<?> clasz = Class.forName(clazz);
         return (Querier) SpringLiteContext.getBean(clasz);
     }
+
+    /**
+     * 单个查询, 记录实际开始执行的时间用于计算超时
+     */
+    private class QueryTask implements Callable<QueryResult> {
+        private final Chain chain;
+        private final QuerierCfg cfg;
+        private final String anchorToken;
+        /** 开始执行的时间, 排队中为0 */
+        private volatile long startTime;
+
+        QueryTask(Chain chain, QuerierCfg cfg, String anchorToken) {
+            this.chain = chain;
+            this.cfg = cfg;
+            this.anchorToken = anchorToken;
+        }
+
+        @Override
+        public QueryResult call() {
+            startTime = System.currentTimeMillis();
+            return query(chain, cfg, anchorToken);
+        }
+    }
+
+    private static class QueryResult {
+        private final QuerierCfg cfg;
+        private final String anchorToken;
+        private final BigDecimal price;
+
+        QueryResult(QuerierCfg cfg, String anchorToken, BigDecimal price) {
+            this.cfg = cfg;
+            this.anchorToken = anchorToken;
+            this.price = price;
+        }
+    }
+
+    private static class CachedPrice {
+        private final BigDecimal price;
+        private final long time;
+
+        CachedPrice(BigDecimal price, long time) {
+            this.price = price;
+            this.time = time;
+        }
+    }
+
+    /**
+     * 按查询器权重累计的价格
+     */
+    private static class WeightedPrice {
+        private BigDecimal interim = new BigDecimal("0");
+        private BigDecimal weightTotal = new BigDecimal("0.0");
+
+        void add(BigDecimal price, BigDecimal weight) {
+            interim = interim.add(price.multiply(weight));
+            weightTotal = weightTotal.add(weight);
+        }
+
+        BigDecimal average() {
+            if (weightTotal.doubleValue() == 0) {
+                return null;
+            }
+            return interim.divide(weightTotal, QuotationConstant.SCALE, RoundingMode.HALF_DOWN);
+        }
+    }
 }
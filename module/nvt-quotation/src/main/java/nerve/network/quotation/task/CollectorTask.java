@@ -41,9 +41,7 @@ import nerve.network.quotation.util.CommonUtil;
 import nerve.network.quotation.util.TimeUtil;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static nerve.network.quotation.constant.QuotationContext.*;
 
@@ -80,6 +78,8 @@ public class CollectorTask implements Runnable {
                 INTRADAY_NEED_NOT_QUOTE_TOKENS.clear();
                 List<QuotationActuator> quteList = chain.getQuote();
                 Map<String, Double> pricesMap = new HashMap<>();
+                //需要报价的token按价格收集器分组, 同一收集器的token一起并发采集
+                Map<String, List<String>> collectorTokensMap = new LinkedHashMap<>();
                 for (QuotationActuator qa : quteList) {
                     String anchorToken = qa.getAnchorToken();
                     if(NODE_QUOTED_TX_TOKENS_CONFIRMED.contains(anchorToken)){
@@ -98,14 +98,20 @@ public class CollectorTask implements Runnable {
                             continue;
                         }
                     }
-                    Collector collector = getCollector(qa.getCollector());
-                    BigDecimal price = collector.enquiry(chain, anchorToken);
-                    if (null == price || price.doubleValue() == 0) {
-                        chain.getLogger().error("[CollectorTask] [{}]没有获取到第三方平均报价", anchorToken);
-                        continue;
+                    collectorTokensMap.computeIfAbsent(qa.getCollector(), k -> new ArrayList<>()).add(anchorToken);
+                }
+                for (Map.Entry<String, List<String>> entry : collectorTokensMap.entrySet()) {
+                    Collector collector = getCollector(entry.getKey());
+                    Map<String, BigDecimal> enquiryMap = collector.enquiry(chain, entry.getValue());
+                    for (String anchorToken : entry.getValue()) {
+                        BigDecimal price = enquiryMap.get(anchorToken);
+                        if (null == price || price.doubleValue() == 0) {
+                            chain.getLogger().error("[CollectorTask] [{}]没有获取到第三方平均报价", anchorToken);
+                            continue;
+                        }
+                        chain.getLogger().info("[CollectorTask] [{}]第三方平均报价为：{}", anchorToken, price.doubleValue());
+                        pricesMap.put(anchorToken, price.doubleValue());
                     }
-                    chain.getLogger().info("[CollectorTask] [{}]第三方平均报价为：{}", anchorToken, price.doubleValue());
-                    pricesMap.put(anchorToken, price.doubleValue());
                 }
                 Transaction tx = null;
                 if (pricesMap.isEmpty() || null == (tx = createAndSendTx(chain, pricesMap))) {
@@ -0,0 +1,144 @@
+package nerve.network.quotation.processor;
+
+import io.nuls.core.log.Log;
+import nerve.network.quotation.model.bo.Chain;
+import nerve.network.quotation.model.bo.QuerierCfg;
+import nerve.network.quotation.processor.impl.CollectorProcessor;
+import nerve.network.quotation.rpc.querier.Querier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 使用本地桩查询器测试并发价格采集
+ */
+public class CollectorProcessorTest {
+
+    private ExecutorService executor;
+    private Chain chain;
+    private Map<String, Querier> querierMap = new HashMap<>();
+    private Map<String, AtomicInteger> callCount = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        chain = new Chain();
+        chain.setLogger(Log.BASIC_LOGGER);
+        chain.setCollectors(new ArrayList<>());
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void weightedAverage() {
+        addQuerier("A", "0.3", fixed("A", "1.0", 0));
+        addQuerier("B", "0.7", fixed("B", "2.0", 0));
+        CollectorProcessor processor = newProcessor(2000, 0);
+        Map<String, BigDecimal> prices = processor.enquiry(chain, Arrays.asList("NULS-USDT", "ETH-USDT"));
+        assertEquals(2, prices.size());
+        assertEquals(0, new BigDecimal("1.7").compareTo(prices.get("NULS-USDT")));
+        assertEquals(0, new BigDecimal("1.7").compareTo(prices.get("ETH-USDT")));
+    }
+
+    @Test
+    public void slowQuerierDoesNotBlockOthers() {
+        addQuerier("A", "0.5", fixed("A", "1.0", 0));
+        addQuerier("Slow", "0.5", fixed("Slow", "9.0", 5000));
+        CollectorProcessor processor = newProcessor(300, 0);
+        long start = System.currentTimeMillis();
+        Map<String, BigDecimal> prices = processor.enquiry(chain, Arrays.asList("NULS-USDT", "ETH-USDT", "BTC-USDT"));
+        long cost = System.currentTimeMillis() - start;
+        assertTrue("cost " + cost, cost < 2000);
+        assertEquals(3, prices.size());
+        for (BigDecimal price : prices.values()) {
+            assertEquals(0, BigDecimal.ONE.compareTo(price));
+        }
+    }
+
+    @Test
+    public void queuedQueryHasItsOwnDeadline() {
+        //单线程依次执行, 总耗时超过单个查询的超时时间, 排队的查询不应被取消
+        executor.shutdownNow();
+        executor = Executors.newSingleThreadExecutor();
+        addQuerier("A", "1", fixed("A", "1.0", 200));
+        CollectorProcessor processor = newProcessor(300, 0);
+        Map<String, BigDecimal> prices = processor.enquiry(chain, Arrays.asList("NULS-USDT", "ETH-USDT", "BTC-USDT"));
+        assertEquals(3, prices.size());
+        assertEquals(3, callCount.get("A").get());
+    }
+
+    @Test
+    public void failedQuerierIgnored() {
+        addQuerier("A", "0.5", fixed("A", "1.0", 0));
+        addQuerier("Null", "0.5", (chain, baseurl, anchorToken) -> null);
+        addQuerier("Error", "0.5", (chain, baseurl, anchorToken) -> {
+            throw new RuntimeException("stub error");
+        });
+        CollectorProcessor processor = newProcessor(2000, 0);
+        assertEquals(0, BigDecimal.ONE.compareTo(processor.enquiry(chain, "NULS-USDT")));
+    }
+
+    @Test
+    public void noPrice() {
+        addQuerier("Null", "1", (chain, baseurl, anchorToken) -> null);
+        CollectorProcessor processor = newProcessor(2000, 0);
+        assertNull(processor.enquiry(chain, "NULS-USDT"));
+    }
+
+    @Test
+    public void cachedPrice() {
+        addQuerier("A", "1", fixed("A", "1.0", 0));
+        CollectorProcessor processor = newProcessor(2000, 60000);
+        processor.enquiry(chain, "NULS-USDT");
+        processor.enquiry(chain, "NULS-USDT");
+        assertEquals(1, callCount.get("A").get());
+        processor.enquiry(chain, "ETH-USDT");
+        assertEquals(2, callCount.get("A").get());
+    }
+
+    private CollectorProcessor newProcessor(long timeout, long cacheTime) {
+        return new CollectorProcessor(executor, timeout, cacheTime) {
+            @Override
+            public Querier getQuerier(String clazz) {
+                return querierMap.get(clazz);
+            }
+        };
+    }
+
+    private void addQuerier(String name, String weight, Querier querier) {
+        QuerierCfg cfg = new QuerierCfg();
+        cfg.setName(name);
+        cfg.setBaseurl("http://127.0.0.1");
+        cfg.setCollector(name);
+        cfg.setWeight(weight);
+        chain.getCollectors().add(cfg);
+        querierMap.put(name, querier);
+    }
+
+    private Querier fixed(String name, String price, long delay) {
+        callCount.put(name, new AtomicInteger());
+        return (chain, baseurl, anchorToken) -> {
+            callCount.get(name).incrementAndGet();
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    return null;
+                }
+            }
+            return new BigDecimal(price);
+        };
+    }
+}